@@ -0,0 +1,130 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aggregates over a table of {@code rows} rows in {@code rows / 1000} groups,
+ * so that the per-group buffers are exercised, not only the H2 overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AggregateBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private Connection con;
+
+    private PreparedStatement median;
+
+    private PreparedStatement percentileDisc;
+
+    private PreparedStatement listagg;
+
+    private PreparedStatement sum;
+
+    private PreparedStatement regression;
+
+    private PreparedStatement statsMode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:");
+        OracleFunctions.register(con);
+        final Statement stmt = con.createStatement();
+        try {
+            // otherwise H2 returns the cached result of built-in aggregates
+            stmt.execute("SET OPTIMIZE_REUSE_RESULTS 0");
+            stmt.execute("CREATE TABLE t (G INT, L BIGINT, D DOUBLE, S VARCHAR)");
+            stmt.execute("INSERT INTO t SELECT MOD(X, " + Math.max(1, rows / 1000) + "),"
+                    + " RAND() * 1000000, RAND(), 'value' || X FROM SYSTEM_RANGE(1, " + rows + ")");
+        } finally {
+            stmt.close();
+        }
+        median = con.prepareStatement("SELECT G, MEDIAN(L), MEDIAN(D) FROM t GROUP BY G");
+        percentileDisc = con.prepareStatement("SELECT G, PERCENTILE_DISC(0.9, D) FROM t GROUP BY G");
+        listagg = con.prepareStatement(
+                "SELECT G, LISTAGG(S, ',', 'ON OVERFLOW TRUNCATE') FROM t GROUP BY G");
+        sum = con.prepareStatement("SELECT G, SUM(D) FROM t GROUP BY G");
+        regression = con.prepareStatement(
+                "SELECT G, REGR_SLOPE(D, L), REGR_INTERCEPT(D, L), CORR(D, L) FROM t GROUP BY G");
+        statsMode = con.prepareStatement("SELECT G, STATS_MODE(MOD(L, 100)) FROM t GROUP BY G");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        con.close();
+    }
+
+    private static int drain(final PreparedStatement ps) throws SQLException {
+        final ResultSet rs = ps.executeQuery();
+        try {
+            int n = 0;
+            while (rs.next()) {
+                n += rs.getObject(2) == null ? 0 : 1;
+            }
+            return n;
+        } finally {
+            rs.close();
+        }
+    }
+
+    @Benchmark
+    public int median() throws SQLException {
+        return drain(median);
+    }
+
+    @Benchmark
+    public int percentileDisc() throws SQLException {
+        return drain(percentileDisc);
+    }
+
+    @Benchmark
+    public int listagg() throws SQLException {
+        return drain(listagg);
+    }
+
+    /**
+     * The baseline for the statistical aggregates.
+     */
+    @Benchmark
+    public int sum() throws SQLException {
+        return drain(sum);
+    }
+
+    @Benchmark
+    public int regression() throws SQLException {
+        return drain(regression);
+    }
+
+    @Benchmark
+    public int statsMode() throws SQLException {
+        return drain(statsMode);
+    }
+}
@@ -0,0 +1,153 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.BatchFunctions;
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BatchFunctions} on arrays of {@code size} elements against a loop
+ * over the scalar functions, and the table functions against one UDF call
+ * per row through H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private long[] dates;
+
+    private long[] dateOut;
+
+    private String[] escaped;
+
+    private String[] stringOut;
+
+    private Connection con;
+
+    private PreparedStatement unistrTable;
+
+    private PreparedStatement unistrPerRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final Random random = new Random(42);
+        dates = new long[size];
+        escaped = new String[size];
+        for (int i = 0; i < size; i++) {
+            dates[i] = (long) (random.nextDouble() * 4102444800000L);
+            escaped[i] = "Stra\\00DFe " + i + " M\\00FCnchen";
+        }
+        dateOut = new long[size];
+        stringOut = new String[size];
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:");
+        OracleFunctions.register(con);
+        final Statement stmt = con.createStatement();
+        try {
+            // otherwise H2 returns the cached result of the per-row query
+            stmt.execute("SET OPTIMIZE_REUSE_RESULTS 0");
+            stmt.execute("CREATE TABLE t (S VARCHAR, ID INT)");
+            stmt.execute("INSERT INTO t SELECT 'Stra\\00DFe ' || X || ' M\\00FCnchen', X"
+                    + " FROM SYSTEM_RANGE(1, " + size + ")");
+        } finally {
+            stmt.close();
+        }
+        unistrTable = con.prepareStatement("SELECT * FROM UNISTR_TABLE('SELECT S, ID FROM t')");
+        unistrPerRow = con.prepareStatement("SELECT UNISTR(S), ID FROM t");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        con.close();
+    }
+
+    private static int drain(final PreparedStatement ps) throws SQLException {
+        final ResultSet rs = ps.executeQuery();
+        try {
+            int n = 0;
+            while (rs.next()) {
+                n += rs.getString(1).length();
+            }
+            return n;
+        } finally {
+            rs.close();
+        }
+    }
+
+    @Benchmark
+    public long[] truncBatch() {
+        return BatchFunctions.trunc(dates, "MM", dateOut);
+    }
+
+    @Benchmark
+    public long[] truncLoop() {
+        for (int i = 0; i < size; i++) {
+            dateOut[i] = OracleFunctions.trunc(new Date(dates[i]), "MM").getTime();
+        }
+        return dateOut;
+    }
+
+    @Benchmark
+    public long[] addMonthsBatch() {
+        return BatchFunctions.addMonths(dates, 7, dateOut);
+    }
+
+    @Benchmark
+    public long[] addMonthsLoop() {
+        for (int i = 0; i < size; i++) {
+            dateOut[i] = OracleFunctions.addMonths(new Date(dates[i]), 7).getTime();
+        }
+        return dateOut;
+    }
+
+    @Benchmark
+    public String[] unistrBatch() {
+        return BatchFunctions.unistr(escaped, stringOut);
+    }
+
+    @Benchmark
+    public String[] unistrLoop() {
+        for (int i = 0; i < size; i++) {
+            stringOut[i] = OracleFunctions.unistr(escaped[i]);
+        }
+        return stringOut;
+    }
+
+    @Benchmark
+    public int unistrTable() throws SQLException {
+        return drain(unistrTable);
+    }
+
+    @Benchmark
+    public int unistrPerRow() throws SQLException {
+        return drain(unistrPerRow);
+    }
+}
@@ -0,0 +1,46 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Entry point of benchmarks.jar.
+ * <p>
+ * Accepts the usual JMH command line, but always attaches the gc profiler and
+ * writes a JSON result file (default {@code jmh-result.json}) so runs of
+ * different releases can be compared.
+ */
+public class BenchmarkRunner {
+
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        final ChainedOptionsBuilder opt = new OptionsBuilder().parent(cmd);
+        boolean gc = false;
+        for (final ProfilerConfig prof : cmd.getProfilers()) {
+            if (GCProfiler.class.getName().equals(prof.getKlass())
+                    || "gc".equals(prof.getKlass())) {
+                gc = true;
+            }
+        }
+        if (!gc) {
+            opt.addProfiler(GCProfiler.class);
+        }
+        if (!cmd.getResultFormat().hasValue()) {
+            opt.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            opt.result("jmh-result.json");
+        }
+        new Runner(opt.build()).run();
+    }
+}
@@ -0,0 +1,212 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs {@code SELECT ... FROM dual} through an in-memory H2 database with the
+ * functions registered by {@link OracleFunctions#register(Connection)}, the
+ * way the library is used in tests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class H2Benchmark {
+
+    @State(Scope.Thread)
+    public static class Db {
+
+        Connection con;
+        PreparedStatement addMonths;
+        PreparedStatement asciistr;
+        PreparedStatement binToNum;
+        PreparedStatement compose;
+        PreparedStatement dbTimeZone;
+        PreparedStatement lastDay;
+        PreparedStatement monthsBetween;
+        PreparedStatement nextDay;
+        PreparedStatement nlssort;
+        PreparedStatement regexpSubstr;
+        PreparedStatement sessionTimeZone;
+        PreparedStatement toChar;
+        PreparedStatement toDate;
+        PreparedStatement translate;
+        PreparedStatement trunc;
+        PreparedStatement truncMonth;
+        PreparedStatement unistr;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            Class.forName("org.h2.Driver");
+            con = DriverManager.getConnection("jdbc:h2:mem:");
+            final Statement stmt = con.createStatement();
+            try {
+                stmt.execute("CREATE TABLE dual (DUMMY VARCHAR2(1))");
+                stmt.execute("INSERT INTO dual (dummy) values ('X')");
+            } finally {
+                stmt.close();
+            }
+            OracleFunctions.register(con);
+            addMonths = con.prepareStatement("SELECT ADD_MONTHS(?, 1) FROM dual");
+            asciistr = con.prepareStatement("SELECT ASCIISTR(?) FROM dual");
+            binToNum = con.prepareStatement("SELECT BIN_TO_NUM(1, 0, 1, 0, 1, 1, 0, 1) FROM dual");
+            compose = con.prepareStatement("SELECT COMPOSE(?) FROM dual");
+            dbTimeZone = con.prepareStatement("SELECT DBTIMEZONE() FROM dual");
+            lastDay = con.prepareStatement("SELECT LAST_DAY(?) FROM dual");
+            monthsBetween = con.prepareStatement("SELECT MONTHS_BETWEEN(?, ?) FROM dual");
+            nextDay = con.prepareStatement("SELECT NEXT_DAY(?, ?) FROM dual");
+            nlssort = con.prepareStatement("SELECT NLSSORT(?, 'NLS_SORT = GERMAN_CI') FROM dual");
+            regexpSubstr = con.prepareStatement("SELECT REGEXP_SUBSTR(?, ?, 1, 1, 'i', 1) FROM dual");
+            sessionTimeZone = con.prepareStatement("SELECT SESSIONTIMEZONE() FROM dual");
+            toChar = con.prepareStatement("SELECT TO_CHAR(?, ?) FROM dual");
+            toDate = con.prepareStatement("SELECT TO_DATE(?, ?) FROM dual");
+            translate = con.prepareStatement("SELECT TRANSLATE(?, ?, ?) FROM dual");
+            trunc = con.prepareStatement("SELECT TRUNC(?) FROM dual");
+            truncMonth = con.prepareStatement("SELECT TRUNC(?, 'MM') FROM dual");
+            unistr = con.prepareStatement("SELECT UNISTR(?) FROM dual");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            con.close();
+        }
+    }
+
+    private static Object single(final PreparedStatement ps) throws SQLException {
+        final ResultSet rs = ps.executeQuery();
+        try {
+            rs.next();
+            return rs.getObject(1);
+        } finally {
+            rs.close();
+        }
+    }
+
+    @Benchmark
+    public Object addMonths(final Db db, final Inputs in) throws SQLException {
+        db.addMonths.setTimestamp(1, new Timestamp(in.monthEnd.getTime()));
+        return single(db.addMonths);
+    }
+
+    @Benchmark
+    public Object asciistr(final Db db, final Inputs in) throws SQLException {
+        db.asciistr.setString(1, in.text);
+        return single(db.asciistr);
+    }
+
+    @Benchmark
+    public Object binToNum(final Db db) throws SQLException {
+        return single(db.binToNum);
+    }
+
+    @Benchmark
+    public Object compose(final Db db, final Inputs in) throws SQLException {
+        db.compose.setString(1, in.decomposed);
+        return single(db.compose);
+    }
+
+    @Benchmark
+    public Object dbTimeZone(final Db db) throws SQLException {
+        return single(db.dbTimeZone);
+    }
+
+    @Benchmark
+    public Object lastDay(final Db db, final Inputs in) throws SQLException {
+        db.lastDay.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        return single(db.lastDay);
+    }
+
+    @Benchmark
+    public Object monthsBetween(final Db db, final Inputs in) throws SQLException {
+        db.monthsBetween.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        db.monthsBetween.setTimestamp(2, new Timestamp(in.date2.getTime()));
+        return single(db.monthsBetween);
+    }
+
+    @Benchmark
+    public Object nextDay(final Db db, final Inputs in) throws SQLException {
+        db.nextDay.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        db.nextDay.setString(2, in.day);
+        return single(db.nextDay);
+    }
+
+    @Benchmark
+    public Object nlssort(final Db db, final Inputs in) throws SQLException {
+        db.nlssort.setString(1, in.text);
+        return single(db.nlssort);
+    }
+
+    @Benchmark
+    public Object regexpSubstr(final Db db, final Inputs in) throws SQLException {
+        db.regexpSubstr.setString(1, in.logLine);
+        db.regexpSubstr.setString(2, in.logPattern);
+        return single(db.regexpSubstr);
+    }
+
+    @Benchmark
+    public Object sessionTimeZone(final Db db) throws SQLException {
+        return single(db.sessionTimeZone);
+    }
+
+    @Benchmark
+    public Object toChar(final Db db, final Inputs in) throws SQLException {
+        db.toChar.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        db.toChar.setString(2, in.dateFormat);
+        return single(db.toChar);
+    }
+
+    @Benchmark
+    public Object toDate(final Db db, final Inputs in) throws SQLException {
+        db.toDate.setString(1, in.dateText);
+        db.toDate.setString(2, in.dateFormat);
+        return single(db.toDate);
+    }
+
+    @Benchmark
+    public Object translate(final Db db, final Inputs in) throws SQLException {
+        db.translate.setString(1, in.text);
+        db.translate.setString(2, in.from);
+        db.translate.setString(3, in.to);
+        return single(db.translate);
+    }
+
+    @Benchmark
+    public Object trunc(final Db db, final Inputs in) throws SQLException {
+        db.trunc.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        return single(db.trunc);
+    }
+
+    @Benchmark
+    public Object truncMonth(final Db db, final Inputs in) throws SQLException {
+        db.truncMonth.setTimestamp(1, new Timestamp(in.date1.getTime()));
+        return single(db.truncMonth);
+    }
+
+    @Benchmark
+    public Object unistr(final Db db, final Inputs in) throws SQLException {
+        db.unistr.setString(1, in.escaped);
+        return single(db.unistr);
+    }
+}
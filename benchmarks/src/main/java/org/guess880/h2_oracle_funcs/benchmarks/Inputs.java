@@ -0,0 +1,60 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.text.Normalizer;
+import java.util.Date;
+
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.joda.time.LocalDateTime;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark inputs shared by the direct and the H2 benchmarks.
+ */
+@State(Scope.Thread)
+public class Inputs {
+
+    @Param({"ascii", "nonascii"})
+    public String charset;
+
+    public String text;
+    public String escaped;
+    public String decomposed;
+    public String from;
+    public String to;
+
+    public Date date1;
+    public Date date2;
+    public Date monthEnd;
+    public String day;
+    public String dateFormat;
+    public String logLine;
+    public String logPattern;
+    public String dateText;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("ascii".equals(charset)) {
+            text = "SQL*Plus User's Guide, Release 11.2";
+            from = " */'";
+            to = "___";
+        } else {
+            text = "Châteaux ÄÖÜ 日本語テキスト café";
+            from = "âÄÖÜ日 ";
+            to = "aAOU_";
+        }
+        escaped = OracleFunctions.asciistr(text);
+        decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        date1 = new LocalDateTime(1995, 2, 2, 12, 34, 56).toDate();
+        date2 = new LocalDateTime(1994, 11, 17, 8, 0, 0).toDate();
+        monthEnd = new LocalDateTime(2000, 1, 31, 0, 0, 0).toDate();
+        day = "TUESDAY";
+        dateFormat = "YYYY-MM-DD HH24:MI:SS";
+        logLine = "2009-10-15 13:05:09 [worker-7] INFO  " + text + " status=200 elapsed=37ms";
+        logPattern = "status=([[:digit:]]+)";
+        dateText = "1995-02-02 12:34:56";
+    }
+}
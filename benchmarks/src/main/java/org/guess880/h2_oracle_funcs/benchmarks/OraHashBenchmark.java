@@ -0,0 +1,139 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ORA_HASH called directly on rotating inputs, and slicing a table of
+ * {@code rows} rows into 16 buckets through H2. The bucket distribution of
+ * the slicing query is printed at the end of the trial as a chi-squared
+ * statistic, which stays below 37.7 (p = 0.001, 15 degrees of freedom) for an
+ * even distribution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OraHashBenchmark {
+
+    private static final int BUCKETS = 16;
+
+    @Param({"100000"})
+    public int rows;
+
+    private final String[] strings = new String[1024];
+
+    private final BigDecimal[] numbers = new BigDecimal[1024];
+
+    private final byte[][] binaries = new byte[1024][];
+
+    private int next;
+
+    private Connection con;
+
+    private PreparedStatement slices;
+
+    private long[] lastCounts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = "customer-" + (i * 7919L);
+            numbers[i] = BigDecimal.valueOf(i * 7919L, 2);
+            binaries[i] = strings[i].getBytes("UTF-8");
+        }
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:");
+        OracleFunctions.register(con);
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("SET OPTIMIZE_REUSE_RESULTS 0");
+            stmt.execute("CREATE TABLE t (ID BIGINT PRIMARY KEY)");
+            stmt.execute("INSERT INTO t SELECT X FROM SYSTEM_RANGE(1, " + rows + ")");
+        } finally {
+            stmt.close();
+        }
+        slices = con.prepareStatement(
+                "SELECT ORA_HASH(ID, " + (BUCKETS - 1) + ") S, COUNT(*) FROM t GROUP BY S");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (lastCounts != null) {
+            double chiSquared = 0;
+            final double expected = (double) rows / BUCKETS;
+            for (final long count : lastCounts) {
+                chiSquared += (count - expected) * (count - expected) / expected;
+            }
+            System.out.printf("%nbucket distribution of %d ids over %d buckets: chi-squared %.2f%n",
+                    rows, BUCKETS, chiSquared);
+        }
+        con.close();
+    }
+
+    private int index() {
+        return next++ & 1023;
+    }
+
+    @Benchmark
+    public long string() {
+        return OracleFunctions.oraHash(strings[index()], 15);
+    }
+
+    @Benchmark
+    public long number() {
+        return OracleFunctions.oraHashNumber(numbers[index()], 15, 0);
+    }
+
+    @Benchmark
+    public long binary() {
+        return OracleFunctions.oraHashBinary(binaries[index()], 15, 0);
+    }
+
+    /**
+     * The lower bound: String caches its hash code, which is not mixed.
+     */
+    @Benchmark
+    public long stringHashCode() {
+        return (strings[index()].hashCode() & 0xFFFFFFFFL) % BUCKETS;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long[] slices() throws SQLException {
+        final long[] counts = new long[BUCKETS];
+        final ResultSet rs = slices.executeQuery();
+        try {
+            while (rs.next()) {
+                counts[rs.getInt(1)] = rs.getLong(2);
+            }
+        } finally {
+            rs.close();
+        }
+        lastCounts = counts;
+        return counts;
+    }
+}
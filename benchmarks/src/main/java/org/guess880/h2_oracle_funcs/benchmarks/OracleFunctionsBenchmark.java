@@ -0,0 +1,286 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.text.Collator;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.InstrumentedFunctions;
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calls {@link OracleFunctions} directly, without H2 in between.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OracleFunctionsBenchmark {
+
+    @Benchmark
+    public Date addMonths(final Inputs in) {
+        return OracleFunctions.addMonths(in.monthEnd, 1);
+    }
+
+    @Benchmark
+    public String asciistr(final Inputs in) {
+        return OracleFunctions.asciistr(in.text);
+    }
+
+    @Benchmark
+    public long binToNum() {
+        return OracleFunctions.binToNum(1, 0, 1, 0, 1, 1, 0, 1);
+    }
+
+    @Benchmark
+    public String compose(final Inputs in) {
+        return OracleFunctions.compose(in.decomposed);
+    }
+
+    @Benchmark
+    public String composeNormalized(final Inputs in) {
+        return OracleFunctions.compose(in.text);
+    }
+
+    @Benchmark
+    public String decompose(final Inputs in) {
+        return OracleFunctions.decompose(in.text);
+    }
+
+    @Benchmark
+    public String decomposeNormalized(final Inputs in) {
+        return OracleFunctions.decompose(in.decomposed);
+    }
+
+    @Benchmark
+    public String dbTimeZone() {
+        return OracleFunctions.dbTimeZone();
+    }
+
+    @Benchmark
+    public Timestamp fromTz(final Zones zones) {
+        return OracleFunctions.fromTz(zones.timestamp, zones.region2);
+    }
+
+    @Benchmark
+    public String initcap(final Inputs in) {
+        return OracleFunctions.initcap(in.text);
+    }
+
+    @Benchmark
+    public Date lastDay(final Inputs in) {
+        return OracleFunctions.lastDay(in.date1);
+    }
+
+    @Benchmark
+    public Double monthsBetween(final Inputs in) {
+        return OracleFunctions.monthsBetween(in.date1, in.date2);
+    }
+
+    @Benchmark
+    public BigDecimal monthsBetweenDecimal(final Inputs in) {
+        return OracleFunctions.monthsBetweenDecimal(in.date1, in.date2);
+    }
+
+    @Benchmark
+    public Date newTime(final Zones zones) {
+        return OracleFunctions.newTime(zones.timestamp, "EST", "PST");
+    }
+
+    @Benchmark
+    public Date newTimeRegion(final Zones zones) {
+        return OracleFunctions.newTime(zones.timestamp, zones.region1, zones.region2);
+    }
+
+    /**
+     * NEW_TIME resolving both zones per call, as it was written before
+     * the zone cache, compare with {@link #newTimeRegion(Zones)}.
+     */
+    @Benchmark
+    public Date newTimeForId(final Zones zones) {
+        final DateTimeZone zone1 = DateTimeZone.forID(zones.region1);
+        final DateTimeZone zone2 = DateTimeZone.forID(zones.region2);
+        final long instant = zone1.convertLocalToUTC(
+                DateTimeZone.getDefault().convertUTCToLocal(zones.timestamp.getTime()), false);
+        return new Date(DateTimeZone.getDefault().convertLocalToUTC(zone2.convertUTCToLocal(instant), false));
+    }
+
+    @Benchmark
+    public Date nextDay(final Inputs in) {
+        return OracleFunctions.nextDay(in.date1, in.day);
+    }
+
+    @Benchmark
+    public Integer regexpCount(final Inputs in) {
+        return OracleFunctions.regexpCount(in.logLine, "[[:alpha:]]+");
+    }
+
+    @Benchmark
+    public String nlsUpper(final Inputs in) {
+        return OracleFunctions.nlsUpper(in.text, "NLS_SORT = XGERMAN");
+    }
+
+    @Benchmark
+    public byte[] nlssort(final Inputs in) {
+        return OracleFunctions.nlssort(in.text, "NLS_SORT = GERMAN_CI");
+    }
+
+    /**
+     * What NLSSORT would cost with a collator per call, compare with
+     * {@link #nlssort(Inputs)}.
+     */
+    @Benchmark
+    public byte[] nlssortCollatorPerCall(final Inputs in) {
+        final Collator collator = Collator.getInstance(Locale.GERMANY);
+        collator.setStrength(Collator.SECONDARY);
+        return collator.getCollationKey(in.text).toByteArray();
+    }
+
+    @Benchmark
+    public String regexpSubstr(final Inputs in) {
+        return OracleFunctions.regexpSubstr(in.logLine, in.logPattern, 1, 1, "i", 1);
+    }
+
+    @Benchmark
+    public String sessionTimeZone() {
+        return OracleFunctions.sessionTimeZone();
+    }
+
+    /**
+     * Run with {@code -t} to see how it scales with concurrent callers.
+     */
+    @Benchmark
+    public byte[] sysGuid() {
+        return OracleFunctions.sysGuid();
+    }
+
+    @Benchmark
+    public String sysGuidHex() {
+        return OracleFunctions.sysGuidHex();
+    }
+
+    @Benchmark
+    public Double toBinaryDouble(final Numbers numbers) {
+        return OracleFunctions.toBinaryDouble(numbers.decimal);
+    }
+
+    /**
+     * The JDK parser, compare with {@link #toBinaryDouble(Numbers)}.
+     */
+    @Benchmark
+    public double toBinaryDoubleParseDouble(final Numbers numbers) {
+        return Double.parseDouble(numbers.decimal);
+    }
+
+    @Benchmark
+    public String toChar(final Inputs in) {
+        return OracleFunctions.toChar(in.date1, in.dateFormat);
+    }
+
+    @Benchmark
+    public Date toDate(final Inputs in) {
+        return OracleFunctions.toDate(in.dateText, in.dateFormat);
+    }
+
+    @Benchmark
+    public BigDecimal toNumber(final Numbers numbers) {
+        return OracleFunctions.toNumber(numbers.decimal);
+    }
+
+    /**
+     * The JDK parser, compare with {@link #toNumber(Numbers)}.
+     */
+    @Benchmark
+    public BigDecimal toNumberBigDecimal(final Numbers numbers) {
+        return new BigDecimal(numbers.decimal);
+    }
+
+    @Benchmark
+    public BigDecimal toNumberFormat(final Numbers numbers) {
+        return OracleFunctions.toNumber(numbers.grouped, "999G999G999D99",
+                "NLS_NUMERIC_CHARACTERS = '.,'");
+    }
+
+    @Benchmark
+    public BigDecimal toNumberLong(final Numbers numbers) {
+        return OracleFunctions.toNumber(numbers.longDecimal);
+    }
+
+    @Benchmark
+    public String translate(final Inputs in) {
+        return OracleFunctions.tranlate(in.text, in.from, in.to);
+    }
+
+    /**
+     * The overhead of the metrics, compare with {@link #translate(Inputs)}.
+     */
+    @Benchmark
+    public String translateInstrumented(final Inputs in) {
+        return InstrumentedFunctions.translate(in.text, in.from, in.to);
+    }
+
+    @Benchmark
+    public Date trunc(final Inputs in) {
+        return OracleFunctions.trunc(in.date1);
+    }
+
+    @Benchmark
+    public Date truncMonth(final Inputs in) {
+        return OracleFunctions.trunc(in.date1, "MM");
+    }
+
+    @Benchmark
+    public String tzOffset(final Zones zones) {
+        return OracleFunctions.tzOffset(zones.region1);
+    }
+
+    @Benchmark
+    public String unistr(final Inputs in) {
+        return OracleFunctions.unistr(in.escaped);
+    }
+
+    @State(Scope.Thread)
+    public static class Zones {
+
+        public Timestamp timestamp;
+        public String region1;
+        public String region2;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            timestamp = Timestamp.valueOf("2009-10-15 13:35:29.123");
+            region1 = "America/Los_Angeles";
+            region2 = "Europe/London";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Numbers {
+
+        public String decimal;
+        public String grouped;
+        public String longDecimal;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            decimal = "-12345.678";
+            grouped = "123,456,789.01";
+            longDecimal = "1234567890123456789012.345";
+        }
+    }
+}
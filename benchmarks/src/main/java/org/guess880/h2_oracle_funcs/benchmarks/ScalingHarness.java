@@ -0,0 +1,80 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.ConcurrentWorkload;
+
+/**
+ * Measures how the throughput of {@link ConcurrentWorkload} scales with the
+ * number of threads, each with its own connection to one shared in-memory
+ * database, on platform threads and, on Java 21 and later, on virtual
+ * threads. Every result is checked against the single threaded one, and the
+ * exit status is 1 if any differed.
+ * <p>
+ * JMH cannot run benchmarks on virtual threads, so this is a plain main:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.guess880.h2_oracle_funcs.benchmarks.ScalingHarness [seconds] [max threads] [url]
+ * </pre>
+ *
+ * H2 runs the statements of all sessions of a database one at a time unless
+ * it is opened with {@code MULTI_THREADED=1}, which the default URL does.
+ */
+public class ScalingHarness {
+
+    public static void main(final String[] args) throws Exception {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final long seconds = args.length > 0 ? Long.parseLong(args[0]) : 3;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 2 * cores;
+        final String url = args.length > 2 ? args[2] : "jdbc:h2:mem:scaling;MULTI_THREADED=1";
+        Class.forName("org.h2.Driver");
+        final ConcurrentWorkload workload = new ConcurrentWorkload(url);
+        boolean failed = false;
+        try {
+            final List<String> modes = new ArrayList<String>();
+            final List<ThreadFactory> factories = new ArrayList<ThreadFactory>();
+            modes.add("platform");
+            factories.add(ConcurrentWorkload.platformThreads());
+            final ThreadFactory virtual = ConcurrentWorkload.virtualThreads();
+            if (virtual != null) {
+                modes.add("virtual");
+                factories.add(virtual);
+            }
+            System.out.printf("%d cores, %d queries per pass, %d s per step, %s%n", cores,
+                    workload.queries().size(), seconds, url);
+            System.out.printf("%-9s %7s %14s %8s %11s %10s%n", "mode", "threads", "queries/s",
+                    "speedup", "per core", "mismatches");
+            // warm up the JIT and the caches
+            workload.run(factories.get(0), cores, Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(seconds));
+            for (int m = 0; m < modes.size(); m++) {
+                double single = 0;
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    final ConcurrentWorkload.Result result = workload.run(factories.get(m), threads,
+                            Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(seconds));
+                    final double qps = result.queriesPerSecond();
+                    if (threads == 1) {
+                        single = qps;
+                    }
+                    final double speedup = qps / single;
+                    System.out.printf(Locale.ROOT, "%-9s %7d %14.0f %7.2fx %10.0f%% %10d%n", modes.get(m),
+                            threads, qps, speedup, 100 * speedup / Math.min(threads, cores),
+                            result.mismatches.size());
+                    for (final String mismatch : result.mismatches.subList(0,
+                            Math.min(5, result.mismatches.size()))) {
+                        System.out.println("  " + mismatch);
+                    }
+                    failed |= !result.mismatches.isEmpty();
+                }
+            }
+        } finally {
+            workload.close();
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.guess880.h2_oracle_funcs.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.guess880.h2_oracle_funcs.FunctionPack;
+import org.guess880.h2_oracle_funcs.OracleFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of the first connection in a fresh JVM: connecting alone, and
+ * connecting, registering {@code pack} ({@code ALL} for every pack) and
+ * running the first query of a function of it. Every measurement is a single
+ * shot in a fork of its own, so class loading and static initialization are
+ * what is measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Pack {
+
+        @Param({"ALL", "STRING", "DATE_TIME", "NUMERIC", "AGGREGATE"})
+        public String pack;
+    }
+
+    @Benchmark
+    public Connection connect() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        con.close();
+        return con;
+    }
+
+    @Benchmark
+    public String registerAndFirstCall(final Pack state) throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            final String query;
+            if ("ALL".equals(state.pack)) {
+                OracleFunctions.register(con);
+                query = "SELECT TO_CHAR(TIMESTAMP '2009-10-15 13:35:29', 'YYYY-MM-DD HH24:MI:SS')";
+            } else {
+                final FunctionPack functionPack = FunctionPack.valueOf(state.pack);
+                OracleFunctions.register(con, functionPack);
+                query = firstQuery(functionPack);
+            }
+            final Statement stmt = con.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery(query);
+                rs.next();
+                return rs.getString(1);
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    private static String firstQuery(final FunctionPack pack) {
+        switch (pack) {
+        case STRING:
+            return "SELECT TRANSLATE('SQL*Plus User''s Guide', ' */''', '___')";
+        case DATE_TIME:
+            return "SELECT TO_CHAR(TIMESTAMP '2009-10-15 13:35:29', 'YYYY-MM-DD HH24:MI:SS')";
+        case NUMERIC:
+            return "SELECT BIN_TO_NUM(1, 0, 1, 0)";
+        default:
+            return "SELECT MEDIAN(X) FROM SYSTEM_RANGE(1, 10)";
+        }
+    }
+}
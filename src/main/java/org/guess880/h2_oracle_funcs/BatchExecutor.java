@@ -0,0 +1,106 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a batch into contiguous ranges of at least {@value #MIN_CHUNK}
+ * elements, one per processor, and runs them on a shared pool of daemon
+ * threads while the calling thread runs the first range. Smaller batches run
+ * on the calling thread only.
+ * <p>
+ * The pool is created by the first batch that is large enough to be split.
+ */
+final class BatchExecutor {
+
+    static final int MIN_CHUNK = 4096;
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    abstract static class Chunk {
+
+        abstract void run(int from, int to);
+    }
+
+    private static final class Pool {
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, PARALLELISM - 1), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable r) {
+                        final Thread thread = new Thread(r, "h2-oracle-funcs-batch-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    private BatchExecutor() {
+    }
+
+    static void run(final int length, final Chunk chunk) {
+        final int chunks = Math.min(PARALLELISM, length / MIN_CHUNK);
+        if (chunks <= 1) {
+            chunk.run(0, length);
+            return;
+        }
+        final int size = (length + chunks - 1) / chunks;
+        final List<Future<?>> futures = new ArrayList<Future<?>>(chunks - 1);
+        for (int from = size; from < length; from += size) {
+            final int start = from;
+            final int end = Math.min(length, from + size);
+            futures.add(Pool.EXECUTOR.submit(new Runnable() {
+                @Override
+                public void run() {
+                    chunk.run(start, end);
+                }
+            }));
+        }
+        RuntimeException failure = null;
+        try {
+            chunk.run(0, size);
+        } catch (final RuntimeException e) {
+            failure = e;
+        }
+        boolean interrupted = false;
+        for (final Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = unwrap(e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static RuntimeException unwrap(final Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,352 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.h2.tools.SimpleResultSet;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Array variants of the date and string functions, for code that converts
+ * many values outside SQL, and the table functions that convert a column of
+ * a query in one call.
+ * <p>
+ * Dates are epoch millis, as of {@link java.util.Date#getTime()}. Every
+ * method writes into {@code out} and returns it; a {@code null} buffer is
+ * allocated, and the input array may be passed as its own output. The time
+ * zone, format and translation table are resolved once per batch, and large
+ * batches are split across the processors. Null strings stay {@code null}.
+ */
+public final class BatchFunctions {
+
+    private static final String COLUMN_LIST_URL = "jdbc:columnlist:connection";
+
+    private BatchFunctions() {
+    }
+
+    private static long[] buffer(final long[] in, final long[] out) {
+        if (out == null) {
+            return new long[in.length];
+        }
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("output buffer too small: " + out.length);
+        }
+        return out;
+    }
+
+    private static String[] buffer(final CharSequence[] in, final String[] out) {
+        if (out == null) {
+            return new String[in.length];
+        }
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("output buffer too small: " + out.length);
+        }
+        return out;
+    }
+
+    public static final long[] addMonths(final long[] dates, final int months, final long[] out) {
+        final long[] result = buffer(dates, out);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        BatchExecutor.run(dates.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc = dates[i];
+                    result[i] = zone.convertLocalToUTC(
+                            EpochCalendar.addMonths(utc + zone.getOffset(utc), months), false);
+                }
+            }
+        });
+        return result;
+    }
+
+    public static final long[] lastDay(final long[] dates, final long[] out) {
+        final long[] result = buffer(dates, out);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        BatchExecutor.run(dates.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc = dates[i];
+                    result[i] = zone.convertLocalToUTC(
+                            EpochCalendar.lastDay(utc + zone.getOffset(utc)), false);
+                }
+            }
+        });
+        return result;
+    }
+
+    public static final double[] monthsBetween(final long[] dates1, final long[] dates2,
+            final double[] out) {
+        if (dates1.length != dates2.length) {
+            throw new IllegalArgumentException("arrays differ in length: "
+                    + dates1.length + ", " + dates2.length);
+        }
+        if (out != null && out.length < dates1.length) {
+            throw new IllegalArgumentException("output buffer too small: " + out.length);
+        }
+        final double[] result = out == null ? new double[dates1.length] : out;
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        BatchExecutor.run(dates1.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc1 = dates1[i];
+                    final long utc2 = dates2[i];
+                    result[i] = EpochCalendar.monthsBetween(
+                            utc1 + zone.getOffset(utc1), utc2 + zone.getOffset(utc2));
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code day} is not a day of the
+     *             week of the default locale
+     */
+    public static final long[] nextDay(final long[] dates, final String day, final long[] out) {
+        final long[] result = buffer(dates, out);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final int dayOfWeek = DayNames.forLocale(Locale.getDefault()).resolve(day);
+        BatchExecutor.run(dates.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc = dates[i];
+                    result[i] = zone.convertLocalToUTC(
+                            EpochCalendar.nextDay(utc + zone.getOffset(utc), dayOfWeek), false);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code fmt} is not a date format
+     *             unit
+     */
+    public static final long[] round(final long[] dates, final String fmt, final long[] out) {
+        final long[] result = buffer(dates, out);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final DateUnit unit = DateUnit.of(fmt);
+        BatchExecutor.run(dates.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc = dates[i];
+                    result[i] = zone.convertLocalToUTC(unit.round(utc + zone.getOffset(utc)), false);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code fmt} is not a date format
+     *             unit
+     */
+    public static final long[] trunc(final long[] dates, final String fmt, final long[] out) {
+        final long[] result = buffer(dates, out);
+        final DateTimeZone zone = DateTimeZone.getDefault();
+        final DateUnit unit = DateUnit.of(fmt);
+        BatchExecutor.run(dates.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final long utc = dates[i];
+                    result[i] = zone.convertLocalToUTC(unit.truncate(utc + zone.getOffset(utc)), false);
+                }
+            }
+        });
+        return result;
+    }
+
+    public static final String[] asciistr(final CharSequence[] strs, final String[] out) {
+        final String[] result = buffer(strs, out);
+        BatchExecutor.run(strs.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final CharSequence str = strs[i];
+                    result[i] = str == null ? null : UnicodeEscapes.escape(str.toString());
+                }
+            }
+        });
+        return result;
+    }
+
+    public static final String[] compose(final CharSequence[] exps, final String[] out) {
+        final String[] result = buffer(exps, out);
+        BatchExecutor.run(exps.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final CharSequence exp = exps[i];
+                    result[i] = exp == null ? null
+                            : Normalization.normalize(exp.toString(), Normalizer.Form.NFC);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * TRANSLATE of every element; all of them are {@code null} if
+     * {@code from} or {@code to} is.
+     */
+    public static final String[] translate(final CharSequence[] exprs, final String from,
+            final String to, final String[] out) {
+        final String[] result = buffer(exprs, out);
+        if (from == null || to == null) {
+            Arrays.fill(result, 0, exprs.length, null);
+            return result;
+        }
+        final TranslateTable table = TranslateTable.of(from, to);
+        BatchExecutor.run(exprs.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final CharSequence expr = exprs[i];
+                    result[i] = expr == null ? null : table.translate(expr.toString());
+                }
+            }
+        });
+        return result;
+    }
+
+    public static final String[] unistr(final CharSequence[] strings, final String[] out) {
+        final String[] result = buffer(strings, out);
+        BatchExecutor.run(strings.length, new BatchExecutor.Chunk() {
+            @Override
+            void run(final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final CharSequence string = strings[i];
+                    result[i] = string == null ? null : UnicodeEscapes.unescape(string.toString());
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The table function {@code ASCIISTR_TABLE(query)}: the rows of
+     * {@code query} with ASCIISTR of the first column.
+     */
+    public static final ResultSet asciistrTable(final Connection conn, final String query)
+            throws SQLException {
+        return convertFirstColumn(conn, query, new Conversion() {
+            @Override
+            void convert(final String[] column) {
+                asciistr(column, column);
+            }
+        });
+    }
+
+    /**
+     * The table function {@code COMPOSE_TABLE(query)}: the rows of
+     * {@code query} with COMPOSE of the first column.
+     */
+    public static final ResultSet composeTable(final Connection conn, final String query)
+            throws SQLException {
+        return convertFirstColumn(conn, query, new Conversion() {
+            @Override
+            void convert(final String[] column) {
+                compose(column, column);
+            }
+        });
+    }
+
+    /**
+     * The table function {@code TRANSLATE_TABLE(query, from, to)}: the rows
+     * of {@code query} with TRANSLATE of the first column.
+     */
+    public static final ResultSet translateTable(final Connection conn, final String query,
+            final String from, final String to) throws SQLException {
+        return convertFirstColumn(conn, query, new Conversion() {
+            @Override
+            void convert(final String[] column) {
+                translate(column, from, to, column);
+            }
+        });
+    }
+
+    /**
+     * The table function {@code UNISTR_TABLE(query)}: the rows of
+     * {@code query} with UNISTR of the first column.
+     */
+    public static final ResultSet unistrTable(final Connection conn, final String query)
+            throws SQLException {
+        return convertFirstColumn(conn, query, new Conversion() {
+            @Override
+            void convert(final String[] column) {
+                unistr(column, column);
+            }
+        });
+    }
+
+    private abstract static class Conversion {
+
+        abstract void convert(String[] column);
+    }
+
+    /**
+     * Runs {@code query} on the connection of the caller and converts its
+     * first column, read as strings, in one batch; the other columns are
+     * returned as they are. When h2 only asks for the columns, the query is
+     * prepared but not run.
+     */
+    private static ResultSet convertFirstColumn(final Connection conn, final String query,
+            final Conversion conversion) throws SQLException {
+        final SimpleResultSet result = new SimpleResultSet();
+        final PreparedStatement stmt = conn.prepareStatement(query);
+        try {
+            final ResultSetMetaData meta = stmt.getMetaData();
+            final int columns = meta.getColumnCount();
+            result.addColumn(meta.getColumnLabel(1), Types.VARCHAR, Integer.MAX_VALUE, 0);
+            for (int c = 2; c <= columns; c++) {
+                result.addColumn(meta.getColumnLabel(c), meta.getColumnType(c),
+                        meta.getPrecision(c), meta.getScale(c));
+            }
+            if (COLUMN_LIST_URL.equals(conn.getMetaData().getURL())) {
+                return result;
+            }
+            final List<Object[]> rows = new ArrayList<Object[]>();
+            final ResultSet rs = stmt.executeQuery();
+            try {
+                while (rs.next()) {
+                    final Object[] row = new Object[columns];
+                    row[0] = rs.getString(1);
+                    for (int c = 2; c <= columns; c++) {
+                        row[c - 1] = rs.getObject(c);
+                    }
+                    rows.add(row);
+                }
+            } finally {
+                rs.close();
+            }
+            final String[] column = new String[rows.size()];
+            for (int i = 0; i < column.length; i++) {
+                column[i] = (String) rows.get(i)[0];
+            }
+            conversion.convert(column);
+            for (int i = 0; i < column.length; i++) {
+                final Object[] row = rows.get(i);
+                row[0] = column[i];
+                result.addRow(row);
+            }
+            return result;
+        } finally {
+            stmt.close();
+        }
+    }
+}
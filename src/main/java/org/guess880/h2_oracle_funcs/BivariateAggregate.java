@@ -0,0 +1,198 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.h2.api.AggregateFunction;
+
+/**
+ * Base of the aggregates of {@code (expr1, expr2)} pairs, CORR, COVAR_* and
+ * REGR_*. Rows where either expression is null are ignored.
+ * <p>
+ * The means, the sums of squared deviations and the co-moment are updated in
+ * one pass with Welford's method, which stays accurate when the values are
+ * large compared to their spread. The state is a few primitives per group.
+ */
+public abstract class BivariateAggregate implements AggregateFunction {
+
+    long count;
+
+    double meanX;
+
+    double meanY;
+
+    /**
+     * The sum of squared deviations of x from its mean.
+     */
+    double sxx;
+
+    double syy;
+
+    /**
+     * The sum of the products of the deviations of x and y.
+     */
+    double sxy;
+
+    public void init(final Connection conn) throws SQLException {
+        // nothing to do
+    }
+
+    public int getType(final int[] inputTypes) throws SQLException {
+        if (inputTypes.length != 2) {
+            throw new SQLException("invalid number of arguments");
+        }
+        for (final int type : inputTypes) {
+            switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                break;
+            default:
+                throw new SQLException("expected NUMBER, got " + type);
+            }
+        }
+        return Types.DOUBLE;
+    }
+
+    /**
+     * Adds a row of {@code (expr1, expr2)}, which are y and x of the REGR
+     * functions.
+     */
+    public void add(final Object value) throws SQLException {
+        final Object[] args = (Object[]) value;
+        if (args[0] == null || args[1] == null) {
+            return;
+        }
+        final double y = ((Number) args[0]).doubleValue();
+        final double x = ((Number) args[1]).doubleValue();
+        count++;
+        final double dx = x - meanX;
+        final double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        sxx += dx * (x - meanX);
+        syy += dy * (y - meanY);
+        sxy += dx * (y - meanY);
+    }
+
+    public Object getResult() throws SQLException {
+        return count == 0 ? null : result();
+    }
+
+    /**
+     * The result of a group that has at least one row.
+     */
+    abstract Object result();
+
+    static Double ratio(final double dividend, final double divisor) {
+        return divisor == 0 ? null : dividend / divisor;
+    }
+
+    public static class Corr extends BivariateAggregate {
+        @Override
+        Object result() {
+            return ratio(sxy, Math.sqrt(sxx * syy));
+        }
+    }
+
+    public static class CovarPop extends BivariateAggregate {
+        @Override
+        Object result() {
+            return sxy / count;
+        }
+    }
+
+    public static class CovarSamp extends BivariateAggregate {
+        @Override
+        Object result() {
+            return count < 2 ? null : sxy / (count - 1);
+        }
+    }
+
+    public static class RegrSlope extends BivariateAggregate {
+        @Override
+        Object result() {
+            return ratio(sxy, sxx);
+        }
+    }
+
+    public static class RegrIntercept extends BivariateAggregate {
+        @Override
+        Object result() {
+            return sxx == 0 ? null : meanY - sxy / sxx * meanX;
+        }
+    }
+
+    public static class RegrCount extends BivariateAggregate {
+        @Override
+        public int getType(final int[] inputTypes) throws SQLException {
+            super.getType(inputTypes);
+            return Types.BIGINT;
+        }
+
+        @Override
+        public Object getResult() throws SQLException {
+            return count;
+        }
+
+        @Override
+        Object result() {
+            return count;
+        }
+    }
+
+    public static class RegrR2 extends BivariateAggregate {
+        @Override
+        Object result() {
+            if (sxx == 0) {
+                return null;
+            }
+            if (syy == 0) {
+                return 1d;
+            }
+            return sxy * sxy / (sxx * syy);
+        }
+    }
+
+    public static class RegrAvgx extends BivariateAggregate {
+        @Override
+        Object result() {
+            return meanX;
+        }
+    }
+
+    public static class RegrAvgy extends BivariateAggregate {
+        @Override
+        Object result() {
+            return meanY;
+        }
+    }
+
+    public static class RegrSxx extends BivariateAggregate {
+        @Override
+        Object result() {
+            return sxx;
+        }
+    }
+
+    public static class RegrSyy extends BivariateAggregate {
+        @Override
+        Object result() {
+            return syy;
+        }
+    }
+
+    public static class RegrSxy extends BivariateAggregate {
+        @Override
+        Object result() {
+            return sxy;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded LRU cache safe for concurrent use.
+ * <p>
+ * Keys are spread over independently locked segments, each of which is an
+ * access ordered {@link LinkedHashMap} evicting its least recently used entry,
+ * so threads working on different keys rarely contend.
+ */
+final class BoundedCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        final int perSegment = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<K, V>(perSegment);
+        }
+    }
+
+    V get(final K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Stores the value unless another thread did first, and returns the value
+     * that is in the cache afterwards.
+     */
+    V putIfAbsent(final K key, final V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final V existing = segment.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            segment.put(key, value);
+            return value;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    void clear() {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(final Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h ^= (h >>> 8);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.guess880.h2_oracle_funcs;
+
+/**
+ * Composite key of two non-null parts for {@link BoundedCache}.
+ */
+final class CacheKey {
+
+    private final Object first;
+
+    private final Object second;
+
+    private final int hash;
+
+    CacheKey(final Object first, final Object second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * first.hashCode() + second.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof CacheKey)) {
+            return false;
+        }
+        final CacheKey other = (CacheKey) obj;
+        return first.equals(other.first) && second.equals(other.second);
+    }
+}
@@ -0,0 +1,781 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiled Oracle datetime format model, e.g. {@code 'YYYY-MM-DD HH24:MI:SS'}.
+ * <p>
+ * A format string is parsed once into an immutable program of elements, with
+ * the month and day names of its language resolved up front. Programs are
+ * shared through a bounded cache keyed by format and language, so formatting
+ * or parsing a row only runs the program.
+ */
+final class DateFormatModel {
+
+    static final String DEFAULT_DATE_FORMAT = "DD-MON-RR";
+
+    static final String DEFAULT_TIMESTAMP_FORMAT = "DD-MON-RR HH.MI.SSXFF AM";
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final BoundedCache<CacheKey, DateFormatModel> CACHE =
+            new BoundedCache<CacheKey, DateFormatModel>(CACHE_SIZE);
+
+    private static volatile DateFormatModel last;
+
+    private static final long JULIAN_DAY_OF_EPOCH = 2440588L;
+
+    private static final String[] ROMAN_MONTHS = {
+            "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X", "XI", "XII"
+    };
+
+    private enum Code {
+        LITERAL, AD, AD_DOTS, AM, AM_DOTS, CC, SCC, D, DAY, DD, DDD, DY, FF, FM, FX,
+        HH, HH24, IW, IYYY, IYY, IY, I, J, MI, MM, MON, MONTH, Q, RM, RR, RRRR, SS,
+        SSSSS, SYYYY, TZH, TZM, WW, W, X, YYYY, YYY, YY, Y, Y_YYY
+    }
+
+    // longest first, so that e.g. MONTH wins over MON and MON over MI
+    private static final String[] TOKENS = {
+            "Y,YYY", "SYYYY", "A.D.", "B.C.", "A.M.", "P.M.", "MONTH", "SSSSS",
+            "HH24", "HH12", "IYYY", "RRRR", "YYYY",
+            "FF1", "FF2", "FF3", "FF4", "FF5", "FF6", "FF7", "FF8", "FF9",
+            "SCC", "DDD", "DAY", "MON", "IYY", "YYY", "TZH", "TZM",
+            "AD", "BC", "AM", "PM", "CC", "DD", "DY", "FF", "FM", "FX", "HH", "IW",
+            "IY", "MI", "MM", "RM", "RR", "SS", "WW", "YY",
+            "D", "I", "J", "Q", "W", "X", "Y"
+    };
+
+    private static final Code[] CODES = {
+            Code.Y_YYY, Code.SYYYY, Code.AD_DOTS, Code.AD_DOTS, Code.AM_DOTS, Code.AM_DOTS, Code.MONTH, Code.SSSSS,
+            Code.HH24, Code.HH, Code.IYYY, Code.RRRR, Code.YYYY,
+            Code.FF, Code.FF, Code.FF, Code.FF, Code.FF, Code.FF, Code.FF, Code.FF, Code.FF,
+            Code.SCC, Code.DDD, Code.DAY, Code.MON, Code.IYY, Code.YYY, Code.TZH, Code.TZM,
+            Code.AD, Code.AD, Code.AM, Code.AM, Code.CC, Code.DD, Code.DY, Code.FF, Code.FM, Code.FX, Code.HH, Code.IW,
+            Code.IY, Code.MI, Code.MM, Code.RM, Code.RR, Code.SS, Code.WW, Code.YY,
+            Code.D, Code.I, Code.J, Code.Q, Code.W, Code.X, Code.Y
+    };
+
+    private static final int UPPER = 0;
+
+    private static final int LOWER = 1;
+
+    private static final int CAPITAL = 2;
+
+    private static final class Element {
+
+        final Code code;
+
+        final String text;
+
+        final int width;
+
+        final int letterCase;
+
+        final boolean fill;
+
+        final boolean exact;
+
+        Element(final Code code, final String text, final int width, final int letterCase,
+                final boolean fill, final boolean exact) {
+            this.code = code;
+            this.text = text;
+            this.width = width;
+            this.letterCase = letterCase;
+            this.fill = fill;
+            this.exact = exact;
+        }
+    }
+
+    private static final class Parsed {
+
+        int pos;
+
+        long year;
+
+        int month;
+
+        int day = 1;
+
+        int hour;
+
+        int minute;
+
+        int second;
+
+        int nanos;
+
+        int pm = -1;
+
+        boolean hour12;
+
+        boolean bc;
+
+        long julianDay = -1;
+
+        int dayOfYear = -1;
+
+        int secondOfDay = -1;
+    }
+
+    private final String format;
+
+    private final Locale locale;
+
+    private final Element[] elements;
+
+    private final String[][] monthNames = new String[3][];
+
+    private final String[][] shortMonthNames = new String[3][];
+
+    private final String[][] dayNames = new String[3][];
+
+    private final String[][] shortDayNames = new String[3][];
+
+    private final String[] amPm;
+
+    private final String[] eras;
+
+    private final String[][] amPmNames = new String[3][];
+
+    private final String[][] dottedAmPmNames = new String[3][];
+
+    private final String[][] eraNames = new String[3][];
+
+    private final String[][] dottedEraNames = new String[3][];
+
+    private final boolean english;
+
+    private final int monthWidth;
+
+    private final int dayWidth;
+
+    private final DayNames days;
+
+    private final int estimatedLength;
+
+    private DateFormatModel(final String format, final Locale locale) {
+        this.format = format;
+        this.locale = locale;
+        this.elements = compile(format);
+        final NlsNames names = NlsNames.forLocale(locale);
+        cased(monthNames, names.months);
+        cased(shortMonthNames, names.shortMonths);
+        cased(dayNames, names.days);
+        cased(shortDayNames, names.shortDays);
+        this.amPm = names.amPm;
+        this.eras = names.eras;
+        this.english = "en".equals(locale.getLanguage());
+        cased(amPmNames, amPm);
+        cased(dottedAmPmNames, english ? new String[] {"A.M.", "P.M."} : amPm);
+        cased(eraNames, eras);
+        cased(dottedEraNames, english ? new String[] {"B.C.", "A.D."} : eras);
+        this.monthWidth = maxLength(names.months);
+        this.dayWidth = maxLength(names.days);
+        this.days = DayNames.forLocale(locale);
+        int length = 0;
+        for (final Element e : elements) {
+            length += e.code == Code.LITERAL ? e.text.length() : Math.max(e.width, 2);
+        }
+        this.estimatedLength = length;
+    }
+
+    static DateFormatModel of(final String format, final Locale locale) {
+        final DateFormatModel l = last;
+        if (l != null && l.format.equals(format) && l.locale.equals(locale)) {
+            return l;
+        }
+        final CacheKey key = new CacheKey(format, locale);
+        DateFormatModel model = CACHE.get(key);
+        if (model == null) {
+            model = CACHE.putIfAbsent(key, new DateFormatModel(format, locale));
+        }
+        last = model;
+        return model;
+    }
+
+    private void cased(final String[][] target, final String[] names) {
+        target[UPPER] = new String[names.length];
+        target[LOWER] = new String[names.length];
+        target[CAPITAL] = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            target[UPPER][i] = names[i].toUpperCase(locale);
+            target[LOWER][i] = names[i].toLowerCase(locale);
+            target[CAPITAL][i] = names[i].length() == 0 ? ""
+                    : names[i].substring(0, 1).toUpperCase(locale) + names[i].substring(1).toLowerCase(locale);
+        }
+    }
+
+    private static int maxLength(final String[] names) {
+        int max = 0;
+        for (final String name : names) {
+            max = Math.max(max, name.length());
+        }
+        return max;
+    }
+
+    private static Element[] compile(final String format) {
+        final List<Element> list = new ArrayList<Element>();
+        boolean fill = false;
+        boolean exact = false;
+        int i = 0;
+        final int len = format.length();
+        while (i < len) {
+            final char c = format.charAt(i);
+            if (c == '"') {
+                final int close = format.indexOf('"', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("literal does not match format string: " + format);
+                }
+                list.add(new Element(Code.LITERAL, format.substring(i + 1, close), 1, UPPER, fill, exact));
+                i = close + 1;
+                continue;
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                int end = i + 1;
+                while (end < len && !Character.isLetterOrDigit(format.charAt(end))
+                        && format.charAt(end) != '"') {
+                    end++;
+                }
+                list.add(new Element(Code.LITERAL, format.substring(i, end), 0, UPPER, fill, exact));
+                i = end;
+                continue;
+            }
+            int t = 0;
+            while (t < TOKENS.length && !format.regionMatches(true, i, TOKENS[t], 0, TOKENS[t].length())) {
+                t++;
+            }
+            if (t == TOKENS.length) {
+                throw new IllegalArgumentException("date format not recognized: " + format);
+            }
+            final String token = TOKENS[t];
+            final Code code = CODES[t];
+            if (code == Code.FM) {
+                fill = !fill;
+            } else if (code == Code.FX) {
+                exact = !exact;
+            } else {
+                int letterCase = UPPER;
+                if (Character.isLowerCase(c)) {
+                    letterCase = LOWER;
+                } else if (token.length() > 1 && Character.isLowerCase(format.charAt(i + 1))) {
+                    letterCase = CAPITAL;
+                }
+                list.add(new Element(code, null, width(code, token), letterCase, fill, exact));
+            }
+            i += token.length();
+        }
+        return list.toArray(new Element[list.size()]);
+    }
+
+    private static int width(final Code code, final String token) {
+        switch (code) {
+        case FF:
+            return token.length() == 3 ? token.charAt(2) - '0' : 6;
+        case J:
+            return 7;
+        case SSSSS:
+            return 5;
+        case YYYY:
+        case SYYYY:
+        case RRRR:
+        case IYYY:
+        case RM:
+            return 4;
+        case DDD:
+        case YYY:
+        case IYY:
+            return 3;
+        case D:
+        case Y:
+        case I:
+        case Q:
+        case W:
+            return 1;
+        default:
+            return 2;
+        }
+    }
+
+    // formatting
+
+    String format(final Date date) {
+        final long utc = date.getTime();
+        final int nanos = date instanceof Timestamp
+                ? ((Timestamp) date).getNanos()
+                : (int) EpochCalendar.floorMod(utc, 1000) * 1000000;
+        final long local = EpochCalendar.toLocal(utc);
+        final long epochDay = EpochCalendar.epochDay(local);
+        final long ymd = EpochCalendar.toYmd(epochDay);
+        final long year = EpochCalendar.year(ymd);
+        final long yearOfEra = year <= 0 ? 1 - year : year;
+        final int month = EpochCalendar.month(ymd);
+        final int day = EpochCalendar.day(ymd);
+        final int secondOfDay = (int) (EpochCalendar.millisOfDay(local) / 1000);
+        final int hour = secondOfDay / 3600;
+        final StringBuilder sb = new StringBuilder(estimatedLength);
+        for (final Element e : elements) {
+            switch (e.code) {
+            case LITERAL:
+                sb.append(e.text);
+                break;
+            case AD:
+                sb.append(eraNames[e.letterCase][year > 0 ? 1 : 0]);
+                break;
+            case AD_DOTS:
+                sb.append(dottedEraNames[e.letterCase][year > 0 ? 1 : 0]);
+                break;
+            case AM:
+                sb.append(amPmNames[e.letterCase][hour < 12 ? 0 : 1]);
+                break;
+            case AM_DOTS:
+                sb.append(dottedAmPmNames[e.letterCase][hour < 12 ? 0 : 1]);
+                break;
+            case SCC:
+                appendSign(sb, year, e);
+                appendNumber(sb, (yearOfEra + 99) / 100, e);
+                break;
+            case CC:
+                appendNumber(sb, (yearOfEra + 99) / 100, e);
+                break;
+            case D:
+                appendNumber(sb, days.dayNumber(EpochCalendar.dayOfWeek(epochDay)), e);
+                break;
+            case DAY:
+                appendPadded(sb, dayNames[e.letterCase][EpochCalendar.dayOfWeek(epochDay)], dayWidth, e);
+                break;
+            case DY:
+                sb.append(shortDayNames[e.letterCase][EpochCalendar.dayOfWeek(epochDay)]);
+                break;
+            case DD:
+                appendNumber(sb, day, e);
+                break;
+            case DDD:
+                appendNumber(sb, EpochCalendar.dayOfYear(epochDay), e);
+                break;
+            case FF:
+                appendFraction(sb, nanos, e.width);
+                break;
+            case HH:
+                appendNumber(sb, hour % 12 == 0 ? 12 : hour % 12, e);
+                break;
+            case HH24:
+                appendNumber(sb, hour, e);
+                break;
+            case IW:
+                appendNumber(sb, EpochCalendar.isoWeek(epochDay), e);
+                break;
+            case IYYY:
+                appendNumber(sb, EpochCalendar.isoYear(epochDay), e);
+                break;
+            case IYY:
+                appendNumber(sb, EpochCalendar.isoYear(epochDay) % 1000, e);
+                break;
+            case IY:
+                appendNumber(sb, EpochCalendar.isoYear(epochDay) % 100, e);
+                break;
+            case I:
+                appendNumber(sb, EpochCalendar.isoYear(epochDay) % 10, e);
+                break;
+            case J:
+                appendNumber(sb, epochDay + JULIAN_DAY_OF_EPOCH, e);
+                break;
+            case MI:
+                appendNumber(sb, secondOfDay / 60 % 60, e);
+                break;
+            case MM:
+                appendNumber(sb, month, e);
+                break;
+            case MON:
+                sb.append(shortMonthNames[e.letterCase][month - 1]);
+                break;
+            case MONTH:
+                appendPadded(sb, monthNames[e.letterCase][month - 1], monthWidth, e);
+                break;
+            case Q:
+                appendNumber(sb, (month - 1) / 3 + 1, e);
+                break;
+            case RM:
+                appendPadded(sb, e.letterCase == LOWER
+                        ? ROMAN_MONTHS[month - 1].toLowerCase(Locale.ENGLISH)
+                        : ROMAN_MONTHS[month - 1], e.width, e);
+                break;
+            case RR:
+            case YY:
+                appendNumber(sb, yearOfEra % 100, e);
+                break;
+            case RRRR:
+            case YYYY:
+                appendNumber(sb, yearOfEra, e);
+                break;
+            case SYYYY:
+                appendSign(sb, year, e);
+                appendNumber(sb, yearOfEra, e);
+                break;
+            case YYY:
+                appendNumber(sb, yearOfEra % 1000, e);
+                break;
+            case Y:
+                appendNumber(sb, yearOfEra % 10, e);
+                break;
+            case Y_YYY:
+                sb.append(yearOfEra / 1000).append(',');
+                appendZeroPadded(sb, yearOfEra % 1000, 3);
+                break;
+            case SS:
+                appendNumber(sb, secondOfDay % 60, e);
+                break;
+            case SSSSS:
+                appendNumber(sb, secondOfDay, e);
+                break;
+            case TZH:
+                final int offsetMinutes = (int) ((local - utc) / 60000);
+                sb.append(offsetMinutes < 0 ? '-' : '+');
+                appendZeroPadded(sb, Math.abs(offsetMinutes) / 60, 2);
+                break;
+            case TZM:
+                appendZeroPadded(sb, Math.abs((local - utc) / 60000) % 60, 2);
+                break;
+            case WW:
+                appendNumber(sb, (EpochCalendar.dayOfYear(epochDay) - 1) / 7 + 1, e);
+                break;
+            case W:
+                appendNumber(sb, (day - 1) / 7 + 1, e);
+                break;
+            case X:
+                sb.append('.');
+                break;
+            default:
+                throw new IllegalStateException(e.code.name());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendSign(final StringBuilder sb, final long year, final Element e) {
+        if (year <= 0) {
+            sb.append('-');
+        } else if (!e.fill) {
+            sb.append(' ');
+        }
+    }
+
+    private static void appendNumber(final StringBuilder sb, final long value, final Element e) {
+        if (e.fill) {
+            sb.append(value);
+        } else {
+            appendZeroPadded(sb, value, e.width);
+        }
+    }
+
+    private static void appendZeroPadded(final StringBuilder sb, final long value, final int width) {
+        for (long limit = 10, w = 1; w < width; limit *= 10, w++) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        sb.append(value);
+    }
+
+    private static void appendFraction(final StringBuilder sb, final int nanos, final int digits) {
+        long value = nanos;
+        for (int i = digits; i < 9; i++) {
+            value /= 10;
+        }
+        appendZeroPadded(sb, value, digits);
+    }
+
+    private static void appendPadded(final StringBuilder sb, final String text, final int width,
+            final Element e) {
+        sb.append(text);
+        if (!e.fill) {
+            for (int i = text.length(); i < width; i++) {
+                sb.append(' ');
+            }
+        }
+    }
+
+    // parsing
+
+    Date parseDate(final String text) {
+        final Parsed p = parse(text);
+        return new Date(EpochCalendar.toUtc(toLocal(p)));
+    }
+
+    Timestamp parseTimestamp(final String text) {
+        final Parsed p = parse(text);
+        final Timestamp ts = new Timestamp(EpochCalendar.toUtc(toLocal(p)));
+        ts.setNanos(p.nanos);
+        return ts;
+    }
+
+    private Parsed parse(final String text) {
+        final Parsed p = new Parsed();
+        final long today = EpochCalendar.toYmd(EpochCalendar.epochDay(
+                EpochCalendar.toLocal(System.currentTimeMillis())));
+        final long currentYear = EpochCalendar.year(today);
+        p.year = currentYear;
+        p.month = EpochCalendar.month(today);
+        final int len = text.length();
+        for (final Element e : elements) {
+            if (e.code != Code.LITERAL && !e.exact) {
+                p.pos = skipSpaces(text, p.pos);
+            }
+            switch (e.code) {
+            case LITERAL:
+                parseLiteral(text, p, e);
+                break;
+            case AD:
+            case AD_DOTS:
+                if (match(text, p, english ? "B.C." : null) || match(text, p, eras[0])) {
+                    p.bc = true;
+                } else if (!match(text, p, english ? "A.D." : null) && !match(text, p, eras[1])) {
+                    throw new IllegalArgumentException("AD/A.D. or BC/B.C. required: " + text);
+                }
+                break;
+            case AM:
+            case AM_DOTS:
+                if (match(text, p, english ? "A.M." : null) || match(text, p, amPm[0])) {
+                    p.pm = 0;
+                } else if (match(text, p, english ? "P.M." : null) || match(text, p, amPm[1])) {
+                    p.pm = 1;
+                } else {
+                    throw new IllegalArgumentException("AM/A.M. or PM/P.M. required: " + text);
+                }
+                break;
+            case D:
+                checkRange(parseNumber(text, p, e.width, e.exact), 1, 7, "day of week", text);
+                break;
+            case DAY:
+            case DY:
+                if (matchName(text, p, dayNames[UPPER], shortDayNames[UPPER]) < 1) {
+                    throw new IllegalArgumentException("not a valid day of the week: " + text);
+                }
+                break;
+            case DD:
+                p.day = (int) parseNumber(text, p, e.width, e.exact);
+                break;
+            case DDD:
+                p.dayOfYear = (int) checkRange(parseNumber(text, p, e.width, e.exact), 1, 366, "day of year", text);
+                break;
+            case FF:
+                final int start = p.pos;
+                int nanos = (int) parseNumber(text, p, e.exact ? e.width : 9, e.exact);
+                for (int i = p.pos - start; i < 9; i++) {
+                    nanos *= 10;
+                }
+                p.nanos = nanos;
+                break;
+            case HH:
+                p.hour = (int) checkRange(parseNumber(text, p, e.width, e.exact), 1, 12, "hour", text);
+                p.hour12 = true;
+                break;
+            case HH24:
+                p.hour = (int) checkRange(parseNumber(text, p, e.width, e.exact), 0, 23, "hour", text);
+                break;
+            case J:
+                p.julianDay = checkRange(parseNumber(text, p, e.width, e.exact), 1, 5373484, "julian date", text);
+                break;
+            case MI:
+                p.minute = (int) checkRange(parseNumber(text, p, e.width, e.exact), 0, 59, "minute", text);
+                break;
+            case MM:
+                p.month = (int) checkRange(parseNumber(text, p, e.width, e.exact), 1, 12, "month", text);
+                break;
+            case MON:
+            case MONTH:
+                p.month = matchName(text, p, monthNames[UPPER], shortMonthNames[UPPER]) + 1;
+                if (p.month < 1) {
+                    throw new IllegalArgumentException("not a valid month: " + text);
+                }
+                break;
+            case RM:
+                p.month = matchName(text, p, ROMAN_MONTHS, ROMAN_MONTHS) + 1;
+                if (p.month < 1) {
+                    throw new IllegalArgumentException("not a valid month: " + text);
+                }
+                break;
+            case RR:
+            case RRRR:
+                final int rrStart = p.pos;
+                final long rr = parseNumber(text, p, e.exact ? e.width : 4, e.exact);
+                p.year = p.pos - rrStart > 2 ? rr : roundYear(rr, currentYear);
+                break;
+            case SS:
+                p.second = (int) checkRange(parseNumber(text, p, e.width, e.exact), 0, 59, "second", text);
+                break;
+            case SSSSS:
+                p.secondOfDay = (int) checkRange(parseNumber(text, p, e.width, e.exact), 0, 86399,
+                        "seconds in day", text);
+                break;
+            case SYYYY:
+                if (p.pos < len && (text.charAt(p.pos) == '-' || text.charAt(p.pos) == '+')) {
+                    p.bc = text.charAt(p.pos) == '-';
+                    p.pos++;
+                }
+                p.year = checkRange(parseNumber(text, p, e.width, e.exact), 1, 9999, "year", text);
+                break;
+            case YYYY:
+                p.year = checkRange(parseNumber(text, p, e.width, e.exact), 1, 9999, "year", text);
+                break;
+            case YYY:
+                p.year = currentYear - currentYear % 1000 + parseNumber(text, p, e.width, e.exact);
+                break;
+            case YY:
+                p.year = currentYear - currentYear % 100 + parseNumber(text, p, e.width, e.exact);
+                break;
+            case Y:
+                p.year = currentYear - currentYear % 10 + parseNumber(text, p, e.width, e.exact);
+                break;
+            case Y_YYY:
+                final long thousands = parseNumber(text, p, 1, e.exact);
+                if (p.pos >= len || text.charAt(p.pos) != ',') {
+                    throw new IllegalArgumentException("literal does not match format string: " + text);
+                }
+                p.pos++;
+                p.year = thousands * 1000 + parseNumber(text, p, 3, e.exact);
+                break;
+            case X:
+                if (p.pos >= len || (e.exact ? text.charAt(p.pos) != '.'
+                        : Character.isLetterOrDigit(text.charAt(p.pos)))) {
+                    throw new IllegalArgumentException("literal does not match format string: " + text);
+                }
+                p.pos++;
+                break;
+            default:
+                throw new IllegalArgumentException("format code cannot appear in date input format: " + format);
+            }
+        }
+        if (skipSpaces(text, p.pos) < len) {
+            throw new IllegalArgumentException(
+                    "date format picture ends before converting entire input string: " + text);
+        }
+        return p;
+    }
+
+    private long toLocal(final Parsed p) {
+        final long year = p.bc ? 1 - p.year : p.year;
+        final long epochDay;
+        if (p.julianDay >= 0) {
+            epochDay = p.julianDay - JULIAN_DAY_OF_EPOCH;
+        } else if (p.dayOfYear > 0) {
+            if (p.dayOfYear > (EpochCalendar.isLeapYear(year) ? 366 : 365)) {
+                throw new IllegalArgumentException("day of year must be between 1 and 365 (366 for leap year)");
+            }
+            epochDay = EpochCalendar.toEpochDay(year, 1, 1) + p.dayOfYear - 1;
+        } else {
+            if (p.day < 1 || p.day > EpochCalendar.daysInMonth(year, p.month)) {
+                throw new IllegalArgumentException("day of month must be between 1 and last day of month");
+            }
+            epochDay = EpochCalendar.toEpochDay(year, p.month, p.day);
+        }
+        int hour = p.hour;
+        int minute = p.minute;
+        int second = p.second;
+        if (p.secondOfDay >= 0) {
+            hour = p.secondOfDay / 3600;
+            minute = p.secondOfDay / 60 % 60;
+            second = p.secondOfDay % 60;
+        } else if (p.hour12) {
+            hour = hour % 12 + (p.pm == 1 ? 12 : 0);
+        }
+        return epochDay * EpochCalendar.MILLIS_PER_DAY
+                + ((hour * 60 + minute) * 60 + second) * 1000L + p.nanos / 1000000;
+    }
+
+    /**
+     * RR: a two digit year is placed in the century that puts it closest to
+     * the current year.
+     */
+    private static long roundYear(final long twoDigits, final long currentYear) {
+        final long century = currentYear - currentYear % 100;
+        if (currentYear % 100 < 50) {
+            return twoDigits < 50 ? century + twoDigits : century - 100 + twoDigits;
+        }
+        return twoDigits < 50 ? century + 100 + twoDigits : century + twoDigits;
+    }
+
+    /**
+     * Reads up to {@code width} digits, exactly {@code width} in FX mode.
+     */
+    private static long parseNumber(final String text, final Parsed p, final int width, final boolean exact) {
+        final int start = p.pos;
+        final int limit = Math.min(text.length(), start + width);
+        long value = 0;
+        int i = start;
+        while (i < limit && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            value = value * 10 + (text.charAt(i) - '0');
+            i++;
+        }
+        if (i == start || (exact && i - start != width)) {
+            throw new IllegalArgumentException(
+                    "a non-numeric character was found where a numeric was expected: " + text);
+        }
+        p.pos = i;
+        return value;
+    }
+
+    /**
+     * Returns the index of the longest full or abbreviated name found at the
+     * cursor, ignoring case, or -1.
+     */
+    private static int matchName(final String text, final Parsed p, final String[] names,
+            final String[] shortNames) {
+        int found = -1;
+        int length = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].length() > length && text.regionMatches(true, p.pos, names[i], 0, names[i].length())) {
+                found = i;
+                length = names[i].length();
+            }
+            if (shortNames[i].length() > length
+                    && text.regionMatches(true, p.pos, shortNames[i], 0, shortNames[i].length())) {
+                found = i;
+                length = shortNames[i].length();
+            }
+        }
+        p.pos += length;
+        return found;
+    }
+
+    private static int skipSpaces(final String text, int pos) {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean match(final String text, final Parsed p, final String word) {
+        if (word != null && word.length() > 0 && text.regionMatches(true, p.pos, word, 0, word.length())) {
+            p.pos += word.length();
+            return true;
+        }
+        return false;
+    }
+
+    private static long checkRange(final long value, final long min, final long max, final String what,
+            final String text) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(what + " must be between " + min + " and " + max + ": " + text);
+        }
+        return value;
+    }
+
+    private static void parseLiteral(final String text, final Parsed p, final Element e) {
+        if (e.exact || e.width == 1) {
+            if (!text.regionMatches(!e.exact, p.pos, e.text, 0, e.text.length())) {
+                throw new IllegalArgumentException("literal does not match format string: " + text);
+            }
+            p.pos += e.text.length();
+            return;
+        }
+        // punctuation in the format matches any run of punctuation, or none
+        while (p.pos < text.length() && !Character.isLetterOrDigit(text.charAt(p.pos))) {
+            p.pos++;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * The date and time functions: ADD_MONTHS, DBTIMEZONE, FROM_TZ, LAST_DAY,
+ * MONTHS_BETWEEN, NEW_TIME, NEXT_DAY, ROUND, SESSIONTIMEZONE,
+ * SYS_EXTRACT_UTC, TO_CHAR, TO_DATE, TO_TIMESTAMP, TRUNC and TZ_OFFSET. The
+ * time zone data of Joda-Time is loaded by the first call, not by the
+ * registration; time zones are resolved through {@link ZoneCache}.
+ */
+public final class DateTimeFunctions {
+
+    private DateTimeFunctions() {
+    }
+
+    // TODO support implicit type conversion of date.
+    public static final Date addMonths(final Date date, final int integer) {
+        if (date == null) {
+            return null;
+        }
+        return new Date(EpochCalendar.toUtc(
+                EpochCalendar.addMonths(EpochCalendar.toLocal(date.getTime()), integer)));
+    }
+
+    // TODO omit the parentheses
+    public static final String dbTimeZone() {
+        return TimeZoneContext.dbTimeZone();
+    }
+
+    /**
+     * Interprets the wall clock {@code timestamp} in {@code timeZone}. H2 has
+     * no TIMESTAMP WITH TIME ZONE, so the instant is returned as a TIMESTAMP
+     * in the database time zone.
+     *
+     * @throws IllegalArgumentException if the time zone is not known, or if
+     *             the wall clock falls in a daylight saving time gap of it
+     */
+    public static final Timestamp fromTz(final Timestamp timestamp, final String timeZone) {
+        if (timestamp == null || timeZone == null) {
+            return null;
+        }
+        return withNanos(ZoneCache.forName(timeZone).convertLocalToUTC(
+                EpochCalendar.toLocal(timestamp.getTime()), true), timestamp);
+    }
+
+    // TODO support implicit type conversion of date.
+    public static final Date lastDay(final Date date) {
+        if (date == null) {
+            return null;
+        }
+        return new Date(EpochCalendar.toUtc(
+                EpochCalendar.lastDay(EpochCalendar.toLocal(date.getTime()))));
+    }
+
+    // TODO support implicit type conversion of date.
+    /**
+     * MONTHS_BETWEEN, NULL if a date is NULL. H2 boxes the result of every
+     * alias call, so the Double costs a call through H2 nothing.
+     */
+    public static final Double monthsBetween(final Date date1, final Date date2) {
+        if (date1 == null || date2 == null) {
+            return null;
+        }
+        return Double.valueOf(EpochCalendar.monthsBetween(
+                EpochCalendar.toLocal(date1.getTime()),
+                EpochCalendar.toLocal(date2.getTime())));
+    }
+
+    /**
+     * MONTHS_BETWEEN with the precision of an Oracle NUMBER instead of a
+     * double. It is not registered, create an alias for it if needed.
+     */
+    public static final BigDecimal monthsBetweenDecimal(final Date date1, final Date date2) {
+        if (date1 == null || date2 == null) {
+            return null;
+        }
+        final long local1 = EpochCalendar.toLocal(date1.getTime());
+        final long local2 = EpochCalendar.toLocal(date2.getTime());
+        final long ymd1 = EpochCalendar.toYmd(EpochCalendar.epochDay(local1));
+        final long ymd2 = EpochCalendar.toYmd(EpochCalendar.epochDay(local2));
+        final BigDecimal months = BigDecimal.valueOf(EpochCalendar.wholeMonths(ymd1, ymd2));
+        final long seconds = EpochCalendar.remainderSeconds(local1, ymd1, local2, ymd2);
+        if (seconds == 0) {
+            return months;
+        }
+        return months.add(BigDecimal.valueOf(seconds).divide(
+                BigDecimal.valueOf(EpochCalendar.SECONDS_PER_31_DAYS), NUMBER_PRECISION),
+                NUMBER_PRECISION);
+    }
+
+    private static final MathContext NUMBER_PRECISION = new MathContext(38, RoundingMode.HALF_UP);
+
+    /**
+     * Converts the wall clock {@code date} in {@code timeZone1} to the wall
+     * clock in {@code timeZone2}. The time zones are the abbreviations of
+     * Oracle, such as {@code 'PST'}, but offsets and region names are also
+     * accepted.
+     *
+     * @throws IllegalArgumentException if a time zone is not known
+     */
+    // TODO support implicit type conversion of date.
+    public static final Date newTime(final Date date, final String timeZone1,
+            final String timeZone2) {
+        if (date == null || timeZone1 == null || timeZone2 == null) {
+            return null;
+        }
+        final long instant = ZoneCache.forName(timeZone1).convertLocalToUTC(
+                EpochCalendar.toLocal(date.getTime()), false);
+        return new Date(EpochCalendar.toUtc(ZoneCache.forName(timeZone2).convertUTCToLocal(instant)));
+    }
+
+    // TODO support implicit type conversion of date.
+    public static final Date nextDay(final Date date, final String day) {
+        if (date == null || day == null) {
+            return null;
+        }
+        final int dayOfWeek = DayNames.forLocale(Locale.getDefault()).resolve(day);
+        return new Date(EpochCalendar.toUtc(
+                EpochCalendar.nextDay(EpochCalendar.toLocal(date.getTime()), dayOfWeek)));
+    }
+
+    // ROUND is a built-in function of h2, so it is not registered.
+    public static final Date round(final Date date) {
+        return round(date, "DD");
+    }
+
+    public static final Date round(final Date date, final String fmt) {
+        if (date == null || fmt == null) {
+            return null;
+        }
+        return new Date(EpochCalendar.toUtc(
+                DateUnit.of(fmt).round(EpochCalendar.toLocal(date.getTime()))));
+    }
+
+    // TODO omit the parentheses
+    public static final String sessionTimeZone(final Connection conn) {
+        return TimeZoneContext.sessionTimeZone(conn);
+    }
+
+    /**
+     * The wall clock in UTC of {@code timestamp}, which is in the database
+     * time zone as FROM_TZ returns it.
+     */
+    public static final Timestamp sysExtractUtc(final Timestamp timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        return withNanos(EpochCalendar.toUtc(timestamp.getTime()), timestamp);
+    }
+
+    /**
+     * SYSTIMESTAMP is a keyword of h2, which is the same as
+     * CURRENT_TIMESTAMP, so it is not registered.
+     */
+    public static final Timestamp systimestamp() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    public static final String toChar(final Date date) {
+        return toChar(date, DateFormatModel.DEFAULT_DATE_FORMAT, null);
+    }
+
+    public static final String toChar(final Date date, final String fmt) {
+        return toChar(date, fmt, null);
+    }
+
+    public static final String toChar(final Date date, final String fmt, final String nlsParam) {
+        if (date == null || fmt == null) {
+            return null;
+        }
+        return DateFormatModel.of(fmt, NlsLanguage.dateLanguage(nlsParam)).format(date);
+    }
+
+    public static final Date toDate(final String str) {
+        return toDate(str, DateFormatModel.DEFAULT_DATE_FORMAT, null);
+    }
+
+    public static final Date toDate(final String str, final String fmt) {
+        return toDate(str, fmt, null);
+    }
+
+    public static final Date toDate(final String str, final String fmt, final String nlsParam) {
+        if (str == null || fmt == null) {
+            return null;
+        }
+        return DateFormatModel.of(fmt, NlsLanguage.dateLanguage(nlsParam)).parseDate(str);
+    }
+
+    public static final Timestamp toTimestamp(final String str) {
+        return toTimestamp(str, DateFormatModel.DEFAULT_TIMESTAMP_FORMAT, null);
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt) {
+        return toTimestamp(str, fmt, null);
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt, final String nlsParam) {
+        if (str == null || fmt == null) {
+            return null;
+        }
+        return DateFormatModel.of(fmt, NlsLanguage.dateLanguage(nlsParam)).parseTimestamp(str);
+    }
+
+    public static final Date trunc(final Date date) {
+        if (date == null) {
+            return null;
+        }
+        final long local = EpochCalendar.toLocal(date.getTime());
+        return new Date(EpochCalendar.toUtc(local - EpochCalendar.millisOfDay(local)));
+    }
+
+    public static final Date trunc(final Date date, final String fmt) {
+        if (date == null || fmt == null) {
+            return null;
+        }
+        return new Date(EpochCalendar.toUtc(
+                DateUnit.of(fmt).truncate(EpochCalendar.toLocal(date.getTime()))));
+    }
+
+    /**
+     * The current offset of {@code timeZone}, e.g. {@code '-08:00'} for
+     * {@code 'America/Los_Angeles'} in winter. Pass SESSIONTIMEZONE() or
+     * DBTIMEZONE() for the session or database time zone.
+     *
+     * @throws IllegalArgumentException if the time zone is not known
+     */
+    public static final String tzOffset(final String timeZone) {
+        if (timeZone == null) {
+            return null;
+        }
+        return TimeZoneContext.formatOffset(
+                ZoneCache.forName(timeZone).getOffset(System.currentTimeMillis()));
+    }
+
+    private static Timestamp withNanos(final long millis, final Timestamp nanos) {
+        final Timestamp result = new Timestamp(millis);
+        result.setNanos(nanos.getNanos());
+        return result;
+    }
+}
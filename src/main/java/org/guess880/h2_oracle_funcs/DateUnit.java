@@ -0,0 +1,239 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.guess880.h2_oracle_funcs.EpochCalendar.MILLIS_PER_DAY;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The format units of date TRUNC and ROUND. Both work on local millis, see
+ * {@link EpochCalendar}.
+ */
+enum DateUnit {
+
+    CENTURY("CC", "SCC") {
+        @Override
+        long truncate(final long local) {
+            return EpochCalendar.toEpochDay(centuryStart(local), 1, 1) * MILLIS_PER_DAY;
+        }
+
+        @Override
+        long round(final long local) {
+            final long start = centuryStart(local);
+            final long year = EpochCalendar.year(EpochCalendar.toYmd(EpochCalendar.epochDay(local)));
+            return EpochCalendar.toEpochDay(year - start < 50 ? start : start + 100, 1, 1) * MILLIS_PER_DAY;
+        }
+
+        private long centuryStart(final long local) {
+            final long year = EpochCalendar.year(EpochCalendar.toYmd(EpochCalendar.epochDay(local)));
+            return EpochCalendar.floorDiv(year - 1, 100) * 100 + 1;
+        }
+    },
+    YEAR("SYYYY", "YYYY", "YEAR", "SYEAR", "YYY", "YY", "Y") {
+        @Override
+        long truncate(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            return EpochCalendar.toEpochDay(EpochCalendar.year(ymd), 1, 1) * MILLIS_PER_DAY;
+        }
+
+        @Override
+        long round(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            final long year = EpochCalendar.year(ymd);
+            return EpochCalendar.toEpochDay(EpochCalendar.month(ymd) < 7 ? year : year + 1, 1, 1)
+                    * MILLIS_PER_DAY;
+        }
+    },
+    ISO_YEAR("IYYY", "IYY", "IY", "I") {
+        @Override
+        long truncate(final long local) {
+            return EpochCalendar.isoYearStart(EpochCalendar.isoYear(EpochCalendar.epochDay(local)))
+                    * MILLIS_PER_DAY;
+        }
+
+        @Override
+        long round(final long local) {
+            final long day = EpochCalendar.epochDay(local);
+            final long year = EpochCalendar.isoYear(day);
+            final long start = EpochCalendar.isoYearStart(year);
+            final long next = EpochCalendar.isoYearStart(year + 1);
+            return (day - start < next - day ? start : next) * MILLIS_PER_DAY;
+        }
+    },
+    QUARTER("Q") {
+        @Override
+        long truncate(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            return EpochCalendar.toEpochDay(EpochCalendar.year(ymd),
+                    (EpochCalendar.month(ymd) - 1) / 3 * 3 + 1, 1) * MILLIS_PER_DAY;
+        }
+
+        /**
+         * Rounds up on the sixteenth day of the second month of the quarter.
+         */
+        @Override
+        long round(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            final int month = EpochCalendar.month(ymd);
+            final int first = (month - 1) / 3 * 3 + 1;
+            final boolean up = month - first == 2
+                    || (month - first == 1 && EpochCalendar.day(ymd) >= 16);
+            return firstOfMonth(EpochCalendar.year(ymd), up ? first + 3 : first);
+        }
+    },
+    MONTH("MONTH", "MON", "MM", "RM") {
+        @Override
+        long truncate(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            return EpochCalendar.toEpochDay(EpochCalendar.year(ymd), EpochCalendar.month(ymd), 1)
+                    * MILLIS_PER_DAY;
+        }
+
+        /**
+         * Rounds up on the sixteenth day.
+         */
+        @Override
+        long round(final long local) {
+            final long ymd = EpochCalendar.toYmd(EpochCalendar.epochDay(local));
+            final int month = EpochCalendar.month(ymd);
+            return firstOfMonth(EpochCalendar.year(ymd),
+                    EpochCalendar.day(ymd) < 16 ? month : month + 1);
+        }
+    },
+    /**
+     * The same day of the week as the first day of the year.
+     */
+    WEEK("WW") {
+        @Override
+        long truncate(final long local) {
+            final long day = EpochCalendar.epochDay(local);
+            return (day - (EpochCalendar.dayOfYear(day) - 1) % 7) * MILLIS_PER_DAY;
+        }
+    },
+    /**
+     * The Monday of the ISO week.
+     */
+    ISO_WEEK("IW") {
+        @Override
+        long truncate(final long local) {
+            final long day = EpochCalendar.epochDay(local);
+            return (day - EpochCalendar.dayOfWeek(day) + 1) * MILLIS_PER_DAY;
+        }
+    },
+    /**
+     * The same day of the week as the first day of the month.
+     */
+    WEEK_OF_MONTH("W") {
+        @Override
+        long truncate(final long local) {
+            final long day = EpochCalendar.epochDay(local);
+            return (day - (EpochCalendar.day(EpochCalendar.toYmd(day)) - 1) % 7) * MILLIS_PER_DAY;
+        }
+    },
+    DAY("DDD", "DD", "J") {
+        @Override
+        long truncate(final long local) {
+            return EpochCalendar.epochDay(local) * MILLIS_PER_DAY;
+        }
+
+        @Override
+        long next(final long start) {
+            return start + MILLIS_PER_DAY;
+        }
+    },
+    /**
+     * The first day of the week of the default locale.
+     */
+    START_OF_WEEK("DAY", "DY", "D") {
+        @Override
+        long truncate(final long local) {
+            final long day = EpochCalendar.epochDay(local);
+            final int dayNumber = DayNames.forLocale(Locale.getDefault())
+                    .dayNumber(EpochCalendar.dayOfWeek(day));
+            return (day - dayNumber + 1) * MILLIS_PER_DAY;
+        }
+    },
+    HOUR("HH", "HH12", "HH24") {
+        @Override
+        long truncate(final long local) {
+            return local - EpochCalendar.floorMod(local, MILLIS_PER_HOUR);
+        }
+
+        @Override
+        long next(final long start) {
+            return start + MILLIS_PER_HOUR;
+        }
+    },
+    MINUTE("MI") {
+        @Override
+        long truncate(final long local) {
+            return local - EpochCalendar.floorMod(local, MILLIS_PER_MINUTE);
+        }
+
+        @Override
+        long next(final long start) {
+            return start + MILLIS_PER_MINUTE;
+        }
+    };
+
+    private static final long MILLIS_PER_MINUTE = 60000L;
+
+    private static final long MILLIS_PER_HOUR = 3600000L;
+
+    private static final Map<String, DateUnit> UNITS = new HashMap<String, DateUnit>();
+
+    static {
+        for (final DateUnit unit : values()) {
+            for (final String name : unit.names) {
+                UNITS.put(name, unit);
+                UNITS.put(name.toLowerCase(Locale.ENGLISH), unit);
+            }
+        }
+    }
+
+    private final String[] names;
+
+    private DateUnit(final String... names) {
+        this.names = names;
+    }
+
+    /**
+     * Resolves a format unit. Upper and lower case units are found without
+     * any conversion of the string.
+     */
+    static DateUnit of(final String fmt) {
+        DateUnit unit = UNITS.get(fmt);
+        if (unit == null) {
+            unit = UNITS.get(fmt.trim().toUpperCase(Locale.ENGLISH));
+            if (unit == null) {
+                throw new IllegalArgumentException("date format not recognized: " + fmt);
+            }
+        }
+        return unit;
+    }
+
+    abstract long truncate(long local);
+
+    /**
+     * The start of the period following the one starting at {@code start}.
+     */
+    long next(final long start) {
+        return start + 7 * MILLIS_PER_DAY;
+    }
+
+    /**
+     * Rounds to the nearer of the start of the period and the start of the
+     * next one, half way rounds up.
+     */
+    long round(final long local) {
+        final long start = truncate(local);
+        final long next = next(start);
+        return local - start < next - local ? start : next;
+    }
+
+    private static long firstOfMonth(final long year, final int month) {
+        return EpochCalendar.toEpochDay(year + (month - 1) / 12, (month - 1) % 12 + 1, 1)
+                * MILLIS_PER_DAY;
+    }
+}
@@ -0,0 +1,116 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the day argument of NEXT_DAY to an ISO day of week.
+ * <p>
+ * One instance per locale holds the case folded full and abbreviated day
+ * names, plus a small cache of already resolved arguments, so a constant
+ * argument costs one cache lookup per row.
+ */
+final class DayNames {
+
+    private static final int RESOLVED_CACHE_SIZE = 64;
+
+    private static final ConcurrentMap<Locale, DayNames> INSTANCES =
+            new ConcurrentHashMap<Locale, DayNames>();
+
+    private static volatile DayNames last;
+
+    private final Locale locale;
+
+    private final Map<String, Integer> names = new HashMap<String, Integer>();
+
+    private final String[] shortNames = new String[8];
+
+    private final int firstDayOfWeek;
+
+    private final BoundedCache<String, Integer> resolved =
+            new BoundedCache<String, Integer>(RESOLVED_CACHE_SIZE);
+
+    private DayNames(final Locale locale) {
+        this.locale = locale;
+        final NlsNames nls = NlsNames.forLocale(locale);
+        for (int iso = 1; iso <= 7; iso++) {
+            shortNames[iso] = fold(nls.shortDays[iso]);
+            names.put(shortNames[iso], iso);
+            names.put(fold(nls.days[iso]), iso);
+        }
+        firstDayOfWeek = Calendar.getInstance(locale).getFirstDayOfWeek();
+    }
+
+    static DayNames forLocale(final Locale locale) {
+        final DayNames l = last;
+        if (l != null && l.locale.equals(locale)) {
+            return l;
+        }
+        DayNames names = INSTANCES.get(locale);
+        if (names == null) {
+            final DayNames created = new DayNames(locale);
+            names = INSTANCES.putIfAbsent(locale, created);
+            if (names == null) {
+                names = created;
+            }
+        }
+        last = names;
+        return names;
+    }
+
+    /**
+     * The number of the day within the week of the locale, 1 for its first
+     * day of the week, as printed by the D format element.
+     */
+    int dayNumber(final int isoDayOfWeek) {
+        return (isoDayOfWeek - toIso(firstDayOfWeek) + 7) % 7 + 1;
+    }
+
+    private static int toIso(final int calendarDay) {
+        return calendarDay == Calendar.SUNDAY ? 7 : calendarDay - 1;
+    }
+
+    private String fold(final String name) {
+        return name.trim().toUpperCase(locale);
+    }
+
+    /**
+     * Returns the ISO day of week (Monday is 1) named by {@code day}.
+     * <p>
+     * Like Oracle, the full name, the abbreviation, or the abbreviation
+     * followed by any characters are accepted, and the numbers 1 to 7 count
+     * from the first day of the week of the locale.
+     *
+     * @throws IllegalArgumentException if {@code day} is not a day of the week
+     */
+    int resolve(final String day) {
+        final Integer cached = resolved.get(day);
+        if (cached != null) {
+            return cached.intValue();
+        }
+        final int dayOfWeek = lookup(day);
+        resolved.putIfAbsent(day, Integer.valueOf(dayOfWeek));
+        return dayOfWeek;
+    }
+
+    private int lookup(final String day) {
+        final String folded = fold(day);
+        final Integer exact = names.get(folded);
+        if (exact != null) {
+            return exact.intValue();
+        }
+        if (folded.length() == 1 && folded.charAt(0) >= '1' && folded.charAt(0) <= '7') {
+            return toIso((firstDayOfWeek - 1 + folded.charAt(0) - '1') % 7 + 1);
+        }
+        for (int i = 1; i < shortNames.length; i++) {
+            if (shortNames[i].length() > 0 && folded.startsWith(shortNames[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not a valid day of the week: " + day);
+    }
+}
@@ -0,0 +1,204 @@
+package org.guess880.h2_oracle_funcs;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * Proleptic Gregorian calendar arithmetic on primitive epoch values.
+ * <p>
+ * "Local millis" are wall clock millis of the default time zone counted as if
+ * it were UTC, so that the day is {@code floorDiv(local, MILLIS_PER_DAY)} and
+ * the time of day is the remainder. A year, month and day of month are packed
+ * into one {@code long} by {@link #toYmd(long)} so that nothing is allocated.
+ */
+final class EpochCalendar {
+
+    static final long MILLIS_PER_DAY = 86400000L;
+
+    static final long SECONDS_PER_DAY = 86400L;
+
+    static final long SECONDS_PER_31_DAYS = 31 * SECONDS_PER_DAY;
+
+    private static final int DAYS_0000_TO_1970 = 719468;
+
+    private EpochCalendar() {
+    }
+
+    static long floorDiv(final long x, final long y) {
+        final long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    static long floorMod(final long x, final long y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    static long toLocal(final long utcMillis) {
+        return utcMillis + DateTimeZone.getDefault().getOffset(utcMillis);
+    }
+
+    static long toUtc(final long localMillis) {
+        return DateTimeZone.getDefault().convertLocalToUTC(localMillis, false);
+    }
+
+    static long epochDay(final long localMillis) {
+        return floorDiv(localMillis, MILLIS_PER_DAY);
+    }
+
+    static long millisOfDay(final long localMillis) {
+        return floorMod(localMillis, MILLIS_PER_DAY);
+    }
+
+    static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int daysInMonth(final long year, final int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    static long toEpochDay(final long year, final int month, final int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = floorDiv(y, 400);
+        final long yoe = y - era * 400;
+        final long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - DAYS_0000_TO_1970;
+    }
+
+    static long toYmd(final long epochDay) {
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = floorDiv(z, 146097);
+        final long doe = z - era * 146097;
+        final long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        final long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        final long mp = (5 * doy + 2) / 153;
+        final int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return ymd(year, month, day);
+    }
+
+    static long ymd(final long year, final int month, final int day) {
+        return (year << 16) | (month << 8) | day;
+    }
+
+    static long year(final long ymd) {
+        return ymd >> 16;
+    }
+
+    static int month(final long ymd) {
+        return (int) ((ymd >>> 8) & 0xff);
+    }
+
+    static int day(final long ymd) {
+        return (int) (ymd & 0xff);
+    }
+
+    /**
+     * ISO day of week, Monday is 1 and Sunday is 7.
+     */
+    static int dayOfWeek(final long epochDay) {
+        return (int) floorMod(epochDay + 3, 7) + 1;
+    }
+
+    static int dayOfYear(final long epochDay) {
+        return (int) (epochDay - toEpochDay(year(toYmd(epochDay)), 1, 1)) + 1;
+    }
+
+    /**
+     * The ISO 8601 week based year, the year of the Thursday of the week.
+     */
+    static long isoYear(final long epochDay) {
+        return year(toYmd(epochDay - dayOfWeek(epochDay) + 4));
+    }
+
+    static int isoWeek(final long epochDay) {
+        final long thursday = epochDay - dayOfWeek(epochDay) + 4;
+        return (int) ((thursday - toEpochDay(year(toYmd(thursday)), 1, 1)) / 7) + 1;
+    }
+
+    /**
+     * The Monday of ISO week 1 of the given ISO year.
+     */
+    static long isoYearStart(final long isoYear) {
+        final long jan4 = toEpochDay(isoYear, 1, 4);
+        return jan4 - dayOfWeek(jan4) + 1;
+    }
+
+    /**
+     * ADD_MONTHS: the last day of a month, or a day the resulting month does
+     * not have, becomes the last day of the resulting month.
+     */
+    static long addMonths(final long localMillis, final long months) {
+        final long ymd = toYmd(epochDay(localMillis));
+        final long year = year(ymd);
+        final int month = month(ymd);
+        final int day = day(ymd);
+        final long total = year * 12 + (month - 1) + months;
+        final long newYear = floorDiv(total, 12);
+        final int newMonth = (int) floorMod(total, 12) + 1;
+        final int newDim = daysInMonth(newYear, newMonth);
+        final int newDay = (day == daysInMonth(year, month) || day > newDim) ? newDim : day;
+        return toEpochDay(newYear, newMonth, newDay) * MILLIS_PER_DAY + millisOfDay(localMillis);
+    }
+
+    static long lastDay(final long localMillis) {
+        final long ymd = toYmd(epochDay(localMillis));
+        final long year = year(ymd);
+        final int month = month(ymd);
+        return toEpochDay(year, month, daysInMonth(year, month)) * MILLIS_PER_DAY
+                + millisOfDay(localMillis);
+    }
+
+    /**
+     * The first day strictly after the given one that falls on the ISO day of
+     * week, keeping the time of day.
+     */
+    static long nextDay(final long localMillis, final int isoDayOfWeek) {
+        final int current = dayOfWeek(epochDay(localMillis));
+        return localMillis + (floorMod(isoDayOfWeek - current + 6, 7) + 1) * MILLIS_PER_DAY;
+    }
+
+    /**
+     * MONTHS_BETWEEN: whole months when both days are the same day of month or
+     * both are month ends, otherwise the difference of the days and of the
+     * times of day in seconds is a fraction of a 31-day month.
+     */
+    static double monthsBetween(final long localMillis1, final long localMillis2) {
+        final long ymd1 = toYmd(epochDay(localMillis1));
+        final long ymd2 = toYmd(epochDay(localMillis2));
+        return wholeMonths(ymd1, ymd2)
+                + remainderSeconds(localMillis1, ymd1, localMillis2, ymd2) / (double) SECONDS_PER_31_DAYS;
+    }
+
+    static long wholeMonths(final long ymd1, final long ymd2) {
+        return (year(ymd1) - year(ymd2)) * 12 + (month(ymd1) - month(ymd2));
+    }
+
+    /**
+     * The fraction of MONTHS_BETWEEN in seconds, to be divided by
+     * {@link #SECONDS_PER_31_DAYS}.
+     */
+    static long remainderSeconds(final long localMillis1, final long ymd1,
+            final long localMillis2, final long ymd2) {
+        final int day1 = day(ymd1);
+        final int day2 = day(ymd2);
+        if (day1 == day2
+                || (day1 == daysInMonth(year(ymd1), month(ymd1))
+                        && day2 == daysInMonth(year(ymd2), month(ymd2)))) {
+            return 0;
+        }
+        return (day1 - day2) * SECONDS_PER_DAY
+                + (millisOfDay(localMillis1) / 1000 - millisOfDay(localMillis2) / 1000);
+    }
+}
@@ -0,0 +1,98 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.h2.tools.SimpleResultSet;
+
+/**
+ * Metrics of the functions registered by
+ * {@link OracleFunctions#registerInstrumented(Connection)}.
+ * <p>
+ * Every function is published as a {@link FunctionStatsMBean} on the
+ * platform MBean server and as a row of the table function
+ * {@code ORACLE_FUNCS_STATS()}. Functions registered by
+ * {@link OracleFunctions#register(Connection)} are not instrumented and cost
+ * nothing.
+ */
+public final class FunctionMetrics {
+
+    static final String OBJECT_NAME_PREFIX = "org.guess880.h2_oracle_funcs:type=FunctionStats,name=";
+
+    private static final ConcurrentMap<String, FunctionStats> STATS =
+            new ConcurrentHashMap<String, FunctionStats>();
+
+    private FunctionMetrics() {
+    }
+
+    static FunctionStats forFunction(final String name) {
+        final FunctionStats stats = new FunctionStats(name);
+        final FunctionStats existing = STATS.putIfAbsent(name, stats);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            // another class loader may have published the same function
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(stats, objectName);
+            }
+        } catch (final JMException e) {
+            // the metrics are still available through SQL
+        }
+        return stats;
+    }
+
+    /**
+     * The metrics of the function registered under {@code name}, or null if
+     * it is not instrumented.
+     */
+    public static FunctionStats stats(final String name) {
+        return STATS.get(name);
+    }
+
+    /**
+     * Clears the metrics of every function.
+     */
+    public static void reset() {
+        for (final FunctionStats stats : STATS.values()) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * The table function {@code ORACLE_FUNCS_STATS()}, one row per function
+     * ordered by name.
+     */
+    public static ResultSet table(final Connection conn) {
+        final SimpleResultSet rs = new SimpleResultSet();
+        rs.addColumn("FUNCTION_NAME", Types.VARCHAR, Integer.MAX_VALUE, 0);
+        rs.addColumn("CALLS", Types.BIGINT, 19, 0);
+        rs.addColumn("ERRORS", Types.BIGINT, 19, 0);
+        rs.addColumn("TOTAL_NANOS", Types.BIGINT, 19, 0);
+        rs.addColumn("MEAN_NANOS", Types.BIGINT, 19, 0);
+        rs.addColumn("P50_NANOS", Types.BIGINT, 19, 0);
+        rs.addColumn("P90_NANOS", Types.BIGINT, 19, 0);
+        rs.addColumn("P99_NANOS", Types.BIGINT, 19, 0);
+        rs.addColumn("MAX_NANOS", Types.BIGINT, 19, 0);
+        for (final Map.Entry<String, FunctionStats> entry
+                : new TreeMap<String, FunctionStats>(STATS).entrySet()) {
+            final FunctionStats stats = entry.getValue();
+            rs.addRow(entry.getKey(), stats.getCalls(), stats.getErrors(),
+                    stats.getTotalNanos(), stats.getMeanNanos(), stats.getP50Nanos(),
+                    stats.getP90Nanos(), stats.getP99Nanos(), stats.getMaxNanos());
+        }
+        return rs;
+    }
+}
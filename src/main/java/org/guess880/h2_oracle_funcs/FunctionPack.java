@@ -0,0 +1,32 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+
+/**
+ * The groups of functions that can be registered on their own with
+ * {@link OracleFunctions#register(Connection, FunctionPack...)}. H2 loads the
+ * class a function is bound to when its alias is created, so every pack is a
+ * class of its own and a pack that is not registered is not loaded.
+ */
+public enum FunctionPack {
+
+    /**
+     * {@link StringFunctions}
+     */
+    STRING,
+
+    /**
+     * {@link DateTimeFunctions}
+     */
+    DATE_TIME,
+
+    /**
+     * {@link NumericFunctions}
+     */
+    NUMERIC,
+
+    /**
+     * The aggregate functions, e.g. {@code LISTAGG} and {@code MEDIAN}.
+     */
+    AGGREGATE
+}
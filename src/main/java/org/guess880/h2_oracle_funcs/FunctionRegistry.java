@@ -0,0 +1,263 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Oracle names of the functions of this library and the Java methods they
+ * are bound to in H2.
+ * <p>
+ * Pure functions are registered {@code DETERMINISTIC} so that H2 evaluates a
+ * call with constant arguments only once; functions that depend on the session
+ * or the clock are not. Aggregate functions are bound to a class instead of a
+ * method.
+ * <p>
+ * The instrumented registration binds the same names to
+ * {@link InstrumentedFunctions} and adds the table function
+ * {@code ORACLE_FUNCS_STATS()}; aggregate functions are not instrumented.
+ * <p>
+ * Every function belongs to a {@link FunctionPack}, and scalar functions are
+ * bound to the class of their pack rather than to {@link OracleFunctions}, so
+ * that H2 loads only the classes of the registered packs. The classes are
+ * named by strings, as a class literal would load its class, and so every
+ * pack, when the registry is initialized.
+ */
+final class FunctionRegistry {
+
+    static final String SCRIPT_RESOURCE = "/org/guess880/h2_oracle_funcs/oracle_functions.sql";
+
+    static final String INSTRUMENTED_SCRIPT_RESOURCE =
+            "/org/guess880/h2_oracle_funcs/oracle_functions_instrumented.sql";
+
+    private static final String PACK_SCRIPT_RESOURCE_PREFIX =
+            "/org/guess880/h2_oracle_funcs/oracle_functions_";
+
+    private static final String PACKAGE = "org.guess880.h2_oracle_funcs.";
+
+    private static final String STRING_FUNCTIONS = PACKAGE + "StringFunctions";
+
+    private static final String DATE_TIME_FUNCTIONS = PACKAGE + "DateTimeFunctions";
+
+    private static final String NUMERIC_FUNCTIONS = PACKAGE + "NumericFunctions";
+
+    private static final String BATCH_FUNCTIONS = PACKAGE + "BatchFunctions";
+
+    private static final String INSTRUMENTED_FUNCTIONS = PACKAGE + "InstrumentedFunctions";
+
+    static final class Definition {
+
+        final String name;
+
+        final FunctionPack pack;
+
+        final String className;
+
+        final String methodName;
+
+        final boolean deterministic;
+
+        Definition(final String name, final FunctionPack pack, final String className,
+                final String methodName, final boolean deterministic) {
+            this.name = name;
+            this.pack = pack;
+            this.className = className;
+            this.methodName = methodName;
+            this.deterministic = deterministic;
+        }
+
+        Definition(final String name, final String className) {
+            this(name, FunctionPack.AGGREGATE, className, null, false);
+        }
+
+        boolean isAggregate() {
+            return methodName == null;
+        }
+
+        String createStatement(final boolean instrumented) {
+            if (isAggregate()) {
+                return "CREATE AGGREGATE IF NOT EXISTS " + name + " FOR \"" + className + "\"";
+            }
+            final String target = instrumented && pack != null
+                    ? INSTRUMENTED_FUNCTIONS : className;
+            return "CREATE ALIAS IF NOT EXISTS " + name
+                    + (deterministic ? " DETERMINISTIC" : "")
+                    + " FOR \"" + target + "." + methodName + "\"";
+        }
+    }
+
+    private static final List<Definition> DEFINITIONS;
+
+    private static final Definition STATS_TABLE =
+            new Definition("ORACLE_FUNCS_STATS", null, PACKAGE + "FunctionMetrics", "table", false);
+
+    static {
+        final List<Definition> defs = new ArrayList<Definition>();
+        defs.add(new Definition("ADD_MONTHS", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "addMonths", true));
+        defs.add(new Definition("ASCIISTR", FunctionPack.STRING, STRING_FUNCTIONS,
+                "asciistr", true));
+        defs.add(new Definition("ASCIISTR_TABLE", FunctionPack.STRING, BATCH_FUNCTIONS,
+                "asciistrTable", false));
+        defs.add(new Definition("BIN_TO_NUM", FunctionPack.NUMERIC, NUMERIC_FUNCTIONS,
+                "binToNum", true));
+        defs.add(new Definition("COMPOSE", FunctionPack.STRING, STRING_FUNCTIONS,
+                "compose", true));
+        defs.add(new Definition("COMPOSE_TABLE", FunctionPack.STRING, BATCH_FUNCTIONS,
+                "composeTable", false));
+        defs.add(new Definition("DBTIMEZONE", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "dbTimeZone", false));
+        defs.add(new Definition("DECOMPOSE", FunctionPack.STRING, STRING_FUNCTIONS,
+                "decompose", true));
+        defs.add(new Definition("FROM_TZ", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "fromTz", true));
+        defs.add(new Definition("INITCAP", FunctionPack.STRING, STRING_FUNCTIONS,
+                "initcap", true));
+        defs.add(new Definition("LAST_DAY", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "lastDay", true));
+        defs.add(new Definition("MONTHS_BETWEEN", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "monthsBetween", true));
+        defs.add(new Definition("NEW_TIME", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "newTime", true));
+        defs.add(new Definition("NEXT_DAY", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "nextDay", true));
+        defs.add(new Definition("NLS_INITCAP", FunctionPack.STRING, STRING_FUNCTIONS,
+                "nlsInitcap", true));
+        defs.add(new Definition("NLS_LOWER", FunctionPack.STRING, STRING_FUNCTIONS,
+                "nlsLower", true));
+        defs.add(new Definition("NLS_UPPER", FunctionPack.STRING, STRING_FUNCTIONS,
+                "nlsUpper", true));
+        defs.add(new Definition("NLSSORT", FunctionPack.STRING, STRING_FUNCTIONS,
+                "nlssort", true));
+        defs.add(new Definition("ORA_HASH", FunctionPack.NUMERIC, NUMERIC_FUNCTIONS,
+                "oraHash", true));
+        defs.add(new Definition("REGEXP_COUNT", FunctionPack.STRING, STRING_FUNCTIONS,
+                "regexpCount", true));
+        defs.add(new Definition("REGEXP_INSTR", FunctionPack.STRING, STRING_FUNCTIONS,
+                "regexpInstr", true));
+        defs.add(new Definition("REGEXP_SUBSTR", FunctionPack.STRING, STRING_FUNCTIONS,
+                "regexpSubstr", true));
+        defs.add(new Definition("SESSIONTIMEZONE", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "sessionTimeZone", false));
+        defs.add(new Definition("SYS_EXTRACT_UTC", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "sysExtractUtc", true));
+        defs.add(new Definition("TO_BINARY_DOUBLE", FunctionPack.NUMERIC, NUMERIC_FUNCTIONS,
+                "toBinaryDouble", true));
+        defs.add(new Definition("TO_BINARY_FLOAT", FunctionPack.NUMERIC, NUMERIC_FUNCTIONS,
+                "toBinaryFloat", true));
+        defs.add(new Definition("TO_CHAR", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "toChar", true));
+        defs.add(new Definition("TO_DATE", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "toDate", false));
+        defs.add(new Definition("TO_NUMBER", FunctionPack.NUMERIC, NUMERIC_FUNCTIONS,
+                "toNumber", true));
+        defs.add(new Definition("TO_TIMESTAMP", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "toTimestamp", false));
+        defs.add(new Definition("TRANSLATE", FunctionPack.STRING, STRING_FUNCTIONS,
+                "translate", true));
+        defs.add(new Definition("TRANSLATE_TABLE", FunctionPack.STRING, BATCH_FUNCTIONS,
+                "translateTable", false));
+        defs.add(new Definition("TRUNC", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "trunc", true));
+        defs.add(new Definition("TZ_OFFSET", FunctionPack.DATE_TIME, DATE_TIME_FUNCTIONS,
+                "tzOffset", false));
+        defs.add(new Definition("UNISTR", FunctionPack.STRING, STRING_FUNCTIONS,
+                "unistr", true));
+        defs.add(new Definition("UNISTR_TABLE", FunctionPack.STRING, BATCH_FUNCTIONS,
+                "unistrTable", false));
+        defs.add(new Definition("CORR", PACKAGE + "BivariateAggregate$Corr"));
+        defs.add(new Definition("COVAR_POP", PACKAGE + "BivariateAggregate$CovarPop"));
+        defs.add(new Definition("COVAR_SAMP", PACKAGE + "BivariateAggregate$CovarSamp"));
+        defs.add(new Definition("LISTAGG", PACKAGE + "ListAgg"));
+        defs.add(new Definition("MEDIAN", PACKAGE + "Median"));
+        defs.add(new Definition("PERCENTILE_CONT", PACKAGE + "PercentileCont"));
+        defs.add(new Definition("PERCENTILE_DISC", PACKAGE + "PercentileDisc"));
+        defs.add(new Definition("REGR_AVGX", PACKAGE + "BivariateAggregate$RegrAvgx"));
+        defs.add(new Definition("REGR_AVGY", PACKAGE + "BivariateAggregate$RegrAvgy"));
+        defs.add(new Definition("REGR_COUNT", PACKAGE + "BivariateAggregate$RegrCount"));
+        defs.add(new Definition("REGR_INTERCEPT", PACKAGE + "BivariateAggregate$RegrIntercept"));
+        defs.add(new Definition("REGR_R2", PACKAGE + "BivariateAggregate$RegrR2"));
+        defs.add(new Definition("REGR_SLOPE", PACKAGE + "BivariateAggregate$RegrSlope"));
+        defs.add(new Definition("REGR_SXX", PACKAGE + "BivariateAggregate$RegrSxx"));
+        defs.add(new Definition("REGR_SXY", PACKAGE + "BivariateAggregate$RegrSxy"));
+        defs.add(new Definition("REGR_SYY", PACKAGE + "BivariateAggregate$RegrSyy"));
+        defs.add(new Definition("STATS_MODE", PACKAGE + "StatsMode"));
+        DEFINITIONS = Collections.unmodifiableList(defs);
+    }
+
+    private FunctionRegistry() {
+    }
+
+    static List<Definition> definitions() {
+        return DEFINITIONS;
+    }
+
+    static void register(final Connection conn, final boolean instrumented) throws SQLException {
+        register(conn, instrumented, EnumSet.allOf(FunctionPack.class));
+    }
+
+    static void register(final Connection conn, final boolean instrumented,
+            final Collection<FunctionPack> packs) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            for (final String sql : statements(instrumented, packs)) {
+                stmt.addBatch(sql);
+            }
+            stmt.executeBatch();
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static List<String> statements(final boolean instrumented,
+            final Collection<FunctionPack> packs) {
+        final List<String> statements = new ArrayList<String>();
+        for (final Definition def : DEFINITIONS) {
+            if (packs.contains(def.pack)) {
+                statements.add(def.createStatement(instrumented));
+            }
+        }
+        if (instrumented) {
+            statements.add(STATS_TABLE.createStatement(false));
+        }
+        return statements;
+    }
+
+    /**
+     * The statements {@link #register(Connection, boolean)} executes, as the
+     * contents of {@link #SCRIPT_RESOURCE} or
+     * {@link #INSTRUMENTED_SCRIPT_RESOURCE}.
+     */
+    static String script(final boolean instrumented) {
+        return script(statements(instrumented, EnumSet.allOf(FunctionPack.class)));
+    }
+
+    /**
+     * The contents of {@link #scriptResource(FunctionPack)}.
+     */
+    static String script(final FunctionPack pack) {
+        return script(statements(false, EnumSet.of(pack)));
+    }
+
+    private static String script(final List<String> statements) {
+        final StringBuilder sb = new StringBuilder();
+        for (final String sql : statements) {
+            sb.append(sql).append(";\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The init script of a single pack, e.g.
+     * {@code oracle_functions_date_time.sql}.
+     */
+    static String scriptResource(final FunctionPack pack) {
+        return PACK_SCRIPT_RESOURCE_PREFIX + pack.name().toLowerCase(Locale.ENGLISH) + ".sql";
+    }
+}
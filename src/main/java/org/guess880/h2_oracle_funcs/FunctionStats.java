@@ -0,0 +1,145 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Calls, errors and latencies of one instrumented function.
+ * <p>
+ * The counters are striped by thread, each stripe on its own cache line, so
+ * that concurrent callers do not contend; reads add up the stripes.
+ */
+public final class FunctionStats implements FunctionStatsMBean {
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Longs per stripe, a cache line of 64 bytes.
+     */
+    private static final int STRIPE_WIDTH = 8;
+
+    private static final int CALLS = 0;
+
+    private static final int ERRORS = 1;
+
+    private static final int NANOS = 2;
+
+    private final String name;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIPE_WIDTH);
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final AtomicLong max = new AtomicLong();
+
+    FunctionStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a successful call that started at {@code start}, a value of
+     * {@link System#nanoTime()}.
+     */
+    void record(final long start) {
+        record(start, stripe());
+    }
+
+    /**
+     * Records a call that failed with {@code e} and returns it.
+     */
+    <E extends Exception> E failure(final long start, final E e) {
+        final int stripe = stripe();
+        cells.incrementAndGet(stripe + ERRORS);
+        record(start, stripe);
+        return e;
+    }
+
+    private void record(final long start, final int stripe) {
+        final long nanos = System.nanoTime() - start;
+        cells.incrementAndGet(stripe + CALLS);
+        cells.addAndGet(stripe + NANOS, nanos);
+        histogram.record(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    private static int stripe() {
+        final long h = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        return ((int) (h >>> 32) & (STRIPES - 1)) * STRIPE_WIDTH;
+    }
+
+    private long sum(final int slot) {
+        long sum = 0;
+        for (int i = slot; i < cells.length(); i += STRIPE_WIDTH) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return sum(CALLS);
+    }
+
+    public long getErrors() {
+        return sum(ERRORS);
+    }
+
+    public long getTotalNanos() {
+        return sum(NANOS);
+    }
+
+    public long getMeanNanos() {
+        final long calls = getCalls();
+        return calls == 0 ? 0 : getTotalNanos() / calls;
+    }
+
+    public long getP50Nanos() {
+        return percentile(0.5);
+    }
+
+    public long getP90Nanos() {
+        return percentile(0.9);
+    }
+
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    private long percentile(final double percentile) {
+        return Math.min(histogram.percentile(percentile), getMaxNanos());
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Clears the metrics. Calls that are running meanwhile may be partly
+     * counted.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+        histogram.reset();
+        max.set(0);
+    }
+
+    /**
+     * The smallest power of two not less than the number of processors, at
+     * most 64.
+     */
+    static int stripes(final int processors) {
+        int stripes = 1;
+        while (stripes < processors && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+}
@@ -0,0 +1,30 @@
+package org.guess880.h2_oracle_funcs;
+
+/**
+ * The metrics of an instrumented function as seen through JMX, under
+ * {@code org.guess880.h2_oracle_funcs:type=FunctionStats,name=<function>}.
+ * Latencies are in nanoseconds; percentiles are the upper bounds of
+ * histogram buckets, within 12.5% of the recorded values.
+ */
+public interface FunctionStatsMBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getTotalNanos();
+
+    long getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getMaxNanos();
+
+    void reset();
+}
@@ -0,0 +1,937 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * The functions that {@link OracleFunctions#register(Connection)} registers,
+ * each one calling the class of its {@link FunctionPack} and recording its
+ * calls, errors and latency in {@link FunctionMetrics}. {@link OracleFunctions#registerInstrumented(Connection)}
+ * binds the aliases to these methods instead.
+ */
+public final class InstrumentedFunctions {
+
+    private static final FunctionStats ADD_MONTHS = FunctionMetrics.forFunction("ADD_MONTHS");
+
+    private static final FunctionStats ASCIISTR = FunctionMetrics.forFunction("ASCIISTR");
+
+    private static final FunctionStats ASCIISTR_TABLE = FunctionMetrics.forFunction("ASCIISTR_TABLE");
+
+    private static final FunctionStats BIN_TO_NUM = FunctionMetrics.forFunction("BIN_TO_NUM");
+
+    private static final FunctionStats COMPOSE = FunctionMetrics.forFunction("COMPOSE");
+
+    private static final FunctionStats COMPOSE_TABLE = FunctionMetrics.forFunction("COMPOSE_TABLE");
+
+    private static final FunctionStats DBTIMEZONE = FunctionMetrics.forFunction("DBTIMEZONE");
+
+    private static final FunctionStats DECOMPOSE = FunctionMetrics.forFunction("DECOMPOSE");
+
+    private static final FunctionStats FROM_TZ = FunctionMetrics.forFunction("FROM_TZ");
+
+    private static final FunctionStats LAST_DAY = FunctionMetrics.forFunction("LAST_DAY");
+
+    private static final FunctionStats MONTHS_BETWEEN = FunctionMetrics.forFunction("MONTHS_BETWEEN");
+
+    private static final FunctionStats NEW_TIME = FunctionMetrics.forFunction("NEW_TIME");
+
+    private static final FunctionStats NEXT_DAY = FunctionMetrics.forFunction("NEXT_DAY");
+
+    private static final FunctionStats INITCAP = FunctionMetrics.forFunction("INITCAP");
+
+    private static final FunctionStats NLS_INITCAP = FunctionMetrics.forFunction("NLS_INITCAP");
+
+    private static final FunctionStats NLS_LOWER = FunctionMetrics.forFunction("NLS_LOWER");
+
+    private static final FunctionStats NLS_UPPER = FunctionMetrics.forFunction("NLS_UPPER");
+
+    private static final FunctionStats NLSSORT = FunctionMetrics.forFunction("NLSSORT");
+
+    private static final FunctionStats ORA_HASH = FunctionMetrics.forFunction("ORA_HASH");
+
+    private static final FunctionStats REGEXP_COUNT = FunctionMetrics.forFunction("REGEXP_COUNT");
+
+    private static final FunctionStats REGEXP_INSTR = FunctionMetrics.forFunction("REGEXP_INSTR");
+
+    private static final FunctionStats REGEXP_SUBSTR = FunctionMetrics.forFunction("REGEXP_SUBSTR");
+
+    private static final FunctionStats SESSIONTIMEZONE = FunctionMetrics.forFunction("SESSIONTIMEZONE");
+
+    private static final FunctionStats SYS_EXTRACT_UTC = FunctionMetrics.forFunction("SYS_EXTRACT_UTC");
+
+    private static final FunctionStats TO_BINARY_DOUBLE = FunctionMetrics.forFunction("TO_BINARY_DOUBLE");
+
+    private static final FunctionStats TO_BINARY_FLOAT = FunctionMetrics.forFunction("TO_BINARY_FLOAT");
+
+    private static final FunctionStats TO_CHAR = FunctionMetrics.forFunction("TO_CHAR");
+
+    private static final FunctionStats TO_DATE = FunctionMetrics.forFunction("TO_DATE");
+
+    private static final FunctionStats TO_NUMBER = FunctionMetrics.forFunction("TO_NUMBER");
+
+    private static final FunctionStats TO_TIMESTAMP = FunctionMetrics.forFunction("TO_TIMESTAMP");
+
+    private static final FunctionStats TRANSLATE = FunctionMetrics.forFunction("TRANSLATE");
+
+    private static final FunctionStats TRANSLATE_TABLE = FunctionMetrics.forFunction("TRANSLATE_TABLE");
+
+    private static final FunctionStats TRUNC = FunctionMetrics.forFunction("TRUNC");
+
+    private static final FunctionStats TZ_OFFSET = FunctionMetrics.forFunction("TZ_OFFSET");
+
+    private static final FunctionStats UNISTR = FunctionMetrics.forFunction("UNISTR");
+
+    private static final FunctionStats UNISTR_TABLE = FunctionMetrics.forFunction("UNISTR_TABLE");
+
+    private InstrumentedFunctions() {
+    }
+
+    public static final Date addMonths(final Date date, final int integer) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.addMonths(date, integer);
+            ADD_MONTHS.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw ADD_MONTHS.failure(start, e);
+        }
+    }
+
+    public static final String asciistr(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.asciistr(str);
+            ASCIISTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw ASCIISTR.failure(start, e);
+        }
+    }
+
+    public static final ResultSet asciistrTable(final Connection conn, final String query)
+            throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            final ResultSet result = BatchFunctions.asciistrTable(conn, query);
+            ASCIISTR_TABLE.record(start);
+            return result;
+        } catch (final SQLException e) {
+            throw ASCIISTR_TABLE.failure(start, e);
+        } catch (final RuntimeException e) {
+            throw ASCIISTR_TABLE.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3, b4);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3, b4, b5);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6, b7);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7, final int b8) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6, b7, b8);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final long binToNum(final int... exprs) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.binToNum(exprs);
+            BIN_TO_NUM.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw BIN_TO_NUM.failure(start, e);
+        }
+    }
+
+    public static final String compose(final String exp) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.compose(exp);
+            COMPOSE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw COMPOSE.failure(start, e);
+        }
+    }
+
+    public static final ResultSet composeTable(final Connection conn, final String query)
+            throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            final ResultSet result = BatchFunctions.composeTable(conn, query);
+            COMPOSE_TABLE.record(start);
+            return result;
+        } catch (final SQLException e) {
+            throw COMPOSE_TABLE.failure(start, e);
+        } catch (final RuntimeException e) {
+            throw COMPOSE_TABLE.failure(start, e);
+        }
+    }
+
+    public static final String dbTimeZone() {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.dbTimeZone();
+            DBTIMEZONE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw DBTIMEZONE.failure(start, e);
+        }
+    }
+
+    public static final String decompose(final String exp) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.decompose(exp);
+            DECOMPOSE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw DECOMPOSE.failure(start, e);
+        }
+    }
+
+    public static final String decompose(final String exp, final String type) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.decompose(exp, type);
+            DECOMPOSE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw DECOMPOSE.failure(start, e);
+        }
+    }
+
+    public static final Timestamp fromTz(final Timestamp timestamp, final String timeZone) {
+        final long start = System.nanoTime();
+        try {
+            final Timestamp result = DateTimeFunctions.fromTz(timestamp, timeZone);
+            FROM_TZ.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw FROM_TZ.failure(start, e);
+        }
+    }
+
+    public static final Date lastDay(final Date date) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.lastDay(date);
+            LAST_DAY.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw LAST_DAY.failure(start, e);
+        }
+    }
+
+    public static final Double monthsBetween(final Date date1, final Date date2) {
+        final long start = System.nanoTime();
+        try {
+            final Double result = DateTimeFunctions.monthsBetween(date1, date2);
+            MONTHS_BETWEEN.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw MONTHS_BETWEEN.failure(start, e);
+        }
+    }
+
+    public static final Date newTime(final Date date, final String timeZone1,
+            final String timeZone2) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.newTime(date, timeZone1, timeZone2);
+            NEW_TIME.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NEW_TIME.failure(start, e);
+        }
+    }
+
+    public static final Date nextDay(final Date date, final String day) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.nextDay(date, day);
+            NEXT_DAY.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NEXT_DAY.failure(start, e);
+        }
+    }
+
+    public static final String initcap(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.initcap(str);
+            INITCAP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw INITCAP.failure(start, e);
+        }
+    }
+
+    public static final String nlsInitcap(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsInitcap(str);
+            NLS_INITCAP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_INITCAP.failure(start, e);
+        }
+    }
+
+    public static final String nlsInitcap(final String str, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsInitcap(str, nlsParam);
+            NLS_INITCAP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_INITCAP.failure(start, e);
+        }
+    }
+
+    public static final String nlsLower(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsLower(str);
+            NLS_LOWER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_LOWER.failure(start, e);
+        }
+    }
+
+    public static final String nlsLower(final String str, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsLower(str, nlsParam);
+            NLS_LOWER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_LOWER.failure(start, e);
+        }
+    }
+
+    public static final String nlsUpper(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsUpper(str);
+            NLS_UPPER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_UPPER.failure(start, e);
+        }
+    }
+
+    public static final String nlsUpper(final String str, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.nlsUpper(str, nlsParam);
+            NLS_UPPER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLS_UPPER.failure(start, e);
+        }
+    }
+
+    public static final byte[] nlssort(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final byte[] result = StringFunctions.nlssort(str);
+            NLSSORT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLSSORT.failure(start, e);
+        }
+    }
+
+    public static final byte[] nlssort(final String str, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final byte[] result = StringFunctions.nlssort(str, nlsParam);
+            NLSSORT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw NLSSORT.failure(start, e);
+        }
+    }
+
+    public static final long oraHash(final String expr) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.oraHash(expr);
+            ORA_HASH.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw ORA_HASH.failure(start, e);
+        }
+    }
+
+    public static final long oraHash(final String expr, final long maxBucket) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.oraHash(expr, maxBucket);
+            ORA_HASH.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw ORA_HASH.failure(start, e);
+        }
+    }
+
+    public static final long oraHash(final String expr, final long maxBucket, final long seed) {
+        final long start = System.nanoTime();
+        try {
+            final long result = NumericFunctions.oraHash(expr, maxBucket, seed);
+            ORA_HASH.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw ORA_HASH.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpCount(source, pattern);
+            REGEXP_COUNT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_COUNT.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpCount(source, pattern, position);
+            REGEXP_COUNT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_COUNT.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position, final String matchParam) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpCount(source, pattern, position, matchParam);
+            REGEXP_COUNT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_COUNT.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern, position);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern, position, occurrence);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt,
+            final String matchParam) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt, matchParam);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt, final String matchParam,
+            final int subexpr) {
+        final long start = System.nanoTime();
+        try {
+            final Integer result = StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt, matchParam, subexpr);
+            REGEXP_INSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_INSTR.failure(start, e);
+        }
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.regexpSubstr(source, pattern);
+            REGEXP_SUBSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_SUBSTR.failure(start, e);
+        }
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.regexpSubstr(source, pattern, position);
+            REGEXP_SUBSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_SUBSTR.failure(start, e);
+        }
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.regexpSubstr(source, pattern, position, occurrence);
+            REGEXP_SUBSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_SUBSTR.failure(start, e);
+        }
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.regexpSubstr(source, pattern, position, occurrence, matchParam);
+            REGEXP_SUBSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_SUBSTR.failure(start, e);
+        }
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam, final int subexpr) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.regexpSubstr(source, pattern, position, occurrence, matchParam, subexpr);
+            REGEXP_SUBSTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw REGEXP_SUBSTR.failure(start, e);
+        }
+    }
+
+    public static final String sessionTimeZone(final Connection conn) {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.sessionTimeZone(conn);
+            SESSIONTIMEZONE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw SESSIONTIMEZONE.failure(start, e);
+        }
+    }
+
+    public static final Timestamp sysExtractUtc(final Timestamp timestamp) {
+        final long start = System.nanoTime();
+        try {
+            final Timestamp result = DateTimeFunctions.sysExtractUtc(timestamp);
+            SYS_EXTRACT_UTC.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw SYS_EXTRACT_UTC.failure(start, e);
+        }
+    }
+
+    public static final Double toBinaryDouble(final String expr) {
+        final long start = System.nanoTime();
+        try {
+            final Double result = NumericFunctions.toBinaryDouble(expr);
+            TO_BINARY_DOUBLE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_DOUBLE.failure(start, e);
+        }
+    }
+
+    public static final Double toBinaryDouble(final String expr, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final Double result = NumericFunctions.toBinaryDouble(expr, fmt);
+            TO_BINARY_DOUBLE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_DOUBLE.failure(start, e);
+        }
+    }
+
+    public static final Double toBinaryDouble(final String expr, final String fmt, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final Double result = NumericFunctions.toBinaryDouble(expr, fmt, nlsParam);
+            TO_BINARY_DOUBLE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_DOUBLE.failure(start, e);
+        }
+    }
+
+    public static final Float toBinaryFloat(final String expr) {
+        final long start = System.nanoTime();
+        try {
+            final Float result = NumericFunctions.toBinaryFloat(expr);
+            TO_BINARY_FLOAT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_FLOAT.failure(start, e);
+        }
+    }
+
+    public static final Float toBinaryFloat(final String expr, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final Float result = NumericFunctions.toBinaryFloat(expr, fmt);
+            TO_BINARY_FLOAT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_FLOAT.failure(start, e);
+        }
+    }
+
+    public static final Float toBinaryFloat(final String expr, final String fmt, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final Float result = NumericFunctions.toBinaryFloat(expr, fmt, nlsParam);
+            TO_BINARY_FLOAT.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_BINARY_FLOAT.failure(start, e);
+        }
+    }
+
+    public static final String toChar(final Date date) {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.toChar(date);
+            TO_CHAR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_CHAR.failure(start, e);
+        }
+    }
+
+    public static final String toChar(final Date date, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.toChar(date, fmt);
+            TO_CHAR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_CHAR.failure(start, e);
+        }
+    }
+
+    public static final String toChar(final Date date, final String fmt, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.toChar(date, fmt, nlsParam);
+            TO_CHAR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_CHAR.failure(start, e);
+        }
+    }
+
+    public static final Date toDate(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.toDate(str);
+            TO_DATE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_DATE.failure(start, e);
+        }
+    }
+
+    public static final Date toDate(final String str, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.toDate(str, fmt);
+            TO_DATE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_DATE.failure(start, e);
+        }
+    }
+
+    public static final Date toDate(final String str, final String fmt, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.toDate(str, fmt, nlsParam);
+            TO_DATE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_DATE.failure(start, e);
+        }
+    }
+
+    public static final BigDecimal toNumber(final String expr) {
+        final long start = System.nanoTime();
+        try {
+            final BigDecimal result = NumericFunctions.toNumber(expr);
+            TO_NUMBER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_NUMBER.failure(start, e);
+        }
+    }
+
+    public static final BigDecimal toNumber(final String expr, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final BigDecimal result = NumericFunctions.toNumber(expr, fmt);
+            TO_NUMBER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_NUMBER.failure(start, e);
+        }
+    }
+
+    public static final BigDecimal toNumber(final String expr, final String fmt, final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final BigDecimal result = NumericFunctions.toNumber(expr, fmt, nlsParam);
+            TO_NUMBER.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_NUMBER.failure(start, e);
+        }
+    }
+
+    public static final Timestamp toTimestamp(final String str) {
+        final long start = System.nanoTime();
+        try {
+            final Timestamp result = DateTimeFunctions.toTimestamp(str);
+            TO_TIMESTAMP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_TIMESTAMP.failure(start, e);
+        }
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final Timestamp result = DateTimeFunctions.toTimestamp(str, fmt);
+            TO_TIMESTAMP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_TIMESTAMP.failure(start, e);
+        }
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt,
+            final String nlsParam) {
+        final long start = System.nanoTime();
+        try {
+            final Timestamp result = DateTimeFunctions.toTimestamp(str, fmt, nlsParam);
+            TO_TIMESTAMP.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TO_TIMESTAMP.failure(start, e);
+        }
+    }
+
+    public static final String translate(final String expr, final String from, final String to) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.translate(expr, from, to);
+            TRANSLATE.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TRANSLATE.failure(start, e);
+        }
+    }
+
+    public static final ResultSet translateTable(final Connection conn, final String query,
+            final String from, final String to) throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            final ResultSet result = BatchFunctions.translateTable(conn, query, from, to);
+            TRANSLATE_TABLE.record(start);
+            return result;
+        } catch (final SQLException e) {
+            throw TRANSLATE_TABLE.failure(start, e);
+        } catch (final RuntimeException e) {
+            throw TRANSLATE_TABLE.failure(start, e);
+        }
+    }
+
+    public static final Date trunc(final Date date) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.trunc(date);
+            TRUNC.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TRUNC.failure(start, e);
+        }
+    }
+
+    public static final Date trunc(final Date date, final String fmt) {
+        final long start = System.nanoTime();
+        try {
+            final Date result = DateTimeFunctions.trunc(date, fmt);
+            TRUNC.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TRUNC.failure(start, e);
+        }
+    }
+
+    public static final String tzOffset(final String timeZone) {
+        final long start = System.nanoTime();
+        try {
+            final String result = DateTimeFunctions.tzOffset(timeZone);
+            TZ_OFFSET.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw TZ_OFFSET.failure(start, e);
+        }
+    }
+
+    public static final String unistr(final String string) {
+        final long start = System.nanoTime();
+        try {
+            final String result = StringFunctions.unistr(string);
+            UNISTR.record(start);
+            return result;
+        } catch (final RuntimeException e) {
+            throw UNISTR.failure(start, e);
+        }
+    }
+
+    public static final ResultSet unistrTable(final Connection conn, final String query)
+            throws SQLException {
+        final long start = System.nanoTime();
+        try {
+            final ResultSet result = BatchFunctions.unistrTable(conn, query);
+            UNISTR_TABLE.record(start);
+            return result;
+        } catch (final SQLException e) {
+            throw UNISTR_TABLE.failure(start, e);
+        } catch (final RuntimeException e) {
+            throw UNISTR_TABLE.failure(start, e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Locale;
+
+import org.h2.api.AggregateFunction;
+
+/**
+ * LISTAGG(expr[, delimiter[, overflow]]), the h2 form of
+ * {@code LISTAGG(expr, delimiter overflow) WITHIN GROUP (ORDER BY ...)};
+ * values are concatenated in the order h2 passes the rows.
+ * <p>
+ * {@code overflow} is {@code 'ON OVERFLOW ERROR'}, the default, or
+ * {@code 'ON OVERFLOW TRUNCATE [''indicator''] [WITH | WITHOUT COUNT]'}. A
+ * truncated group only counts the values that do not fit any more, so it
+ * never holds more than {@link #MAX_LENGTH} characters.
+ */
+public class ListAgg implements AggregateFunction {
+
+    static final int MAX_LENGTH = 4000;
+
+    private static final String DEFAULT_INDICATOR = "...";
+
+    // room for the count of omitted values
+    private static final int COUNT_LENGTH = 12;
+
+    private final StringBuilder sb = new StringBuilder();
+
+    private String delimiter;
+
+    private boolean truncate;
+
+    private String indicator = DEFAULT_INDICATOR;
+
+    private boolean withCount = true;
+
+    private int count;
+
+    /**
+     * The length and count up to the last value after which the truncation
+     * indicator still fits.
+     */
+    private int safeLength;
+
+    private int safeCount;
+
+    private long omitted;
+
+    public void init(final Connection conn) throws SQLException {
+        // nothing to do
+    }
+
+    public int getType(final int[] inputTypes) throws SQLException {
+        if (inputTypes.length < 1 || inputTypes.length > 3) {
+            throw new SQLException("invalid number of arguments");
+        }
+        return Types.VARCHAR;
+    }
+
+    public void add(final Object value) throws SQLException {
+        final Object v;
+        if (value instanceof Object[]) {
+            final Object[] args = (Object[]) value;
+            if (delimiter == null) {
+                delimiter = args[1] == null ? "" : args[1].toString();
+                if (args.length > 2 && args[2] != null) {
+                    parseOverflow(args[2].toString());
+                }
+            }
+            v = args[0];
+        } else {
+            if (delimiter == null) {
+                delimiter = "";
+            }
+            v = value;
+        }
+        if (v == null) {
+            return;
+        }
+        if (omitted > 0) {
+            omitted++;
+            return;
+        }
+        final String str = v.toString();
+        final int length = sb.length() + (count > 0 ? delimiter.length() : 0) + str.length();
+        if (length > MAX_LENGTH) {
+            if (!truncate) {
+                throw new SQLException("result of string concatenation is too long");
+            }
+            sb.setLength(safeLength);
+            omitted = count - safeCount + 1;
+            return;
+        }
+        if (count > 0) {
+            sb.append(delimiter);
+        }
+        sb.append(str);
+        count++;
+        if (sb.length() + delimiter.length() + indicator.length()
+                + (withCount ? COUNT_LENGTH : 0) <= MAX_LENGTH) {
+            safeLength = sb.length();
+            safeCount = count;
+        }
+    }
+
+    private void parseOverflow(final String overflow) throws SQLException {
+        final String[] tokens = overflow.trim().split("\\s+(?=(?:[^']*'[^']*')*[^']*$)");
+        if (tokens.length < 3 || !"ON".equalsIgnoreCase(tokens[0])
+                || !"OVERFLOW".equalsIgnoreCase(tokens[1])) {
+            throw new SQLException("invalid overflow clause: " + overflow);
+        }
+        final String mode = tokens[2].toUpperCase(Locale.ENGLISH);
+        if ("ERROR".equals(mode) && tokens.length == 3) {
+            truncate = false;
+            return;
+        }
+        if (!"TRUNCATE".equals(mode)) {
+            throw new SQLException("invalid overflow clause: " + overflow);
+        }
+        truncate = true;
+        int i = 3;
+        if (i < tokens.length && tokens[i].startsWith("'")) {
+            final String quoted = tokens[i++];
+            if (quoted.length() < 2 || !quoted.endsWith("'")) {
+                throw new SQLException("invalid overflow clause: " + overflow);
+            }
+            indicator = quoted.substring(1, quoted.length() - 1).replace("''", "'");
+        }
+        if (i + 2 == tokens.length && "COUNT".equalsIgnoreCase(tokens[i + 1])) {
+            if ("WITH".equalsIgnoreCase(tokens[i])) {
+                withCount = true;
+            } else if ("WITHOUT".equalsIgnoreCase(tokens[i])) {
+                withCount = false;
+            } else {
+                throw new SQLException("invalid overflow clause: " + overflow);
+            }
+        } else if (i != tokens.length) {
+            throw new SQLException("invalid overflow clause: " + overflow);
+        }
+    }
+
+    public Object getResult() throws SQLException {
+        if (count == 0 && omitted == 0) {
+            return null;
+        }
+        if (omitted == 0) {
+            return sb.toString();
+        }
+        if (safeCount > 0) {
+            sb.append(delimiter);
+        }
+        sb.append(indicator);
+        if (withCount) {
+            sb.append('(').append(omitted).append(')');
+        }
+        return sb.toString();
+    }
+}
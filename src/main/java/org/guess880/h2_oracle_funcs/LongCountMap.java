@@ -0,0 +1,82 @@
+package org.guess880.h2_oracle_funcs;
+
+/**
+ * Counts occurrences of {@code long} keys in an open addressing table with
+ * linear probing, without boxing.
+ */
+final class LongCountMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+
+    /**
+     * Zero marks a free slot.
+     */
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds one to the count of {@code key} and returns the new count.
+     */
+    int increment(final long key) {
+        int i = slot(keys, key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                return ++counts[i];
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        if (size >= keys.length >> 1) {
+            grow();
+            i = free(keys, counts, key);
+        }
+        keys[i] = key;
+        counts[i] = 1;
+        size++;
+        return 1;
+    }
+
+    int get(final long key) {
+        int i = slot(keys, key);
+        while (counts[i] != 0) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        return 0;
+    }
+
+    private static int slot(final long[] keys, final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+    }
+
+    private static int free(final long[] keys, final int[] counts, final long key) {
+        int i = slot(keys, key);
+        while (counts[i] != 0) {
+            i = (i + 1) & (keys.length - 1);
+        }
+        return i;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldCounts = counts;
+        keys = new long[oldKeys.length << 1];
+        counts = new int[oldKeys.length << 1];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                final int j = free(keys, counts, oldKeys[i]);
+                keys[j] = oldKeys[i];
+                counts[j] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+/**
+ * MEDIAN(expr), PERCENTILE_CONT of 0.5.
+ */
+public class Median extends PercentileAggregate {
+
+    public Median() {
+        super(MEDIAN);
+    }
+
+    @Override
+    int integralType() {
+        return Types.DECIMAL;
+    }
+
+    @Override
+    Object result(final long[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+
+    @Override
+    Object result(final BigDecimal[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+
+    @Override
+    Object result(final double[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+}
@@ -0,0 +1,154 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.Locale;
+
+/**
+ * Case conversion of INITCAP, NLS_INITCAP, NLS_UPPER and NLS_LOWER.
+ * <p>
+ * ASCII strings are converted in a single pass over a char array, and a
+ * string that does not change is returned as it is. Other strings are
+ * converted code point by code point, so that the length is kept as in
+ * Oracle: the sharp s is upper cased to SS only by XGERMAN, and the Turkic
+ * sorts map the dotted and dotless i to each other. A word is a run of
+ * letters and digits.
+ */
+final class NlsCase {
+
+    private static final char DOTTED_CAPITAL_I = '\u0130';
+
+    private static final char DOTLESS_SMALL_I = '\u0131';
+
+    private NlsCase() {
+    }
+
+    static String upper(final String str, final NlsSort sort) {
+        if (!sort.isTurkic()) {
+            final char[] chars = str.toCharArray();
+            boolean changed = false;
+            for (int i = 0; i < chars.length; i++) {
+                final char c = chars[i];
+                if (c >= 0x80) {
+                    return upperUnicode(str, sort);
+                }
+                if (c >= 'a' && c <= 'z') {
+                    chars[i] = (char) (c - ('a' - 'A'));
+                    changed = true;
+                }
+            }
+            return changed ? new String(chars) : str;
+        }
+        return upperUnicode(str, sort);
+    }
+
+    static String lower(final String str, final NlsSort sort) {
+        if (!sort.isTurkic()) {
+            final char[] chars = str.toCharArray();
+            boolean changed = false;
+            for (int i = 0; i < chars.length; i++) {
+                final char c = chars[i];
+                if (c >= 0x80) {
+                    return lowerUnicode(str, sort);
+                }
+                if (c >= 'A' && c <= 'Z') {
+                    chars[i] = (char) (c + ('a' - 'A'));
+                    changed = true;
+                }
+            }
+            return changed ? new String(chars) : str;
+        }
+        return lowerUnicode(str, sort);
+    }
+
+    static String initcap(final String str, final NlsSort sort) {
+        if (!sort.isTurkic() && !sort.isExtendedDutch()) {
+            final char[] chars = str.toCharArray();
+            boolean changed = false;
+            boolean inWord = false;
+            for (int i = 0; i < chars.length; i++) {
+                final char c = chars[i];
+                if (c >= 0x80) {
+                    return initcapUnicode(str, sort);
+                }
+                if (c >= 'a' && c <= 'z') {
+                    if (!inWord) {
+                        chars[i] = (char) (c - ('a' - 'A'));
+                        changed = true;
+                    }
+                    inWord = true;
+                } else if (c >= 'A' && c <= 'Z') {
+                    if (inWord) {
+                        chars[i] = (char) (c + ('a' - 'A'));
+                        changed = true;
+                    }
+                    inWord = true;
+                } else {
+                    inWord = c >= '0' && c <= '9';
+                }
+            }
+            return changed ? new String(chars) : str;
+        }
+        return initcapUnicode(str, sort);
+    }
+
+    private static String upperUnicode(final String str, final NlsSort sort) {
+        if (sort.isExtendedGerman()) {
+            return str.toUpperCase(Locale.GERMAN);
+        }
+        final StringBuilder sb = new StringBuilder(str.length());
+        for (int i = 0; i < str.length();) {
+            final int cp = str.codePointAt(i);
+            i += Character.charCount(cp);
+            sb.appendCodePoint(toUpper(cp, sort));
+        }
+        return sb.toString();
+    }
+
+    private static String lowerUnicode(final String str, final NlsSort sort) {
+        final StringBuilder sb = new StringBuilder(str.length());
+        for (int i = 0; i < str.length();) {
+            final int cp = str.codePointAt(i);
+            i += Character.charCount(cp);
+            sb.appendCodePoint(toLower(cp, sort));
+        }
+        return sb.toString();
+    }
+
+    private static String initcapUnicode(final String str, final NlsSort sort) {
+        final StringBuilder sb = new StringBuilder(str.length());
+        boolean inWord = false;
+        for (int i = 0; i < str.length();) {
+            final int cp = str.codePointAt(i);
+            i += Character.charCount(cp);
+            if (!Character.isLetterOrDigit(cp)) {
+                sb.appendCodePoint(cp);
+                inWord = false;
+            } else if (inWord) {
+                sb.appendCodePoint(toLower(cp, sort));
+            } else {
+                sb.appendCodePoint(toUpper(cp, sort));
+                inWord = true;
+                // XDUTCH capitalizes the ij digraph as a whole
+                if (sort.isExtendedDutch() && (cp == 'i' || cp == 'I') && i < str.length()
+                        && (str.charAt(i) == 'j' || str.charAt(i) == 'J')) {
+                    sb.append('J');
+                    i++;
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int toUpper(final int cp, final NlsSort sort) {
+        if (cp == 'i' && sort.isTurkic()) {
+            return DOTTED_CAPITAL_I;
+        }
+        return Character.toUpperCase(cp);
+    }
+
+    private static int toLower(final int cp, final NlsSort sort) {
+        if (cp == 'I' && sort.isTurkic()) {
+            return DOTLESS_SMALL_I;
+        }
+        return Character.toLowerCase(cp);
+    }
+}
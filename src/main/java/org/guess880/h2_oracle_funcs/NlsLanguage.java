@@ -0,0 +1,135 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps Oracle NLS language names to Java locales.
+ * <p>
+ * The date language of an NLS parameter string is parsed once and cached by
+ * the string, so a constant parameter costs one comparison per row.
+ */
+final class NlsLanguage {
+
+    private static final int CACHE_SIZE = 64;
+
+    private static final BoundedCache<String, DateLanguage> DATE_LANGUAGES =
+            new BoundedCache<String, DateLanguage>(CACHE_SIZE);
+
+    private static volatile DateLanguage last;
+
+    private static final Map<String, Locale> LANGUAGES = new HashMap<String, Locale>();
+
+    static {
+        LANGUAGES.put("AMERICAN", Locale.US);
+        LANGUAGES.put("ENGLISH", Locale.UK);
+        LANGUAGES.put("JAPANESE", Locale.JAPAN);
+        LANGUAGES.put("KOREAN", Locale.KOREA);
+        LANGUAGES.put("SIMPLIFIED CHINESE", Locale.SIMPLIFIED_CHINESE);
+        LANGUAGES.put("TRADITIONAL CHINESE", Locale.TRADITIONAL_CHINESE);
+        LANGUAGES.put("GERMAN", Locale.GERMANY);
+        LANGUAGES.put("FRENCH", Locale.FRANCE);
+        LANGUAGES.put("CANADIAN FRENCH", Locale.CANADA_FRENCH);
+        LANGUAGES.put("ITALIAN", Locale.ITALY);
+        LANGUAGES.put("SPANISH", new Locale("es", "ES"));
+        LANGUAGES.put("LATIN AMERICAN SPANISH", new Locale("es", "MX"));
+        LANGUAGES.put("PORTUGUESE", new Locale("pt", "PT"));
+        LANGUAGES.put("BRAZILIAN PORTUGUESE", new Locale("pt", "BR"));
+        LANGUAGES.put("DUTCH", new Locale("nl", "NL"));
+        LANGUAGES.put("DANISH", new Locale("da", "DK"));
+        LANGUAGES.put("SWEDISH", new Locale("sv", "SE"));
+        LANGUAGES.put("NORWEGIAN", new Locale("no", "NO"));
+        LANGUAGES.put("FINNISH", new Locale("fi", "FI"));
+        LANGUAGES.put("POLISH", new Locale("pl", "PL"));
+        LANGUAGES.put("CZECH", new Locale("cs", "CZ"));
+        LANGUAGES.put("HUNGARIAN", new Locale("hu", "HU"));
+        LANGUAGES.put("RUSSIAN", new Locale("ru", "RU"));
+        LANGUAGES.put("GREEK", new Locale("el", "GR"));
+        LANGUAGES.put("TURKISH", new Locale("tr", "TR"));
+        LANGUAGES.put("THAI", new Locale("th", "TH"));
+        LANGUAGES.put("ARABIC", new Locale("ar"));
+        LANGUAGES.put("HEBREW", new Locale("iw", "IL"));
+    }
+
+    private NlsLanguage() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the language is not known
+     */
+    static Locale toLocale(final String language) {
+        final Locale locale = LANGUAGES.get(language.trim().toUpperCase(Locale.ENGLISH));
+        if (locale == null) {
+            throw new IllegalArgumentException("unknown NLS language: " + language);
+        }
+        return locale;
+    }
+
+    /**
+     * Returns the value of {@code name} in an NLS parameter string such as
+     * {@code "NLS_DATE_LANGUAGE = American NLS_CURRENCY = '$'"}, or null if it
+     * is not there. A value runs up to the next NLS parameter unless it is
+     * quoted.
+     */
+    static String parameter(final String nlsParams, final String name) {
+        final String upper = nlsParams.toUpperCase(Locale.ENGLISH);
+        final int at = upper.indexOf(name);
+        if (at < 0) {
+            return null;
+        }
+        final int eq = upper.indexOf('=', at + name.length());
+        if (eq < 0) {
+            throw new IllegalArgumentException("invalid NLS parameter string: " + nlsParams);
+        }
+        int start = eq + 1;
+        while (start < nlsParams.length() && nlsParams.charAt(start) == ' ') {
+            start++;
+        }
+        if (start < nlsParams.length() && nlsParams.charAt(start) == '\'') {
+            final int close = nlsParams.indexOf('\'', start + 1);
+            if (close < 0) {
+                throw new IllegalArgumentException("invalid NLS parameter string: " + nlsParams);
+            }
+            return nlsParams.substring(start + 1, close);
+        }
+        final int next = upper.indexOf("NLS_", start);
+        return nlsParams.substring(start, next < 0 ? nlsParams.length() : next).trim();
+    }
+
+    /**
+     * The locale of the {@code NLS_DATE_LANGUAGE} parameter of an NLS
+     * parameter string, the default locale if there is none.
+     *
+     * @throws IllegalArgumentException if the language is not known
+     */
+    static Locale dateLanguage(final String nlsParams) {
+        if (nlsParams == null) {
+            return Locale.getDefault();
+        }
+        DateLanguage l = last;
+        if (l == null || !l.nlsParams.equals(nlsParams)) {
+            l = DATE_LANGUAGES.get(nlsParams);
+            if (l == null) {
+                final String language = parameter(nlsParams, "NLS_DATE_LANGUAGE");
+                l = DATE_LANGUAGES.putIfAbsent(nlsParams,
+                        new DateLanguage(nlsParams, language == null ? null : toLocale(language)));
+            }
+            last = l;
+        }
+        return l.locale == null ? Locale.getDefault() : l.locale;
+    }
+
+    private static final class DateLanguage {
+
+        final String nlsParams;
+
+        // null if the parameter string names no date language
+        final Locale locale;
+
+        DateLanguage(final String nlsParams, final Locale locale) {
+            this.nlsParams = nlsParams;
+            this.locale = locale;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The month, day, meridian and era names of the NLS date languages.
+ * <p>
+ * They are not taken from {@link java.text.DateFormatSymbols}, whose names
+ * depend on the locale data of the JDK: the CLDR data, the default since
+ * Java 9, abbreviates e.g. the German October as {@code Okt.}. Like Oracle,
+ * months are named in the nominative case. A language without names of its
+ * own uses the English ones.
+ */
+final class NlsNames {
+
+    private static final Map<String, NlsNames> LANGUAGES = new HashMap<String, NlsNames>();
+
+    static {
+        // American and English
+        put("en",
+                new String[] {"January", "February", "March", "April", "May", "June", "July", "August",
+                        "September", "October", "November", "December"},
+                new String[] {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov",
+                        "Dec"},
+                new String[] {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"},
+                new String[] {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"},
+                new String[] {"AM", "PM"},
+                new String[] {"BC", "AD"});
+        // Japanese
+        put("ja",
+                new String[] {"1\u6708", "2\u6708", "3\u6708", "4\u6708", "5\u6708", "6\u6708", "7\u6708",
+                        "8\u6708", "9\u6708", "10\u6708", "11\u6708", "12\u6708"},
+                new String[] {"1\u6708", "2\u6708", "3\u6708", "4\u6708", "5\u6708", "6\u6708", "7\u6708",
+                        "8\u6708", "9\u6708", "10\u6708", "11\u6708", "12\u6708"},
+                new String[] {"\u6708\u66DC\u65E5", "\u706B\u66DC\u65E5", "\u6C34\u66DC\u65E5",
+                        "\u6728\u66DC\u65E5", "\u91D1\u66DC\u65E5", "\u571F\u66DC\u65E5",
+                        "\u65E5\u66DC\u65E5"},
+                new String[] {"\u6708", "\u706B", "\u6C34", "\u6728", "\u91D1", "\u571F", "\u65E5"},
+                new String[] {"\u5348\u524D", "\u5348\u5F8C"},
+                new String[] {"\u7D00\u5143\u524D", "\u897F\u66A6"});
+        // Korean
+        put("ko",
+                new String[] {"1\uC6D4", "2\uC6D4", "3\uC6D4", "4\uC6D4", "5\uC6D4", "6\uC6D4", "7\uC6D4",
+                        "8\uC6D4", "9\uC6D4", "10\uC6D4", "11\uC6D4", "12\uC6D4"},
+                new String[] {"1\uC6D4", "2\uC6D4", "3\uC6D4", "4\uC6D4", "5\uC6D4", "6\uC6D4", "7\uC6D4",
+                        "8\uC6D4", "9\uC6D4", "10\uC6D4", "11\uC6D4", "12\uC6D4"},
+                new String[] {"\uC6D4\uC694\uC77C", "\uD654\uC694\uC77C", "\uC218\uC694\uC77C",
+                        "\uBAA9\uC694\uC77C", "\uAE08\uC694\uC77C", "\uD1A0\uC694\uC77C",
+                        "\uC77C\uC694\uC77C"},
+                new String[] {"\uC6D4", "\uD654", "\uC218", "\uBAA9", "\uAE08", "\uD1A0", "\uC77C"},
+                new String[] {"\uC624\uC804", "\uC624\uD6C4"},
+                new String[] {"\uAE30\uC6D0\uC804", "\uC11C\uAE30"});
+        // Simplified and Traditional Chinese
+        put("zh",
+                new String[] {"1\u6708", "2\u6708", "3\u6708", "4\u6708", "5\u6708", "6\u6708", "7\u6708",
+                        "8\u6708", "9\u6708", "10\u6708", "11\u6708", "12\u6708"},
+                new String[] {"1\u6708", "2\u6708", "3\u6708", "4\u6708", "5\u6708", "6\u6708", "7\u6708",
+                        "8\u6708", "9\u6708", "10\u6708", "11\u6708", "12\u6708"},
+                new String[] {"\u661F\u671F\u4E00", "\u661F\u671F\u4E8C", "\u661F\u671F\u4E09",
+                        "\u661F\u671F\u56DB", "\u661F\u671F\u4E94", "\u661F\u671F\u516D",
+                        "\u661F\u671F\u65E5"},
+                new String[] {"\u661F\u671F\u4E00", "\u661F\u671F\u4E8C", "\u661F\u671F\u4E09",
+                        "\u661F\u671F\u56DB", "\u661F\u671F\u4E94", "\u661F\u671F\u516D",
+                        "\u661F\u671F\u65E5"},
+                new String[] {"\u4E0A\u5348", "\u4E0B\u5348"},
+                new String[] {"\u516C\u5143\u524D", "\u516C\u5143"});
+        // German
+        put("de",
+                new String[] {"Januar", "Februar", "M\u00E4rz", "April", "Mai", "Juni", "Juli", "August",
+                        "September", "Oktober", "November", "Dezember"},
+                new String[] {"Jan", "Feb", "Mrz", "Apr", "Mai", "Jun", "Jul", "Aug", "Sep", "Okt", "Nov",
+                        "Dez"},
+                new String[] {"Montag", "Dienstag", "Mittwoch", "Donnerstag", "Freitag", "Samstag",
+                        "Sonntag"},
+                new String[] {"Mo", "Di", "Mi", "Do", "Fr", "Sa", "So"},
+                new String[] {"AM", "PM"},
+                new String[] {"v. Chr.", "n. Chr."});
+        // French and Canadian French
+        put("fr",
+                new String[] {"janvier", "f\u00E9vrier", "mars", "avril", "mai", "juin", "juillet",
+                        "ao\u00FBt", "septembre", "octobre", "novembre", "d\u00E9cembre"},
+                new String[] {"janv.", "f\u00E9vr.", "mars", "avr.", "mai", "juin", "juil.", "ao\u00FBt",
+                        "sept.", "oct.", "nov.", "d\u00E9c."},
+                new String[] {"lundi", "mardi", "mercredi", "jeudi", "vendredi", "samedi", "dimanche"},
+                new String[] {"lun.", "mar.", "mer.", "jeu.", "ven.", "sam.", "dim."},
+                new String[] {"AM", "PM"},
+                new String[] {"BC", "ap. J.-C."});
+        // Italian
+        put("it",
+                new String[] {"gennaio", "febbraio", "marzo", "aprile", "maggio", "giugno", "luglio",
+                        "agosto", "settembre", "ottobre", "novembre", "dicembre"},
+                new String[] {"gen", "feb", "mar", "apr", "mag", "giu", "lug", "ago", "set", "ott", "nov",
+                        "dic"},
+                new String[] {"luned\u00EC", "marted\u00EC", "mercoled\u00EC", "gioved\u00EC",
+                        "venerd\u00EC", "sabato", "domenica"},
+                new String[] {"lun", "mar", "mer", "gio", "ven", "sab", "dom"},
+                new String[] {"AM", "PM"},
+                new String[] {"BC", "dopo Cristo"});
+        // Spanish and Latin American Spanish
+        put("es",
+                new String[] {"enero", "febrero", "marzo", "abril", "mayo", "junio", "julio", "agosto",
+                        "septiembre", "octubre", "noviembre", "diciembre"},
+                new String[] {"ene", "feb", "mar", "abr", "may", "jun", "jul", "ago", "sep", "oct", "nov",
+                        "dic"},
+                new String[] {"lunes", "martes", "mi\u00E9rcoles", "jueves", "viernes", "s\u00E1bado",
+                        "domingo"},
+                new String[] {"lun", "mar", "mi\u00E9", "jue", "vie", "s\u00E1b", "dom"},
+                new String[] {"AM", "PM"},
+                new String[] {"antes de Cristo", "anno D\u00F3mini"});
+        // Portuguese and Brazilian Portuguese
+        put("pt",
+                new String[] {"Janeiro", "Fevereiro", "Mar\u00E7o", "Abril", "Maio", "Junho", "Julho",
+                        "Agosto", "Setembro", "Outubro", "Novembro", "Dezembro"},
+                new String[] {"jan", "fev", "mar", "abr", "mai", "jun", "jul", "ago", "set", "out", "nov",
+                        "dez"},
+                new String[] {"Segunda-feira", "Ter\u00E7a-feira", "Quarta-feira", "Quinta-feira",
+                        "Sexta-feira", "S\u00E1bado", "Domingo"},
+                new String[] {"Seg", "Ter", "Qua", "Qui", "Sex", "S\u00E1b", "Dom"},
+                new String[] {"AM", "PM"},
+                new String[] {"a.C.", "d.C."});
+        // Dutch
+        put("nl",
+                new String[] {"januari", "februari", "maart", "april", "mei", "juni", "juli", "augustus",
+                        "september", "oktober", "november", "december"},
+                new String[] {"jan", "feb", "mrt", "apr", "mei", "jun", "jul", "aug", "sep", "okt", "nov",
+                        "dec"},
+                new String[] {"maandag", "dinsdag", "woensdag", "donderdag", "vrijdag", "zaterdag",
+                        "zondag"},
+                new String[] {"ma", "di", "wo", "do", "vr", "za", "zo"},
+                new String[] {"AM", "PM"},
+                new String[] {"v. Chr.", "n. Chr."});
+        // Danish
+        put("da",
+                new String[] {"januar", "februar", "marts", "april", "maj", "juni", "juli", "august",
+                        "september", "oktober", "november", "december"},
+                new String[] {"jan.", "feb.", "mar.", "apr.", "maj", "jun.", "jul.", "aug.", "sep.", "okt.",
+                        "nov.", "dec."},
+                new String[] {"mandag", "tirsdag", "onsdag", "torsdag", "fredag", "l\u00F8rdag",
+                        "s\u00F8ndag"},
+                new String[] {"ma", "ti", "on", "to", "fr", "l\u00F8", "s\u00F8"},
+                new String[] {"AM", "PM"},
+                new String[] {"f.Kr.", "e.Kr."});
+        // Swedish
+        put("sv",
+                new String[] {"januari", "februari", "mars", "april", "maj", "juni", "juli", "augusti",
+                        "september", "oktober", "november", "december"},
+                new String[] {"jan", "feb", "mar", "apr", "maj", "jun", "jul", "aug", "sep", "okt", "nov",
+                        "dec"},
+                new String[] {"m\u00E5ndag", "tisdag", "onsdag", "torsdag", "fredag", "l\u00F6rdag",
+                        "s\u00F6ndag"},
+                new String[] {"m\u00E5", "ti", "on", "to", "fr", "l\u00F6", "s\u00F6"},
+                new String[] {"fm", "em"},
+                new String[] {"f\u00F6re Kristus", "efter Kristus"});
+        // Norwegian
+        put("no",
+                new String[] {"januar", "februar", "mars", "april", "mai", "juni", "juli", "august",
+                        "september", "oktober", "november", "desember"},
+                new String[] {"jan", "feb", "mar", "apr", "mai", "jun", "jul", "aug", "sep", "okt", "nov",
+                        "des"},
+                new String[] {"mandag", "tirsdag", "onsdag", "torsdag", "fredag", "l\u00F8rdag",
+                        "s\u00F8ndag"},
+                new String[] {"ma", "ti", "on", "to", "fr", "l\u00F8", "s\u00F8"},
+                new String[] {"AM", "PM"},
+                new String[] {"BC", "AD"});
+        // Finnish
+        put("fi",
+                new String[] {"tammikuu", "helmikuu", "maaliskuu", "huhtikuu", "toukokuu", "kes\u00E4kuu",
+                        "hein\u00E4kuu", "elokuu", "syyskuu", "lokakuu", "marraskuu", "joulukuu"},
+                new String[] {"tammi", "helmi", "maalis", "huhti", "touko", "kes\u00E4", "hein\u00E4", "elo",
+                        "syys", "loka", "marras", "joulu"},
+                new String[] {"maanantai", "tiistai", "keskiviikko", "torstai", "perjantai", "lauantai",
+                        "sunnuntai"},
+                new String[] {"ma", "ti", "ke", "to", "pe", "la", "su"},
+                new String[] {"ap.", "ip."},
+                new String[] {"eKr.", "jKr."});
+        // Polish
+        put("pl",
+                new String[] {"Stycze\u0144", "Luty", "Marzec", "Kwiecie\u0144", "Maj", "Czerwiec", "Lipiec",
+                        "Sierpie\u0144", "Wrzesie\u0144", "Pa\u017Adziernik", "Listopad", "Grudzie\u0144"},
+                new String[] {"sty", "lut", "mar", "kwi", "maj", "cze", "lip", "sie", "wrz", "pa\u017A",
+                        "lis", "gru"},
+                new String[] {"poniedzia\u0142ek", "wtorek", "\u015Broda", "czwartek", "pi\u0105tek",
+                        "sobota", "niedziela"},
+                new String[] {"Pn", "Wt", "\u015Ar", "Cz", "Pt", "So", "N"},
+                new String[] {"AM", "PM"},
+                new String[] {"p.n.e.", "n.e."});
+        // Czech
+        put("cs",
+                new String[] {"Leden", "\u00DAnor", "B\u0159ezen", "Duben", "Kv\u011Bten", "\u010Cerven",
+                        "\u010Cervenec", "Srpen", "Z\u00E1\u0159\u00ED", "\u0158\u00EDjen", "Listopad",
+                        "Prosinec"},
+                new String[] {"Led", "\u00DAno", "B\u0159e", "Dub", "Kv\u011B", "\u010Cer", "\u010Cvc",
+                        "Srp", "Z\u00E1\u0159", "\u0158\u00EDj", "Lis", "Pro"},
+                new String[] {"Pond\u011Bl\u00ED", "\u00DAter\u00FD", "St\u0159eda", "\u010Ctvrtek",
+                        "P\u00E1tek", "Sobota", "Ned\u011Ble"},
+                new String[] {"Po", "\u00DAt", "St", "\u010Ct", "P\u00E1", "So", "Ne"},
+                new String[] {"dop.", "odp."},
+                new String[] {"p\u0159.Kr.", "po Kr."});
+        // Hungarian
+        put("hu",
+                new String[] {"janu\u00E1r", "febru\u00E1r", "m\u00E1rcius", "\u00E1prilis", "m\u00E1jus",
+                        "j\u00FAnius", "j\u00FAlius", "augusztus", "szeptember", "okt\u00F3ber", "november",
+                        "december"},
+                new String[] {"jan.", "febr.", "m\u00E1rc.", "\u00E1pr.", "m\u00E1j.", "j\u00FAn.",
+                        "j\u00FAl.", "aug.", "szept.", "okt.", "nov.", "dec."},
+                new String[] {"h\u00E9tf\u0151", "kedd", "szerda", "cs\u00FCt\u00F6rt\u00F6k", "p\u00E9ntek",
+                        "szombat", "vas\u00E1rnap"},
+                new String[] {"H", "K", "Sze", "Cs", "P", "Szo", "V"},
+                new String[] {"DE", "DU"},
+                new String[] {"i.e.", "i.u."});
+        // Russian
+        put("ru",
+                new String[] {"\u042F\u043D\u0432\u0430\u0440\u044C",
+                        "\u0424\u0435\u0432\u0440\u0430\u043B\u044C", "\u041C\u0430\u0440\u0442",
+                        "\u0410\u043F\u0440\u0435\u043B\u044C", "\u041C\u0430\u0439",
+                        "\u0418\u044E\u043D\u044C", "\u0418\u044E\u043B\u044C",
+                        "\u0410\u0432\u0433\u0443\u0441\u0442",
+                        "\u0421\u0435\u043D\u0442\u044F\u0431\u0440\u044C",
+                        "\u041E\u043A\u0442\u044F\u0431\u0440\u044C", "\u041D\u043E\u044F\u0431\u0440\u044C",
+                        "\u0414\u0435\u043A\u0430\u0431\u0440\u044C"},
+                new String[] {"\u044F\u043D\u0432", "\u0444\u0435\u0432", "\u043C\u0430\u0440",
+                        "\u0430\u043F\u0440", "\u043C\u0430\u0439", "\u0438\u044E\u043D",
+                        "\u0438\u044E\u043B", "\u0430\u0432\u0433", "\u0441\u0435\u043D",
+                        "\u043E\u043A\u0442", "\u043D\u043E\u044F", "\u0434\u0435\u043A"},
+                new String[] {"\u043F\u043E\u043D\u0435\u0434\u0435\u043B\u044C\u043D\u0438\u043A",
+                        "\u0432\u0442\u043E\u0440\u043D\u0438\u043A", "\u0441\u0440\u0435\u0434\u0430",
+                        "\u0447\u0435\u0442\u0432\u0435\u0440\u0433",
+                        "\u043F\u044F\u0442\u043D\u0438\u0446\u0430",
+                        "\u0441\u0443\u0431\u0431\u043E\u0442\u0430",
+                        "\u0432\u043E\u0441\u043A\u0440\u0435\u0441\u0435\u043D\u044C\u0435"},
+                new String[] {"\u041F\u043D", "\u0412\u0442", "\u0421\u0440", "\u0427\u0442", "\u041F\u0442",
+                        "\u0421\u0431", "\u0412\u0441"},
+                new String[] {"AM", "PM"},
+                new String[] {"\u0434\u043E \u043D.\u044D.", "\u043D.\u044D."});
+        // Greek
+        put("el",
+                new String[] {"\u0399\u03B1\u03BD\u03BF\u03C5\u03AC\u03C1\u03B9\u03BF\u03C2",
+                        "\u03A6\u03B5\u03B2\u03C1\u03BF\u03C5\u03AC\u03C1\u03B9\u03BF\u03C2",
+                        "\u039C\u03AC\u03C1\u03C4\u03B9\u03BF\u03C2",
+                        "\u0391\u03C0\u03C1\u03AF\u03BB\u03B9\u03BF\u03C2", "\u039C\u03AC\u03B9\u03BF\u03C2",
+                        "\u0399\u03BF\u03CD\u03BD\u03B9\u03BF\u03C2",
+                        "\u0399\u03BF\u03CD\u03BB\u03B9\u03BF\u03C2",
+                        "\u0391\u03CD\u03B3\u03BF\u03C5\u03C3\u03C4\u03BF\u03C2",
+                        "\u03A3\u03B5\u03C0\u03C4\u03AD\u03BC\u03B2\u03C1\u03B9\u03BF\u03C2",
+                        "\u039F\u03BA\u03C4\u03CE\u03B2\u03C1\u03B9\u03BF\u03C2",
+                        "\u039D\u03BF\u03AD\u03BC\u03B2\u03C1\u03B9\u03BF\u03C2",
+                        "\u0394\u03B5\u03BA\u03AD\u03BC\u03B2\u03C1\u03B9\u03BF\u03C2"},
+                new String[] {"\u0399\u03B1\u03BD", "\u03A6\u03B5\u03B2", "\u039C\u03B1\u03C1",
+                        "\u0391\u03C0\u03C1", "\u039C\u03B1\u03CA", "\u0399\u03BF\u03C5\u03BD",
+                        "\u0399\u03BF\u03C5\u03BB", "\u0391\u03C5\u03B3", "\u03A3\u03B5\u03C0",
+                        "\u039F\u03BA\u03C4", "\u039D\u03BF\u03B5", "\u0394\u03B5\u03BA"},
+                new String[] {"\u0394\u03B5\u03C5\u03C4\u03AD\u03C1\u03B1", "\u03A4\u03C1\u03AF\u03C4\u03B7",
+                        "\u03A4\u03B5\u03C4\u03AC\u03C1\u03C4\u03B7", "\u03A0\u03AD\u03BC\u03C0\u03C4\u03B7",
+                        "\u03A0\u03B1\u03C1\u03B1\u03C3\u03BA\u03B5\u03C5\u03AE",
+                        "\u03A3\u03AC\u03B2\u03B2\u03B1\u03C4\u03BF",
+                        "\u039A\u03C5\u03C1\u03B9\u03B1\u03BA\u03AE"},
+                new String[] {"\u0394\u03B5\u03C5", "\u03A4\u03C1\u03B9", "\u03A4\u03B5\u03C4",
+                        "\u03A0\u03B5\u03BC", "\u03A0\u03B1\u03C1", "\u03A3\u03B1\u03B2",
+                        "\u039A\u03C5\u03C1"},
+                new String[] {"\u03C0\u03BC", "\u03BC\u03BC"},
+                new String[] {"BC", "AD"});
+        // Turkish
+        put("tr",
+                new String[] {"Ocak", "\u015Eubat", "Mart", "Nisan", "May\u0131s", "Haziran", "Temmuz",
+                        "A\u011Fustos", "Eyl\u00FCl", "Ekim", "Kas\u0131m", "Aral\u0131k"},
+                new String[] {"Oca", "\u015Eub", "Mar", "Nis", "May", "Haz", "Tem", "A\u011Fu", "Eyl", "Eki",
+                        "Kas", "Ara"},
+                new String[] {"Pazartesi", "Sal\u0131", "\u00C7ar\u015Famba", "Per\u015Fembe", "Cuma",
+                        "Cumartesi", "Pazar"},
+                new String[] {"Pzt", "Sal", "\u00C7ar", "Per", "Cum", "Cmt", "Paz"},
+                new String[] {"AM", "PM"},
+                new String[] {"M\u00D6", "MS"});
+        // Thai
+        put("th",
+                new String[] {"\u0E21\u0E01\u0E23\u0E32\u0E04\u0E21",
+                        "\u0E01\u0E38\u0E21\u0E20\u0E32\u0E1E\u0E31\u0E19\u0E18\u0E4C",
+                        "\u0E21\u0E35\u0E19\u0E32\u0E04\u0E21", "\u0E40\u0E21\u0E29\u0E32\u0E22\u0E19",
+                        "\u0E1E\u0E24\u0E29\u0E20\u0E32\u0E04\u0E21",
+                        "\u0E21\u0E34\u0E16\u0E38\u0E19\u0E32\u0E22\u0E19",
+                        "\u0E01\u0E23\u0E01\u0E0E\u0E32\u0E04\u0E21",
+                        "\u0E2A\u0E34\u0E07\u0E2B\u0E32\u0E04\u0E21",
+                        "\u0E01\u0E31\u0E19\u0E22\u0E32\u0E22\u0E19", "\u0E15\u0E38\u0E25\u0E32\u0E04\u0E21",
+                        "\u0E1E\u0E24\u0E28\u0E08\u0E34\u0E01\u0E32\u0E22\u0E19",
+                        "\u0E18\u0E31\u0E19\u0E27\u0E32\u0E04\u0E21"},
+                new String[] {"\u0E21.\u0E04.", "\u0E01.\u0E1E.", "\u0E21\u0E35.\u0E04.",
+                        "\u0E40\u0E21.\u0E22.", "\u0E1E.\u0E04.", "\u0E21\u0E34.\u0E22.", "\u0E01.\u0E04.",
+                        "\u0E2A.\u0E04.", "\u0E01.\u0E22.", "\u0E15.\u0E04.", "\u0E1E.\u0E22.",
+                        "\u0E18.\u0E04."},
+                new String[] {"\u0E27\u0E31\u0E19\u0E08\u0E31\u0E19\u0E17\u0E23\u0E4C",
+                        "\u0E27\u0E31\u0E19\u0E2D\u0E31\u0E07\u0E04\u0E32\u0E23",
+                        "\u0E27\u0E31\u0E19\u0E1E\u0E38\u0E18",
+                        "\u0E27\u0E31\u0E19\u0E1E\u0E24\u0E2B\u0E31\u0E2A\u0E1A\u0E14\u0E35",
+                        "\u0E27\u0E31\u0E19\u0E28\u0E38\u0E01\u0E23\u0E4C",
+                        "\u0E27\u0E31\u0E19\u0E40\u0E2A\u0E32\u0E23\u0E4C",
+                        "\u0E27\u0E31\u0E19\u0E2D\u0E32\u0E17\u0E34\u0E15\u0E22\u0E4C"},
+                new String[] {"\u0E08.", "\u0E2D.", "\u0E1E.", "\u0E1E\u0E24.", "\u0E28.", "\u0E2A.",
+                        "\u0E2D\u0E32."},
+                new String[] {"\u0E01\u0E48\u0E2D\u0E19\u0E40\u0E17\u0E35\u0E48\u0E22\u0E07",
+                        "\u0E2B\u0E25\u0E31\u0E07\u0E40\u0E17\u0E35\u0E48\u0E22\u0E07"},
+                new String[] {
+                        "\u0E1B\u0E35\u0E01\u0E48\u0E2D\u0E19\u0E04\u0E23\u0E34\u0E2A\u0E15\u0E4C\u0E01\u0E32\u0E25\u0E17\u0E35\u0E48",
+                        "\u0E04.\u0E28."});
+        // Arabic
+        put("ar",
+                new String[] {"\u064A\u0646\u0627\u064A\u0631", "\u0641\u0628\u0631\u0627\u064A\u0631",
+                        "\u0645\u0627\u0631\u0633", "\u0623\u0628\u0631\u064A\u0644",
+                        "\u0645\u0627\u064A\u0648", "\u064A\u0648\u0646\u064A\u0648",
+                        "\u064A\u0648\u0644\u064A\u0648", "\u0623\u063A\u0633\u0637\u0633",
+                        "\u0633\u0628\u062A\u0645\u0628\u0631", "\u0623\u0643\u062A\u0648\u0628\u0631",
+                        "\u0646\u0648\u0641\u0645\u0628\u0631", "\u062F\u064A\u0633\u0645\u0628\u0631"},
+                new String[] {"\u064A\u0646\u0627", "\u0641\u0628\u0631", "\u0645\u0627\u0631",
+                        "\u0623\u0628\u0631", "\u0645\u0627\u064A", "\u064A\u0648\u0646",
+                        "\u064A\u0648\u0644", "\u0623\u063A\u0633", "\u0633\u0628\u062A",
+                        "\u0623\u0643\u062A", "\u0646\u0648\u0641", "\u062F\u064A\u0633"},
+                new String[] {"\u0627\u0644\u0627\u062B\u0646\u064A\u0646",
+                        "\u0627\u0644\u062B\u0644\u0627\u062B\u0627\u0621",
+                        "\u0627\u0644\u0623\u0631\u0628\u0639\u0627\u0621",
+                        "\u0627\u0644\u062E\u0645\u064A\u0633", "\u0627\u0644\u062C\u0645\u0639\u0629",
+                        "\u0627\u0644\u0633\u0628\u062A", "\u0627\u0644\u0623\u062D\u062F"},
+                new String[] {"\u0646", "\u062B", "\u0631", "\u062E", "\u062C", "\u0633", "\u062D"},
+                new String[] {"\u0635", "\u0645"},
+                new String[] {"\u0642.\u0645", "\u0645"});
+        // Hebrew
+        put("iw",
+                new String[] {"\u05D9\u05E0\u05D5\u05D0\u05E8", "\u05E4\u05D1\u05E8\u05D5\u05D0\u05E8",
+                        "\u05DE\u05E8\u05E5", "\u05D0\u05E4\u05E8\u05D9\u05DC", "\u05DE\u05D0\u05D9",
+                        "\u05D9\u05D5\u05E0\u05D9", "\u05D9\u05D5\u05DC\u05D9",
+                        "\u05D0\u05D5\u05D2\u05D5\u05E1\u05D8", "\u05E1\u05E4\u05D8\u05DE\u05D1\u05E8",
+                        "\u05D0\u05D5\u05E7\u05D8\u05D5\u05D1\u05E8", "\u05E0\u05D5\u05D1\u05DE\u05D1\u05E8",
+                        "\u05D3\u05E6\u05DE\u05D1\u05E8"},
+                new String[] {"\u05D9\u05E0\u05D5", "\u05E4\u05D1\u05E8", "\u05DE\u05E8\u05E5",
+                        "\u05D0\u05E4\u05E8", "\u05DE\u05D0\u05D9", "\u05D9\u05D5\u05E0",
+                        "\u05D9\u05D5\u05DC", "\u05D0\u05D5\u05D2", "\u05E1\u05E4\u05D8",
+                        "\u05D0\u05D5\u05E7", "\u05E0\u05D5\u05D1", "\u05D3\u05E6\u05DE"},
+                new String[] {"\u05D9\u05D5\u05DD \u05E9\u05E0\u05D9",
+                        "\u05D9\u05D5\u05DD \u05E9\u05DC\u05D9\u05E9\u05D9",
+                        "\u05D9\u05D5\u05DD \u05E8\u05D1\u05D9\u05E2\u05D9",
+                        "\u05D9\u05D5\u05DD \u05D7\u05DE\u05D9\u05E9\u05D9",
+                        "\u05D9\u05D5\u05DD \u05E9\u05D9\u05E9\u05D9", "\u05E9\u05D1\u05EA",
+                        "\u05D9\u05D5\u05DD \u05E8\u05D0\u05E9\u05D5\u05DF"},
+                new String[] {"\u05D1", "\u05D2", "\u05D3", "\u05D4", "\u05D5", "\u05E9", "\u05D0"},
+                new String[] {"AM", "PM"},
+                new String[] {"\u05DC\u05E1\u05D4\"\u05E0", "\u05DC\u05E4\u05E1\u05D4\"\u05E0"});
+        // the ISO code of Hebrew, which Locale reports as iw before Java 17
+        LANGUAGES.put("he", LANGUAGES.get("iw"));
+    }
+
+    private static final NlsNames ENGLISH = LANGUAGES.get("en");
+
+    final String[] months;
+
+    final String[] shortMonths;
+
+    /**
+     * Indexed by ISO day of week, Monday is 1; the name at 0 is empty.
+     */
+    final String[] days;
+
+    final String[] shortDays;
+
+    final String[] amPm;
+
+    final String[] eras;
+
+    private NlsNames(final String[] months, final String[] shortMonths, final String[] days,
+            final String[] shortDays, final String[] amPm, final String[] eras) {
+        this.months = months;
+        this.shortMonths = shortMonths;
+        this.days = isoIndexed(days);
+        this.shortDays = isoIndexed(shortDays);
+        this.amPm = amPm;
+        this.eras = eras;
+    }
+
+    private static String[] isoIndexed(final String[] mondayFirst) {
+        final String[] names = new String[8];
+        names[0] = "";
+        System.arraycopy(mondayFirst, 0, names, 1, 7);
+        return names;
+    }
+
+    private static void put(final String language, final String[] months, final String[] shortMonths,
+            final String[] days, final String[] shortDays, final String[] amPm, final String[] eras) {
+        LANGUAGES.put(language, new NlsNames(months, shortMonths, days, shortDays, amPm, eras));
+    }
+
+    static NlsNames forLocale(final Locale locale) {
+        final NlsNames names = LANGUAGES.get(locale.getLanguage());
+        return names == null ? ENGLISH : names;
+    }
+}
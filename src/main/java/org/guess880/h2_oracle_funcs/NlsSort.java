@@ -0,0 +1,256 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.nio.charset.Charset;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An Oracle NLS_SORT, e.g. {@code BINARY}, {@code GERMAN_CI} or
+ * {@code XDUTCH}, and the collator it stands for.
+ * <p>
+ * Sorts are cached by name and by NLS parameter string, and each one keeps
+ * collators per thread cloned from a single instance, because
+ * {@link Collator#getCollationKey} is synchronized. Strings that are quickly found to be in NFD, such as ASCII
+ * strings, skip the canonical decomposition of the collator. The {@code _CI}
+ * and {@code _AI} suffixes lower the strength of the collator to secondary
+ * and primary.
+ * <p>
+ * H2 compares {@code BINARY} values byte by byte as signed numbers, so the
+ * top bit of every byte of a key is flipped: keys then compare in H2 as the
+ * unsigned collation keys do.
+ */
+final class NlsSort {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Map<String, Locale> LOCALES = new HashMap<String, Locale>();
+
+    static {
+        LOCALES.put("WEST_EUROPEAN", Locale.ROOT);
+        LOCALES.put("GENERIC", Locale.ROOT);
+        LOCALES.put("SCHINESE_PINYIN", Locale.SIMPLIFIED_CHINESE);
+        LOCALES.put("SCHINESE_STROKE", Locale.SIMPLIFIED_CHINESE);
+        LOCALES.put("SCHINESE_RADICAL", Locale.SIMPLIFIED_CHINESE);
+        LOCALES.put("TCHINESE_STROKE", Locale.TRADITIONAL_CHINESE);
+        LOCALES.put("TCHINESE_RADICAL", Locale.TRADITIONAL_CHINESE);
+        LOCALES.put("THAI_DICTIONARY", new Locale("th", "TH"));
+        LOCALES.put("THAI_TELEPHONE", new Locale("th", "TH"));
+        LOCALES.put("SLOVAK", new Locale("sk", "SK"));
+        LOCALES.put("SLOVENIAN", new Locale("sl", "SI"));
+        LOCALES.put("CROATIAN", new Locale("hr", "HR"));
+        LOCALES.put("ROMANIAN", new Locale("ro", "RO"));
+        LOCALES.put("UKRAINIAN", new Locale("uk", "UA"));
+        LOCALES.put("CATALAN", new Locale("ca", "ES"));
+        LOCALES.put("ESTONIAN", new Locale("et", "EE"));
+        LOCALES.put("LATVIAN", new Locale("lv", "LV"));
+        LOCALES.put("LITHUANIAN", new Locale("lt", "LT"));
+        LOCALES.put("ICELANDIC", new Locale("is", "IS"));
+        LOCALES.put("VIETNAMESE", new Locale("vi", "VN"));
+    }
+
+    private static final ConcurrentMap<String, NlsSort> SORTS =
+            new ConcurrentHashMap<String, NlsSort>();
+
+    private static final int PARAMS_CACHE_SIZE = 64;
+
+    private static final BoundedCache<String, NlsSort> BY_PARAMS =
+            new BoundedCache<String, NlsSort>(PARAMS_CACHE_SIZE);
+
+    private static volatile ParamsSort lastParams;
+
+    static final NlsSort BINARY = new NlsSort("BINARY", null, Collator.TERTIARY);
+
+    private final Locale locale;
+
+    private final int strength;
+
+    private final boolean turkic;
+
+    private final boolean extendedGerman;
+
+    private final boolean extendedDutch;
+
+    private final Collator prototype;
+
+    private final ThreadLocal<Collator[]> collators = new ThreadLocal<Collator[]>() {
+        @Override
+        protected Collator[] initialValue() {
+            final Collator decomposing = (Collator) prototype.clone();
+            decomposing.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+            return new Collator[] {(Collator) prototype.clone(), decomposing};
+        }
+    };
+
+    private NlsSort(final String name, final Locale locale, final int strength) {
+        this.locale = locale;
+        this.strength = strength;
+        this.turkic = locale != null
+                && (locale.getLanguage().equals("tr") || locale.getLanguage().equals("az"));
+        this.extendedGerman = name.startsWith("XGERMAN");
+        this.extendedDutch = name.startsWith("XDUTCH");
+        if (locale == null) {
+            this.prototype = null;
+        } else {
+            this.prototype = Collator.getInstance(locale);
+            prototype.setStrength(strength);
+            prototype.setDecomposition(Collator.NO_DECOMPOSITION);
+        }
+    }
+
+    /**
+     * The sort of the {@code NLS_SORT} parameter of an NLS parameter string,
+     * {@link #BINARY} if there is none.
+     *
+     * @throws IllegalArgumentException if the sort is not known
+     */
+    static NlsSort fromParams(final String nlsParams) {
+        if (nlsParams == null) {
+            return BINARY;
+        }
+        final ParamsSort l = lastParams;
+        if (l != null && l.nlsParams.equals(nlsParams)) {
+            return l.sort;
+        }
+        NlsSort sort = BY_PARAMS.get(nlsParams);
+        if (sort == null) {
+            final String name = NlsLanguage.parameter(nlsParams, "NLS_SORT");
+            sort = BY_PARAMS.putIfAbsent(nlsParams, name == null ? BINARY : forName(name));
+        }
+        lastParams = new ParamsSort(nlsParams, sort);
+        return sort;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the sort is not known
+     */
+    static NlsSort forName(final String sortName) {
+        final String key = sortName.trim().toUpperCase(Locale.ENGLISH);
+        final NlsSort cached = SORTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final NlsSort sort = parse(key);
+        final NlsSort existing = SORTS.putIfAbsent(key, sort);
+        return existing == null ? sort : existing;
+    }
+
+    private static NlsSort parse(final String key) {
+        String base = key;
+        int strength = Collator.TERTIARY;
+        if (base.endsWith("_CI")) {
+            strength = Collator.SECONDARY;
+            base = base.substring(0, base.length() - 3);
+        } else if (base.endsWith("_AI")) {
+            strength = Collator.PRIMARY;
+            base = base.substring(0, base.length() - 3);
+        }
+        if (base.equals("BINARY")) {
+            return strength == Collator.TERTIARY ? BINARY : new NlsSort(key, null, strength);
+        }
+        // the Unicode multilingual variants
+        if (base.endsWith("_M")) {
+            base = base.substring(0, base.length() - 2);
+        }
+        Locale locale = locale(base);
+        // the extended variants, e.g. XGERMAN
+        if (locale == null && base.startsWith("X")) {
+            locale = locale(base.substring(1));
+        }
+        if (locale == null) {
+            throw new IllegalArgumentException("unknown NLS_SORT: " + key);
+        }
+        return new NlsSort(key, locale, strength);
+    }
+
+    private static Locale locale(final String base) {
+        final Locale locale = LOCALES.get(base);
+        if (locale != null) {
+            return locale;
+        }
+        try {
+            return NlsLanguage.toLocale(base.replace('_', ' '));
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the dotted and dotless i are distinct letters.
+     */
+    boolean isTurkic() {
+        return turkic;
+    }
+
+    /**
+     * XGERMAN, which upper cases the sharp s to SS.
+     */
+    boolean isExtendedGerman() {
+        return extendedGerman;
+    }
+
+    /**
+     * XDUTCH, which treats ij as a single letter.
+     */
+    boolean isExtendedDutch() {
+        return extendedDutch;
+    }
+
+    /**
+     * The NLSSORT key of {@code str}.
+     */
+    byte[] key(final String str) {
+        final byte[] key;
+        if (locale == null) {
+            key = binaryKey(str).getBytes(UTF_8);
+        } else {
+            final Collator[] pair = collators.get();
+            final Collator collator = Normalization.isQuickNormalized(str, Normalizer.Form.NFD)
+                    ? pair[0] : pair[1];
+            key = collator.getCollationKey(str).toByteArray();
+        }
+        for (int i = 0; i < key.length; i++) {
+            key[i] ^= 0x80;
+        }
+        return key;
+    }
+
+    private String binaryKey(final String str) {
+        switch (strength) {
+        case Collator.SECONDARY:
+            return NlsCase.lower(str, this);
+        case Collator.PRIMARY:
+            return NlsCase.lower(stripMarks(str), this);
+        default:
+            return str;
+        }
+    }
+
+    private static String stripMarks(final String str) {
+        final String decomposed = Normalizer.normalize(str, Normalizer.Form.NFD);
+        final StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class ParamsSort {
+
+        final String nlsParams;
+
+        final NlsSort sort;
+
+        ParamsSort(final String nlsParams, final NlsSort sort) {
+            this.nlsParams = nlsParams;
+            this.sort = sort;
+        }
+    }
+}
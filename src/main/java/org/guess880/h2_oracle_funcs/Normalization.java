@@ -0,0 +1,81 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Unicode normalization of COMPOSE and DECOMPOSE.
+ * <p>
+ * Strings that are already normalized are returned as they are: characters
+ * below a per form bound never change and never combine with a following
+ * character, so a string of only those is accepted by a single scan, and
+ * other strings go through {@link Normalizer#isNormalized} before being
+ * normalized. Normalized short strings are cached.
+ */
+final class Normalization {
+
+    static final int MAX_CACHED_LENGTH = 32;
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final BoundedCache<CacheKey, String> CACHE =
+            new BoundedCache<CacheKey, String>(CACHE_SIZE);
+
+    private Normalization() {
+    }
+
+    /**
+     * The form of the second argument of DECOMPOSE.
+     */
+    static Normalizer.Form decompositionForm(final String type) {
+        if (type == null || "CANONICAL".equalsIgnoreCase(type.trim())) {
+            return Normalizer.Form.NFD;
+        } else if ("COMPATIBILITY".equalsIgnoreCase(type.trim())) {
+            return Normalizer.Form.NFKD;
+        }
+        throw new IllegalArgumentException("illegal argument for function: "
+                + type.toUpperCase(Locale.ENGLISH));
+    }
+
+    static String normalize(final String str, final Normalizer.Form form) {
+        if (isQuickNormalized(str, form) || Normalizer.isNormalized(str, form)) {
+            return str;
+        }
+        if (str.length() > MAX_CACHED_LENGTH) {
+            return Normalizer.normalize(str, form);
+        }
+        final CacheKey key = new CacheKey(form, str);
+        final String cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return CACHE.putIfAbsent(key, Normalizer.normalize(str, form));
+    }
+
+    static boolean isQuickNormalized(final String str, final Normalizer.Form form) {
+        final char bound = stableBound(form);
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) >= bound) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Characters below the bound are normalized in {@code form}, alone and
+     * before any other character: the combining marks start at U+0300, the
+     * canonical decompositions at U+00C0 and the compatibility ones at
+     * U+00A0.
+     */
+    private static char stableBound(final Normalizer.Form form) {
+        switch (form) {
+        case NFC:
+            return '\u0300';
+        case NFD:
+            return '\u00C0';
+        default:
+            return '\u00A0';
+        }
+    }
+}
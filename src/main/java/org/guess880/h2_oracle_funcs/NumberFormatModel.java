@@ -0,0 +1,426 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Compiled Oracle number format model for parsing, e.g. {@code '999G999D99'},
+ * {@code 'S9999'}, {@code 'FMXXXX'} or {@code '9.99EEEE'}.
+ * <p>
+ * A format string is compiled once into the layout it stands for, with the
+ * separators and currencies of its {@link NumberSymbols} resolved up front,
+ * and shared through a bounded cache keyed by format and symbols. Parsing a
+ * row makes a single pass over the string: up to 18 significant digits are
+ * accumulated in a {@code long}, so that the common integers and decimals
+ * become a {@code BigDecimal}, {@code double} or {@code float} without
+ * parsing the digits again. Only longer numbers fall back to
+ * {@link BigInteger}.
+ */
+final class NumberFormatModel {
+
+    /**
+     * The format of TO_NUMBER without a format model: any number of digits,
+     * a leading sign, the decimal separator and an exponent.
+     */
+    static final String DEFAULT_FORMAT = "";
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final BoundedCache<CacheKey, NumberFormatModel> CACHE =
+            new BoundedCache<CacheKey, NumberFormatModel>(CACHE_SIZE);
+
+    private static volatile NumberFormatModel last;
+
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final int MAX_EXPONENT = 999;
+
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    // the powers of ten that are exact doubles and floats
+    private static final double[] DOUBLE_POWERS = new double[23];
+
+    private static final float[] FLOAT_POWERS = new float[11];
+
+    static {
+        DOUBLE_POWERS[0] = 1;
+        for (int i = 1; i < DOUBLE_POWERS.length; i++) {
+            DOUBLE_POWERS[i] = DOUBLE_POWERS[i - 1] * 10;
+        }
+        FLOAT_POWERS[0] = 1;
+        for (int i = 1; i < FLOAT_POWERS.length; i++) {
+            FLOAT_POWERS[i] = FLOAT_POWERS[i - 1] * 10;
+        }
+    }
+
+    private enum Sign {
+        NONE, LEADING, TRAILING, TRAILING_MINUS, BRACKETS
+    }
+
+    /**
+     * A parsed number: {@code unscaled * 10^-scale}, with the digits in
+     * {@code digits} instead of {@code unscaled} once there are more than 18.
+     */
+    private static final class Parsed {
+
+        boolean negative;
+
+        long unscaled;
+
+        int significant;
+
+        StringBuilder digits;
+
+        int scale;
+
+        /**
+         * The value as written, with a negative scale for an exponent; cheaper
+         * to convert to a double than the integer of {@link #decimal()}.
+         */
+        BigDecimal scaled() {
+            return digits == null
+                    ? BigDecimal.valueOf(negative ? -unscaled : unscaled, scale)
+                    : new BigDecimal(negative ? new BigInteger(digits.toString()).negate()
+                            : new BigInteger(digits.toString()), scale);
+        }
+
+        BigDecimal decimal() {
+            final BigDecimal value = scaled();
+            return value.scale() < 0 ? value.setScale(0) : value;
+        }
+    }
+
+    private final String format;
+
+    private final NumberSymbols symbols;
+
+    private final boolean free;
+
+    private final int integerDigits;
+
+    private final int fractionDigits;
+
+    private final int hexDigits;
+
+    private final boolean hasDecimal;
+
+    private final char decimal;
+
+    private final boolean hasGroups;
+
+    private final char group;
+
+    private final Sign sign;
+
+    private final String leadingCurrency;
+
+    private final String trailingCurrency;
+
+    private final boolean exponent;
+
+    private NumberFormatModel(final String format, final NumberSymbols symbols) {
+        this.format = format;
+        this.symbols = symbols;
+        this.free = format.length() == 0;
+        final String upper = format.toUpperCase(Locale.ENGLISH);
+        int intDigits = 0;
+        int fracDigits = 0;
+        int hex = 0;
+        boolean nines = false;
+        boolean dec = free;
+        char decChar = symbols.decimal;
+        boolean groups = false;
+        char groupChar = symbols.group;
+        Sign s = free ? Sign.LEADING : Sign.NONE;
+        String leading = null;
+        String trailing = null;
+        boolean exp = free;
+        final int first = upper.startsWith("FM") ? 2 : 0;
+        int i = first;
+        while (i < upper.length()) {
+            final char c = upper.charAt(i);
+            final boolean digitsSeen = intDigits > 0 || fracDigits > 0 || dec || hex > 0;
+            if (c == '9' || c == '0') {
+                nines |= c == '9' || hex > 0;
+                if (dec) {
+                    fracDigits++;
+                } else {
+                    intDigits++;
+                }
+                i++;
+            } else if (c == 'X') {
+                hex++;
+                i++;
+            } else if (c == ',' || c == 'G') {
+                final char separator = c == ',' ? ',' : symbols.group;
+                // no group separator after the decimal one, and no mix of , and G
+                if (dec || intDigits == 0 || groups && groupChar != separator) {
+                    throw invalidFormat(format);
+                }
+                groups = true;
+                groupChar = separator;
+                i++;
+            } else if (c == '.' || c == 'D') {
+                if (dec) {
+                    throw invalidFormat(format);
+                }
+                dec = true;
+                decChar = c == '.' ? '.' : symbols.decimal;
+                i++;
+            } else if (c == 'S' && s == Sign.NONE && (i == first || i == upper.length() - 1)) {
+                s = digitsSeen ? Sign.TRAILING : Sign.LEADING;
+                i++;
+            } else if (upper.startsWith("MI", i) && s == Sign.NONE && i == upper.length() - 2) {
+                s = Sign.TRAILING_MINUS;
+                i += 2;
+            } else if (upper.startsWith("PR", i) && s == Sign.NONE && i == upper.length() - 2) {
+                s = Sign.BRACKETS;
+                i += 2;
+            } else if (upper.startsWith("EEEE", i) && !exp && intDigits + fracDigits > 0) {
+                exp = true;
+                i += 4;
+            } else if ((c == '$' || c == 'L' || c == 'C' || c == 'U') && leading == null && trailing == null) {
+                final String currency = c == '$' ? "$" : c == 'C' ? symbols.isoCurrency : symbols.currency;
+                if (digitsSeen && c != '$') {
+                    trailing = currency;
+                } else {
+                    leading = currency;
+                }
+                i++;
+            } else if (c == 'B') {
+                i++;
+            } else {
+                throw invalidFormat(format);
+            }
+        }
+        // X can only follow leading zeros
+        if (hex > 0 && (nines || dec || groups || exp || s != Sign.NONE || leading != null || trailing != null)
+                || exp && groups) {
+            throw invalidFormat(format);
+        }
+        this.integerDigits = intDigits;
+        this.fractionDigits = fracDigits;
+        this.hexDigits = hex > 0 ? hex + intDigits : 0;
+        this.hasDecimal = dec;
+        this.decimal = decChar;
+        this.hasGroups = groups;
+        this.group = groupChar;
+        this.sign = s;
+        this.leadingCurrency = leading;
+        this.trailingCurrency = trailing;
+        this.exponent = exp;
+    }
+
+    private static IllegalArgumentException invalidFormat(final String format) {
+        return new IllegalArgumentException("invalid number format model: " + format);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the format is not valid
+     */
+    static NumberFormatModel of(final String format, final NumberSymbols symbols) {
+        final NumberFormatModel l = last;
+        if (l != null && l.format.equals(format) && l.symbols.equals(symbols)) {
+            return l;
+        }
+        final CacheKey key = new CacheKey(format, symbols);
+        NumberFormatModel model = CACHE.get(key);
+        if (model == null) {
+            model = CACHE.putIfAbsent(key, new NumberFormatModel(format, symbols));
+        }
+        last = model;
+        return model;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code text} does not match the
+     *             format
+     */
+    BigDecimal parseDecimal(final String text) {
+        return parse(text).decimal();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code text} does not match the
+     *             format
+     */
+    double parseDouble(final String text) {
+        final Parsed p = parse(text);
+        // an exact significand times an exact power of ten rounds once
+        if (p.digits == null && p.unscaled < MAX_EXACT_DOUBLE
+                && p.scale >= -(DOUBLE_POWERS.length - 1) && p.scale < DOUBLE_POWERS.length) {
+            final double value = p.scale >= 0 ? p.unscaled / DOUBLE_POWERS[p.scale]
+                    : p.unscaled * DOUBLE_POWERS[-p.scale];
+            return p.negative ? -value : value;
+        }
+        return p.scaled().doubleValue();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code text} does not match the
+     *             format
+     */
+    float parseFloat(final String text) {
+        final Parsed p = parse(text);
+        if (p.digits == null && p.unscaled < MAX_EXACT_FLOAT
+                && p.scale >= -(FLOAT_POWERS.length - 1) && p.scale < FLOAT_POWERS.length) {
+            final float value = p.scale >= 0 ? p.unscaled / FLOAT_POWERS[p.scale]
+                    : p.unscaled * FLOAT_POWERS[-p.scale];
+            return p.negative ? -value : value;
+        }
+        return p.scaled().floatValue();
+    }
+
+    private Parsed parse(final String text) {
+        int pos = 0;
+        int end = text.length();
+        while (pos < end && text.charAt(pos) == ' ') {
+            pos++;
+        }
+        while (end > pos && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        final Parsed p = new Parsed();
+        switch (sign) {
+        case NONE:
+            // like TO_CHAR, a format without a sign element has a leading minus
+            if (hexDigits == 0 && pos < end && text.charAt(pos) == '-') {
+                p.negative = true;
+                pos++;
+            }
+            break;
+        case LEADING:
+            if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+                p.negative = text.charAt(pos) == '-';
+                pos++;
+            }
+            break;
+        case TRAILING:
+            if (end > pos && (text.charAt(end - 1) == '-' || text.charAt(end - 1) == '+')) {
+                p.negative = text.charAt(end - 1) == '-';
+                end--;
+            }
+            break;
+        case TRAILING_MINUS:
+            if (end > pos && text.charAt(end - 1) == '-') {
+                p.negative = true;
+                end--;
+            }
+            break;
+        case BRACKETS:
+            if (end - pos >= 2 && text.charAt(pos) == '<' && text.charAt(end - 1) == '>') {
+                p.negative = true;
+                pos++;
+                end--;
+            }
+            break;
+        default:
+            break;
+        }
+        if (leadingCurrency != null && text.startsWith(leadingCurrency, pos)) {
+            pos += leadingCurrency.length();
+        }
+        if (trailingCurrency != null && end - pos > trailingCurrency.length()
+                && text.startsWith(trailingCurrency, end - trailingCurrency.length())) {
+            end -= trailingCurrency.length();
+        }
+        if (hexDigits > 0) {
+            parseHex(text, pos, end, p);
+            return p;
+        }
+        int intDigits = 0;
+        while (pos < end) {
+            final char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                digit(p, c);
+                intDigits++;
+            } else if (!(c == group && hasGroups && intDigits > 0 && pos + 1 < end
+                    && text.charAt(pos + 1) >= '0' && text.charAt(pos + 1) <= '9')) {
+                break;
+            }
+            pos++;
+        }
+        int fracDigits = 0;
+        if (hasDecimal && pos < end && text.charAt(pos) == decimal) {
+            pos++;
+            while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+                digit(p, text.charAt(pos));
+                fracDigits++;
+                pos++;
+            }
+        }
+        if (intDigits + fracDigits == 0 || !free && (intDigits > integerDigits || fracDigits > fractionDigits)) {
+            throw invalidNumber(text);
+        }
+        p.scale = fracDigits;
+        if (exponent && pos < end && (text.charAt(pos) == 'E' || text.charAt(pos) == 'e')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (text.charAt(pos) == '-' || text.charAt(pos) == '+')) {
+                negativeExponent = text.charAt(pos) == '-';
+                pos++;
+            }
+            final int start = pos;
+            int exp = 0;
+            while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+                exp = exp * 10 + text.charAt(pos) - '0';
+                if (exp > MAX_EXPONENT) {
+                    throw invalidNumber(text);
+                }
+                pos++;
+            }
+            if (pos == start) {
+                throw invalidNumber(text);
+            }
+            p.scale -= negativeExponent ? -exp : exp;
+        }
+        if (pos != end) {
+            throw invalidNumber(text);
+        }
+        return p;
+    }
+
+    private static void digit(final Parsed p, final char c) {
+        final int d = c - '0';
+        if (p.digits != null) {
+            p.digits.append(c);
+        } else if (p.significant < MAX_LONG_DIGITS) {
+            p.unscaled = p.unscaled * 10 + d;
+            if (p.unscaled != 0) {
+                p.significant++;
+            }
+        } else {
+            p.digits = new StringBuilder(40).append(p.unscaled).append(c);
+        }
+    }
+
+    private void parseHex(final String text, int pos, final int end, final Parsed p) {
+        if (end - pos == 0 || end - pos > hexDigits) {
+            throw invalidNumber(text);
+        }
+        BigInteger big = null;
+        for (; pos < end; pos++) {
+            final int d = Character.digit(text.charAt(pos), 16);
+            if (d < 0) {
+                throw invalidNumber(text);
+            }
+            if (big != null) {
+                big = big.shiftLeft(4).or(BigInteger.valueOf(d));
+            } else if (p.unscaled >>> 59 != 0) {
+                big = BigInteger.valueOf(p.unscaled).shiftLeft(4).or(BigInteger.valueOf(d));
+            } else {
+                p.unscaled = p.unscaled << 4 | d;
+            }
+        }
+        if (big != null) {
+            p.digits = new StringBuilder(big.toString());
+        }
+    }
+
+    private static IllegalArgumentException invalidNumber(final String text) {
+        return new IllegalArgumentException("invalid number: " + text);
+    }
+}
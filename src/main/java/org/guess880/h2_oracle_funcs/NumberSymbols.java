@@ -0,0 +1,111 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * The characters a number format model stands for: the decimal and group
+ * separators of {@code D} and {@code G}, and the currencies of {@code L} and
+ * {@code C}.
+ * <p>
+ * They come from the default locale, overridden by the
+ * {@code NLS_NUMERIC_CHARACTERS}, {@code NLS_CURRENCY} and
+ * {@code NLS_ISO_CURRENCY} parameters of an NLS parameter string, e.g.
+ * {@code "NLS_NUMERIC_CHARACTERS = ',.'"}. {@code NLS_ISO_CURRENCY} is the
+ * code itself, e.g. {@code EUR}, not a territory. Resolved symbols are
+ * cached per parameter string and locale.
+ */
+final class NumberSymbols {
+
+    private static final int CACHE_SIZE = 64;
+
+    private static final BoundedCache<CacheKey, NumberSymbols> CACHE =
+            new BoundedCache<CacheKey, NumberSymbols>(CACHE_SIZE);
+
+    private static volatile NumberSymbols defaults;
+
+    private final Locale locale;
+
+    final char decimal;
+
+    final char group;
+
+    final String currency;
+
+    final String isoCurrency;
+
+    private final int hash;
+
+    private NumberSymbols(final Locale locale, final char decimal, final char group,
+            final String currency, final String isoCurrency) {
+        this.locale = locale;
+        this.decimal = decimal;
+        this.group = group;
+        this.currency = currency;
+        this.isoCurrency = isoCurrency;
+        this.hash = ((decimal * 31 + group) * 31 + currency.hashCode()) * 31 + isoCurrency.hashCode();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a parameter is not valid
+     */
+    static NumberSymbols of(final String nlsParams) {
+        final Locale locale = Locale.getDefault();
+        NumberSymbols d = defaults;
+        if (d == null || !d.locale.equals(locale)) {
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            d = new NumberSymbols(locale, symbols.getDecimalSeparator(), symbols.getGroupingSeparator(),
+                    symbols.getCurrencySymbol(), symbols.getInternationalCurrencySymbol());
+            defaults = d;
+        }
+        if (nlsParams == null) {
+            return d;
+        }
+        final CacheKey key = new CacheKey(nlsParams, locale);
+        final NumberSymbols cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return CACHE.putIfAbsent(key, d.with(nlsParams));
+    }
+
+    private NumberSymbols with(final String nlsParams) {
+        char dec = decimal;
+        char grp = group;
+        final String characters = NlsLanguage.parameter(nlsParams, "NLS_NUMERIC_CHARACTERS");
+        if (characters != null) {
+            if (characters.length() != 2 || characters.charAt(0) == characters.charAt(1)
+                    || !isSeparator(characters.charAt(0)) || !isSeparator(characters.charAt(1))) {
+                throw new IllegalArgumentException("invalid NLS_NUMERIC_CHARACTERS: " + characters);
+            }
+            dec = characters.charAt(0);
+            grp = characters.charAt(1);
+        }
+        final String cur = NlsLanguage.parameter(nlsParams, "NLS_CURRENCY");
+        final String iso = NlsLanguage.parameter(nlsParams, "NLS_ISO_CURRENCY");
+        return new NumberSymbols(locale, dec, grp, cur == null ? currency : cur,
+                iso == null ? isoCurrency : iso.toUpperCase(Locale.ENGLISH));
+    }
+
+    private static boolean isSeparator(final char c) {
+        return !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '<' && c != '>';
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof NumberSymbols)) {
+            return false;
+        }
+        final NumberSymbols other = (NumberSymbols) obj;
+        return decimal == other.decimal && group == other.group && currency.equals(other.currency)
+                && isoCurrency.equals(other.isoCurrency);
+    }
+}
@@ -0,0 +1,245 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+
+/**
+ * The numeric functions: BIN_TO_NUM, ORA_HASH, TO_BINARY_DOUBLE,
+ * TO_BINARY_FLOAT and TO_NUMBER.
+ */
+public final class NumericFunctions {
+
+    private NumericFunctions() {
+    }
+
+    // fixed arities, so that h2 does not allocate an array per row
+    public static final long binToNum(final int b1, final int b2) {
+        return bit(b1) << 1 | bit(b2);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3) {
+        return bit(b1) << 2 | bit(b2) << 1 | bit(b3);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4) {
+        return bit(b1) << 3 | bit(b2) << 2 | bit(b3) << 1 | bit(b4);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5) {
+        return binToNum(b1, b2, b3, b4) << 1 | bit(b5);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6) {
+        return binToNum(b1, b2, b3, b4) << 2 | bit(b5) << 1 | bit(b6);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7) {
+        return binToNum(b1, b2, b3, b4) << 3 | bit(b5) << 2 | bit(b6) << 1 | bit(b7);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7, final int b8) {
+        return binToNum(b1, b2, b3, b4) << 4 | binToNum(b5, b6, b7, b8);
+    }
+
+    public static final long binToNum(final int... exprs) {
+        long value = 0;
+        for (int i = 0; i < exprs.length; i++) {
+            if (value > Long.MAX_VALUE >> 1) {
+                throw new IllegalArgumentException(
+                        "numeric overflow, use binToNumDecimal for more than 63 bits");
+            }
+            value = value << 1 | bit(exprs[i]);
+        }
+        return value;
+    }
+
+    /**
+     * BIN_TO_NUM of any number of bits. It is not registered, create an
+     * alias for it if needed.
+     */
+    public static final BigDecimal binToNumDecimal(final int... exprs) {
+        if (exprs.length < Long.SIZE) {
+            return BigDecimal.valueOf(binToNum(exprs));
+        }
+        final byte[] bytes = new byte[exprs.length / 8 + 1];
+        for (int i = 0; i < exprs.length; i++) {
+            final int pos = exprs.length - 1 - i;
+            bytes[bytes.length - 1 - pos / 8] |= bit(exprs[i]) << (pos % 8);
+        }
+        return new BigDecimal(new BigInteger(bytes));
+    }
+
+    public static final long oraHash(final String expr) {
+        return oraHash(expr, OraHash.MAX_BUCKET, 0);
+    }
+
+    public static final long oraHash(final String expr, final long maxBucket) {
+        return oraHash(expr, maxBucket, 0);
+    }
+
+    /**
+     * A bucket of {@code expr} between 0 and {@code maxBucket}, e.g.
+     * {@code WHERE ORA_HASH(id, 15) = ?} for one of 16 slices of a table. A
+     * null {@code expr} is in bucket 0.
+     * <p>
+     * h2 converts the arguments of an alias to a single Java type, so numbers
+     * and dates are hashed as the string h2 makes of them, and DECIMALs that
+     * differ only in scale hash differently. See {@link #oraHashNumber},
+     * {@link #oraHashBinary} and {@link #oraHashDate} to hash the value
+     * itself.
+     *
+     * @param maxBucket 0 to 4294967295, the default
+     * @param seed 0, the default, to 4294967295
+     */
+    public static final long oraHash(final String expr, final long maxBucket, final long seed) {
+        final int s = OraHash.seed(seed);
+        return OraHash.bucket(expr == null ? 0 : OraHash.hash(expr, s), maxBucket);
+    }
+
+    /**
+     * ORA_HASH of a number, equal numbers hash the same whatever their type
+     * or scale. It is not registered, create an alias for it if needed.
+     */
+    public static final long oraHashNumber(final BigDecimal expr, final long maxBucket,
+            final long seed) {
+        final int s = OraHash.seed(seed);
+        return OraHash.bucket(expr == null ? 0 : OraHash.hash(expr, s), maxBucket);
+    }
+
+    /**
+     * ORA_HASH of the bytes of a binary. It is not registered, create an
+     * alias for it if needed.
+     */
+    public static final long oraHashBinary(final byte[] expr, final long maxBucket,
+            final long seed) {
+        final int s = OraHash.seed(seed);
+        return OraHash.bucket(expr == null ? 0 : OraHash.hash(expr, s), maxBucket);
+    }
+
+    /**
+     * ORA_HASH of the instant of a date or a timestamp. It is not registered,
+     * create an alias for it if needed.
+     */
+    public static final long oraHashDate(final Timestamp expr, final long maxBucket,
+            final long seed) {
+        final int s = OraHash.seed(seed);
+        return OraHash.bucket(expr == null ? 0 : OraHash.hash(expr, s), maxBucket);
+    }
+
+    public static final Double toBinaryDouble(final String expr) {
+        return toBinaryDouble(expr, NumberFormatModel.DEFAULT_FORMAT, null);
+    }
+
+    public static final Double toBinaryDouble(final String expr, final String fmt) {
+        return toBinaryDouble(expr, fmt, null);
+    }
+
+    /**
+     * Also accepts {@code 'INF'}, {@code '-INF'} and {@code 'NaN'}.
+     */
+    public static final Double toBinaryDouble(final String expr, final String fmt, final String nlsParam) {
+        if (expr == null || fmt == null) {
+            return null;
+        }
+        final Double special = special(expr);
+        if (special != null) {
+            return special;
+        }
+        return NumberFormatModel.of(fmt, NumberSymbols.of(nlsParam)).parseDouble(expr);
+    }
+
+    public static final Float toBinaryFloat(final String expr) {
+        return toBinaryFloat(expr, NumberFormatModel.DEFAULT_FORMAT, null);
+    }
+
+    public static final Float toBinaryFloat(final String expr, final String fmt) {
+        return toBinaryFloat(expr, fmt, null);
+    }
+
+    /**
+     * Also accepts {@code 'INF'}, {@code '-INF'} and {@code 'NaN'}.
+     */
+    public static final Float toBinaryFloat(final String expr, final String fmt, final String nlsParam) {
+        if (expr == null || fmt == null) {
+            return null;
+        }
+        final Double special = special(expr);
+        if (special != null) {
+            return special.floatValue();
+        }
+        return NumberFormatModel.of(fmt, NumberSymbols.of(nlsParam)).parseFloat(expr);
+    }
+
+    public static final BigDecimal toNumber(final String expr) {
+        return toNumber(expr, NumberFormatModel.DEFAULT_FORMAT, null);
+    }
+
+    public static final BigDecimal toNumber(final String expr, final String fmt) {
+        return toNumber(expr, fmt, null);
+    }
+
+    /**
+     * @param fmt a number format model such as {@code '999G999D99'},
+     *            {@code 'S9999'} or {@code 'XXXX'}
+     * @param nlsParam e.g. {@code "NLS_NUMERIC_CHARACTERS = ',.'"}
+     * @throws IllegalArgumentException if {@code expr} does not match the
+     *             format
+     */
+    public static final BigDecimal toNumber(final String expr, final String fmt, final String nlsParam) {
+        if (expr == null || fmt == null) {
+            return null;
+        }
+        return NumberFormatModel.of(fmt, NumberSymbols.of(nlsParam)).parseDecimal(expr);
+    }
+
+    private static Double special(final String expr) {
+        final String trimmed = expr.trim();
+        if (trimmed.length() != 3 && trimmed.length() != 4) {
+            return null;
+        }
+        if (trimmed.equalsIgnoreCase("INF")) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (trimmed.equalsIgnoreCase("-INF")) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (trimmed.equalsIgnoreCase("NaN")) {
+            return Double.NaN;
+        }
+        return null;
+    }
+
+    private static long bit(final int expr) {
+        if ((expr & ~1) != 0) {
+            throw new IllegalArgumentException("illegal argument for function: " + expr);
+        }
+        return expr;
+    }
+
+    public static final BigDecimal truncNumber(final BigDecimal n) {
+        return truncNumber(n, 0);
+    }
+
+    /**
+     * TRUNC of a number: {@code n} cut to {@code n2} decimal places, or to
+     * the left of the decimal point if {@code n2} is negative. It is not
+     * registered, as {@code TRUNC} is the date function and h2 binds an alias
+     * to one Java type per argument count; create an alias for it if needed.
+     */
+    public static final BigDecimal truncNumber(final BigDecimal n, final int n2) {
+        if (n == null) {
+            return null;
+        }
+        if (n.scale() <= n2) {
+            return n;
+        }
+        final BigDecimal truncated = n.setScale(n2, RoundingMode.DOWN);
+        return n2 < 0 ? truncated.setScale(0) : truncated;
+    }
+}
@@ -0,0 +1,153 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * The hash of ORA_HASH: 32 bit MurmurHash3 over the raw content of a value,
+ * the chars of a string, the bytes of a binary, or the long of an integral
+ * number or a date, without encoding it.
+ * <p>
+ * The hash is mapped to {@code [0, maxBucket]} by a multiplication instead
+ * of a division, which uses the high bits of the hash; these are as well
+ * mixed as the low ones.
+ */
+final class OraHash {
+
+    static final long MAX_BUCKET = 0xFFFFFFFFL;
+
+    private static final int C1 = 0xcc9e2d51;
+
+    private static final int C2 = 0x1b873593;
+
+    private OraHash() {
+    }
+
+    /**
+     * Maps a hash to {@code [0, maxBucket]}.
+     *
+     * @throws IllegalArgumentException if {@code maxBucket} is not between 0
+     *             and 4294967295
+     */
+    static long bucket(final int hash, final long maxBucket) {
+        return (hash & MAX_BUCKET) * (check(maxBucket) + 1) >>> 32;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code seed} is not between 0 and
+     *             4294967295
+     */
+    static int seed(final long seed) {
+        return (int) check(seed);
+    }
+
+    private static long check(final long argument) {
+        if (argument < 0 || argument > MAX_BUCKET) {
+            throw new IllegalArgumentException("illegal argument for function: " + argument);
+        }
+        return argument;
+    }
+
+    static int hash(final String str, final int seed) {
+        int h = seed;
+        final int length = str.length();
+        int i = 0;
+        for (; i + 1 < length; i += 2) {
+            h = mixH(h, mixK(str.charAt(i) | str.charAt(i + 1) << 16));
+        }
+        if (i < length) {
+            h ^= mixK(str.charAt(i));
+        }
+        return finish(h, length * 2);
+    }
+
+    @SuppressWarnings("fallthrough")
+    static int hash(final byte[] bytes, final int seed) {
+        int h = seed;
+        final int length = bytes.length;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            h = mixH(h, mixK(bytes[i] & 0xff | (bytes[i + 1] & 0xff) << 8
+                    | (bytes[i + 2] & 0xff) << 16 | bytes[i + 3] << 24));
+        }
+        int k = 0;
+        switch (length - i) {
+        case 3:
+            k ^= (bytes[i + 2] & 0xff) << 16;
+            // fall through
+        case 2:
+            k ^= (bytes[i + 1] & 0xff) << 8;
+            // fall through
+        case 1:
+            k ^= bytes[i] & 0xff;
+            h ^= mixK(k);
+            break;
+        default:
+            break;
+        }
+        return finish(h, length);
+    }
+
+    static int hash(final long value, final int seed) {
+        return finish(mixLong(seed, value), 8);
+    }
+
+    /**
+     * A DATE and a TIMESTAMP at the same millisecond hash the same.
+     */
+    static int hash(final Date date, final int seed) {
+        if (date instanceof Timestamp) {
+            final Timestamp ts = (Timestamp) date;
+            final int subMillis = ts.getNanos() % 1000000;
+            if (subMillis != 0) {
+                return finish(mixH(mixLong(seed, ts.getTime()), mixK(subMillis)), 12);
+            }
+        }
+        return hash(date.getTime(), seed);
+    }
+
+    /**
+     * Equal numbers hash the same whatever their scale.
+     */
+    static int hash(final BigDecimal value, final int seed) {
+        if (value.signum() == 0) {
+            return hash(0L, seed);
+        }
+        if (value.scale() <= 0 && value.precision() - value.scale() <= 18) {
+            return hash(value.longValue(), seed);
+        }
+        BigDecimal normalized = value.stripTrailingZeros();
+        if (normalized.scale() <= 0 && normalized.precision() - normalized.scale() <= 18) {
+            return hash(normalized.longValue(), seed);
+        }
+        if (normalized.scale() < 0) {
+            normalized = normalized.setScale(0);
+        }
+        // not an integral long: the digits and the scale
+        final int h = hash(normalized.unscaledValue().toByteArray(), seed);
+        return finish(mixH(h, mixK(normalized.scale())), 4);
+    }
+
+    private static int mixLong(final int seed, final long value) {
+        return mixH(mixH(seed, mixK((int) value)), mixK((int) (value >>> 32)));
+    }
+
+    private static int mixK(final int k) {
+        return Integer.rotateLeft(k * C1, 15) * C2;
+    }
+
+    private static int mixH(final int h, final int k) {
+        return Integer.rotateLeft(h ^ k, 13) * 5 + 0xe6546b64;
+    }
+
+    private static int finish(final int hash, final int length) {
+        int h = hash ^ length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
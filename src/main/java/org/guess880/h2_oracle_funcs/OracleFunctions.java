@@ -1,262 +1,449 @@
 package org.guess880.h2_oracle_funcs;
 
+import java.io.Reader;
 import java.math.BigDecimal;
-import java.text.Normalizer;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.TimeZone;
-
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
-import org.joda.time.LocalDateTime;
-import org.joda.time.LocalDateTime.Property;
-import org.joda.time.Period;
-import org.joda.time.PeriodType;
 
+/**
+ * The functions of this library, each delegating to the class of its
+ * {@link FunctionPack}.
+ */
 public class OracleFunctions {
 
-    // TODO if date is null, what to do.
-    // TODO support implicit type conversion of date.
+    /**
+     * Creates an alias for every function of this library under its Oracle
+     * name, e.g. {@code ADD_MONTHS}. Aliases that already exist are kept.
+     * <p>
+     * The same statements are available as an init script:
+     * {@code jdbc:h2:mem:;INIT=RUNSCRIPT FROM 'classpath:/org/guess880/h2_oracle_funcs/oracle_functions.sql'}
+     */
+    public static void register(final Connection conn) throws SQLException {
+        FunctionRegistry.register(conn, false);
+    }
+
+    /**
+     * Like {@link #register(Connection)}, but only for the functions of the
+     * given packs. The classes of the other packs are not loaded, which
+     * shortens the first connection of an application that needs a few
+     * functions only.
+     * <p>
+     * Every pack is also available as an init script, e.g.
+     * {@code jdbc:h2:mem:;INIT=RUNSCRIPT FROM 'classpath:/org/guess880/h2_oracle_funcs/oracle_functions_string.sql'}
+     */
+    public static void register(final Connection conn, final FunctionPack... packs)
+            throws SQLException {
+        FunctionRegistry.register(conn, false, Arrays.asList(packs));
+    }
+
+    /**
+     * Like {@link #register(Connection)}, but binds the functions to
+     * {@link InstrumentedFunctions}, which record their calls, errors and
+     * latencies in {@link FunctionMetrics}, and adds the table function
+     * {@code ORACLE_FUNCS_STATS()}.
+     * <p>
+     * The same statements are available as an init script:
+     * {@code jdbc:h2:mem:;INIT=RUNSCRIPT FROM 'classpath:/org/guess880/h2_oracle_funcs/oracle_functions_instrumented.sql'}
+     */
+    public static void registerInstrumented(final Connection conn) throws SQLException {
+        FunctionRegistry.register(conn, true);
+    }
+
     public static final Date addMonths(final Date date, final int integer) {
-        return new LocalDateTime(date.getTime()).plusMonths(integer).toDate();
+        return DateTimeFunctions.addMonths(date, integer);
     }
 
     public static final String asciistr(final String str) {
-        final StringBuilder sb = new StringBuilder();
-        final char[] uu = new char[5];
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (c > '\u007f') {
-                uu[0] = '\\';
-                uu[1] = toHex((c >> 12) & 0xf);
-                uu[2] = toHex((c >> 8) & 0xf);
-                uu[3] = toHex((c >> 4) & 0xf);
-                uu[4] = toHex(c & 0xf);
-                sb.append(uu);
-            } else {
-                sb.append(str.charAt(i));
-            }
-        }
-        return sb.toString();
-    }
-
-    private static char toHex(final int nibble) {
-        return HEXDIGIT[(nibble & 0xF)];
-    }
-
-    private static final char[] HEXDIGIT = {
-            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C',
-            'D', 'E', 'F'
-    };
-
-    // TODO return type is ok?
-    // TODO if expression is larger than 1
+        return StringFunctions.asciistr(str);
+    }
+
+    public static final Reader asciistrClob(final Clob clob) throws SQLException {
+        return StringFunctions.asciistrClob(clob);
+    }
+
+    public static final ResultSet asciistrTable(final Connection conn, final String query)
+            throws SQLException {
+        return BatchFunctions.asciistrTable(conn, query);
+    }
+
+    public static final long binToNum(final int b1, final int b2) {
+        return NumericFunctions.binToNum(b1, b2);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3) {
+        return NumericFunctions.binToNum(b1, b2, b3);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4) {
+        return NumericFunctions.binToNum(b1, b2, b3, b4);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5) {
+        return NumericFunctions.binToNum(b1, b2, b3, b4, b5);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6) {
+        return NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7) {
+        return NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6, b7);
+    }
+
+    public static final long binToNum(final int b1, final int b2, final int b3, final int b4,
+            final int b5, final int b6, final int b7, final int b8) {
+        return NumericFunctions.binToNum(b1, b2, b3, b4, b5, b6, b7, b8);
+    }
+
     public static final long binToNum(final int... exprs) {
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < exprs.length; i++) {
-            sb.append(String.valueOf(exprs[i]));
-        }
-        return Long.valueOf(sb.toString(), 2).longValue();
+        return NumericFunctions.binToNum(exprs);
+    }
+
+    public static final BigDecimal binToNumDecimal(final int... exprs) {
+        return NumericFunctions.binToNumDecimal(exprs);
     }
 
     public static final String compose(final String exp) {
-        return Normalizer.normalize(exp, Normalizer.Form.NFC);
+        return StringFunctions.compose(exp);
+    }
+
+    public static final ResultSet composeTable(final Connection conn, final String query)
+            throws SQLException {
+        return BatchFunctions.composeTable(conn, query);
     }
 
-    // TODO omit the parentheses
     public static final String dbTimeZone() {
-        return new DateTime(DateTimeZone.forTimeZone(TimeZone.getDefault()))
-                .toString("ZZ");
+        return DateTimeFunctions.dbTimeZone();
     }
 
-    // canonical only
-//    public static final String decompose(final String exp) {
-//        return Normalizer.normalize(exp, Normalizer.Form.NFD);
-//    }
+    public static final String decompose(final String exp) {
+        return StringFunctions.decompose(exp);
+    }
+
+    public static final String decompose(final String exp, final String type) {
+        return StringFunctions.decompose(exp, type);
+    }
+
+    public static final Timestamp fromTz(final Timestamp timestamp, final String timeZone) {
+        return DateTimeFunctions.fromTz(timestamp, timeZone);
+    }
 
-    // TODO support implicit type conversion of date.
     public static final Date lastDay(final Date date) {
-        return new LocalDateTime(date.getTime()).dayOfMonth().withMaximumValue().toDate();
-    }
-
-    // TODO return type is ok?
-    // TODO support implicit type conversion of date.
-    public static final double monthsBetween(final Date date1, final Date date2) {
-        final Period period = new Period(
-                new LocalDateTime(date2.getTime()),
-                new LocalDateTime(date1.getTime()),
-                PeriodType.yearMonthDay().withYearsRemoved());
-        return  new BigDecimal(period.getMonths() + ((double) period.getDays() / 31)).
-                setScale(8, BigDecimal.ROUND_FLOOR). // TODO ceil or floor or round ?
-                doubleValue();
-    }
-
-//    public static final Date newTime(final Date date, final String timeZone1,
-//            final String timeZone2) {
-//        return new DateTime(new DateTime(date.getTime(),
-//                DateTimeZone.forID(timeZone2)).getMillis(),
-//                DateTimeZone.forID(timeZone1)).toDate();
-//    }
-
-    // TODO if day is illegal, what to do
-    // TODO oracle day
-    // TODO support implicit type conversion of date.
+        return DateTimeFunctions.lastDay(date);
+    }
+
+    public static final Double monthsBetween(final Date date1, final Date date2) {
+        return DateTimeFunctions.monthsBetween(date1, date2);
+    }
+
+    public static final BigDecimal monthsBetweenDecimal(final Date date1, final Date date2) {
+        return DateTimeFunctions.monthsBetweenDecimal(date1, date2);
+    }
+
+    public static final Date newTime(final Date date, final String timeZone1,
+            final String timeZone2) {
+        return DateTimeFunctions.newTime(date, timeZone1, timeZone2);
+    }
+
     public static final Date nextDay(final Date date, final String day) {
-        LocalDateTime next = null;
-        final LocalDateTime ldt = new LocalDateTime(date.getTime());
-        Property dayOfWeek;
-        for (int i = 1; i <= 7; i++) {
-            next = ldt.plusDays(i);
-            dayOfWeek = next.dayOfWeek();
-            if (dayOfWeek.getAsShortText().equalsIgnoreCase(day)
-                    || dayOfWeek.getAsText().equalsIgnoreCase(day)) {
-                break;
-            }
-        }
-        return next.toDate();
-    }
-
-    // remainder
+        return DateTimeFunctions.nextDay(date, day);
+    }
+
+    public static final String initcap(final String str) {
+        return StringFunctions.initcap(str);
+    }
+
+    public static final String nlsInitcap(final String str) {
+        return StringFunctions.nlsInitcap(str);
+    }
+
+    public static final String nlsInitcap(final String str, final String nlsParam) {
+        return StringFunctions.nlsInitcap(str, nlsParam);
+    }
+
+    public static final String nlsLower(final String str) {
+        return StringFunctions.nlsLower(str);
+    }
+
+    public static final String nlsLower(final String str, final String nlsParam) {
+        return StringFunctions.nlsLower(str, nlsParam);
+    }
+
+    public static final String nlsUpper(final String str) {
+        return StringFunctions.nlsUpper(str);
+    }
+
+    public static final String nlsUpper(final String str, final String nlsParam) {
+        return StringFunctions.nlsUpper(str, nlsParam);
+    }
+
+    public static final byte[] nlssort(final String str) {
+        return StringFunctions.nlssort(str);
+    }
+
+    public static final byte[] nlssort(final String str, final String nlsParam) {
+        return StringFunctions.nlssort(str, nlsParam);
+    }
+
+    public static final long oraHash(final String expr) {
+        return NumericFunctions.oraHash(expr);
+    }
+
+    public static final long oraHash(final String expr, final long maxBucket) {
+        return NumericFunctions.oraHash(expr, maxBucket);
+    }
+
+    public static final long oraHash(final String expr, final long maxBucket, final long seed) {
+        return NumericFunctions.oraHash(expr, maxBucket, seed);
+    }
+
+    public static final long oraHashBinary(final byte[] expr, final long maxBucket,
+            final long seed) {
+        return NumericFunctions.oraHashBinary(expr, maxBucket, seed);
+    }
+
+    public static final long oraHashDate(final Timestamp expr, final long maxBucket,
+            final long seed) {
+        return NumericFunctions.oraHashDate(expr, maxBucket, seed);
+    }
+
+    public static final long oraHashNumber(final BigDecimal expr, final long maxBucket,
+            final long seed) {
+        return NumericFunctions.oraHashNumber(expr, maxBucket, seed);
+    }
+
+    public static final BigDecimal truncNumber(final BigDecimal n) {
+        return NumericFunctions.truncNumber(n);
+    }
+
+    public static final BigDecimal truncNumber(final BigDecimal n, final int n2) {
+        return NumericFunctions.truncNumber(n, n2);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern) {
+        return StringFunctions.regexpCount(source, pattern);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position) {
+        return StringFunctions.regexpCount(source, pattern, position);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position, final String matchParam) {
+        return StringFunctions.regexpCount(source, pattern, position, matchParam);
+    }
 
+    public static final Integer regexpInstr(final String source, final String pattern) {
+        return StringFunctions.regexpInstr(source, pattern);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position) {
+        return StringFunctions.regexpInstr(source, pattern, position);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        return StringFunctions.regexpInstr(source, pattern, position, occurrence);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt) {
+        return StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt, final String matchParam) {
+        return StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt, matchParam);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt, final String matchParam,
+            final int subexpr) {
+        return StringFunctions.regexpInstr(source, pattern, position, occurrence, returnOpt, matchParam, subexpr);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern) {
+        return StringFunctions.regexpSubstr(source, pattern);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position) {
+        return StringFunctions.regexpSubstr(source, pattern, position);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        return StringFunctions.regexpSubstr(source, pattern, position, occurrence);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam) {
+        return StringFunctions.regexpSubstr(source, pattern, position, occurrence, matchParam);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam, final int subexpr) {
+        return StringFunctions.regexpSubstr(source, pattern, position, occurrence, matchParam, subexpr);
+    }
+
+    public static final Date round(final Date date) {
+        return DateTimeFunctions.round(date);
+    }
+
+    public static final Date round(final Date date, final String fmt) {
+        return DateTimeFunctions.round(date, fmt);
+    }
+
+    /**
+     * SESSIONTIMEZONE without a session, i.e. the database time zone. For the
+     * time zone of a session, see {@link TimeZoneContext#sessionTimeZone(Connection)};
+     * h2 cannot bind an alias to both, as it does not count the connection
+     * as an argument.
+     */
     public static final String sessionTimeZone() {
-        return dbTimeZone();
+        return TimeZoneContext.sessionTimeZone(null);
+    }
+
+    public static final Timestamp sysExtractUtc(final Timestamp timestamp) {
+        return DateTimeFunctions.sysExtractUtc(timestamp);
+    }
+
+    /**
+     * SYS_GUID as a {@code RAW(16)}. It is not registered because h2 has a
+     * built-in SYS_GUID, create an alias for it under another name.
+     */
+    public static final byte[] sysGuid() {
+        return SysGuid.next();
+    }
+
+    /**
+     * SYS_GUID as 32 hexadecimal digits, see {@link #sysGuid()}.
+     */
+    public static final String sysGuidHex() {
+        return SysGuid.nextHex();
+    }
+
+    public static final Timestamp systimestamp() {
+        return DateTimeFunctions.systimestamp();
+    }
+
+    public static final Double toBinaryDouble(final String expr) {
+        return NumericFunctions.toBinaryDouble(expr);
+    }
+
+    public static final Double toBinaryDouble(final String expr, final String fmt) {
+        return NumericFunctions.toBinaryDouble(expr, fmt);
+    }
+
+    public static final Double toBinaryDouble(final String expr, final String fmt, final String nlsParam) {
+        return NumericFunctions.toBinaryDouble(expr, fmt, nlsParam);
+    }
+
+    public static final Float toBinaryFloat(final String expr) {
+        return NumericFunctions.toBinaryFloat(expr);
+    }
+
+    public static final Float toBinaryFloat(final String expr, final String fmt) {
+        return NumericFunctions.toBinaryFloat(expr, fmt);
+    }
+
+    public static final Float toBinaryFloat(final String expr, final String fmt, final String nlsParam) {
+        return NumericFunctions.toBinaryFloat(expr, fmt, nlsParam);
+    }
+
+    public static final String toChar(final Date date) {
+        return DateTimeFunctions.toChar(date);
+    }
+
+    public static final String toChar(final Date date, final String fmt) {
+        return DateTimeFunctions.toChar(date, fmt);
+    }
+
+    public static final String toChar(final Date date, final String fmt, final String nlsParam) {
+        return DateTimeFunctions.toChar(date, fmt, nlsParam);
+    }
+
+    public static final Date toDate(final String str) {
+        return DateTimeFunctions.toDate(str);
+    }
+
+    public static final Date toDate(final String str, final String fmt) {
+        return DateTimeFunctions.toDate(str, fmt);
+    }
+
+    public static final Date toDate(final String str, final String fmt, final String nlsParam) {
+        return DateTimeFunctions.toDate(str, fmt, nlsParam);
+    }
+
+    public static final BigDecimal toNumber(final String expr) {
+        return NumericFunctions.toNumber(expr);
+    }
+
+    public static final BigDecimal toNumber(final String expr, final String fmt) {
+        return NumericFunctions.toNumber(expr, fmt);
+    }
+
+    public static final BigDecimal toNumber(final String expr, final String fmt, final String nlsParam) {
+        return NumericFunctions.toNumber(expr, fmt, nlsParam);
+    }
+
+    public static final Timestamp toTimestamp(final String str) {
+        return DateTimeFunctions.toTimestamp(str);
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt) {
+        return DateTimeFunctions.toTimestamp(str, fmt);
+    }
+
+    public static final Timestamp toTimestamp(final String str, final String fmt, final String nlsParam) {
+        return DateTimeFunctions.toTimestamp(str, fmt, nlsParam);
+    }
+
+    public static final String translate(final String expr, final String from, final String to) {
+        return StringFunctions.translate(expr, from, to);
     }
 
     public static final String tranlate(final String expr, final String from, final String to) {
-        String ret = expr.replace("''", "'");
-        String nfrom = from.replace("''", "'");
-        char cf;
-        for (int i = 0; i < nfrom.length(); i++) {
-            cf = nfrom.charAt(i);
-            if (i < to.length()) {
-                ret = ret.replace(cf, to.charAt(i));
-            } else {
-                ret = ret.replace(String.valueOf(cf), "");
-            }
-        }
-        return ret;
-    }
-
-//    public static final double trunc(final double n1, final int n2) {
-//        double f = Math.pow(10., n2);
-//        double g = n1 * f;
-//        return (n1 < 0) ? Math.ceil(g) : Math.floor(g) / f;
-//    }
-//
-//    public static final double trunc(final double n1) {
-//        return trunc(n1, 0);
-//    }
-//
-//    private static final Date trunc(final Date date, final String fmt) {
-//        final String ufmt = fmt.toUpperCase(Locale.ENGLISH);
-//        if ("CC".equals(ufmt) || "SCC".equals(ufmt)) {
-//            // 4桁の年号の上2桁より1大きい数
-//        } else if ("SYYYY".equals(ufmt)
-//                || "YYYY".equals(ufmt)
-//                || "YEAR".equals(ufmt)
-//                || "SYEAR".equals(ufmt)
-//                || "YYY".equals(ufmt)
-//                || "YY".equals(ufmt)
-//                || "Y".equals(ufmt)) {
-//            // 年(7月1日に切上げ)
-//        } else if ("IYYY".equals(ufmt)
-//                || "IY".equals(ufmt)
-//                || "IY".equals(ufmt)
-//                || "I".equals(ufmt)) {
-//            // ISO年
-//        } else if ("Q".equals(ufmt)) {
-//            // 四半期(その四半期の2番目の月の16日に切上げ)
-//        } else if ("MONTH".equals(ufmt)
-//                || "MON".equals(ufmt)
-//                || "MM".equals(ufmt)
-//                || "RM".equals(ufmt)) {
-//            // 月(16日に切上げ)
-//        } else if ("WW".equals(ufmt)) {
-//            // 年の最初の日と同じ曜日
-//        } else if ("IW".equals(ufmt)) {
-//            // ISO週の最初の日と同じ曜日(月曜日)
-//        } else if ("W".equals(ufmt)) {
-//            // 月の最初の日と同じ曜日
-//        } else if ("DDD".equals(ufmt)
-//                || "DD".equals(ufmt)
-//                || "J".equals(ufmt)) {
-//            // 日
-//        } else if ("DAY".equals(ufmt)
-//                || "DY".equals(ufmt)
-//                || "D".equals(ufmt)) {
-//            // 週の開始日
-//        } else if ("HH".equals(ufmt)
-//                || "HH12".equals(ufmt)
-//                || "HH24".equals(ufmt)) {
-//            // 時
-//        } else if ("MI".equals(ufmt)) {
-//            // 分
-//        } else {
-//        }
-//        return null;
-//    }
-//
-//    public static final Date trunc(final Date date) {
-//        return trunc(date, "DD");
-//    }
+        return StringFunctions.tranlate(expr, from, to);
+    }
+
+    public static final ResultSet translateTable(final Connection conn, final String query,
+            final String from, final String to) throws SQLException {
+        return BatchFunctions.translateTable(conn, query, from, to);
+    }
+
+    public static final Date trunc(final Date date) {
+        return DateTimeFunctions.trunc(date);
+    }
+
+    public static final Date trunc(final Date date, final String fmt) {
+        return DateTimeFunctions.trunc(date, fmt);
+    }
+
+    public static final String tzOffset(final String timeZone) {
+        return DateTimeFunctions.tzOffset(timeZone);
+    }
 
     public static final String unistr(final String string) {
-        final StringBuilder sb = new StringBuilder();
-        char c;
-        char[] cs = string.toCharArray();
-        int i = 0;
-        while (i < cs.length) {
-            c = cs[i];
-            if (c == '\\') {
-                sb.append(hexToStr(Arrays.copyOfRange(cs, i + 1, i + 5)));
-                i = i + 5;
-            } else {
-                sb.append(c);
-                i = i + 1;
-            }
-        }
-        return sb.toString();
-    }
-
-    private static final String hexToStr(char[] in) {
-        char c;
-        int value = 0;
-        for (int i = 0; i < 4; i++) {
-            c = in[i];
-            switch (c) {
-            case '0':
-            case '1':
-            case '2':
-            case '3':
-            case '4':
-            case '5':
-            case '6':
-            case '7':
-            case '8':
-            case '9':
-                value = (value << 4) + c - '0';
-                break;
-            case 'a':
-            case 'b':
-            case 'c':
-            case 'd':
-            case 'e':
-            case 'f':
-                value = (value << 4) + 10 + c - 'a';
-                break;
-            case 'A':
-            case 'B':
-            case 'C':
-            case 'D':
-            case 'E':
-            case 'F':
-                value = (value << 4) + 10 + c - 'A';
-                break;
-            default:
-                throw new IllegalArgumentException(
-                        "Malformed \\uxxxx encoding.");
-            }
-        }
-        return String.valueOf((char) value);
+        return StringFunctions.unistr(string);
+    }
+
+    public static final Reader unistrClob(final Clob clob) throws SQLException {
+        return StringFunctions.unistrClob(clob);
+    }
+
+    public static final ResultSet unistrTable(final Connection conn, final String query)
+            throws SQLException {
+        return BatchFunctions.unistrTable(conn, query);
     }
 }
@@ -0,0 +1,223 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.h2.api.AggregateFunction;
+
+/**
+ * Base of the inverse distribution aggregates. Integral values are buffered
+ * in a {@code long[]}, DECIMAL values in a {@code BigDecimal[]} so that they
+ * keep their precision, and any other number in a {@code double[]}; the
+ * result is found by selection instead of sorting the group.
+ */
+abstract class PercentileAggregate implements AggregateFunction {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    static final BigDecimal MEDIAN = new BigDecimal("0.5");
+
+    private final boolean percentileArgument;
+
+    private BigDecimal percentile;
+
+    private long[] longs;
+
+    private BigDecimal[] decimals;
+
+    private double[] doubles;
+
+    private int size;
+
+    PercentileAggregate(final BigDecimal percentile) {
+        this.percentileArgument = percentile == null;
+        this.percentile = percentile;
+    }
+
+    public void init(final Connection conn) throws SQLException {
+        // nothing to do
+    }
+
+    public int getType(final int[] inputTypes) throws SQLException {
+        if (inputTypes.length != (percentileArgument ? 2 : 1)) {
+            throw new SQLException("invalid number of arguments");
+        }
+        switch (inputTypes[inputTypes.length - 1]) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+            return integralType();
+        case Types.DECIMAL:
+        case Types.NUMERIC:
+            return Types.DECIMAL;
+        case Types.DOUBLE:
+        case Types.FLOAT:
+        case Types.REAL:
+            return Types.DOUBLE;
+        default:
+            throw new SQLException("expected NUMBER, got " + inputTypes[inputTypes.length - 1]);
+        }
+    }
+
+    /**
+     * The result type for integral values.
+     */
+    abstract int integralType();
+
+    public void add(final Object value) throws SQLException {
+        final Object v;
+        if (percentileArgument) {
+            final Object[] args = (Object[]) value;
+            if (percentile == null && args[0] != null) {
+                percentile = toPercentile(args[0]);
+            }
+            v = args[1];
+        } else {
+            v = value;
+        }
+        if (v == null) {
+            return;
+        }
+        final boolean integral = v instanceof Long || v instanceof Integer
+                || v instanceof Short || v instanceof Byte;
+        if (doubles == null && decimals == null && integral) {
+            if (longs == null) {
+                longs = new long[INITIAL_CAPACITY];
+            } else if (size == longs.length) {
+                final long[] grown = new long[size << 1];
+                System.arraycopy(longs, 0, grown, 0, size);
+                longs = grown;
+            }
+            longs[size++] = ((Number) v).longValue();
+        } else if (doubles == null && (integral || v instanceof BigDecimal)) {
+            if (decimals == null) {
+                toDecimals();
+            }
+            if (size == decimals.length) {
+                final BigDecimal[] grown = new BigDecimal[size << 1];
+                System.arraycopy(decimals, 0, grown, 0, size);
+                decimals = grown;
+            }
+            decimals[size++] = integral
+                    ? BigDecimal.valueOf(((Number) v).longValue()) : (BigDecimal) v;
+        } else {
+            if (doubles == null) {
+                toDoubles();
+            }
+            if (size == doubles.length) {
+                final double[] grown = new double[size << 1];
+                System.arraycopy(doubles, 0, grown, 0, size);
+                doubles = grown;
+            }
+            doubles[size++] = ((Number) v).doubleValue();
+        }
+    }
+
+    private void toDecimals() {
+        decimals = new BigDecimal[longs == null ? INITIAL_CAPACITY : longs.length];
+        for (int i = 0; i < size; i++) {
+            decimals[i] = BigDecimal.valueOf(longs[i]);
+        }
+        longs = null;
+    }
+
+    private void toDoubles() {
+        if (decimals != null) {
+            doubles = new double[decimals.length];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = decimals[i].doubleValue();
+            }
+            decimals = null;
+            return;
+        }
+        doubles = new double[longs == null ? INITIAL_CAPACITY : longs.length];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = longs[i];
+        }
+        longs = null;
+    }
+
+    private static BigDecimal toPercentile(final Object value) throws SQLException {
+        final BigDecimal p = value instanceof BigDecimal
+                ? (BigDecimal) value : new BigDecimal(value.toString());
+        if (p.signum() < 0 || p.compareTo(BigDecimal.ONE) > 0) {
+            throw new SQLException("The percentile value should be a number between 0 and 1.");
+        }
+        return p;
+    }
+
+    public Object getResult() throws SQLException {
+        if (size == 0) {
+            return null;
+        }
+        if (percentile == null) {
+            // every percentile was null
+            return null;
+        }
+        if (longs != null) {
+            return result(longs, size, percentile);
+        }
+        return decimals != null ? result(decimals, size, percentile) : result(doubles, size, percentile);
+    }
+
+    abstract Object result(long[] values, int size, BigDecimal percentile);
+
+    abstract Object result(BigDecimal[] values, int size, BigDecimal percentile);
+
+    abstract Object result(double[] values, int size, BigDecimal percentile);
+
+    /**
+     * PERCENTILE_CONT: the interpolation between the values around the row
+     * number {@code 1 + p * (n - 1)}.
+     */
+    static Object continuous(final long[] values, final int size, final BigDecimal percentile) {
+        final BigDecimal rn = percentile.multiply(BigDecimal.valueOf(size - 1));
+        final int k = rn.setScale(0, RoundingMode.FLOOR).intValue();
+        final BigDecimal fraction = rn.subtract(BigDecimal.valueOf(k));
+        final long lo = Selection.select(values, size, k);
+        if (fraction.signum() == 0) {
+            return BigDecimal.valueOf(lo);
+        }
+        final long hi = Selection.min(values, k + 1, size);
+        return BigDecimal.valueOf(lo).add(
+                BigDecimal.valueOf(hi).subtract(BigDecimal.valueOf(lo)).multiply(fraction));
+    }
+
+    static Object continuous(final BigDecimal[] values, final int size, final BigDecimal percentile) {
+        final BigDecimal rn = percentile.multiply(BigDecimal.valueOf(size - 1));
+        final int k = rn.setScale(0, RoundingMode.FLOOR).intValue();
+        final BigDecimal fraction = rn.subtract(BigDecimal.valueOf(k));
+        final BigDecimal lo = Selection.select(values, size, k);
+        if (fraction.signum() == 0) {
+            return lo;
+        }
+        final BigDecimal hi = Selection.min(values, k + 1, size);
+        return lo.add(hi.subtract(lo).multiply(fraction));
+    }
+
+    static Object continuous(final double[] values, final int size, final BigDecimal percentile) {
+        final BigDecimal rn = percentile.multiply(BigDecimal.valueOf(size - 1));
+        final int k = rn.setScale(0, RoundingMode.FLOOR).intValue();
+        final double fraction = rn.subtract(BigDecimal.valueOf(k)).doubleValue();
+        final double lo = Selection.select(values, size, k);
+        if (fraction == 0) {
+            return lo;
+        }
+        final double hi = Selection.min(values, k + 1, size);
+        return lo + (hi - lo) * fraction;
+    }
+
+    /**
+     * PERCENTILE_DISC: the first value whose cumulative distribution is at
+     * least the percentile.
+     */
+    static int discreteIndex(final int size, final BigDecimal percentile) {
+        final int k = percentile.multiply(BigDecimal.valueOf(size))
+                .setScale(0, RoundingMode.CEILING).intValue() - 1;
+        return Math.max(k, 0);
+    }
+}
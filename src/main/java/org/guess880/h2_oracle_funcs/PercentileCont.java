@@ -0,0 +1,35 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+/**
+ * PERCENTILE_CONT(p, expr), the h2 form of
+ * {@code PERCENTILE_CONT(p) WITHIN GROUP (ORDER BY expr)}.
+ */
+public class PercentileCont extends PercentileAggregate {
+
+    public PercentileCont() {
+        super(null);
+    }
+
+    @Override
+    int integralType() {
+        return Types.DECIMAL;
+    }
+
+    @Override
+    Object result(final long[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+
+    @Override
+    Object result(final BigDecimal[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+
+    @Override
+    Object result(final double[] values, final int size, final BigDecimal percentile) {
+        return continuous(values, size, percentile);
+    }
+}
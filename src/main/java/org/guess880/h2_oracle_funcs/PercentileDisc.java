@@ -0,0 +1,35 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+/**
+ * PERCENTILE_DISC(p, expr), the h2 form of
+ * {@code PERCENTILE_DISC(p) WITHIN GROUP (ORDER BY expr)}.
+ */
+public class PercentileDisc extends PercentileAggregate {
+
+    public PercentileDisc() {
+        super(null);
+    }
+
+    @Override
+    int integralType() {
+        return Types.BIGINT;
+    }
+
+    @Override
+    Object result(final long[] values, final int size, final BigDecimal percentile) {
+        return Selection.select(values, size, discreteIndex(size, percentile));
+    }
+
+    @Override
+    Object result(final BigDecimal[] values, final int size, final BigDecimal percentile) {
+        return Selection.select(values, size, discreteIndex(size, percentile));
+    }
+
+    @Override
+    Object result(final double[] values, final int size, final BigDecimal percentile) {
+        return Selection.select(values, size, discreteIndex(size, percentile));
+    }
+}
@@ -0,0 +1,130 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled patterns of the REGEXP functions, shared by all of them through a
+ * bounded cache keyed by the pattern and the flags of the match parameter.
+ */
+final class RegexpPatterns {
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final BoundedCache<CacheKey, Pattern> CACHE =
+            new BoundedCache<CacheKey, Pattern>(CACHE_SIZE);
+
+    private static volatile Entry last;
+
+    private static final Map<String, String> POSIX_CLASSES = new HashMap<String, String>();
+
+    static {
+        POSIX_CLASSES.put("alnum", "\\p{Alnum}");
+        POSIX_CLASSES.put("alpha", "\\p{Alpha}");
+        POSIX_CLASSES.put("blank", "\\p{Blank}");
+        POSIX_CLASSES.put("cntrl", "\\p{Cntrl}");
+        POSIX_CLASSES.put("digit", "\\p{Digit}");
+        POSIX_CLASSES.put("graph", "\\p{Graph}");
+        POSIX_CLASSES.put("lower", "\\p{Lower}");
+        POSIX_CLASSES.put("print", "\\p{Print}");
+        POSIX_CLASSES.put("punct", "\\p{Punct}");
+        POSIX_CLASSES.put("space", "\\s");
+        POSIX_CLASSES.put("upper", "\\p{Upper}");
+        POSIX_CLASSES.put("xdigit", "\\p{XDigit}");
+    }
+
+    private RegexpPatterns() {
+    }
+
+    /**
+     * Converts an Oracle match parameter to {@link Pattern} flags. Of
+     * conflicting values the last one wins, as in Oracle.
+     */
+    static int flags(final String matchParam) {
+        int flags = 0;
+        if (matchParam == null) {
+            return flags;
+        }
+        for (int i = 0; i < matchParam.length(); i++) {
+            switch (matchParam.charAt(i)) {
+            case 'i':
+                flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+                break;
+            case 'c':
+                flags &= ~(Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+                break;
+            case 'n':
+                flags |= Pattern.DOTALL;
+                break;
+            case 'm':
+                flags |= Pattern.MULTILINE;
+                break;
+            case 'x':
+                flags |= Pattern.COMMENTS;
+                break;
+            default:
+                throw new IllegalArgumentException("illegal argument for function: " + matchParam);
+            }
+        }
+        return flags;
+    }
+
+    static Pattern compile(final String regexp, final String matchParam) {
+        final int flags = flags(matchParam);
+        final Entry l = last;
+        if (l != null && l.flags == flags && l.regexp.equals(regexp)) {
+            return l.pattern;
+        }
+        final CacheKey key = new CacheKey(regexp, flags);
+        Pattern pattern = CACHE.get(key);
+        if (pattern == null) {
+            pattern = CACHE.putIfAbsent(key, Pattern.compile(toJava(regexp), flags));
+        }
+        last = new Entry(regexp, flags, pattern);
+        return pattern;
+    }
+
+    /**
+     * Replaces POSIX character classes such as {@code [:alpha:]}, which Java
+     * does not know, inside bracket expressions.
+     */
+    static String toJava(final String regexp) {
+        int start = regexp.indexOf("[:");
+        if (start < 0) {
+            return regexp;
+        }
+        final StringBuilder sb = new StringBuilder(regexp.length() + 8);
+        int pos = 0;
+        while (start >= 0) {
+            final int end = regexp.indexOf(":]", start + 2);
+            if (end < 0) {
+                break;
+            }
+            final String replacement = POSIX_CLASSES.get(regexp.substring(start + 2, end));
+            if (replacement == null) {
+                start = regexp.indexOf("[:", start + 2);
+                continue;
+            }
+            sb.append(regexp, pos, start).append(replacement);
+            pos = end + 2;
+            start = regexp.indexOf("[:", pos);
+        }
+        return sb.append(regexp, pos, regexp.length()).toString();
+    }
+
+    private static final class Entry {
+
+        final String regexp;
+
+        final int flags;
+
+        final Pattern pattern;
+
+        Entry(final String regexp, final int flags, final Pattern pattern) {
+            this.regexp = regexp;
+            this.flags = flags;
+            this.pattern = pattern;
+        }
+    }
+}
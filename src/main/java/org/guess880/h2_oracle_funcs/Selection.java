@@ -0,0 +1,187 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.math.BigDecimal;
+
+/**
+ * Quickselect on primitive and {@link BigDecimal} arrays, the k-th smallest
+ * element without a full sort. The arrays are reordered.
+ */
+final class Selection {
+
+    private Selection() {
+    }
+
+    /**
+     * Moves the k-th smallest of {@code a[0..size)} to {@code a[k]}, with no
+     * greater element before it and no smaller one after it, and returns it.
+     */
+    static long select(final long[] a, final int size, final int k) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            // median of three as the pivot
+            if (a[mid] < a[lo]) {
+                swap(a, lo, mid);
+            }
+            if (a[hi] < a[lo]) {
+                swap(a, lo, hi);
+            }
+            if (a[hi] < a[mid]) {
+                swap(a, mid, hi);
+            }
+            final long pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (pivot < a[j]) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return a[k];
+    }
+
+    static double select(final double[] a, final int size, final int k) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo]) {
+                swap(a, lo, mid);
+            }
+            if (a[hi] < a[lo]) {
+                swap(a, lo, hi);
+            }
+            if (a[hi] < a[mid]) {
+                swap(a, mid, hi);
+            }
+            final double pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (pivot < a[j]) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return a[k];
+    }
+
+    static BigDecimal select(final BigDecimal[] a, final int size, final int k) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid].compareTo(a[lo]) < 0) {
+                swap(a, lo, mid);
+            }
+            if (a[hi].compareTo(a[lo]) < 0) {
+                swap(a, lo, hi);
+            }
+            if (a[hi].compareTo(a[mid]) < 0) {
+                swap(a, mid, hi);
+            }
+            final BigDecimal pivot = a[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i].compareTo(pivot) < 0) {
+                    i++;
+                }
+                while (pivot.compareTo(a[j]) < 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return a[k];
+    }
+
+    /**
+     * The smallest of {@code a[from..size)}. After selecting the k-th
+     * smallest, this with {@code from} k + 1 is the next one in order.
+     */
+    static long min(final long[] a, final int from, final int size) {
+        long min = a[from];
+        for (int i = from + 1; i < size; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    static double min(final double[] a, final int from, final int size) {
+        double min = a[from];
+        for (int i = from + 1; i < size; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    static BigDecimal min(final BigDecimal[] a, final int from, final int size) {
+        BigDecimal min = a[from];
+        for (int i = from + 1; i < size; i++) {
+            if (a[i].compareTo(min) < 0) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    private static void swap(final long[] a, final int i, final int j) {
+        final long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static void swap(final double[] a, final int i, final int j) {
+        final double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static void swap(final BigDecimal[] a, final int i, final int j) {
+        final BigDecimal t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
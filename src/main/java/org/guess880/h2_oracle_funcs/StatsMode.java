@@ -0,0 +1,111 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.h2.api.AggregateFunction;
+
+/**
+ * STATS_MODE(expr), the most frequent value. Of values that are equally
+ * frequent, the one that reached the count first is returned.
+ * <p>
+ * Integral and floating point values are counted in a {@link LongCountMap},
+ * floating point ones by their bits; anything else in a {@link HashMap}.
+ */
+public class StatsMode implements AggregateFunction {
+
+    private static final int INTEGRAL = 1;
+
+    private static final int FLOATING = 2;
+
+    private static final int OTHER = 3;
+
+    private int kind;
+
+    private LongCountMap primitiveCounts;
+
+    private Map<Object, int[]> counts;
+
+    private long bestKey;
+
+    private Object best;
+
+    private int bestCount;
+
+    public void init(final Connection conn) throws SQLException {
+        // nothing to do
+    }
+
+    public int getType(final int[] inputTypes) throws SQLException {
+        if (inputTypes.length != 1) {
+            throw new SQLException("invalid number of arguments");
+        }
+        return inputTypes[0];
+    }
+
+    public void add(final Object value) throws SQLException {
+        if (value == null) {
+            return;
+        }
+        if (kind == 0) {
+            kind = kindOf(value);
+            if (kind == OTHER) {
+                counts = new HashMap<Object, int[]>();
+            } else {
+                primitiveCounts = new LongCountMap();
+            }
+        }
+        if (kind == OTHER) {
+            int[] count = counts.get(value);
+            if (count == null) {
+                count = new int[1];
+                counts.put(value, count);
+            }
+            if (++count[0] > bestCount) {
+                bestCount = count[0];
+                best = value;
+            }
+            return;
+        }
+        final long key;
+        if (kind == INTEGRAL) {
+            key = ((Number) value).longValue();
+        } else {
+            final double d = ((Number) value).doubleValue();
+            // -0.0 and 0.0 are the same value
+            key = Double.doubleToLongBits(d == 0 ? 0d : d);
+        }
+        final int count = primitiveCounts.increment(key);
+        if (count > bestCount) {
+            bestCount = count;
+            bestKey = key;
+        }
+    }
+
+    private static int kindOf(final Object value) {
+        if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return INTEGRAL;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return FLOATING;
+        }
+        return OTHER;
+    }
+
+    public Object getResult() throws SQLException {
+        if (bestCount == 0) {
+            return null;
+        }
+        switch (kind) {
+        case INTEGRAL:
+            return bestKey;
+        case FLOATING:
+            return Double.longBitsToDouble(bestKey);
+        default:
+            return best;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.io.Reader;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.regex.Matcher;
+
+/**
+ * The string functions: ASCIISTR, COMPOSE, DECOMPOSE, INITCAP, the NLS case
+ * functions, NLSSORT, the REGEXP functions, TRANSLATE and UNISTR.
+ */
+public final class StringFunctions {
+
+    private StringFunctions() {
+    }
+
+    public static final String asciistr(final String str) {
+        if (str == null) {
+            return null;
+        }
+        return UnicodeEscapes.escape(str);
+    }
+
+    /**
+     * ASCIISTR of a CLOB, converted while h2 reads the result, so the value
+     * is never held in memory. It is not registered, create an alias for it
+     * if needed.
+     */
+    public static final Reader asciistrClob(final Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        return UnicodeEscapes.escaping(clob.getCharacterStream());
+    }
+
+    public static final String compose(final String exp) {
+        if (exp == null) {
+            return null;
+        }
+        return Normalization.normalize(exp, Normalizer.Form.NFC);
+    }
+
+    public static final String decompose(final String exp) {
+        return decompose(exp, null);
+    }
+
+    /**
+     * @param type {@code 'CANONICAL'} (NFD, the default) or
+     *            {@code 'COMPATIBILITY'} (NFKD)
+     */
+    public static final String decompose(final String exp, final String type) {
+        if (exp == null) {
+            return null;
+        }
+        return Normalization.normalize(exp, Normalization.decompositionForm(type));
+    }
+
+    public static final String initcap(final String str) {
+        if (str == null) {
+            return null;
+        }
+        return NlsCase.initcap(str, NlsSort.BINARY);
+    }
+
+    public static final String nlsInitcap(final String str) {
+        return nlsInitcap(str, null);
+    }
+
+    /**
+     * @param nlsParam {@code 'NLS_SORT = sort'}, e.g. {@code XDUTCH}, which
+     *            capitalizes ij as a single letter
+     */
+    public static final String nlsInitcap(final String str, final String nlsParam) {
+        if (str == null) {
+            return null;
+        }
+        return NlsCase.initcap(str, NlsSort.fromParams(nlsParam));
+    }
+
+    public static final String nlsLower(final String str) {
+        return nlsLower(str, null);
+    }
+
+    public static final String nlsLower(final String str, final String nlsParam) {
+        if (str == null) {
+            return null;
+        }
+        return NlsCase.lower(str, NlsSort.fromParams(nlsParam));
+    }
+
+    public static final String nlsUpper(final String str) {
+        return nlsUpper(str, null);
+    }
+
+    /**
+     * @param nlsParam {@code 'NLS_SORT = sort'}, e.g. {@code XGERMAN}, which
+     *            upper cases the sharp s to SS
+     */
+    public static final String nlsUpper(final String str, final String nlsParam) {
+        if (str == null) {
+            return null;
+        }
+        return NlsCase.upper(str, NlsSort.fromParams(nlsParam));
+    }
+
+    public static final byte[] nlssort(final String str) {
+        return nlssort(str, null);
+    }
+
+    /**
+     * The collation key of {@code str}, so that
+     * {@code ORDER BY NLSSORT(col, 'NLS_SORT = GERMAN')} compares bytes.
+     *
+     * @param nlsParam {@code 'NLS_SORT = sort'}, {@code BINARY} if omitted;
+     *            the suffixes {@code _CI} and {@code _AI} ignore case and
+     *            accents
+     */
+    public static final byte[] nlssort(final String str, final String nlsParam) {
+        if (str == null) {
+            return null;
+        }
+        return NlsSort.fromParams(nlsParam).key(str);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern) {
+        return regexpCount(source, pattern, 1, null);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position) {
+        return regexpCount(source, pattern, position, null);
+    }
+
+    public static final Integer regexpCount(final String source, final String pattern,
+            final int position, final String matchParam) {
+        if (source == null || pattern == null) {
+            return null;
+        }
+        checkRange(position >= 1, position);
+        final Matcher m = matcher(source, pattern, position, matchParam);
+        int count = 0;
+        while (m.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern) {
+        return regexpInstr(source, pattern, 1, 1, 0, null, 0);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position) {
+        return regexpInstr(source, pattern, position, 1, 0, null, 0);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        return regexpInstr(source, pattern, position, occurrence, 0, null, 0);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt) {
+        return regexpInstr(source, pattern, position, occurrence, returnOpt, null, 0);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt, final String matchParam) {
+        return regexpInstr(source, pattern, position, occurrence, returnOpt, matchParam, 0);
+    }
+
+    public static final Integer regexpInstr(final String source, final String pattern,
+            final int position, final int occurrence, final int returnOpt, final String matchParam,
+            final int subexpr) {
+        if (source == null || pattern == null) {
+            return null;
+        }
+        checkRange(returnOpt >= 0, returnOpt);
+        final Matcher m = find(source, pattern, position, occurrence, matchParam, subexpr);
+        if (m == null || subexpr > m.groupCount() || m.start(subexpr) < 0) {
+            return 0;
+        }
+        return (returnOpt == 0 ? m.start(subexpr) : m.end(subexpr)) + 1;
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern) {
+        return regexpSubstr(source, pattern, 1, 1, null, 0);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position) {
+        return regexpSubstr(source, pattern, position, 1, null, 0);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence) {
+        return regexpSubstr(source, pattern, position, occurrence, null, 0);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam) {
+        return regexpSubstr(source, pattern, position, occurrence, matchParam, 0);
+    }
+
+    public static final String regexpSubstr(final String source, final String pattern,
+            final int position, final int occurrence, final String matchParam, final int subexpr) {
+        if (source == null || pattern == null) {
+            return null;
+        }
+        final Matcher m = find(source, pattern, position, occurrence, matchParam, subexpr);
+        if (m == null || subexpr > m.groupCount()) {
+            return null;
+        }
+        return m.group(subexpr);
+    }
+
+    private static Matcher matcher(final String source, final String pattern,
+            final int position, final String matchParam) {
+        final Matcher m = RegexpPatterns.compile(pattern, matchParam).matcher(source);
+        m.useAnchoringBounds(false);
+        m.useTransparentBounds(true);
+        m.region(Math.min(position - 1, source.length()), source.length());
+        return m;
+    }
+
+    /**
+     * The matcher positioned on the requested occurrence, or null if there
+     * are fewer matches.
+     */
+    private static Matcher find(final String source, final String pattern, final int position,
+            final int occurrence, final String matchParam, final int subexpr) {
+        checkRange(position >= 1, position);
+        checkRange(occurrence >= 1, occurrence);
+        checkRange(subexpr >= 0 && subexpr <= 9, subexpr);
+        final Matcher m = matcher(source, pattern, position, matchParam);
+        for (int i = 0; i < occurrence; i++) {
+            if (!m.find()) {
+                return null;
+            }
+        }
+        return m;
+    }
+
+    private static void checkRange(final boolean valid, final int argument) {
+        if (!valid) {
+            throw new IllegalArgumentException("argument '" + argument + "' is out of range");
+        }
+    }
+
+    public static final String translate(final String expr, final String from, final String to) {
+        if (expr == null || from == null || to == null) {
+            return null;
+        }
+        return TranslateTable.of(from, to).translate(expr);
+    }
+
+    // misspelled name kept for existing aliases
+    public static final String tranlate(final String expr, final String from, final String to) {
+        return translate(expr, from, to);
+    }
+
+    public static final String unistr(final String string) {
+        if (string == null) {
+            return null;
+        }
+        return UnicodeEscapes.unescape(string);
+    }
+
+    /**
+     * UNISTR of a CLOB, see {@link #asciistrClob(Clob)}.
+     */
+    public static final Reader unistrClob(final Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        return UnicodeEscapes.unescaping(clob.getCharacterStream());
+    }
+}
@@ -0,0 +1,101 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.lang.management.ManagementFactory;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator of SYS_GUID values.
+ * <p>
+ * A value is the 8 byte identity of this process followed by an 8 byte
+ * sequence number. The identity is derived once from the process name, which
+ * holds the pid and the host name, the clock and a random number. Every
+ * thread takes blocks of sequence numbers from a shared counter and hands
+ * them out without any synchronization, so the counter is touched once per
+ * {@value #BLOCK_SIZE} values.
+ */
+final class SysGuid {
+
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private static final char[] HEXDIGIT = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C',
+            'D', 'E', 'F'
+    };
+
+    private static final long IDENTITY = identity();
+
+    private static final AtomicLong BLOCKS = new AtomicLong();
+
+    private static final ThreadLocal<Block> BLOCK = new ThreadLocal<Block>() {
+        @Override
+        protected Block initialValue() {
+            return new Block();
+        }
+    };
+
+    private SysGuid() {
+    }
+
+    static byte[] next() {
+        final byte[] guid = new byte[16];
+        putLong(guid, 0, IDENTITY);
+        putLong(guid, 8, BLOCK.get().next());
+        return guid;
+    }
+
+    /**
+     * The next value as 32 upper case hexadecimal digits, as RAWTOHEX
+     * returns it.
+     */
+    static String nextHex() {
+        final char[] hex = new char[32];
+        putHex(hex, 0, IDENTITY);
+        putHex(hex, 16, BLOCK.get().next());
+        return new String(hex);
+    }
+
+    private static void putLong(final byte[] b, final int off, final long v) {
+        for (int i = 0; i < 8; i++) {
+            b[off + i] = (byte) (v >>> (56 - 8 * i));
+        }
+    }
+
+    private static void putHex(final char[] c, final int off, final long v) {
+        for (int i = 0; i < 16; i++) {
+            c[off + i] = HEXDIGIT[(int) (v >>> (60 - 4 * i)) & 0xf];
+        }
+    }
+
+    private static long identity() {
+        long h = mix(ManagementFactory.getRuntimeMXBean().getName().hashCode());
+        h = mix(h ^ System.currentTimeMillis());
+        h = mix(h ^ System.nanoTime());
+        return mix(h ^ new SecureRandom().nextLong());
+    }
+
+    /**
+     * The finalizer of MurmurHash3.
+     */
+    private static long mix(final long v) {
+        long h = v;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Block {
+
+        private long next;
+
+        private long end;
+
+        long next() {
+            if (next == end) {
+                next = BLOCKS.getAndIncrement() * BLOCK_SIZE;
+                end = next + BLOCK_SIZE;
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.WeakHashMap;
+
+import org.h2.jdbc.JdbcConnection;
+import org.joda.time.DateTimeZone;
+
+/**
+ * Database and session time zones.
+ * <p>
+ * The database time zone is the JVM default zone. Its formatted offset is
+ * cached by zone ID until the default zone changes or the zone's next
+ * transition.
+ * <p>
+ * The session time zone can be set per H2 session, the equivalent of
+ * {@code ALTER SESSION SET TIME_ZONE}; sessions that never set one use the
+ * database time zone.
+ */
+public final class TimeZoneContext {
+
+    private static final class Offset {
+
+        private final String zoneId;
+
+        private final long validUntil;
+
+        private final String formatted;
+
+        Offset(final String zoneId, final long validUntil, final String formatted) {
+            this.zoneId = zoneId;
+            this.validUntil = validUntil;
+            this.formatted = formatted;
+        }
+    }
+
+    private static volatile Offset dbOffset;
+
+    private static final Map<Object, String> SESSION_ZONES =
+            Collections.synchronizedMap(new WeakHashMap<Object, String>());
+
+    private static volatile boolean sessionZonesUsed;
+
+    private TimeZoneContext() {
+    }
+
+    public static String dbTimeZone() {
+        final TimeZone tz = TimeZone.getDefault();
+        final long now = System.currentTimeMillis();
+        final Offset cached = dbOffset;
+        if (cached != null && now < cached.validUntil && cached.zoneId.equals(tz.getID())) {
+            return cached.formatted;
+        }
+        final DateTimeZone zone = DateTimeZone.forTimeZone(tz);
+        final long next = zone.nextTransition(now);
+        final Offset offset = new Offset(tz.getID(), next > now ? next : Long.MAX_VALUE,
+                formatOffset(tz.getOffset(now)));
+        dbOffset = offset;
+        return offset.formatted;
+    }
+
+    public static String sessionTimeZone(final Connection conn) {
+        if (conn != null && sessionZonesUsed) {
+            final String zone = SESSION_ZONES.get(sessionKey(conn));
+            if (zone != null) {
+                return zone;
+            }
+        }
+        return dbTimeZone();
+    }
+
+    /**
+     * Sets the time zone returned by SESSIONTIMEZONE for the session of
+     * {@code conn}.
+     *
+     * @param timeZone an offset such as {@code '-05:00'}, a region name such
+     *            as {@code 'Europe/London'}, {@code 'DBTIMEZONE'}, or
+     *            {@code 'LOCAL'} (or null) to go back to the default
+     * @throws IllegalArgumentException if the time zone is blank or not
+     *             known
+     */
+    public static void setSessionTimeZone(final Connection conn, final String timeZone) {
+        final Object key = sessionKey(conn);
+        if (timeZone == null || "LOCAL".equalsIgnoreCase(timeZone.trim())) {
+            SESSION_ZONES.remove(key);
+            return;
+        }
+        final String trimmed = timeZone.trim();
+        if (trimmed.length() == 0) {
+            throw new IllegalArgumentException("unknown time zone: " + timeZone);
+        }
+        final String zone = normalize(trimmed);
+        sessionZonesUsed = true;
+        SESSION_ZONES.put(key, zone);
+    }
+
+    private static String normalize(final String timeZone) {
+        if ("DBTIMEZONE".equalsIgnoreCase(timeZone)) {
+            return dbTimeZone();
+        }
+        final char sign = timeZone.charAt(0);
+        if (sign == '+' || sign == '-') {
+            return formatOffset(ZoneCache.offsetMillis(timeZone));
+        }
+        return ZoneCache.forName(timeZone).getID();
+    }
+
+    static String formatOffset(final int offsetMillis) {
+        final int minutes = Math.abs(offsetMillis) / 60000;
+        final char[] buf = new char[6];
+        buf[0] = offsetMillis < 0 ? '-' : '+';
+        buf[1] = (char) ('0' + minutes / 600);
+        buf[2] = (char) ('0' + minutes / 60 % 10);
+        buf[3] = ':';
+        buf[4] = (char) ('0' + minutes % 60 / 10);
+        buf[5] = (char) ('0' + minutes % 10);
+        return new String(buf);
+    }
+
+    /**
+     * H2 hands a new connection object to every function call, so the state
+     * is keyed by the session behind it.
+     */
+    private static Object sessionKey(final Connection conn) {
+        if (conn instanceof JdbcConnection) {
+            return ((JdbcConnection) conn).getSession();
+        }
+        return conn;
+    }
+}
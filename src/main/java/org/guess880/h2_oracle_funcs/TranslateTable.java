@@ -0,0 +1,170 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled form of the {@code from}/{@code to} arguments of TRANSLATE.
+ * <p>
+ * BMP characters are looked up in 256 entry pages that are only allocated for
+ * the ranges {@code from} actually touches; supplementary characters fall back
+ * to a map. Tables are immutable and shared through a bounded cache, so a
+ * constant pair of arguments is compiled once and every row is translated in a
+ * single pass.
+ */
+final class TranslateTable {
+
+    private static final int DELETE = -1;
+
+    private static final int CACHE_SIZE = 256;
+
+    private static final BoundedCache<CacheKey, TranslateTable> CACHE =
+            new BoundedCache<CacheKey, TranslateTable>(CACHE_SIZE);
+
+    private static volatile TranslateTable last;
+
+    private final String from;
+
+    private final String to;
+
+    private final int[][] pages = new int[256][];
+
+    private final Map<Integer, Integer> supplementary;
+
+    private final boolean bmpOnly;
+
+    private TranslateTable(final String from, final String to) {
+        this.from = from;
+        this.to = to;
+        final String nfrom = from.replace("''", "'");
+        final BitSet seen = new BitSet();
+        Map<Integer, Integer> supp = null;
+        boolean bmp = true;
+        int t = 0;
+        for (int f = 0; f < nfrom.length();) {
+            final int cf = nfrom.codePointAt(f);
+            f += Character.charCount(cf);
+            int ct = DELETE;
+            if (t < to.length()) {
+                ct = to.codePointAt(t);
+                t += Character.charCount(ct);
+            }
+            if (cf < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                // the first occurrence in from wins
+                if (seen.get(cf)) {
+                    continue;
+                }
+                seen.set(cf);
+                int[] page = pages[cf >>> 8];
+                if (page == null) {
+                    page = newPage(cf >>> 8);
+                    pages[cf >>> 8] = page;
+                }
+                page[cf & 0xff] = ct;
+            } else {
+                if (supp == null) {
+                    supp = new HashMap<Integer, Integer>();
+                }
+                if (supp.containsKey(cf)) {
+                    continue;
+                }
+                supp.put(cf, ct);
+            }
+            if (ct >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                bmp = false;
+            }
+        }
+        this.supplementary = supp;
+        this.bmpOnly = bmp;
+    }
+
+    private static int[] newPage(final int pageNo) {
+        final int[] page = new int[256];
+        final int base = pageNo << 8;
+        for (int i = 0; i < page.length; i++) {
+            page[i] = base + i;
+        }
+        return page;
+    }
+
+    static TranslateTable of(final String from, final String to) {
+        final TranslateTable l = last;
+        if (l != null && l.from.equals(from) && l.to.equals(to)) {
+            return l;
+        }
+        final CacheKey key = new CacheKey(from, to);
+        TranslateTable table = CACHE.get(key);
+        if (table == null) {
+            table = CACHE.putIfAbsent(key, new TranslateTable(from, to));
+        }
+        last = table;
+        return table;
+    }
+
+    private int map(final int cp) {
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            final int[] page = pages[cp >>> 8];
+            return page == null ? cp : page[cp & 0xff];
+        }
+        if (supplementary == null) {
+            return cp;
+        }
+        final Integer mapped = supplementary.get(cp);
+        return mapped == null ? cp : mapped.intValue();
+    }
+
+    /**
+     * Translates {@code expr}, returning the same instance when no character
+     * changes.
+     */
+    String translate(final String expr) {
+        final int len = expr.length();
+        int i = 0;
+        for (; i < len; i++) {
+            final char c = expr.charAt(i);
+            if (c == '\'' && i + 1 < len && expr.charAt(i + 1) == '\'') {
+                break;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(expr.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, expr.charAt(i + 1));
+                if (map(cp) != cp) {
+                    break;
+                }
+                i++;
+            } else if (map(c) != c) {
+                break;
+            }
+        }
+        if (i == len) {
+            return expr;
+        }
+        final char[] out = new char[bmpOnly ? len : len * 2];
+        expr.getChars(0, i, out, 0);
+        int o = i;
+        while (i < len) {
+            final char c = expr.charAt(i);
+            int cp = c;
+            if (c == '\'' && i + 1 < len && expr.charAt(i + 1) == '\'') {
+                i += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(expr.charAt(i + 1))) {
+                cp = Character.toCodePoint(c, expr.charAt(i + 1));
+                i += 2;
+            } else {
+                i++;
+            }
+            final int mapped = map(cp);
+            if (mapped == DELETE) {
+                continue;
+            }
+            if (mapped < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                out[o++] = (char) mapped;
+            } else {
+                o += Character.toChars(mapped, out, o);
+            }
+        }
+        return new String(out, 0, o);
+    }
+}
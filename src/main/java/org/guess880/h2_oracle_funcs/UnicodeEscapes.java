@@ -0,0 +1,255 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The {@code \xxxx} escapes of ASCIISTR and UNISTR.
+ * <p>
+ * Characters are escaped as UTF-16 code units, so a supplementary character
+ * becomes the escapes of its surrogate pair and comes back as the same pair.
+ * A backslash is escaped as {@code \005C}; UNISTR also accepts {@code \\}.
+ * Strings that need no conversion are returned as they are.
+ */
+final class UnicodeEscapes {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char[] HEXDIGIT = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C',
+            'D', 'E', 'F'
+    };
+
+    private UnicodeEscapes() {
+    }
+
+    static boolean needsEscape(final char c) {
+        return c > '\u007f' || c == '\\';
+    }
+
+    static String escape(final String str) {
+        final int len = str.length();
+        int i = 0;
+        while (i < len && !needsEscape(str.charAt(i))) {
+            i++;
+        }
+        if (i == len) {
+            return str;
+        }
+        int escapes = 0;
+        for (int j = i; j < len; j++) {
+            if (needsEscape(str.charAt(j))) {
+                escapes++;
+            }
+        }
+        final char[] out = new char[len + escapes * 4];
+        str.getChars(0, i, out, 0);
+        int p = i;
+        for (; i < len; i++) {
+            final char c = str.charAt(i);
+            if (needsEscape(c)) {
+                p = appendEscape(out, p, c);
+            } else {
+                out[p++] = c;
+            }
+        }
+        return new String(out);
+    }
+
+    private static int appendEscape(final char[] out, final int p, final char c) {
+        out[p] = '\\';
+        out[p + 1] = HEXDIGIT[(c >> 12) & 0xf];
+        out[p + 2] = HEXDIGIT[(c >> 8) & 0xf];
+        out[p + 3] = HEXDIGIT[(c >> 4) & 0xf];
+        out[p + 4] = HEXDIGIT[c & 0xf];
+        return p + 5;
+    }
+
+    static String unescape(final String str) {
+        int i = str.indexOf('\\');
+        if (i < 0) {
+            return str;
+        }
+        final int len = str.length();
+        final char[] out = new char[len];
+        str.getChars(0, i, out, 0);
+        int p = i;
+        while (i < len) {
+            final char c = str.charAt(i);
+            if (c != '\\') {
+                out[p++] = c;
+                i++;
+            } else if (i + 1 < len && str.charAt(i + 1) == '\\') {
+                out[p++] = '\\';
+                i += 2;
+            } else {
+                if (i + 4 >= len) {
+                    throw malformed();
+                }
+                out[p++] = (char) (hex(str.charAt(i + 1)) << 12 | hex(str.charAt(i + 2)) << 8
+                        | hex(str.charAt(i + 3)) << 4 | hex(str.charAt(i + 4)));
+                i += 5;
+            }
+        }
+        return new String(out, 0, p);
+    }
+
+    private static int hex(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        throw malformed();
+    }
+
+    private static IllegalArgumentException malformed() {
+        return new IllegalArgumentException(
+                "'\\' must be followed by four hexadecimal characters or another '\\'");
+    }
+
+    /**
+     * A reader that escapes {@code in} while it is read.
+     */
+    static Reader escaping(final Reader in) {
+        return new EscapingReader(in);
+    }
+
+    /**
+     * A reader that unescapes {@code in} while it is read.
+     */
+    static Reader unescaping(final Reader in) {
+        return new UnescapingReader(in);
+    }
+
+    /**
+     * Reads the source through a buffer and converts it chunk by chunk.
+     */
+    private abstract static class ConvertingReader extends Reader {
+
+        private final Reader in;
+
+        final char[] buf = new char[BUFFER_SIZE];
+
+        int pos;
+
+        int limit;
+
+        boolean eof;
+
+        private final char[] single = new char[1];
+
+        ConvertingReader(final Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Makes at least {@code count} characters available from
+         * {@code pos}, unless the source ends first.
+         */
+        boolean ensure(final int count) throws IOException {
+            if (limit - pos >= count) {
+                return true;
+            }
+            if (pos > 0) {
+                System.arraycopy(buf, pos, buf, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            while (!eof && limit < count) {
+                final int n = in.read(buf, limit, buf.length - limit);
+                if (n < 0) {
+                    eof = true;
+                } else {
+                    limit += n;
+                }
+            }
+            return limit - pos >= count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0];
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class EscapingReader extends ConvertingReader {
+
+        private final char[] escape = new char[5];
+
+        private int escapePos = escape.length;
+
+        EscapingReader(final Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            while (n < len) {
+                if (escapePos < escape.length) {
+                    cbuf[off + n++] = escape[escapePos++];
+                } else if (pos < limit || (n == 0 && ensure(1))) {
+                    final char c = buf[pos++];
+                    if (needsEscape(c)) {
+                        appendEscape(escape, 0, c);
+                        escapePos = 0;
+                    } else {
+                        cbuf[off + n++] = c;
+                    }
+                } else {
+                    break;
+                }
+            }
+            return n == 0 ? -1 : n;
+        }
+    }
+
+    private static final class UnescapingReader extends ConvertingReader {
+
+        UnescapingReader(final Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            while (n < len && (pos < limit || (n == 0 && ensure(1)))) {
+                final char c = buf[pos];
+                if (c != '\\') {
+                    cbuf[off + n++] = c;
+                    pos++;
+                    continue;
+                }
+                if (!ensure(2)) {
+                    throw malformed();
+                }
+                if (buf[pos + 1] == '\\') {
+                    cbuf[off + n++] = '\\';
+                    pos += 2;
+                    continue;
+                }
+                if (!ensure(5)) {
+                    throw malformed();
+                }
+                cbuf[off + n++] = (char) (hex(buf[pos + 1]) << 12 | hex(buf[pos + 2]) << 8
+                        | hex(buf[pos + 3]) << 4 | hex(buf[pos + 4]));
+                pos += 5;
+            }
+            return n == 0 ? -1 : n;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * Time zones by the names Oracle accepts: region names such as
+ * {@code 'Europe/London'}, offsets such as {@code '-05:00'}, and the
+ * abbreviations of NEW_TIME such as {@code 'PST'}, which are fixed offsets.
+ * <p>
+ * The abbreviations, UTC and the default zone are resolved when the class is
+ * loaded; any other name is resolved to its rules once, on first use. Later
+ * lookups of a name are a read of a {@link ConcurrentHashMap}, which does not
+ * lock.
+ */
+final class ZoneCache {
+
+    private static final int MILLIS_PER_MINUTE = 60000;
+
+    private static final ConcurrentMap<String, DateTimeZone> ZONES =
+            new ConcurrentHashMap<String, DateTimeZone>();
+
+    static {
+        abbreviation("AST", -4 * 60);
+        abbreviation("ADT", -3 * 60);
+        abbreviation("BST", -11 * 60);
+        abbreviation("BDT", -10 * 60);
+        abbreviation("CST", -6 * 60);
+        abbreviation("CDT", -5 * 60);
+        abbreviation("EST", -5 * 60);
+        abbreviation("EDT", -4 * 60);
+        abbreviation("GMT", 0);
+        abbreviation("HST", -10 * 60);
+        abbreviation("HDT", -9 * 60);
+        abbreviation("MST", -7 * 60);
+        abbreviation("MDT", -6 * 60);
+        abbreviation("NST", -(3 * 60 + 30));
+        abbreviation("PST", -8 * 60);
+        abbreviation("PDT", -7 * 60);
+        abbreviation("YST", -9 * 60);
+        abbreviation("YDT", -8 * 60);
+        ZONES.put("UTC", DateTimeZone.UTC);
+        final DateTimeZone local = DateTimeZone.getDefault();
+        ZONES.put(local.getID(), local);
+    }
+
+    private ZoneCache() {
+    }
+
+    private static void abbreviation(final String name, final int offsetMinutes) {
+        final DateTimeZone zone = DateTimeZone.forOffsetMillis(offsetMinutes * MILLIS_PER_MINUTE);
+        ZONES.put(name, zone);
+        ZONES.put(name.toLowerCase(Locale.ENGLISH), zone);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the time zone is not known
+     */
+    static DateTimeZone forName(final String name) {
+        final DateTimeZone cached = ZONES.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        final DateTimeZone zone = resolve(name);
+        final DateTimeZone existing = ZONES.putIfAbsent(name, zone);
+        return existing == null ? zone : existing;
+    }
+
+    private static DateTimeZone resolve(final String name) {
+        final String trimmed = name.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("unknown time zone: " + name);
+        }
+        final char sign = trimmed.charAt(0);
+        if (sign == '+' || sign == '-') {
+            return DateTimeZone.forOffsetMillis(offsetMillis(trimmed));
+        }
+        final DateTimeZone abbreviation = ZONES.get(trimmed.toUpperCase(Locale.ENGLISH));
+        if (abbreviation != null) {
+            return abbreviation;
+        }
+        try {
+            return DateTimeZone.forID(trimmed);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown time zone: " + name);
+        }
+    }
+
+    /**
+     * @param offset {@code [+|-]hh[:mi]}, hours 0 to 14
+     */
+    static int offsetMillis(final String offset) {
+        final char sign = offset.charAt(0);
+        final int colon = offset.indexOf(':');
+        try {
+            final int hours = Integer.parseInt(offset.substring(1, colon < 0 ? offset.length() : colon));
+            final int minutes = colon < 0 ? 0 : Integer.parseInt(offset.substring(colon + 1));
+            if (hours < 0 || hours > 14 || minutes < 0 || minutes > 59) {
+                throw new IllegalArgumentException("time zone offset out of range: " + offset);
+            }
+            final int millis = (hours * 60 + minutes) * MILLIS_PER_MINUTE;
+            return sign == '-' ? -millis : millis;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("invalid time zone offset: " + offset);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+CREATE ALIAS IF NOT EXISTS ADD_MONTHS DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.addMonths";
+CREATE ALIAS IF NOT EXISTS ASCIISTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.asciistr";
+CREATE ALIAS IF NOT EXISTS ASCIISTR_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.asciistrTable";
+CREATE ALIAS IF NOT EXISTS BIN_TO_NUM DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.binToNum";
+CREATE ALIAS IF NOT EXISTS COMPOSE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.compose";
+CREATE ALIAS IF NOT EXISTS COMPOSE_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.composeTable";
+CREATE ALIAS IF NOT EXISTS DBTIMEZONE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.dbTimeZone";
+CREATE ALIAS IF NOT EXISTS DECOMPOSE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.decompose";
+CREATE ALIAS IF NOT EXISTS FROM_TZ DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.fromTz";
+CREATE ALIAS IF NOT EXISTS INITCAP DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.initcap";
+CREATE ALIAS IF NOT EXISTS LAST_DAY DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.lastDay";
+CREATE ALIAS IF NOT EXISTS MONTHS_BETWEEN DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.monthsBetween";
+CREATE ALIAS IF NOT EXISTS NEW_TIME DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.newTime";
+CREATE ALIAS IF NOT EXISTS NEXT_DAY DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.nextDay";
+CREATE ALIAS IF NOT EXISTS NLS_INITCAP DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsInitcap";
+CREATE ALIAS IF NOT EXISTS NLS_LOWER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsLower";
+CREATE ALIAS IF NOT EXISTS NLS_UPPER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsUpper";
+CREATE ALIAS IF NOT EXISTS NLSSORT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlssort";
+CREATE ALIAS IF NOT EXISTS ORA_HASH DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.oraHash";
+CREATE ALIAS IF NOT EXISTS REGEXP_COUNT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpCount";
+CREATE ALIAS IF NOT EXISTS REGEXP_INSTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpInstr";
+CREATE ALIAS IF NOT EXISTS REGEXP_SUBSTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpSubstr";
+CREATE ALIAS IF NOT EXISTS SESSIONTIMEZONE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.sessionTimeZone";
+CREATE ALIAS IF NOT EXISTS SYS_EXTRACT_UTC DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.sysExtractUtc";
+CREATE ALIAS IF NOT EXISTS TO_BINARY_DOUBLE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toBinaryDouble";
+CREATE ALIAS IF NOT EXISTS TO_BINARY_FLOAT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toBinaryFloat";
+CREATE ALIAS IF NOT EXISTS TO_CHAR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toChar";
+CREATE ALIAS IF NOT EXISTS TO_DATE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toDate";
+CREATE ALIAS IF NOT EXISTS TO_NUMBER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toNumber";
+CREATE ALIAS IF NOT EXISTS TO_TIMESTAMP FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toTimestamp";
+CREATE ALIAS IF NOT EXISTS TRANSLATE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.translate";
+CREATE ALIAS IF NOT EXISTS TRANSLATE_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.translateTable";
+CREATE ALIAS IF NOT EXISTS TRUNC DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.trunc";
+CREATE ALIAS IF NOT EXISTS TZ_OFFSET FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.tzOffset";
+CREATE ALIAS IF NOT EXISTS UNISTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.unistr";
+CREATE ALIAS IF NOT EXISTS UNISTR_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.unistrTable";
+CREATE AGGREGATE IF NOT EXISTS CORR FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$Corr";
+CREATE AGGREGATE IF NOT EXISTS COVAR_POP FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$CovarPop";
+CREATE AGGREGATE IF NOT EXISTS COVAR_SAMP FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$CovarSamp";
+CREATE AGGREGATE IF NOT EXISTS LISTAGG FOR "org.guess880.h2_oracle_funcs.ListAgg";
+CREATE AGGREGATE IF NOT EXISTS MEDIAN FOR "org.guess880.h2_oracle_funcs.Median";
+CREATE AGGREGATE IF NOT EXISTS PERCENTILE_CONT FOR "org.guess880.h2_oracle_funcs.PercentileCont";
+CREATE AGGREGATE IF NOT EXISTS PERCENTILE_DISC FOR "org.guess880.h2_oracle_funcs.PercentileDisc";
+CREATE AGGREGATE IF NOT EXISTS REGR_AVGX FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrAvgx";
+CREATE AGGREGATE IF NOT EXISTS REGR_AVGY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrAvgy";
+CREATE AGGREGATE IF NOT EXISTS REGR_COUNT FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrCount";
+CREATE AGGREGATE IF NOT EXISTS REGR_INTERCEPT FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrIntercept";
+CREATE AGGREGATE IF NOT EXISTS REGR_R2 FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrR2";
+CREATE AGGREGATE IF NOT EXISTS REGR_SLOPE FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSlope";
+CREATE AGGREGATE IF NOT EXISTS REGR_SXX FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSxx";
+CREATE AGGREGATE IF NOT EXISTS REGR_SXY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSxy";
+CREATE AGGREGATE IF NOT EXISTS REGR_SYY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSyy";
+CREATE AGGREGATE IF NOT EXISTS STATS_MODE FOR "org.guess880.h2_oracle_funcs.StatsMode";
@@ -0,0 +1,17 @@
+CREATE AGGREGATE IF NOT EXISTS CORR FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$Corr";
+CREATE AGGREGATE IF NOT EXISTS COVAR_POP FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$CovarPop";
+CREATE AGGREGATE IF NOT EXISTS COVAR_SAMP FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$CovarSamp";
+CREATE AGGREGATE IF NOT EXISTS LISTAGG FOR "org.guess880.h2_oracle_funcs.ListAgg";
+CREATE AGGREGATE IF NOT EXISTS MEDIAN FOR "org.guess880.h2_oracle_funcs.Median";
+CREATE AGGREGATE IF NOT EXISTS PERCENTILE_CONT FOR "org.guess880.h2_oracle_funcs.PercentileCont";
+CREATE AGGREGATE IF NOT EXISTS PERCENTILE_DISC FOR "org.guess880.h2_oracle_funcs.PercentileDisc";
+CREATE AGGREGATE IF NOT EXISTS REGR_AVGX FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrAvgx";
+CREATE AGGREGATE IF NOT EXISTS REGR_AVGY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrAvgy";
+CREATE AGGREGATE IF NOT EXISTS REGR_COUNT FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrCount";
+CREATE AGGREGATE IF NOT EXISTS REGR_INTERCEPT FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrIntercept";
+CREATE AGGREGATE IF NOT EXISTS REGR_R2 FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrR2";
+CREATE AGGREGATE IF NOT EXISTS REGR_SLOPE FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSlope";
+CREATE AGGREGATE IF NOT EXISTS REGR_SXX FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSxx";
+CREATE AGGREGATE IF NOT EXISTS REGR_SXY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSxy";
+CREATE AGGREGATE IF NOT EXISTS REGR_SYY FOR "org.guess880.h2_oracle_funcs.BivariateAggregate$RegrSyy";
+CREATE AGGREGATE IF NOT EXISTS STATS_MODE FOR "org.guess880.h2_oracle_funcs.StatsMode";
@@ -0,0 +1,14 @@
+CREATE ALIAS IF NOT EXISTS ADD_MONTHS DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.addMonths";
+CREATE ALIAS IF NOT EXISTS DBTIMEZONE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.dbTimeZone";
+CREATE ALIAS IF NOT EXISTS FROM_TZ DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.fromTz";
+CREATE ALIAS IF NOT EXISTS LAST_DAY DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.lastDay";
+CREATE ALIAS IF NOT EXISTS MONTHS_BETWEEN DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.monthsBetween";
+CREATE ALIAS IF NOT EXISTS NEW_TIME DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.newTime";
+CREATE ALIAS IF NOT EXISTS NEXT_DAY DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.nextDay";
+CREATE ALIAS IF NOT EXISTS SESSIONTIMEZONE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.sessionTimeZone";
+CREATE ALIAS IF NOT EXISTS SYS_EXTRACT_UTC DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.sysExtractUtc";
+CREATE ALIAS IF NOT EXISTS TO_CHAR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toChar";
+CREATE ALIAS IF NOT EXISTS TO_DATE FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toDate";
+CREATE ALIAS IF NOT EXISTS TO_TIMESTAMP FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.toTimestamp";
+CREATE ALIAS IF NOT EXISTS TRUNC DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.trunc";
+CREATE ALIAS IF NOT EXISTS TZ_OFFSET FOR "org.guess880.h2_oracle_funcs.DateTimeFunctions.tzOffset";
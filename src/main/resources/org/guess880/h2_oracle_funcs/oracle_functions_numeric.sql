@@ -0,0 +1,5 @@
+CREATE ALIAS IF NOT EXISTS BIN_TO_NUM DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.binToNum";
+CREATE ALIAS IF NOT EXISTS ORA_HASH DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.oraHash";
+CREATE ALIAS IF NOT EXISTS TO_BINARY_DOUBLE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toBinaryDouble";
+CREATE ALIAS IF NOT EXISTS TO_BINARY_FLOAT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toBinaryFloat";
+CREATE ALIAS IF NOT EXISTS TO_NUMBER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.NumericFunctions.toNumber";
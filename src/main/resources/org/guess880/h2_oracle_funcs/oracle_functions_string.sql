@@ -0,0 +1,17 @@
+CREATE ALIAS IF NOT EXISTS ASCIISTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.asciistr";
+CREATE ALIAS IF NOT EXISTS ASCIISTR_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.asciistrTable";
+CREATE ALIAS IF NOT EXISTS COMPOSE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.compose";
+CREATE ALIAS IF NOT EXISTS COMPOSE_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.composeTable";
+CREATE ALIAS IF NOT EXISTS DECOMPOSE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.decompose";
+CREATE ALIAS IF NOT EXISTS INITCAP DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.initcap";
+CREATE ALIAS IF NOT EXISTS NLS_INITCAP DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsInitcap";
+CREATE ALIAS IF NOT EXISTS NLS_LOWER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsLower";
+CREATE ALIAS IF NOT EXISTS NLS_UPPER DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlsUpper";
+CREATE ALIAS IF NOT EXISTS NLSSORT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.nlssort";
+CREATE ALIAS IF NOT EXISTS REGEXP_COUNT DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpCount";
+CREATE ALIAS IF NOT EXISTS REGEXP_INSTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpInstr";
+CREATE ALIAS IF NOT EXISTS REGEXP_SUBSTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.regexpSubstr";
+CREATE ALIAS IF NOT EXISTS TRANSLATE DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.translate";
+CREATE ALIAS IF NOT EXISTS TRANSLATE_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.translateTable";
+CREATE ALIAS IF NOT EXISTS UNISTR DETERMINISTIC FOR "org.guess880.h2_oracle_funcs.StringFunctions.unistr";
+CREATE ALIAS IF NOT EXISTS UNISTR_TABLE FOR "org.guess880.h2_oracle_funcs.BatchFunctions.unistrTable";
@@ -0,0 +1,194 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BatchFunctionsTest {
+
+    // large enough to be split across threads on any machine with two processors
+    private static final int LARGE = BatchExecutor.MIN_CHUNK * 8 + 17;
+
+    private static Connection con;
+
+    private static Locale def;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        def = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:");
+        OracleFunctions.register(con, FunctionPack.STRING);
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE TABLE words (id INT PRIMARY KEY, word VARCHAR, amount DECIMAL(10, 2))");
+            stmt.execute("INSERT INTO words VALUES (1, 'Ärger', 1.50), (2, NULL, 2), (3, 'plain', NULL)");
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+        con.close();
+        Locale.setDefault(def);
+    }
+
+    private static long[] dates(final int length) {
+        final Random random = new Random(length);
+        final long[] dates = new long[length];
+        for (int i = 0; i < length; i++) {
+            // 1900 to 2100
+            dates[i] = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+        }
+        return dates;
+    }
+
+    @Test
+    public void testDatesMatchScalarFunctions() {
+        for (final int length : new int[] {0, 1, 100, LARGE}) {
+            final long[] dates = dates(length);
+            final long[] other = dates(length + 1);
+            final long[] addMonths = BatchFunctions.addMonths(dates, 13, null);
+            final long[] lastDay = BatchFunctions.lastDay(dates, null);
+            final long[] nextDay = BatchFunctions.nextDay(dates, "fri", null);
+            final long[] trunc = BatchFunctions.trunc(dates, "Q", null);
+            final long[] round = BatchFunctions.round(dates, "IW", null);
+            final long[] dates2 = new long[length];
+            System.arraycopy(other, 0, dates2, 0, length);
+            final double[] monthsBetween = BatchFunctions.monthsBetween(dates, dates2, null);
+            for (int i = 0; i < length; i++) {
+                final Date date = new Date(dates[i]);
+                assertThat(addMonths[i], equalTo(DateTimeFunctions.addMonths(date, 13).getTime()));
+                assertThat(lastDay[i], equalTo(DateTimeFunctions.lastDay(date).getTime()));
+                assertThat(nextDay[i], equalTo(DateTimeFunctions.nextDay(date, "fri").getTime()));
+                assertThat(trunc[i], equalTo(DateTimeFunctions.trunc(date, "Q").getTime()));
+                assertThat(round[i], equalTo(DateTimeFunctions.round(date, "IW").getTime()));
+                assertThat(monthsBetween[i],
+                        equalTo(DateTimeFunctions.monthsBetween(date, new Date(dates2[i]))));
+            }
+        }
+    }
+
+    @Test
+    public void testOutputBufferIsReused() {
+        final long[] dates = dates(LARGE);
+        final long[] expected = BatchFunctions.trunc(dates, "MM", null);
+        assertSame(dates, BatchFunctions.trunc(dates, "MM", dates));
+        assertThat(dates, equalTo(expected));
+        final String[] strs = {"a\\00C4", null, "b"};
+        assertSame(strs, BatchFunctions.unistr(strs, strs));
+        assertThat(strs, equalTo(new String[] {"aÄ", null, "b"}));
+        final long[] larger = new long[3];
+        BatchFunctions.lastDay(new long[] {0L}, larger);
+        assertThat(larger[1], equalTo(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutputBufferTooSmall() {
+        BatchFunctions.addMonths(new long[2], 1, new long[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownUnit() {
+        BatchFunctions.trunc(new long[1], "XX", null);
+    }
+
+    @Test
+    public void testStringsMatchScalarFunctions() {
+        final Random random = new Random(7);
+        final CharSequence[] strs = new CharSequence[LARGE];
+        for (int i = 0; i < LARGE; i++) {
+            if (i % 101 == 0) {
+                continue;
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                final int r = random.nextInt(4);
+                sb.append(r == 0 ? (char) ('a' + random.nextInt(26)) : r == 1 ? '\u0302'
+                        : r == 2 ? (char) (0xC0 + random.nextInt(64)) : '*');
+            }
+            strs[i] = sb;
+        }
+        final String[] asciistr = BatchFunctions.asciistr(strs, null);
+        final String[] compose = BatchFunctions.compose(strs, null);
+        final String[] translate = BatchFunctions.translate(strs, "a*\u0302", "A_", null);
+        final String[] unistr = BatchFunctions.unistr(asciistr, null);
+        for (int i = 0; i < LARGE; i++) {
+            final String str = strs[i] == null ? null : strs[i].toString();
+            assertThat(asciistr[i], equalTo(StringFunctions.asciistr(str)));
+            assertThat(compose[i], equalTo(StringFunctions.compose(str)));
+            assertThat(translate[i], equalTo(StringFunctions.translate(str, "a*\u0302", "A_")));
+            assertThat(unistr[i], equalTo(str));
+        }
+    }
+
+    @Test
+    public void testTranslateNull() {
+        final String[] out = {"x", "y", "z"};
+        BatchFunctions.translate(new String[] {"a", "b"}, null, "c", out);
+        assertThat(out, equalTo(new String[] {null, null, "z"}));
+    }
+
+    @Test
+    public void testFailureOfAnotherThread() {
+        final String[] strs = new String[LARGE];
+        for (int i = 0; i < LARGE; i++) {
+            strs[i] = "\\00C4";
+        }
+        strs[LARGE - 1] = "\\00";
+        try {
+            BatchFunctions.unistr(strs, null);
+            fail();
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void testItTableFunctions() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            ResultSet rs = stmt.executeQuery("SELECT word, id, amount"
+                    + " FROM ASCIISTR_TABLE('SELECT word, id, amount FROM words ORDER BY id') WHERE id < 3");
+            assertThat(rs.getMetaData().getColumnCount(), equalTo(3));
+            assertThat(rs.next(), equalTo(true));
+            assertThat(rs.getString(1), equalTo("\\00C4rger"));
+            assertThat(rs.getInt(2), equalTo(1));
+            assertThat(rs.getBigDecimal(3).doubleValue(), equalTo(1.5));
+            assertThat(rs.next(), equalTo(true));
+            assertThat(rs.getString(1), nullValue());
+            assertThat(rs.next(), equalTo(false));
+            rs = stmt.executeQuery("SELECT u.* FROM UNISTR_TABLE("
+                    + "'SELECT ASCIISTR(word) FROM words WHERE word IS NOT NULL ORDER BY id') u");
+            assertThat(rs.next(), equalTo(true));
+            assertThat(rs.getString(1), equalTo("Ärger"));
+            rs = stmt.executeQuery("SELECT * FROM TRANSLATE_TABLE('SELECT word FROM words WHERE id = 3', 'ai', 'A')");
+            assertThat(rs.next(), equalTo(true));
+            assertThat(rs.getString(1), equalTo("plAn"));
+            rs = stmt.executeQuery("SELECT * FROM COMPOSE_TABLE("
+                    + "'SELECT ''a'' || STRINGDECODE(''\\u0300'') FROM words WHERE id = 1')");
+            assertThat(rs.next(), equalTo(true));
+            assertThat(rs.getString(1), equalTo("à"));
+        } finally {
+            stmt.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.Test;
+
+public class BivariateAggregateTest {
+
+    private static final double[] Y = {3, 5, 7, 10, 11, 2};
+
+    private static final double[] X = {1, 2, 3, 4, 6, 0.5};
+
+    private static BivariateAggregate feed(final BivariateAggregate f, final double offset)
+            throws SQLException {
+        for (int i = 0; i < X.length; i++) {
+            f.add(new Object[] {Y[i] + offset, X[i] + offset});
+        }
+        f.add(new Object[] {null, 1});
+        f.add(new Object[] {1, null});
+        return f;
+    }
+
+    private static double result(final BivariateAggregate f, final double offset) throws SQLException {
+        return ((Number) feed(f, offset).getResult()).doubleValue();
+    }
+
+    @Test
+    public void testAgainstTwoPass() throws Exception {
+        final int n = X.length;
+        double mx = 0;
+        double my = 0;
+        for (int i = 0; i < n; i++) {
+            mx += X[i] / n;
+            my += Y[i] / n;
+        }
+        double sxx = 0;
+        double syy = 0;
+        double sxy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (X[i] - mx) * (X[i] - mx);
+            syy += (Y[i] - my) * (Y[i] - my);
+            sxy += (X[i] - mx) * (Y[i] - my);
+        }
+        // a large offset does not cost precision
+        for (final double offset : new double[] {0, 1e9}) {
+            final double delta = offset == 0 ? 1e-12 : 1e-6;
+            assertEquals(sxy / n, result(new BivariateAggregate.CovarPop(), offset), delta);
+            assertEquals(sxy / (n - 1), result(new BivariateAggregate.CovarSamp(), offset), delta);
+            assertEquals(sxy / Math.sqrt(sxx * syy), result(new BivariateAggregate.Corr(), offset), delta);
+            assertEquals(sxy * sxy / (sxx * syy), result(new BivariateAggregate.RegrR2(), offset), delta);
+            assertEquals(sxy / sxx, result(new BivariateAggregate.RegrSlope(), offset), delta);
+            assertEquals(sxx, result(new BivariateAggregate.RegrSxx(), offset), delta);
+            assertEquals(syy, result(new BivariateAggregate.RegrSyy(), offset), delta);
+            assertEquals(sxy, result(new BivariateAggregate.RegrSxy(), offset), delta);
+            assertEquals(mx + offset, result(new BivariateAggregate.RegrAvgx(), offset), delta);
+            assertEquals(my + offset, result(new BivariateAggregate.RegrAvgy(), offset), delta);
+            assertThat(result(new BivariateAggregate.RegrCount(), offset), equalTo((double) n));
+        }
+        assertEquals(my - sxy / sxx * mx, result(new BivariateAggregate.RegrIntercept(), 0), 1e-12);
+    }
+
+    @Test
+    public void testDegenerate() throws Exception {
+        assertNull(new BivariateAggregate.Corr().getResult());
+        assertThat(new BivariateAggregate.RegrCount().getResult(), equalTo((Object) 0L));
+        final BivariateAggregate samp = new BivariateAggregate.CovarSamp();
+        samp.add(new Object[] {1, 2});
+        assertNull(samp.getResult());
+        // x is constant
+        final BivariateAggregate slope = new BivariateAggregate.RegrSlope();
+        final BivariateAggregate r2 = new BivariateAggregate.RegrR2();
+        for (int i = 0; i < 3; i++) {
+            slope.add(new Object[] {i, 5});
+            r2.add(new Object[] {i, 5});
+        }
+        assertNull(slope.getResult());
+        assertNull(r2.getResult());
+        // y is constant
+        final BivariateAggregate r2y = new BivariateAggregate.RegrR2();
+        for (int i = 0; i < 3; i++) {
+            r2y.add(new Object[] {5, i});
+        }
+        assertThat(r2y.getResult(), equalTo((Object) 1d));
+    }
+
+    @Test
+    public void testIt() throws Exception {
+        Class.forName("org.h2.Driver");
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            FunctionRegistry.register(con, false);
+            final Statement stmt = con.createStatement();
+            stmt.execute("CREATE TABLE t (G INT, Y INT, X DECIMAL(10, 1))");
+            stmt.execute("INSERT INTO t VALUES (1, 1, 1), (1, 2, 2), (1, 3, 3), (1, NULL, 4), (2, 5, 1)");
+            final ResultSet rs = stmt.executeQuery("SELECT g, REGR_SLOPE(y, x), REGR_INTERCEPT(y, x),"
+                    + " REGR_COUNT(y, x), CORR(y, x), COVAR_SAMP(y, x) FROM t GROUP BY g ORDER BY g");
+            if (!rs.next()) {
+                fail("no record.");
+            }
+            assertThat(rs.getDouble(2), equalTo(1d));
+            assertThat(rs.getDouble(3), equalTo(0d));
+            assertThat(rs.getLong(4), equalTo(3L));
+            assertThat(rs.getDouble(5), equalTo(1d));
+            assertThat(rs.getDouble(6), equalTo(1d));
+            if (!rs.next()) {
+                fail("no record.");
+            }
+            assertNull(rs.getObject(2));
+            assertThat(rs.getLong(4), equalTo(1L));
+            assertNull(rs.getObject(6));
+            stmt.close();
+        } finally {
+            con.close();
+        }
+    }
+}
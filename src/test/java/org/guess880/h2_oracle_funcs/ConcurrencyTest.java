@@ -0,0 +1,62 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ConcurrencyTest {
+
+    private static final int THREADS = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static ConcurrentWorkload workload;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        Class.forName("org.h2.Driver");
+        workload = new ConcurrentWorkload("jdbc:h2:mem:concurrency_test");
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+        workload.close();
+    }
+
+    @Test
+    public void testEveryFunctionIsCovered() {
+        final StringBuilder sb = new StringBuilder();
+        for (final String sql : workload.queries()) {
+            sb.append(sql).append('\n');
+        }
+        final String all = sb.toString();
+        for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+            assertTrue(def.name, all.contains(def.name + "("));
+        }
+    }
+
+    @Test
+    public void testPlatformThreads() throws Exception {
+        assertDeterministic(ConcurrentWorkload.platformThreads());
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        final ThreadFactory factory = ConcurrentWorkload.virtualThreads();
+        assumeTrue(factory != null);
+        assertDeterministic(factory);
+    }
+
+    private static void assertDeterministic(final ThreadFactory factory) throws Exception {
+        final int rounds = 3;
+        final ConcurrentWorkload.Result result = workload.run(factory, THREADS, rounds, Long.MAX_VALUE);
+        assertThat(result.mismatches, equalTo(Collections.<String>emptyList()));
+        assertThat(result.queries, equalTo((long) THREADS * rounds * workload.queries().size()));
+    }
+}
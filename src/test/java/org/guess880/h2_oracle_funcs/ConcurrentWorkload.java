@@ -0,0 +1,299 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a query for every registered function from many threads, each on its
+ * own connection to one shared in-memory database, and checks every result
+ * against the one computed on a single thread before.
+ * <p>
+ * Used by {@link ConcurrencyTest} and by the scaling harness of the
+ * benchmarks module.
+ */
+public final class ConcurrentWorkload {
+
+    private static final String SESSION_TIME_ZONE_QUERY = "SELECT SESSIONTIMEZONE() FROM dual";
+
+    private static final String[] SESSION_TIME_ZONES = {
+            "+09:00", "-05:00", "Europe/London", "America/New_York", "+05:30", "Asia/Tokyo"
+    };
+
+    private final String url;
+
+    private final Connection owner;
+
+    private final List<String> queries;
+
+    private final Map<String, String> expected = new LinkedHashMap<String, String>();
+
+    /**
+     * Creates the database, registers the functions and computes the
+     * expected results.
+     *
+     * @param url the URL of an in-memory database that does not exist yet
+     */
+    public ConcurrentWorkload(final String url) throws SQLException {
+        this.url = url;
+        this.owner = DriverManager.getConnection(url);
+        final Statement stmt = owner.createStatement();
+        try {
+            stmt.execute("CREATE TABLE dual (DUMMY VARCHAR2(1))");
+            stmt.execute("INSERT INTO dual (dummy) values ('X')");
+            stmt.execute("CREATE TABLE samples (g INT, x DOUBLE, y DOUBLE, s VARCHAR)");
+            stmt.execute("INSERT INTO samples SELECT MOD(X, 7), X, MOD(X * 37, 101) + X / 3,"
+                    + " 'v' || MOD(X, 13) FROM SYSTEM_RANGE(1, 1000)");
+        } finally {
+            stmt.close();
+        }
+        OracleFunctions.register(owner);
+        queries = Collections.unmodifiableList(buildQueries());
+        for (final String sql : queries) {
+            expected.put(sql, execute(owner, sql));
+        }
+    }
+
+    private static List<String> buildQueries() {
+        final List<String> queries = new ArrayList<String>();
+        for (int i = 1; i <= 24; i++) {
+            queries.add("SELECT ADD_MONTHS(DATE '2000-01-31', " + i + ") FROM dual");
+            queries.add("SELECT LAST_DAY(DATE '2000-" + (i % 12 + 1) + "-10'),"
+                    + " NEXT_DAY(DATE '2000-" + (i % 12 + 1) + "-10', 'MONDAY') FROM dual");
+            queries.add("SELECT MONTHS_BETWEEN(TIMESTAMP '2001-03-31 12:00:00',"
+                    + " DATE '1999-" + (i % 12 + 1) + "-15') FROM dual");
+        }
+        queries.add("SELECT ASCIISTR('ABÄCDE'), UNISTR('AB\\00C4CDE') FROM dual");
+        queries.add("SELECT BIN_TO_NUM(1, 0, 1, 0), BIN_TO_NUM(1, 0, 0, 0, 0, 0, 0, 0, 1) FROM dual");
+        queries.add("SELECT * FROM ASCIISTR_TABLE('SELECT s || ''Ä'', x FROM samples ORDER BY x')");
+        queries.add("SELECT * FROM UNISTR_TABLE('SELECT s || ''\\00C4'', x FROM samples ORDER BY x')");
+        queries.add("SELECT * FROM COMPOSE_TABLE('SELECT s || ''a'' || STRINGDECODE(''\\u0302''), g"
+                + " FROM samples ORDER BY x')");
+        queries.add("SELECT * FROM TRANSLATE_TABLE('SELECT s, x FROM samples ORDER BY x', 'v1', 'w')");
+        queries.add("SELECT SUM(TO_NUMBER(x, '9999.9')), SUM(TO_NUMBER(CAST(g AS VARCHAR) || '.5', '9.9')),"
+                + " SUM(TO_BINARY_DOUBLE(y, '9999.999999999999999', 'NLS_NUMERIC_CHARACTERS = ''.,''')),"
+                + " SUM(TO_BINARY_FLOAT(CAST(g AS VARCHAR), '9')), TO_NUMBER('<1,234.5>', '9,999.9PR'),"
+                + " TO_NUMBER('ff', 'XX'), TO_NUMBER('1,5', '9D9', 'NLS_NUMERIC_CHARACTERS = '',.''')"
+                + " FROM samples");
+        queries.add("SELECT ORA_HASH(g, 3), COUNT(*), SUM(ORA_HASH(s, 1023, 7)), SUM(ORA_HASH(x))"
+                + " FROM samples GROUP BY ORA_HASH(g, 3) ORDER BY 1");
+        // more distinct strings than the caches hold
+        for (int i = 0; i < 300; i++) {
+            queries.add("SELECT REGEXP_COUNT('aaaaaaaaaaaaaaaaaaaaaaaa', 'a{" + (i % 30 + 1) + "}|b" + i + "')"
+                    + " FROM dual");
+            if (i % 3 == 0) {
+                queries.add("SELECT COMPOSE('Cha' || STRINGDECODE('\\u0302') || 'teau" + i + "'),"
+                        + " DECOMPOSE('Château" + i + "', 'COMPATIBILITY') FROM dual");
+                queries.add("SELECT TRANSLATE('SQL*Plus User''s Guide " + i + "', ' */''" + i % 10 + "', '___')"
+                        + " FROM dual");
+                queries.add("SELECT INITCAP('the soap " + i + "'), NLS_INITCAP('ijsland " + i + "', 'NLS_SORT = XDutch'),"
+                        + " NLS_UPPER('große " + i + "', 'NLS_SORT = XGerman'),"
+                        + " NLS_LOWER('NOKTASINDA " + i + "', 'NLS_SORT = XTurkish') FROM dual");
+            }
+        }
+        queries.add("SELECT REGEXP_INSTR('500 Oracle Parkway, Redwood Shores, CA', '[^ ]+', 1, 6),"
+                + " REGEXP_SUBSTR('500 Oracle Parkway, Redwood Shores, CA', ',[^,]+,') FROM dual");
+        queries.add("SELECT DBTIMEZONE() FROM dual");
+        queries.add(SESSION_TIME_ZONE_QUERY);
+        final String[] zones = {"PST", "EDT", "NST", "Europe/London", "America/New_York", "+05:30"};
+        for (final String zone : zones) {
+            queries.add("SELECT NEW_TIME(TIMESTAMP '2009-10-15 13:35:29', 'AST', '" + zone + "'),"
+                    + " SYS_EXTRACT_UTC(FROM_TZ(TIMESTAMP '2009-03-29 02:30:00.123', '" + zone + "')) FROM dual");
+        }
+        // fixed offsets only, the result must not change while the workload runs
+        queries.add("SELECT TZ_OFFSET('Asia/Tokyo'), TZ_OFFSET('-03:30'), TZ_OFFSET('hst') FROM dual");
+        final String[] formats = {
+                "YYYY-MM-DD HH24:MI:SS", "DD-MON-RR", "fmDay, Month DD, YYYY", "IYYY-IW", "Q", "J",
+                "DDD SSSSS", "YYYY \"year\" MM"
+        };
+        for (final String format : formats) {
+            queries.add("SELECT TO_CHAR(TIMESTAMP '2009-10-15 13:35:29', '" + format + "'),"
+                    + " TO_CHAR(TIMESTAMP '2009-10-15 13:35:29', '" + format + "', 'NLS_DATE_LANGUAGE=GERMAN')"
+                    + " FROM dual");
+        }
+        queries.add("SELECT TO_DATE('2009-10-15 13:35:29', 'YYYY-MM-DD HH24:MI:SS'),"
+                + " TO_TIMESTAMP('15-OCT-09 01.35.29.123 PM', 'DD-MON-RR HH.MI.SS.FF AM') FROM dual");
+        queries.add("SELECT TRUNC(TIMESTAMP '2009-10-15 13:35:29'), TRUNC(TIMESTAMP '2009-10-15 13:35:29', 'Q'),"
+                + " TRUNC(TIMESTAMP '2009-10-15 13:35:29', 'IW') FROM dual");
+        queries.add("SELECT g, CORR(y, x), COVAR_POP(y, x), COVAR_SAMP(y, x), REGR_AVGX(y, x), REGR_AVGY(y, x),"
+                + " REGR_COUNT(y, x), REGR_INTERCEPT(y, x), REGR_R2(y, x), REGR_SLOPE(y, x), REGR_SXX(y, x),"
+                + " REGR_SXY(y, x), REGR_SYY(y, x) FROM samples GROUP BY g ORDER BY g");
+        queries.add("SELECT g, MEDIAN(y), PERCENTILE_CONT(0.3, y), PERCENTILE_DISC(0.3, y), STATS_MODE(s)"
+                + " FROM samples GROUP BY g ORDER BY g");
+        queries.add("SELECT g, LISTAGG(s, ',', 'ON OVERFLOW TRUNCATE') FROM samples GROUP BY g ORDER BY g");
+        final String[] sorts = {"BINARY_CI", "GERMAN", "FRENCH_AI", "XTURKISH"};
+        for (final String sort : sorts) {
+            queries.add("SELECT s, NLSSORT(s, 'NLS_SORT = " + sort + "') FROM samples WHERE g = 3"
+                    + " ORDER BY NLSSORT(s, 'NLS_SORT = " + sort + "'), x");
+        }
+        return queries;
+    }
+
+    public List<String> queries() {
+        return queries;
+    }
+
+    /**
+     * All columns of all rows, separated by {@code |}.
+     */
+    static String execute(final Connection conn, final String sql) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            return format(stmt.executeQuery(sql));
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static String format(final ResultSet rs) throws SQLException {
+        try {
+            final StringBuilder sb = new StringBuilder();
+            final int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    sb.append(rs.getString(i)).append('|');
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        } finally {
+            rs.close();
+        }
+    }
+
+    /**
+     * Runs the queries on {@code threads} threads made by {@code factory},
+     * each with its own connection and session time zone. A thread starts at
+     * its own offset in the list and stops after {@code rounds} passes or
+     * when {@code durationNanos} have elapsed, whichever comes first.
+     */
+    public Result run(final ThreadFactory factory, final int threads, final int rounds,
+            final long durationNanos) throws InterruptedException {
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicLong executed = new AtomicLong();
+        final Queue<String> mismatches = new ConcurrentLinkedQueue<String>();
+        final long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            final Thread thread = factory.newThread(new Runnable() {
+                public void run() {
+                    boolean started = false;
+                    try {
+                        final Connection conn = DriverManager.getConnection(url);
+                        try {
+                            final String zone = SESSION_TIME_ZONES[index % SESSION_TIME_ZONES.length];
+                            TimeZoneContext.setSessionTimeZone(conn, zone);
+                            final List<PreparedStatement> statements = new ArrayList<PreparedStatement>();
+                            for (final String sql : queries) {
+                                statements.add(conn.prepareStatement(sql));
+                            }
+                            ready.countDown();
+                            started = true;
+                            start.await();
+                            long count = 0;
+                            final int offset = index * 7919 % queries.size();
+                            outer:
+                            for (int r = 0; r < rounds; r++) {
+                                for (int q = 0; q < queries.size(); q++) {
+                                    final int i = (offset + q) % queries.size();
+                                    final String sql = queries.get(i);
+                                    final String actual = format(statements.get(i).executeQuery());
+                                    final String want = sql.equals(SESSION_TIME_ZONE_QUERY)
+                                            ? zone + "|\n" : expected.get(sql);
+                                    if (!want.equals(actual)) {
+                                        mismatches.add(sql + ": expected " + want + " but was " + actual);
+                                    }
+                                    count++;
+                                    if ((count & 63) == 0 && System.nanoTime() - deadline[0] > 0) {
+                                        break outer;
+                                    }
+                                }
+                            }
+                            executed.addAndGet(count);
+                        } finally {
+                            conn.close();
+                        }
+                    } catch (final Exception e) {
+                        mismatches.add(index + ": " + e);
+                        if (!started) {
+                            ready.countDown();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+            thread.start();
+        }
+        ready.await();
+        final long begin = System.nanoTime();
+        deadline[0] = begin + durationNanos;
+        start.countDown();
+        done.await();
+        return new Result(executed.get(), System.nanoTime() - begin,
+                new ArrayList<String>(mismatches));
+    }
+
+    public void close() throws SQLException {
+        owner.close();
+    }
+
+    /**
+     * Makes platform threads.
+     */
+    public static ThreadFactory platformThreads() {
+        return new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+                return new Thread(r);
+            }
+        };
+    }
+
+    /**
+     * Makes virtual threads, or returns null before Java 21.
+     */
+    public static ThreadFactory virtualThreads() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
+    public static final class Result {
+
+        public final long queries;
+
+        public final long nanos;
+
+        public final List<String> mismatches;
+
+        Result(final long queries, final long nanos, final List<String> mismatches) {
+            this.queries = queries;
+            this.nanos = nanos;
+            this.mismatches = mismatches;
+        }
+
+        public double queriesPerSecond() {
+            return queries * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,655 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TimeZone;
+import java.util.regex.Pattern;
+
+import org.guess880.h2_oracle_funcs.Corpus.Case;
+import org.guess880.h2_oracle_funcs.Corpus.Cell;
+import org.guess880.h2_oracle_funcs.FunctionRegistry.Definition;
+import org.h2.api.AggregateFunction;
+import org.h2.util.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Replays the golden files of {@link Corpus} for every registered function,
+ * calling the Java methods directly and through the H2 aliases, and checks
+ * the time and the memory a direct call takes against the budgets of
+ * {@code conformance/budgets.properties}.
+ * <p>
+ * The corpora run in the time zone {@code America/New_York} and the locale
+ * {@code en_US}, the session settings of the Oracle database they were taken
+ * from. The budgets fail the default build when a change makes a function
+ * slower; timings vary between machines and runs, so the time budgets are
+ * scaled by a generous factor. They are configured with system properties:
+ * <ul>
+ * <li>{@code conformance.budgets=false} skips them, for profilers and
+ * debuggers</li>
+ * <li>{@code conformance.timeFactor=2.5} scales every time budget, 3 by
+ * default; lower it to tighten them, raise it for slower machines</li>
+ * <li>{@code conformance.budget.ADD_MONTHS=500,96} overrides the nanos and
+ * bytes of one function</li>
+ * <li>{@code conformance.printBudgets=true} prints what was measured, in the
+ * format of the budget file</li>
+ * </ul>
+ */
+public class ConformanceTest {
+
+    private static final String TIME_ZONE = "America/New_York";
+
+    private static final String BUDGETS_RESOURCE = Corpus.RESOURCE_PREFIX + "budgets.properties";
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+
+    private static final double DOUBLE_TOLERANCE = 1e-12;
+
+    private static final long WARMUP_NANOS = 100000000L;
+
+    private static final int ROUNDS = 5;
+
+    private static final long ROUND_NANOS = 20000000L;
+
+    /**
+     * Registered functions that have no corpus, and why.
+     */
+    private static final Map<String, String> WITHOUT_CORPUS = new LinkedHashMap<String, String>();
+
+    static {
+        WITHOUT_CORPUS.put("DBTIMEZONE", "depends on the time zone of the JVM, see OracleFunctionsTest");
+        WITHOUT_CORPUS.put("SESSIONTIMEZONE", "depends on the session, see OracleFunctionsTest");
+        WITHOUT_CORPUS.put("NLSSORT", "the collation keys are those of java.text.Collator, not of Oracle");
+        WITHOUT_CORPUS.put("ASCIISTR_TABLE", "runs ASCIISTR over a query, see BatchFunctionsTest");
+        WITHOUT_CORPUS.put("COMPOSE_TABLE", "runs COMPOSE over a query, see BatchFunctionsTest");
+        WITHOUT_CORPUS.put("TRANSLATE_TABLE", "runs TRANSLATE over a query, see BatchFunctionsTest");
+        WITHOUT_CORPUS.put("UNISTR_TABLE", "runs UNISTR over a query, see BatchFunctionsTest");
+    }
+
+    private static TimeZone defaultTimeZone;
+
+    private static DateTimeZone defaultDateTimeZone;
+
+    private static Locale defaultLocale;
+
+    private static Connection con;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        defaultTimeZone = TimeZone.getDefault();
+        defaultDateTimeZone = DateTimeZone.getDefault();
+        defaultLocale = Locale.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone(TIME_ZONE));
+        DateTimeZone.setDefault(DateTimeZone.forID(TIME_ZONE));
+        DateTimeUtils.resetCalendar();
+        Locale.setDefault(Locale.US);
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:conformance");
+        OracleFunctions.register(con);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+        con.close();
+        TimeZone.setDefault(defaultTimeZone);
+        DateTimeZone.setDefault(defaultDateTimeZone);
+        DateTimeUtils.resetCalendar();
+        Locale.setDefault(defaultLocale);
+    }
+
+    private static List<Definition> withCorpus() {
+        final List<Definition> defs = new ArrayList<Definition>();
+        for (final Definition def : FunctionRegistry.definitions()) {
+            if (!WITHOUT_CORPUS.containsKey(def.name)) {
+                defs.add(def);
+            }
+        }
+        return defs;
+    }
+
+    @Test
+    public void testEveryFunctionHasCorpus() throws Exception {
+        final Properties budgets = budgets();
+        final List<String> missing = new ArrayList<String>();
+        for (final Definition def : withCorpus()) {
+            if (!Corpus.exists(def.name)) {
+                missing.add(Corpus.resource(def.name));
+            }
+            if (!budgets.containsKey(def.name)) {
+                missing.add("budget of " + def.name);
+            }
+        }
+        for (final String name : WITHOUT_CORPUS.keySet()) {
+            if (Corpus.exists(name)) {
+                missing.add(name + " has a corpus but is listed without one");
+            }
+        }
+        assertTrue(missing.toString(), missing.isEmpty());
+    }
+
+    @Test
+    public void testDirect() throws Exception {
+        final List<String> failures = new ArrayList<String>();
+        for (final Definition def : withCorpus()) {
+            final Corpus corpus = Corpus.load(def.name);
+            for (final Case c : corpus.cases) {
+                Object actual;
+                try {
+                    actual = def.isAggregate() ? aggregate(def, c) : invoke(def, c);
+                } catch (final SQLException e) {
+                    actual = e;
+                } catch (final RuntimeException e) {
+                    actual = e;
+                }
+                check(failures, def.name + " direct", c, actual);
+            }
+        }
+        assertTrue(report(failures), failures.isEmpty());
+    }
+
+    @Test
+    public void testThroughH2() throws Exception {
+        final List<String> failures = new ArrayList<String>();
+        for (final Definition def : withCorpus()) {
+            final Corpus corpus = Corpus.load(def.name);
+            for (final Case c : corpus.cases) {
+                Object actual;
+                try {
+                    actual = def.isAggregate() ? queryAggregate(def, c) : query(def, c);
+                } catch (final SQLException e) {
+                    actual = e;
+                }
+                check(failures, def.name + " through H2", c, actual);
+            }
+        }
+        assertTrue(report(failures), failures.isEmpty());
+    }
+
+    @Test
+    public void testBudgets() throws Exception {
+        assumeTrue(Boolean.parseBoolean(System.getProperty("conformance.budgets", "true")));
+        final double timeFactor = Double.parseDouble(System.getProperty("conformance.timeFactor", "3"));
+        final boolean print = Boolean.getBoolean("conformance.printBudgets");
+        final Properties budgets = budgets();
+        final List<String> failures = new ArrayList<String>();
+        for (final Definition def : withCorpus()) {
+            final Replay replay = replay(def, Corpus.load(def.name));
+            final long[] measured = measure(replay);
+            if (print) {
+                System.out.println(def.name + "=" + measured[0] + "," + measured[1]);
+            }
+            final String budget = System.getProperty("conformance.budget." + def.name,
+                    budgets.getProperty(def.name));
+            if (budget == null) {
+                continue;
+            }
+            final String[] parts = budget.split(",");
+            final long nanos = (long) (Long.parseLong(parts[0].trim()) * timeFactor);
+            final long bytes = Long.parseLong(parts[1].trim());
+            if (measured[0] > nanos) {
+                failures.add(def.name + ": " + measured[0] + " ns/op, budget " + nanos);
+            }
+            if (measured[1] >= 0 && measured[1] > bytes) {
+                failures.add(def.name + ": " + measured[1] + " bytes/op, budget " + bytes);
+            }
+        }
+        assertTrue(report(failures), failures.isEmpty());
+    }
+
+    private static Properties budgets() throws IOException {
+        final Properties budgets = new Properties();
+        final InputStream in = ConformanceTest.class.getResourceAsStream(BUDGETS_RESOURCE);
+        try {
+            budgets.load(in);
+        } finally {
+            in.close();
+        }
+        return budgets;
+    }
+
+    private static String report(final List<String> failures) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(failures.size()).append(" failures");
+        for (final String failure : failures) {
+            sb.append("\n  ").append(failure);
+        }
+        return sb.toString();
+    }
+
+    // direct calls
+
+    private static Method method(final Definition def, final int arity) throws ClassNotFoundException {
+        for (final Method method : Class.forName(def.className).getMethods()) {
+            if (method.getName().equals(def.methodName) && Modifier.isStatic(method.getModifiers())
+                    && method.getParameterTypes().length == arity) {
+                return method;
+            }
+        }
+        throw new IllegalStateException(def.name + " has no overload with " + arity + " arguments");
+    }
+
+    /**
+     * The arguments of a call, or {@code null} if a primitive argument is
+     * NULL, for which H2 returns NULL without calling the method.
+     */
+    private static Object[] arguments(final Method method, final Case c) {
+        final Class<?>[] types = method.getParameterTypes();
+        final Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            final Cell cell = c.args.get(i);
+            if (cell.isNull()) {
+                if (types[i].isPrimitive()) {
+                    return null;
+                }
+                continue;
+            }
+            args[i] = convert(cell.text, types[i]);
+        }
+        return args;
+    }
+
+    private static Object convert(final String text, final Class<?> type) {
+        if (type == String.class) {
+            return text;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer.valueOf(text);
+        }
+        if (type == long.class || type == Long.class) {
+            return Long.valueOf(text);
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.valueOf(text);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        }
+        if (type == Timestamp.class) {
+            return timestamp(text);
+        }
+        if (type == Date.class) {
+            return new Date(timestamp(text).getTime());
+        }
+        if (type == byte[].class) {
+            return hex(text);
+        }
+        throw new IllegalArgumentException("unsupported parameter type " + type);
+    }
+
+    private static Timestamp timestamp(final String text) {
+        return Timestamp.valueOf(text.indexOf(' ') < 0 ? text + " 00:00:00" : text);
+    }
+
+    private static byte[] hex(final String text) {
+        final byte[] bytes = new byte[text.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(text.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static Object invoke(final Definition def, final Case c) throws Exception {
+        final Method method = method(def, c.args.size());
+        final Object[] args = arguments(method, c);
+        if (args == null) {
+            return null;
+        }
+        try {
+            return method.invoke(null, args);
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The rows of an aggregate call, each one the values of its arguments.
+     */
+    private static List<Object[]> rows(final Case c) {
+        int count = 1;
+        for (final Cell cell : c.args) {
+            if (cell.isList()) {
+                count = cell.elements().size();
+                break;
+            }
+        }
+        final List<Object[]> rows = new ArrayList<Object[]>();
+        for (int r = 0; r < count; r++) {
+            rows.add(new Object[c.args.size()]);
+        }
+        for (int a = 0; a < c.args.size(); a++) {
+            final Cell cell = c.args.get(a);
+            final List<String> elements = cell.isList() ? cell.elements() : null;
+            if (elements != null && elements.size() != count) {
+                throw new IllegalArgumentException(c + ": lists differ in length");
+            }
+            for (int r = 0; r < count; r++) {
+                final String text = elements != null ? elements.get(r) : cell.isNull() ? null : cell.text;
+                rows.get(r)[a] = text == null ? null
+                        : NUMBER.matcher(text).matches() && !cell.quoted ? new BigDecimal(text) : text;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The SQL types of the arguments of an aggregate call, DECIMAL unless a
+     * value is a string.
+     */
+    private static int[] types(final Case c, final List<Object[]> rows) {
+        final int[] types = new int[c.args.size()];
+        for (int a = 0; a < types.length; a++) {
+            types[a] = Types.DECIMAL;
+            for (final Object[] row : rows) {
+                if (row[a] instanceof String) {
+                    types[a] = Types.VARCHAR;
+                }
+            }
+        }
+        return types;
+    }
+
+    private static Object aggregate(final Definition def, final Case c) throws Exception {
+        final List<Object[]> rows = rows(c);
+        final AggregateFunction agg = (AggregateFunction) Class.forName(def.className).newInstance();
+        agg.init(null);
+        agg.getType(types(c, rows));
+        for (final Object[] row : rows) {
+            agg.add(row.length == 1 ? row[0] : row);
+        }
+        return agg.getResult();
+    }
+
+    // through H2
+
+    private static Object query(final Definition def, final Case c) throws Exception {
+        final Method method = method(def, c.args.size());
+        final StringBuilder sql = new StringBuilder("CALL ").append(def.name).append('(');
+        for (int i = 0; i < c.args.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        final PreparedStatement ps = con.prepareStatement(sql.append(')').toString());
+        try {
+            final Class<?>[] types = method.getParameterTypes();
+            for (int i = 0; i < types.length; i++) {
+                final Cell cell = c.args.get(i);
+                final Object value = cell.isNull() ? null : convert(cell.text, types[i]);
+                if (value == null) {
+                    ps.setNull(i + 1, Types.NULL);
+                } else if (value instanceof Date) {
+                    ps.setTimestamp(i + 1, new Timestamp(((Date) value).getTime()));
+                } else {
+                    ps.setObject(i + 1, value);
+                }
+            }
+            return single(ps);
+        } finally {
+            ps.close();
+        }
+    }
+
+    private static Object queryAggregate(final Definition def, final Case c) throws Exception {
+        final List<Object[]> rows = rows(c);
+        final int[] types = types(c, rows);
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("DROP TABLE IF EXISTS corpus_rows");
+            final StringBuilder create = new StringBuilder("CREATE TABLE corpus_rows (id INT PRIMARY KEY");
+            final StringBuilder insert = new StringBuilder("INSERT INTO corpus_rows VALUES (?");
+            final StringBuilder select = new StringBuilder("SELECT ").append(def.name).append('(');
+            for (int a = 0; a < types.length; a++) {
+                create.append(", c").append(a).append(types[a] == Types.VARCHAR ? " VARCHAR" : " DECIMAL");
+                insert.append(", ?");
+                select.append(a == 0 ? "c" : ", c").append(a);
+            }
+            stmt.execute(create.append(')').toString());
+            final PreparedStatement ps = con.prepareStatement(insert.append(')').toString());
+            try {
+                for (int r = 0; r < rows.size(); r++) {
+                    ps.setInt(1, r);
+                    for (int a = 0; a < types.length; a++) {
+                        ps.setObject(a + 2, rows.get(r)[a], types[a]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            } finally {
+                ps.close();
+            }
+            final PreparedStatement query = con.prepareStatement(
+                    select.append(") FROM corpus_rows").toString());
+            try {
+                return single(query);
+            } finally {
+                query.close();
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static Object single(final PreparedStatement ps) throws SQLException {
+        final ResultSet rs = ps.executeQuery();
+        try {
+            if (!rs.next()) {
+                throw new IllegalStateException("no row");
+            }
+            return rs.getObject(1);
+        } finally {
+            rs.close();
+        }
+    }
+
+    // results
+
+    private static void check(final List<String> failures, final String mode, final Case c,
+            final Object actual) {
+        final Cell expected = c.expected;
+        if (expected.isError()) {
+            if (!(actual instanceof Exception)) {
+                failures.add(mode + " " + c + ": got " + describe(actual));
+            }
+            return;
+        }
+        if (actual instanceof Exception) {
+            failures.add(mode + " " + c + ": failed with " + actual);
+            return;
+        }
+        if (!matches(expected, actual)) {
+            failures.add(mode + " " + c + ": got " + describe(actual));
+        }
+    }
+
+    private static String describe(final Object actual) {
+        if (actual instanceof byte[]) {
+            final StringBuilder sb = new StringBuilder();
+            for (final byte b : (byte[]) actual) {
+                sb.append(String.format("%02X", b & 0xff));
+            }
+            return sb.toString();
+        }
+        if (actual instanceof String) {
+            return '"' + (String) actual + '"';
+        }
+        if (actual instanceof Date && !(actual instanceof Timestamp)) {
+            return new Timestamp(((Date) actual).getTime()).toString();
+        }
+        return String.valueOf(actual);
+    }
+
+    private static boolean matches(final Cell expected, final Object actual) {
+        if (expected.isNull() || actual == null) {
+            return expected.isNull() && actual == null;
+        }
+        final String text = expected.text;
+        if (actual instanceof String) {
+            return text.equals(actual);
+        }
+        if (actual instanceof Double || actual instanceof Float) {
+            final double e = Double.parseDouble(text);
+            final double a = ((Number) actual).doubleValue();
+            if (Double.isNaN(e) || Double.isNaN(a)) {
+                return Double.isNaN(e) && Double.isNaN(a);
+            }
+            if (actual instanceof Float) {
+                return Float.parseFloat(text) == (Float) actual;
+            }
+            return e == a || Math.abs(e - a) <= DOUBLE_TOLERANCE * Math.max(1, Math.abs(e));
+        }
+        if (actual instanceof BigDecimal) {
+            return new BigDecimal(text).compareTo((BigDecimal) actual) == 0;
+        }
+        if (actual instanceof Number) {
+            return Long.parseLong(text) == ((Number) actual).longValue();
+        }
+        if (actual instanceof Timestamp) {
+            return timestamp(text).equals(actual);
+        }
+        if (actual instanceof Date) {
+            return timestamp(text).getTime() == ((Date) actual).getTime();
+        }
+        if (actual instanceof byte[]) {
+            return text.equalsIgnoreCase(describe(actual));
+        }
+        throw new IllegalArgumentException("unsupported result " + actual.getClass());
+    }
+
+    // budgets
+
+    private abstract static class Replay {
+
+        /**
+         * Runs every timed call of the corpus once and returns how many.
+         */
+        abstract int run() throws Exception;
+    }
+
+    /**
+     * The calls of a corpus that return a value, calling the Java method
+     * without going through the conversions of this runner.
+     */
+    private static Replay replay(final Definition def, final Corpus corpus) throws Exception {
+        final List<Method> methods = new ArrayList<Method>();
+        final List<Object[]> args = new ArrayList<Object[]>();
+        final List<List<Object[]>> aggregateRows = new ArrayList<List<Object[]>>();
+        final List<int[]> aggregateTypes = new ArrayList<int[]>();
+        for (final Case c : corpus.cases) {
+            if (c.expected.isError()) {
+                continue;
+            }
+            if (def.isAggregate()) {
+                final List<Object[]> rows = rows(c);
+                aggregateRows.add(rows);
+                aggregateTypes.add(types(c, rows));
+                continue;
+            }
+            final Method method = method(def, c.args.size());
+            final Object[] a = arguments(method, c);
+            if (a != null) {
+                methods.add(method);
+                args.add(a);
+            }
+        }
+        if (def.isAggregate()) {
+            final Class<?> clazz = Class.forName(def.className);
+            return new Replay() {
+                @Override
+                int run() throws Exception {
+                    for (int i = 0; i < aggregateRows.size(); i++) {
+                        final AggregateFunction agg = (AggregateFunction) clazz.newInstance();
+                        agg.init(null);
+                        agg.getType(aggregateTypes.get(i));
+                        for (final Object[] row : aggregateRows.get(i)) {
+                            agg.add(row.length == 1 ? row[0] : row);
+                        }
+                        agg.getResult();
+                    }
+                    return aggregateRows.size();
+                }
+            };
+        }
+        final Method[] m = methods.toArray(new Method[methods.size()]);
+        final Object[][] a = args.toArray(new Object[args.size()][]);
+        return new Replay() {
+            @Override
+            int run() throws Exception {
+                for (int i = 0; i < m.length; i++) {
+                    m[i].invoke(null, a[i]);
+                }
+                return m.length;
+            }
+        };
+    }
+
+    /**
+     * The nanos and bytes per call of the fastest of a few rounds, after a
+     * warm-up; the bytes are -1 if the JVM does not count them.
+     */
+    private static long[] measure(final Replay replay) throws Exception {
+        final long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            replay.run();
+        }
+        final com.sun.management.ThreadMXBean threads = allocationCounter();
+        final long thread = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long allocated = threads == null ? 0 : threads.getThreadAllocatedBytes(thread);
+            final long start = System.nanoTime();
+            long ops = 0;
+            long elapsed;
+            do {
+                ops += replay.run();
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < ROUND_NANOS);
+            if (ops == 0) {
+                fail("nothing to measure");
+            }
+            best = Math.min(best, elapsed / ops);
+            if (threads != null) {
+                bytes = Math.min(bytes, (threads.getThreadAllocatedBytes(thread) - allocated) / ops);
+            }
+        }
+        return new long[] {best, threads == null ? -1 : bytes};
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        final Object bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,190 @@
+package org.guess880.h2_oracle_funcs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * A golden file of {@code conformance/<function>.csv}: one call per line, the
+ * arguments followed by the result of Oracle 11.2.
+ * <p>
+ * Lines starting with {@code #} are comments. The number of fields selects
+ * the overload, an unquoted empty field is NULL and a quoted field is a
+ * string as it is, with {@code ""} for a quote. An unquoted result starting
+ * with an Oracle error code, e.g. {@code ORA-01722: invalid number}, expects
+ * the call to fail. Dates are written as {@code YYYY-MM-DD HH24:MI:SS[.FF]}
+ * and binaries as hexadecimal digits.
+ * <p>
+ * An argument of an aggregate function is either a constant, passed with
+ * every row, or a list of the values of the rows in brackets separated by
+ * {@code ;}, e.g. {@code [1;;3]} for the rows 1, NULL and 3.
+ */
+final class Corpus {
+
+    static final String RESOURCE_PREFIX = "/org/guess880/h2_oracle_funcs/conformance/";
+
+    private static final Pattern ERROR = Pattern.compile("ORA-\\d{5}\\b.*");
+
+    static final class Cell {
+
+        final String text;
+
+        final boolean quoted;
+
+        Cell(final String text, final boolean quoted) {
+            this.text = text;
+            this.quoted = quoted;
+        }
+
+        boolean isNull() {
+            return !quoted && text.length() == 0;
+        }
+
+        boolean isError() {
+            return !quoted && ERROR.matcher(text).matches();
+        }
+
+        boolean isList() {
+            return !quoted && text.startsWith("[") && text.endsWith("]");
+        }
+
+        /**
+         * The elements of a list, {@code null} for NULL.
+         */
+        List<String> elements() {
+            final String body = text.substring(1, text.length() - 1);
+            final List<String> elements = new ArrayList<String>();
+            if (body.length() == 0) {
+                return elements;
+            }
+            int start = 0;
+            while (true) {
+                final int end = body.indexOf(';', start);
+                final String element = body.substring(start, end < 0 ? body.length() : end).trim();
+                elements.add(element.length() == 0 ? null : element);
+                if (end < 0) {
+                    return elements;
+                }
+                start = end + 1;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return quoted ? '"' + text.replace("\"", "\"\"") + '"' : text;
+        }
+    }
+
+    static final class Case {
+
+        final int line;
+
+        final List<Cell> args;
+
+        final Cell expected;
+
+        Case(final int line, final List<Cell> args, final Cell expected) {
+            this.line = line;
+            this.args = args;
+            this.expected = expected;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + args + " -> " + expected;
+        }
+    }
+
+    final String function;
+
+    final List<Case> cases;
+
+    private Corpus(final String function, final List<Case> cases) {
+        this.function = function;
+        this.cases = Collections.unmodifiableList(cases);
+    }
+
+    static String resource(final String function) {
+        return RESOURCE_PREFIX + function.toLowerCase(Locale.ENGLISH) + ".csv";
+    }
+
+    static boolean exists(final String function) {
+        return Corpus.class.getResource(resource(function)) != null;
+    }
+
+    static Corpus load(final String function) throws IOException {
+        final InputStream in = Corpus.class.getResourceAsStream(resource(function));
+        if (in == null) {
+            throw new IOException("no corpus for " + function);
+        }
+        final List<Case> cases = new ArrayList<Case>();
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            int lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.trim().length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                final List<Cell> cells = split(line, lineNo);
+                if (cells.size() < 2) {
+                    throw new IOException(resource(function) + ":" + lineNo + ": no arguments");
+                }
+                cases.add(new Case(lineNo, Collections.unmodifiableList(cells.subList(0, cells.size() - 1)),
+                        cells.get(cells.size() - 1)));
+            }
+        } finally {
+            in.close();
+        }
+        return new Corpus(function, cases);
+    }
+
+    private static List<Cell> split(final String line, final int lineNo) throws IOException {
+        final List<Cell> cells = new ArrayList<Cell>();
+        final StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (true) {
+            sb.setLength(0);
+            boolean quoted = false;
+            if (i < line.length() && line.charAt(i) == '"') {
+                quoted = true;
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IOException("line " + lineNo + ": unterminated quote");
+                    }
+                    final char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            sb.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IOException("line " + lineNo + ": text after a quote");
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    sb.append(line.charAt(i++));
+                }
+            }
+            cells.add(new Cell(quoted ? sb.toString() : sb.toString().trim(), quoted));
+            if (i >= line.length()) {
+                return cells;
+            }
+            i++;
+        }
+    }
+}
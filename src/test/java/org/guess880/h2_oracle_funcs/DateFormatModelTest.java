@@ -0,0 +1,139 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Locale;
+
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+
+public class DateFormatModelTest {
+
+    private static final Date DATE = timestamp(new LocalDateTime(2009, 10, 15, 13, 5, 9), 123456789);
+
+    private static Timestamp timestamp(final LocalDateTime ldt, final int nanos) {
+        final Timestamp ts = new Timestamp(ldt.toDate().getTime());
+        ts.setNanos(nanos);
+        return ts;
+    }
+
+    private static String format(final String fmt) {
+        return DateFormatModel.of(fmt, Locale.US).format(DATE);
+    }
+
+    private static Date parse(final String text, final String fmt) {
+        return DateFormatModel.of(fmt, Locale.US).parseDate(text);
+    }
+
+    @Test
+    public void testFormatNumbers() {
+        assertThat(format("YYYY-MM-DD HH24:MI:SS"), equalTo("2009-10-15 13:05:09"));
+        assertThat(format("HH:MI:SS AM"), equalTo("01:05:09 PM"));
+        assertThat(format("HH12 a.m."), equalTo("01 p.m."));
+        assertThat(format("Q WW IW W DDD D J"), equalTo("4 42 42 3 288 5 2455120"));
+        assertThat(format("SSSSS"), equalTo("47109"));
+        assertThat(format("Y,YYY SYYYY YYY YY Y CC"), equalTo("2,009  2009 009 09 9 21"));
+        assertThat(format("FF3 FF"), equalTo("123 123456"));
+        assertThat(format("HH24.MI.SSXFF9"), equalTo("13.05.09.123456789"));
+        assertThat(format("FMMM/DD/YYYY"), equalTo("10/15/2009"));
+        assertThat(DateFormatModel.of("FMMM/DD/YYYY", Locale.US).format(
+                new LocalDateTime(2009, 1, 5, 0, 0).toDate()), equalTo("1/5/2009"));
+    }
+
+    @Test
+    public void testFormatText() {
+        assertThat(format("DD-MON-RR"), equalTo("15-OCT-09"));
+        assertThat(format("Day, Month DD, YYYY"), equalTo("Thursday , October   15, 2009"));
+        assertThat(format("FMDay, Month DD, YYYY"), equalTo("Thursday, October 15, 2009"));
+        assertThat(format("fmday month"), equalTo("thursday october"));
+        assertThat(format("DY Dy dy"), equalTo("THU Thu thu"));
+        assertThat(format("\"Quarter\" Q"), equalTo("Quarter 4"));
+        assertThat(format("RM|FMRM|rm"), equalTo("X   |X|x"));
+        assertThat(format("AD A.D."), equalTo("AD A.D."));
+        assertThat(DateFormatModel.of("FMMonth", Locale.FRANCE).format(DATE), equalTo("Octobre"));
+    }
+
+    @Test
+    public void testNamesDoNotDependOnLocaleData() {
+        final DateFormatModel german = DateFormatModel.of("DD-MON-YYYY", Locale.GERMANY);
+        assertThat(german.format(DATE), equalTo("15-OKT-2009"));
+        assertThat(german.parseDate("15-Okt-2009"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(DateFormatModel.of("MON", Locale.GERMANY).format(
+                new LocalDateTime(2009, 3, 1, 0, 0).toDate()), equalTo("MRZ"));
+        assertThat(DateFormatModel.of("FMMonth", new Locale("ru", "RU")).format(DATE),
+                equalTo("\u041E\u043A\u0442\u044F\u0431\u0440\u044C"));
+        assertThat(DateFormatModel.of("FMDay", new Locale("xx")).format(DATE), equalTo("Thursday"));
+    }
+
+    @Test
+    public void testFormatIsoWeek() {
+        // 2010-01-03 is a Sunday in ISO week 53 of 2009
+        assertThat(DateFormatModel.of("IYYY-IW", Locale.US).format(
+                new LocalDateTime(2010, 1, 3, 0, 0).toDate()), equalTo("2009-53"));
+        assertThat(DateFormatModel.of("IYYY-IW", Locale.US).format(
+                new LocalDateTime(2008, 12, 29, 0, 0).toDate()), equalTo("2009-01"));
+    }
+
+    @Test
+    public void testParse() {
+        final Date expected = new LocalDateTime(2009, 10, 15, 13, 5, 9).toDate();
+        assertThat(parse("2009-10-15 13:05:09", "YYYY-MM-DD HH24:MI:SS"), equalTo(expected));
+        assertThat(parse("20091015130509", "YYYY-MM-DD HH24:MI:SS"), equalTo(expected));
+        assertThat(parse("2009/10/15 1:05:09 pm", "YYYY-MM-DD HH:MI:SS AM"), equalTo(expected));
+        assertThat(parse("October 15, 2009 1:05:09 P.M.", "Month DD, YYYY HH:MI:SS A.M."), equalTo(expected));
+        assertThat(parse("15-oct-09", "DD-MON-RR"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(parse("15-OCT-98", "DD-MON-RR"), equalTo(new LocalDateTime(1998, 10, 15, 0, 0).toDate()));
+        assertThat(parse("15-OCT-1998", "DD-MON-RR"), equalTo(new LocalDateTime(1998, 10, 15, 0, 0).toDate()));
+        assertThat(parse("15-X-2009", "DD-RM-YYYY"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(parse("2455120", "J"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(parse("2009 288", "YYYY DDD"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(parse("2009 47109", "YYYY SSSSS"),
+                equalTo(new LocalDateTime(2009, new LocalDateTime().getMonthOfYear(), 1, 13, 5, 9).toDate()));
+        assertThat(parse("Thursday 15.10.2009", "DAY DD.MM.YYYY"),
+                equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+    }
+
+    @Test
+    public void testParseTimestamp() {
+        assertThat(DateFormatModel.of("YYYY-MM-DD HH24:MI:SS.FF", Locale.US).parseTimestamp(
+                "2009-10-15 13:05:09.123456789"), equalTo(DATE));
+        assertThat(DateFormatModel.of("YYYY-MM-DD HH24:MI:SS.FF", Locale.US).parseTimestamp(
+                "2009-10-15 13:05:09.5").getNanos(), equalTo(500000000));
+    }
+
+    @Test
+    public void testParseErrors() {
+        assertParseError("2009-13-01", "YYYY-MM-DD");
+        assertParseError("2009-02-29", "YYYY-MM-DD");
+        assertParseError("2009-10-15x", "YYYY-MM-DD");
+        assertParseError("2009-1-5", "FXYYYY-MM-DD");
+        assertParseError("2009 4", "YYYY Q");
+        assertParseError("15-OCX-09", "DD-MON-RR");
+        assertParseError("25:00", "HH24:MI");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalFormat() {
+        DateFormatModel.of("YYYY-MM-DD HH:MM:SS.ZZ", Locale.US);
+    }
+
+    @Test
+    public void testCached() {
+        final DateFormatModel model = DateFormatModel.of("YYYY-MM-DD", Locale.US);
+        DateFormatModel.of("HH24", Locale.US);
+        assertThat(DateFormatModel.of(new String("YYYY-MM-DD"), Locale.US) == model, equalTo(true));
+    }
+
+    private static void assertParseError(final String text, final String fmt) {
+        try {
+            parse(text, fmt);
+            fail(text + " parsed with " + fmt);
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
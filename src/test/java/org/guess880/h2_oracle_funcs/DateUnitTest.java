@@ -0,0 +1,97 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Locale;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+
+public class DateUnitTest {
+
+    private static final LocalDateTime DATE = new LocalDateTime(2009, 10, 15, 13, 35, 29);
+
+    private static long local(final LocalDateTime ldt) {
+        return EpochCalendar.toLocal(ldt.toDate().getTime());
+    }
+
+    private static LocalDateTime truncate(final String fmt, final LocalDateTime ldt) {
+        return new LocalDateTime(EpochCalendar.toUtc(DateUnit.of(fmt).truncate(local(ldt))));
+    }
+
+    private static LocalDateTime round(final String fmt, final LocalDateTime ldt) {
+        return new LocalDateTime(EpochCalendar.toUtc(DateUnit.of(fmt).round(local(ldt))));
+    }
+
+    private static LocalDateTime date(final int year, final int month, final int day) {
+        return new LocalDateTime(year, month, day, 0, 0);
+    }
+
+    @Test
+    public void testTruncate() {
+        final Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertThat(truncate("CC", DATE), equalTo(date(2001, 1, 1)));
+            assertThat(truncate("CC", date(2000, 5, 5)), equalTo(date(1901, 1, 1)));
+            assertThat(truncate("YYYY", DATE), equalTo(date(2009, 1, 1)));
+            assertThat(truncate("IYYY", DATE), equalTo(date(2008, 12, 29)));
+            assertThat(truncate("Q", DATE), equalTo(date(2009, 10, 1)));
+            assertThat(truncate("MM", DATE), equalTo(date(2009, 10, 1)));
+            assertThat(truncate("mon", DATE), equalTo(date(2009, 10, 1)));
+            assertThat(truncate("WW", date(2009, 10, 14)), equalTo(date(2009, 10, 8)));
+            assertThat(truncate("IW", DATE), equalTo(date(2009, 10, 12)));
+            assertThat(truncate("W", date(2009, 10, 14)), equalTo(date(2009, 10, 8)));
+            assertThat(truncate("DD", DATE), equalTo(date(2009, 10, 15)));
+            assertThat(truncate("DAY", DATE), equalTo(date(2009, 10, 11)));
+            assertThat(truncate("HH24", DATE), equalTo(new LocalDateTime(2009, 10, 15, 13, 0)));
+            assertThat(truncate("MI", DATE), equalTo(new LocalDateTime(2009, 10, 15, 13, 35)));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testRound() {
+        final Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertThat(round("CC", DATE), equalTo(date(2001, 1, 1)));
+            assertThat(round("CC", date(2050, 6, 1)), equalTo(date(2001, 1, 1)));
+            assertThat(round("CC", date(2051, 1, 1)), equalTo(date(2101, 1, 1)));
+            assertThat(round("YYYY", DATE), equalTo(date(2010, 1, 1)));
+            assertThat(round("YYYY", date(2009, 6, 30)), equalTo(date(2009, 1, 1)));
+            assertThat(round("IYYY", DATE), equalTo(date(2010, 1, 4)));
+            assertThat(round("Q", date(2009, 8, 15)), equalTo(date(2009, 7, 1)));
+            assertThat(round("Q", date(2009, 8, 16)), equalTo(date(2009, 10, 1)));
+            assertThat(round("Q", date(2009, 12, 1)), equalTo(date(2010, 1, 1)));
+            assertThat(round("MM", DATE), equalTo(date(2009, 10, 1)));
+            assertThat(round("MM", date(2009, 12, 16)), equalTo(date(2010, 1, 1)));
+            assertThat(round("WW", DATE), equalTo(date(2009, 10, 15)));
+            assertThat(round("IW", DATE), equalTo(date(2009, 10, 19)));
+            assertThat(round("DD", DATE), equalTo(date(2009, 10, 16)));
+            assertThat(round("DD", new LocalDateTime(2009, 10, 15, 11, 59, 59)), equalTo(date(2009, 10, 15)));
+            assertThat(round("DAY", DATE), equalTo(date(2009, 10, 18)));
+            assertThat(round("HH", DATE), equalTo(new LocalDateTime(2009, 10, 15, 14, 0)));
+            assertThat(round("MI", DATE), equalTo(new LocalDateTime(2009, 10, 15, 13, 35)));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testIsoWeekAgainstJoda() {
+        for (LocalDateTime d = date(1999, 12, 1); d.getYear() < 2011; d = d.plusDays(1)) {
+            final LocalDateTime monday = d.withDayOfWeek(DateTimeConstants.MONDAY);
+            assertThat(truncate("IW", d), equalTo(monday));
+            assertThat(truncate("IYYY", d), equalTo(monday.withWeekOfWeekyear(1)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalFormat() {
+        DateUnit.of("MMM");
+    }
+}
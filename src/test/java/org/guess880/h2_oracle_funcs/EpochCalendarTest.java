@@ -0,0 +1,92 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+
+public class EpochCalendarTest {
+
+    @Test
+    public void testEpochDayRoundTrip() {
+        LocalDate date = new LocalDate(-400, 1, 1);
+        final LocalDate end = new LocalDate(2500, 12, 31);
+        long epochDay = EpochCalendar.toEpochDay(-400, 1, 1);
+        while (!date.isAfter(end)) {
+            final long ymd = EpochCalendar.toYmd(epochDay);
+            assertThat(EpochCalendar.year(ymd), equalTo((long) date.getYear()));
+            assertThat(EpochCalendar.month(ymd), equalTo(date.getMonthOfYear()));
+            assertThat(EpochCalendar.day(ymd), equalTo(date.getDayOfMonth()));
+            assertThat(EpochCalendar.dayOfWeek(epochDay), equalTo(date.getDayOfWeek()));
+            assertThat(EpochCalendar.toEpochDay(date.getYear(), date.getMonthOfYear(),
+                    date.getDayOfMonth()), equalTo(epochDay));
+            date = date.plusDays(1);
+            epochDay++;
+        }
+    }
+
+    @Test
+    public void testAddMonths() {
+        assertThat(addMonths(new LocalDateTime(2000, 1, 31, 10, 20), 1),
+                equalTo(new LocalDateTime(2000, 2, 29, 10, 20)));
+        assertThat(addMonths(new LocalDateTime(2000, 2, 29, 0, 0), 1),
+                equalTo(new LocalDateTime(2000, 3, 31, 0, 0)));
+        assertThat(addMonths(new LocalDateTime(2000, 2, 28, 0, 0), 12),
+                equalTo(new LocalDateTime(2001, 2, 28, 0, 0)));
+        assertThat(addMonths(new LocalDateTime(2000, 3, 30, 0, 0), -1),
+                equalTo(new LocalDateTime(2000, 2, 29, 0, 0)));
+        assertThat(addMonths(new LocalDateTime(2000, 1, 15, 0, 0), -25),
+                equalTo(new LocalDateTime(1997, 12, 15, 0, 0)));
+    }
+
+    @Test
+    public void testLastDay() {
+        assertThat(toLocalDateTime(EpochCalendar.lastDay(toLocal(new LocalDateTime(1900, 2, 3, 4, 5)))),
+                equalTo(new LocalDateTime(1900, 2, 28, 4, 5)));
+        assertThat(toLocalDateTime(EpochCalendar.lastDay(toLocal(new LocalDateTime(1960, 12, 1, 0, 0)))),
+                equalTo(new LocalDateTime(1960, 12, 31, 0, 0)));
+    }
+
+    @Test
+    public void testNextDay() {
+        // 2009-10-15 is a Thursday
+        final long thursday = toLocal(new LocalDateTime(2009, 10, 15, 8, 30));
+        assertThat(toLocalDateTime(EpochCalendar.nextDay(thursday, 2)),
+                equalTo(new LocalDateTime(2009, 10, 20, 8, 30)));
+        assertThat(toLocalDateTime(EpochCalendar.nextDay(thursday, 4)),
+                equalTo(new LocalDateTime(2009, 10, 22, 8, 30)));
+        assertThat(toLocalDateTime(EpochCalendar.nextDay(thursday, 5)),
+                equalTo(new LocalDateTime(2009, 10, 16, 8, 30)));
+    }
+
+    @Test
+    public void testMonthsBetween() {
+        assertThat(monthsBetween(new LocalDateTime(1995, 3, 31, 0, 0), new LocalDateTime(1995, 2, 28, 0, 0)),
+                equalTo(1.0));
+        assertThat(monthsBetween(new LocalDateTime(1995, 3, 15, 0, 0), new LocalDateTime(1994, 3, 15, 0, 0)),
+                equalTo(12.0));
+        assertThat(monthsBetween(new LocalDateTime(1995, 3, 30, 0, 0), new LocalDateTime(1995, 2, 28, 0, 0)),
+                equalTo(1 + 2 / 31d));
+        assertThat(monthsBetween(new LocalDateTime(1995, 3, 1, 6, 0, 30), new LocalDateTime(1995, 3, 2, 18, 0)),
+                equalTo(-(86400 + 43200 - 30) / (31 * 86400d)));
+    }
+
+    private static long toLocal(final LocalDateTime ldt) {
+        return ldt.toDateTime(DateTimeZone.UTC).getMillis();
+    }
+
+    private static LocalDateTime toLocalDateTime(final long local) {
+        return new LocalDateTime(local, DateTimeZone.UTC);
+    }
+
+    private static LocalDateTime addMonths(final LocalDateTime ldt, final int months) {
+        return toLocalDateTime(EpochCalendar.addMonths(toLocal(ldt), months));
+    }
+
+    private static double monthsBetween(final LocalDateTime ldt1, final LocalDateTime ldt2) {
+        return EpochCalendar.monthsBetween(toLocal(ldt1), toLocal(ldt2));
+    }
+}
@@ -0,0 +1,148 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FunctionMetricsTest {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        Class.forName("org.h2.Driver");
+    }
+
+    @Before
+    public void setUp() {
+        FunctionMetrics.reset();
+    }
+
+    @Test
+    public void testInstrumentedOverloads() throws Exception {
+        for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+            if (def.isAggregate()) {
+                continue;
+            }
+            assertThat(def.name, signatures(InstrumentedFunctions.class, def.methodName),
+                    equalTo(signatures(Class.forName(def.className), def.methodName)));
+        }
+    }
+
+    private static Set<String> signatures(final Class<?> clazz, final String name) {
+        final Set<String> signatures = new HashSet<String>();
+        for (final Method method : clazz.getMethods()) {
+            if (method.getName().equals(name) && Modifier.isStatic(method.getModifiers())) {
+                signatures.add(method.getReturnType().getName()
+                        + Arrays.toString(method.getParameterTypes()));
+            }
+        }
+        return signatures;
+    }
+
+    @Test
+    public void testRecord() {
+        InstrumentedFunctions.translate("abc", "a", "b");
+        InstrumentedFunctions.translate("abc", "b", "c");
+        try {
+            InstrumentedFunctions.binToNum(1, 2);
+            fail();
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        final FunctionStats translate = FunctionMetrics.stats("TRANSLATE");
+        assertThat(translate.getCalls(), equalTo(2L));
+        assertThat(translate.getErrors(), equalTo(0L));
+        assertTrue(translate.getP99Nanos() <= translate.getMaxNanos());
+        assertTrue(translate.getMeanNanos() <= translate.getMaxNanos());
+        final FunctionStats binToNum = FunctionMetrics.stats("BIN_TO_NUM");
+        assertThat(binToNum.getCalls(), equalTo(1L));
+        assertThat(binToNum.getErrors(), equalTo(1L));
+        FunctionMetrics.reset();
+        assertThat(translate.getCalls(), equalTo(0L));
+        assertThat(translate.getMaxNanos(), equalTo(0L));
+    }
+
+    @Test
+    public void testThreads() throws Exception {
+        final int threads = 8;
+        final int count = 10000;
+        final Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < count; j++) {
+                        InstrumentedFunctions.unistr("a");
+                    }
+                }
+            };
+            workers[i].start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertThat(FunctionMetrics.stats("UNISTR").getCalls(), equalTo((long) threads * count));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        InstrumentedFunctions.compose("a");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(FunctionMetrics.OBJECT_NAME_PREFIX + "COMPOSE");
+        assertThat(server.getAttribute(name, "Calls"), equalTo((Object) 1L));
+        server.invoke(name, "reset", null, null);
+        assertThat(server.getAttribute(name, "Calls"), equalTo((Object) 0L));
+    }
+
+    @Test
+    public void testItStatsTable() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            OracleFunctions.registerInstrumented(con);
+            final Statement stmt = con.createStatement();
+            try {
+                stmt.executeQuery("SELECT TRANSLATE('a' || X, 'a', 'b') FROM SYSTEM_RANGE(1, 10)").close();
+                final ResultSet rs = stmt.executeQuery(
+                        "SELECT CALLS, ERRORS, MAX_NANOS FROM ORACLE_FUNCS_STATS()"
+                        + " WHERE FUNCTION_NAME = 'TRANSLATE'");
+                if (rs.next()) {
+                    assertThat(rs.getLong(1), equalTo(10L));
+                    assertThat(rs.getLong(2), equalTo(0L));
+                    assertTrue(rs.getLong(3) > 0);
+                } else {
+                    fail("no record.");
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    @Test
+    public void testStripes() {
+        assertThat(FunctionStats.stripes(1), equalTo(1));
+        assertThat(FunctionStats.stripes(3), equalTo(4));
+        assertThat(FunctionStats.stripes(8), equalTo(8));
+        assertThat(FunctionStats.stripes(1000), equalTo(64));
+    }
+}
@@ -0,0 +1,198 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.joda.time.DateTime;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FunctionRegistryTest {
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        Class.forName("org.h2.Driver");
+    }
+
+    @Test
+    public void testScriptResourceIsUpToDate() throws Exception {
+        assertThat(readResource(FunctionRegistry.SCRIPT_RESOURCE), equalTo(FunctionRegistry.script(false)));
+        assertThat(readResource(FunctionRegistry.INSTRUMENTED_SCRIPT_RESOURCE),
+                equalTo(FunctionRegistry.script(true)));
+        for (final FunctionPack pack : FunctionPack.values()) {
+            assertThat(readResource(FunctionRegistry.scriptResource(pack)),
+                    equalTo(FunctionRegistry.script(pack)));
+        }
+    }
+
+    private static String readResource(final String name) throws Exception {
+        final InputStream in = FunctionRegistry.class.getResourceAsStream(name);
+        final StringBuilder sb = new StringBuilder();
+        try {
+            final Reader reader = new InputStreamReader(in, "UTF-8");
+            final char[] buf = new char[1024];
+            int n;
+            while ((n = reader.read(buf)) != -1) {
+                sb.append(buf, 0, n);
+            }
+        } finally {
+            in.close();
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            OracleFunctions.register(con);
+            // aliases that already exist are kept
+            OracleFunctions.register(con);
+            assertAllRegistered(con);
+            final Set<String> deterministic = new HashSet<String>();
+            final Statement stmt = con.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery("SCRIPT NODATA");
+                while (rs.next()) {
+                    final String sql = rs.getString(1);
+                    if (sql.startsWith("CREATE FORCE ALIAS") && sql.contains("DETERMINISTIC")) {
+                        deterministic.add(sql.split("\\s+")[3].replace("PUBLIC.", "").replace("\"", ""));
+                    }
+                }
+            } finally {
+                stmt.close();
+            }
+            for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+                assertThat(def.name, deterministic.contains(def.name), equalTo(def.deterministic));
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    @Test
+    public void testRegisterInstrumented() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            OracleFunctions.registerInstrumented(con);
+            assertAllRegistered(con);
+            final Statement stmt = con.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery(
+                        "SELECT ALIAS_NAME, JAVA_CLASS FROM INFORMATION_SCHEMA.FUNCTION_ALIASES"
+                        + " WHERE ALIAS_NAME IN ('ADD_MONTHS', 'ORACLE_FUNCS_STATS') ORDER BY ALIAS_NAME");
+                assertTrue(rs.next());
+                assertThat(rs.getString(2), equalTo(InstrumentedFunctions.class.getName()));
+                assertTrue(rs.next());
+                assertThat(rs.getString(2), equalTo(FunctionMetrics.class.getName()));
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    @Test
+    public void testRegisterPacks() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            OracleFunctions.register(con, FunctionPack.STRING, FunctionPack.AGGREGATE);
+            final Set<String> names = registeredNames(con);
+            for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+                assertThat(def.name, names.contains(def.name),
+                        equalTo(def.pack == FunctionPack.STRING || def.pack == FunctionPack.AGGREGATE));
+            }
+            final Statement stmt = con.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery(
+                        "SELECT JAVA_CLASS FROM INFORMATION_SCHEMA.FUNCTION_ALIASES WHERE ALIAS_NAME = 'TRANSLATE'");
+                assertTrue(rs.next());
+                assertThat(rs.getString(1), equalTo(StringFunctions.class.getName()));
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    @Test
+    public void testPackInitScript() throws Exception {
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:;INIT=RUNSCRIPT FROM 'classpath:"
+                + FunctionRegistry.scriptResource(FunctionPack.DATE_TIME) + "'");
+        try {
+            final Set<String> names = registeredNames(con);
+            for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+                assertThat(def.name, names.contains(def.name), equalTo(def.pack == FunctionPack.DATE_TIME));
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    @Test
+    public void testInitScript() throws Exception {
+        final Connection con = DriverManager.getConnection(
+                "jdbc:h2:mem:;INIT=RUNSCRIPT FROM 'classpath:" + FunctionRegistry.SCRIPT_RESOURCE + "'");
+        try {
+            assertAllRegistered(con);
+            final Statement stmt = con.createStatement();
+            try {
+                final ResultSet rs = stmt.executeQuery(
+                        "SELECT ADD_MONTHS(PARSEDATETIME('20000131', 'yyyyMMdd'), 1)");
+                if (rs.next()) {
+                    assertThat(rs.getDate(1).getTime(), equalTo(new DateTime(2000,
+                            2, 29, 0, 0).getMillis()));
+                } else {
+                    fail("no record.");
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            con.close();
+        }
+    }
+
+    private static void assertAllRegistered(final Connection con) throws Exception {
+        final Set<String> names = registeredNames(con);
+        for (final FunctionRegistry.Definition def : FunctionRegistry.definitions()) {
+            assertTrue(def.name, names.contains(def.name));
+        }
+    }
+
+    private static Set<String> registeredNames(final Connection con) throws Exception {
+        final Set<String> names = new HashSet<String>();
+        final Statement stmt = con.createStatement();
+        try {
+            ResultSet rs = stmt.executeQuery("SELECT ALIAS_NAME FROM INFORMATION_SCHEMA.FUNCTION_ALIASES");
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+            // aggregates are not in the information schema
+            rs = stmt.executeQuery("SCRIPT NODATA");
+            while (rs.next()) {
+                final String sql = rs.getString(1);
+                if (sql.startsWith("CREATE FORCE AGGREGATE")) {
+                    names.add(sql.split("\\s+")[3].replace("\"", ""));
+                }
+            }
+        } finally {
+            stmt.close();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,49 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testIndex() {
+        assertThat(LatencyHistogram.index(-1), equalTo(0));
+        assertThat(LatencyHistogram.index(0), equalTo(0));
+        assertThat(LatencyHistogram.index(15), equalTo(15));
+        assertThat(LatencyHistogram.index(16), equalTo(16));
+        assertThat(LatencyHistogram.index(17), equalTo(16));
+        assertThat(LatencyHistogram.index(18), equalTo(17));
+        assertThat(LatencyHistogram.index(32), equalTo(24));
+        assertThat(LatencyHistogram.index(Long.MAX_VALUE), equalTo(LatencyHistogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void testBucketBounds() {
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            assertThat(LatencyHistogram.index(LatencyHistogram.lowest(i)), equalTo(i));
+            assertThat(LatencyHistogram.index(LatencyHistogram.highest(i)), equalTo(i));
+        }
+        for (long v = 16; v < Long.MAX_VALUE / 3; v = v * 3 + 1) {
+            final int i = LatencyHistogram.index(v);
+            assertTrue(LatencyHistogram.highest(i) - LatencyHistogram.lowest(i) < v / 8 + 1);
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.percentile(0.5), equalTo(0L));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        final long p50 = histogram.percentile(0.5);
+        assertTrue(p50 >= 50000 && p50 < 50000 * 9 / 8);
+        final long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 99000 && p99 < 99000 * 9 / 8);
+        histogram.reset();
+        assertThat(histogram.percentile(0.99), equalTo(0L));
+    }
+}
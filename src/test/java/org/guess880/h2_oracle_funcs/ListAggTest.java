@@ -0,0 +1,96 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ListAggTest {
+
+    private static String listagg(final String delimiter, final String overflow, final Object... values)
+            throws SQLException {
+        final ListAgg f = new ListAgg();
+        for (final Object value : values) {
+            f.add(new Object[] {value, delimiter, overflow});
+        }
+        return (String) f.getResult();
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    @Test
+    public void testListAgg() throws Exception {
+        assertThat(listagg(", ", null, "a", null, "b", 3), equalTo("a, b, 3"));
+        assertThat(listagg(null, null, "a", "b"), equalTo("ab"));
+        assertNull(listagg(",", null, (Object) null));
+        final ListAgg single = new ListAgg();
+        single.add("x");
+        single.add("y");
+        assertThat((String) single.getResult(), equalTo("xy"));
+    }
+
+    @Test
+    public void testOverflowError() throws Exception {
+        final String value = repeat('x', 1000);
+        assertThat(listagg("", "ON OVERFLOW ERROR", value, value, value, value).length(), equalTo(4000));
+        try {
+            listagg(",", null, value, value, value, value);
+            fail("no overflow");
+        } catch (final SQLException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOverflowTruncate() throws Exception {
+        final String value = repeat('x', 999);
+        assertThat(listagg(",", "ON OVERFLOW TRUNCATE", value, value, value, value, value),
+                equalTo(value + "," + value + "," + value + ",...(2)"));
+        assertThat(listagg(",", "on overflow truncate '~ ~' without count", value, value, value, value, value),
+                equalTo(value + "," + value + "," + value + ",~ ~"));
+        assertThat(listagg(",", "ON OVERFLOW TRUNCATE '' WITH COUNT", value, value, value, value, value),
+                equalTo(value + "," + value + "," + value + ",(2)"));
+        assertThat(listagg(",", "ON OVERFLOW TRUNCATE", repeat('y', 5000), "z"), equalTo("...(2)"));
+        // fits without truncation
+        assertThat(listagg(",", "ON OVERFLOW TRUNCATE", value, value, value, value).length(), equalTo(3999));
+    }
+
+    @Test(expected = SQLException.class)
+    public void testIllegalOverflow() throws Exception {
+        listagg(",", "ON OVERFLOW IGNORE", "a");
+    }
+
+    @Test
+    public void testIt() throws Exception {
+        Class.forName("org.h2.Driver");
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            FunctionRegistry.register(con, false);
+            final Statement stmt = con.createStatement();
+            stmt.execute("CREATE TABLE emp (DEPT INT, ENAME VARCHAR)");
+            stmt.execute("INSERT INTO emp VALUES (10, 'CLARK'), (10, 'KING'), (10, 'MILLER'), (20, 'ADAMS')");
+            final ResultSet rs = stmt.executeQuery("SELECT dept, LISTAGG(ename, '; ') FROM"
+                    + " (SELECT * FROM emp ORDER BY ename) GROUP BY dept ORDER BY dept");
+            rs.next();
+            assertThat(rs.getString(2), equalTo("CLARK; KING; MILLER"));
+            rs.next();
+            assertThat(rs.getString(2), equalTo("ADAMS"));
+            stmt.close();
+        } finally {
+            con.close();
+        }
+    }
+}
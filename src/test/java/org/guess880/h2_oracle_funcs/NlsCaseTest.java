@@ -0,0 +1,39 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Locale;
+
+import org.junit.Test;
+
+public class NlsCaseTest {
+
+    /**
+     * Every ASCII character, alone and after a letter, gives the same result
+     * on the fast path and on the Unicode path, which a trailing non-ASCII
+     * character forces.
+     */
+    @Test
+    public void testAsciiFastPathMatchesUnicodePath() {
+        final NlsSort sort = NlsSort.BINARY;
+        for (char c = 0; c < 0x80; c++) {
+            for (final String str : new String[] {String.valueOf(c), "a" + c + "b", c + "Ab"}) {
+                final String forced = str + 'é';
+                assertThat(str, NlsCase.upper(str, sort) + 'É', equalTo(NlsCase.upper(forced, sort)));
+                assertThat(str, NlsCase.lower(str, sort) + 'é', equalTo(NlsCase.lower(forced, sort)));
+                assertThat(str, NlsCase.upper(str, sort), equalTo(str.toUpperCase(Locale.ENGLISH)));
+                assertThat(str, NlsCase.lower(str, sort), equalTo(str.toLowerCase(Locale.ENGLISH)));
+                final String initcap = NlsCase.initcap(forced, sort);
+                assertThat(str, NlsCase.initcap(str, sort),
+                        equalTo(initcap.substring(0, initcap.length() - 1)));
+            }
+        }
+    }
+
+    @Test
+    public void testSupplementaryLetters() {
+        assertThat(NlsCase.initcap("𐐨𐐨 𐐀𐐀", NlsSort.BINARY),
+                equalTo("𐐀𐐨 𐐀𐐨"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.text.Collator;
+import java.util.Locale;
+
+import org.junit.Test;
+
+public class NlsSortTest {
+
+    @Test
+    public void testCachedByName() {
+        assertSame(NlsSort.forName("XGERMAN_CI"), NlsSort.forName(" xGerman_ci "));
+        assertSame(NlsSort.BINARY, NlsSort.forName("binary"));
+        assertSame(NlsSort.BINARY, NlsSort.fromParams(null));
+        assertSame(NlsSort.BINARY, NlsSort.fromParams("NLS_DATE_LANGUAGE = GERMAN"));
+        assertSame(NlsSort.forName("FRENCH_M"), NlsSort.fromParams("NLS_SORT = French_M"));
+        assertSame(NlsSort.forName("FRENCH_M"), NlsSort.fromParams(new String("NLS_SORT = French_M")));
+        assertSame(NlsSort.BINARY, NlsSort.fromParams("NLS_DATE_LANGUAGE = GERMAN"));
+    }
+
+    @Test
+    public void testNames() {
+        assertTrue(NlsSort.forName("XTURKISH").isTurkic());
+        assertTrue(NlsSort.forName("XGERMAN_AI").isExtendedGerman());
+        assertTrue(NlsSort.forName("XDUTCH").isExtendedDutch());
+        NlsSort.forName("WEST_EUROPEAN");
+        NlsSort.forName("SCHINESE_PINYIN_M");
+        NlsSort.forName("JAPANESE_M");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknown() {
+        NlsSort.forName("XKLINGON");
+    }
+
+    /**
+     * The signed byte order of the keys is the order of the collator, and
+     * the code point order for BINARY.
+     */
+    @Test
+    public void testKeyOrder() {
+        final Collator collator = Collator.getInstance(Locale.FRANCE);
+        final String[] words = {"cote", "côte", "coté", "côté", "Cote", "zèbre", "中", "𠀋", "a", ""};
+        final NlsSort sort = NlsSort.forName("FRENCH");
+        for (final String a : words) {
+            for (final String b : words) {
+                assertThat(a + " " + b, Integer.signum(compare(sort.key(a), sort.key(b))),
+                        equalTo(Integer.signum(collator.compare(a, b))));
+                assertThat(a + " " + b, Integer.signum(compare(NlsSort.BINARY.key(a), NlsSort.BINARY.key(b))),
+                        equalTo(Integer.signum(compareCodePoints(a, b))));
+            }
+        }
+    }
+
+    private static int compareCodePoints(final String a, final String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            final int ca = a.codePointAt(i);
+            final int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return ca < cb ? -1 : 1;
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return (a.length() - i) - (b.length() - j);
+    }
+
+    private static int compare(final byte[] a, final byte[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return a.length - b.length;
+    }
+}
@@ -0,0 +1,46 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.text.Normalizer;
+
+import org.junit.Test;
+
+public class NormalizationTest {
+
+    @Test
+    public void testQuickCheckBounds() {
+        for (final Normalizer.Form form : Normalizer.Form.values()) {
+            final StringBuilder sb = new StringBuilder();
+            for (char c = 0; Normalization.isQuickNormalized(String.valueOf(c), form); c++) {
+                sb.append(c);
+            }
+            assertTrue(form.name(), sb.length() >= 0x80);
+            final String all = sb.toString();
+            assertTrue(form.name(), Normalizer.isNormalized(all, form));
+            assertTrue(form.name(), Normalization.isQuickNormalized(all, form));
+        }
+    }
+
+    @Test
+    public void testQuickCheckRejects() {
+        assertThat(Normalization.isQuickNormalized("à", Normalizer.Form.NFC), equalTo(false));
+        assertThat(Normalization.isQuickNormalized("à", Normalizer.Form.NFD), equalTo(false));
+        assertThat(Normalization.isQuickNormalized(" ", Normalizer.Form.NFKD), equalTo(false));
+        assertThat(Normalization.isQuickNormalized("à", Normalizer.Form.NFC), equalTo(true));
+    }
+
+    @Test
+    public void testLongStringsAreNotCached() {
+        final StringBuilder sb = new StringBuilder();
+        while (sb.length() <= Normalization.MAX_CACHED_LENGTH) {
+            sb.append("à");
+        }
+        final String decomposed = sb.toString();
+        final String composed = Normalization.normalize(decomposed, Normalizer.Form.NFC);
+        assertThat(composed, equalTo(Normalizer.normalize(decomposed, Normalizer.Form.NFC)));
+        assertTrue(composed != Normalization.normalize(decomposed, Normalizer.Form.NFC));
+    }
+}
@@ -0,0 +1,168 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NumberFormatModelTest {
+
+    private static final NumberSymbols US =
+            NumberSymbols.of("NLS_NUMERIC_CHARACTERS = '.,' NLS_CURRENCY = '$' NLS_ISO_CURRENCY = USD");
+
+    private static final NumberSymbols GERMANY =
+            NumberSymbols.of("NLS_NUMERIC_CHARACTERS = ',.' NLS_CURRENCY = '€' NLS_ISO_CURRENCY = EUR");
+
+    private static BigDecimal parse(final String text, final String fmt) {
+        return NumberFormatModel.of(fmt, US).parseDecimal(text);
+    }
+
+    private static void assertInvalid(final String text, final String fmt) {
+        try {
+            parse(text, fmt);
+            fail(text + " matches " + fmt);
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDefaultFormat() {
+        final String fmt = NumberFormatModel.DEFAULT_FORMAT;
+        assertThat(parse("123", fmt), equalTo(new BigDecimal("123")));
+        assertThat(parse(" -12.50 ", fmt), equalTo(new BigDecimal("-12.50")));
+        assertThat(parse("+.5", fmt), equalTo(new BigDecimal("0.5")));
+        assertThat(parse("7.", fmt), equalTo(new BigDecimal("7")));
+        assertThat(parse("1.5E3", fmt), equalTo(new BigDecimal("1500")));
+        assertThat(parse("25e-2", fmt), equalTo(new BigDecimal("0.25")));
+        assertThat(parse("0000000000000000000000001", fmt), equalTo(BigDecimal.ONE));
+        assertInvalid("", fmt);
+        assertInvalid("-", fmt);
+        assertInvalid("1,000", fmt);
+        assertInvalid("1.2.3", fmt);
+        assertInvalid("12a", fmt);
+        assertInvalid("1E", fmt);
+    }
+
+    @Test
+    public void testLongNumbers() {
+        final String fmt = NumberFormatModel.DEFAULT_FORMAT;
+        assertThat(parse("999999999999999999", fmt), equalTo(new BigDecimal("999999999999999999")));
+        assertThat(parse("1234567890123456789012345.678", fmt),
+                equalTo(new BigDecimal("1234567890123456789012345.678")));
+        assertThat(parse("-0.00000000000000000000001234567890123456789", fmt),
+                equalTo(new BigDecimal("-0.00000000000000000000001234567890123456789")));
+    }
+
+    @Test
+    public void testDigitsAndSeparators() {
+        assertThat(parse("1,234.50", "999G999D99"), equalTo(new BigDecimal("1234.50")));
+        assertThat(parse("1234.5", "9,999.99"), equalTo(new BigDecimal("1234.5")));
+        assertThat(parse("012", "0999"), equalTo(new BigDecimal("12")));
+        assertInvalid("12345", "9999");
+        assertInvalid("1.234", "9.99");
+        assertInvalid("1,2,3", "9.99");
+        assertThat(NumberFormatModel.of("999G999D99", GERMANY).parseDecimal("1.234,5"),
+                equalTo(new BigDecimal("1234.5")));
+        assertThat(NumberFormatModel.of("9,999.99", GERMANY).parseDecimal("1,234.5"),
+                equalTo(new BigDecimal("1234.5")));
+    }
+
+    @Test
+    public void testSigns() {
+        assertThat(parse("-123", "S999"), equalTo(new BigDecimal("-123")));
+        assertThat(parse("+123", "S999"), equalTo(new BigDecimal("123")));
+        assertThat(parse("123-", "999S"), equalTo(new BigDecimal("-123")));
+        assertThat(parse("123-", "999MI"), equalTo(new BigDecimal("-123")));
+        assertThat(parse("123 ", "999MI"), equalTo(new BigDecimal("123")));
+        assertThat(parse("<123>", "999PR"), equalTo(new BigDecimal("-123")));
+        assertThat(parse("123", "999PR"), equalTo(new BigDecimal("123")));
+        // without a sign element only a leading minus, as TO_CHAR prints it
+        assertThat(parse("-123", "999"), equalTo(new BigDecimal("-123")));
+        assertInvalid("+123", "999");
+        assertInvalid("-123", "999MI");
+        assertInvalid("-FF", "XX");
+    }
+
+    @Test
+    public void testCurrencies() {
+        assertThat(parse("$1,234.56", "$9,999.99"), equalTo(new BigDecimal("1234.56")));
+        assertThat(parse("USD12", "C99"), equalTo(new BigDecimal("12")));
+        assertThat(NumberFormatModel.of("L9G999D99", GERMANY).parseDecimal("€1.234,56"),
+                equalTo(new BigDecimal("1234.56")));
+        assertThat(NumberFormatModel.of("9G999D99L", GERMANY).parseDecimal("1.234,56€"),
+                equalTo(new BigDecimal("1234.56")));
+    }
+
+    @Test
+    public void testHex() {
+        assertThat(parse("FF", "XX"), equalTo(new BigDecimal(255)));
+        assertThat(parse("ff", "FMXXXX"), equalTo(new BigDecimal(255)));
+        assertThat(parse("0a", "0X"), equalTo(new BigDecimal(10)));
+        assertThat(parse("FFFFFFFFFFFFFFFFFFFF", "XXXXXXXXXXXXXXXXXXXX"),
+                equalTo(new BigDecimal(new BigInteger("FFFFFFFFFFFFFFFFFFFF", 16))));
+        assertInvalid("FFF", "XX");
+        assertInvalid("FG", "XX");
+    }
+
+    @Test
+    public void testExponent() {
+        assertThat(parse("1.5E+03", "9.9EEEE"), equalTo(new BigDecimal("1500")));
+        assertThat(parse("1.5E-03", "9.9EEEE"), equalTo(new BigDecimal("0.0015")));
+    }
+
+    @Test
+    public void testInvalidFormats() {
+        final String[] formats = {"9D9D9", "9.99,9", "S99S", "XX9", "9V99", "9G9EEEE", "99S9", "Q"};
+        for (final String fmt : formats) {
+            try {
+                NumberFormatModel.of(fmt, US);
+                fail(fmt);
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testCached() {
+        assertSame(NumberFormatModel.of("999D99", US), NumberFormatModel.of("999D99", US));
+        assertSame(NumberSymbols.of("NLS_NUMERIC_CHARACTERS = ',.'"),
+                NumberSymbols.of("NLS_NUMERIC_CHARACTERS = ',.'"));
+    }
+
+    @Test
+    public void testDoubleAndFloatRoundOnce() {
+        final NumberFormatModel model = NumberFormatModel.of(NumberFormatModel.DEFAULT_FORMAT, US);
+        final Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            final long unscaled = random.nextLong() >>> random.nextInt(64);
+            final int scale = random.nextInt(60) - 30;
+            final String text = BigDecimal.valueOf(unscaled, scale).toString();
+            assertThat(text, model.parseDouble(text), equalTo(Double.parseDouble(text)));
+            assertThat(text, model.parseFloat(text), equalTo(Float.parseFloat(text)));
+        }
+        assertThat(model.parseDouble("0.1"), equalTo(0.1));
+        assertThat(model.parseDouble("-0"), equalTo(-0.0));
+        assertThat(model.parseFloat("3.4028235E38"), equalTo(Float.MAX_VALUE));
+        // a large exponent is converted without expanding the integer
+        assertThat(model.parseDouble("1.7976931348623157E308"), equalTo(Double.MAX_VALUE));
+        assertThat(model.parseDouble("-1E300"), equalTo(-1E300));
+    }
+
+    @Test
+    public void testInvalidNumericCharacters() {
+        try {
+            NumberSymbols.of("NLS_NUMERIC_CHARACTERS = '..'");
+            fail();
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
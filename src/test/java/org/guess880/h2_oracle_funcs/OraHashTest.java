@@ -0,0 +1,63 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+public class OraHashTest {
+
+    @Test
+    public void testMurmurHash3Vectors() throws Exception {
+        assertThat(OraHash.hash(new byte[0], 0), equalTo(0));
+        assertThat(OraHash.hash(new byte[0], 1), equalTo(0x514E28B7));
+        assertThat(OraHash.hash(new byte[0], 0xffffffff), equalTo(0x81F16F39));
+        assertThat(OraHash.hash(new byte[4], 0), equalTo(0x2362F9DE));
+        assertThat(OraHash.hash("aaaa".getBytes("US-ASCII"), 0x9747b28c), equalTo(0x5A97808A));
+        assertThat(OraHash.hash("Hello, world!".getBytes("US-ASCII"), 0x9747b28c), equalTo(0x24884CBA));
+    }
+
+    @Test
+    public void testEqualNumbersHashTheSame() {
+        final int h = OraHash.hash(10L, 0);
+        assertThat(OraHash.hash(new BigDecimal("10"), 0), equalTo(h));
+        assertThat(OraHash.hash(new BigDecimal("10.000"), 0), equalTo(h));
+        assertThat(OraHash.hash(new BigDecimal("1E+1"), 0), equalTo(h));
+        assertThat(OraHash.hash(new BigDecimal("0.250"), 0), equalTo(OraHash.hash(new BigDecimal("0.25"), 0)));
+        assertThat(OraHash.hash(new BigDecimal("1E+30"), 0),
+                equalTo(OraHash.hash(new BigDecimal("1000000000000000000000000000000.0"), 0)));
+        assertThat(OraHash.hash(new BigDecimal("0.00"), 0), equalTo(OraHash.hash(0L, 0)));
+        assertThat(OraHash.hash(new java.sql.Date(86400000L), 0),
+                equalTo(OraHash.hash(new Timestamp(86400000L), 0)));
+    }
+
+    /**
+     * Chi-squared of sequential ids and of strings over 16 buckets stays far
+     * below 37.7, the 0.1% critical value for 15 degrees of freedom.
+     */
+    @Test
+    public void testDistribution() {
+        final int n = 160000;
+        final long[] ids = new long[16];
+        final long[] strings = new long[16];
+        for (int i = 0; i < n; i++) {
+            ids[(int) OraHash.bucket(OraHash.hash(i, 0), 15)]++;
+            strings[(int) OraHash.bucket(OraHash.hash("customer-" + i, 0), 15)]++;
+        }
+        assertTrue(chiSquared(ids, n) < 37.7);
+        assertTrue(chiSquared(strings, n) < 37.7);
+    }
+
+    private static double chiSquared(final long[] counts, final int n) {
+        final double expected = (double) n / counts.length;
+        double sum = 0;
+        for (final long count : counts) {
+            sum += (count - expected) * (count - expected) / expected;
+        }
+        return sum;
+    }
+}
@@ -1,19 +1,33 @@
 package org.guess880.h2_oracle_funcs;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.TimeZone;
 
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDateTime;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -46,6 +60,13 @@ public class OracleFunctionsTest {
     public void testAddMonths() {
         assertThat(OracleFunctions.addMonths(new Date(2000, 11, 1), 1), equalTo(new Date(2001, 0, 1)));
         assertThat(OracleFunctions.addMonths(new Date(2000, 0, 1), -1), equalTo(new Date(1999, 11, 1)));
+        assertThat(OracleFunctions.addMonths(new LocalDateTime(2000, 1, 31, 0, 0).toDate(), 1),
+                equalTo(new LocalDateTime(2000, 2, 29, 0, 0).toDate()));
+        assertThat(OracleFunctions.addMonths(new LocalDateTime(2000, 2, 29, 0, 0).toDate(), 1),
+                equalTo(new LocalDateTime(2000, 3, 31, 0, 0).toDate()));
+        assertThat(OracleFunctions.addMonths(new LocalDateTime(2000, 2, 29, 12, 34, 56).toDate(), 12),
+                equalTo(new LocalDateTime(2001, 2, 28, 12, 34, 56).toDate()));
+        assertNull(OracleFunctions.addMonths(null, 1));
     }
 
     @Test
@@ -101,6 +122,37 @@ public class OracleFunctionsTest {
     @Test
     public void testBinToNum() {
         assertThat(OracleFunctions.binToNum(1, 0, 1, 0), equalTo(10L));
+        assertThat(OracleFunctions.binToNum(1), equalTo(1L));
+        assertThat(OracleFunctions.binToNum(1, 1, 0, 0, 1, 0, 1, 1), equalTo(203L));
+        assertThat(OracleFunctions.binToNum(1, 1, 0, 0, 1, 0, 1, 1, 1), equalTo(407L));
+        final int[] bits = new int[63];
+        Arrays.fill(bits, 1);
+        assertThat(OracleFunctions.binToNum(bits), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinToNumIllegalBit() {
+        OracleFunctions.binToNum(1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBinToNumOverflow() {
+        final int[] bits = new int[64];
+        bits[0] = 1;
+        OracleFunctions.binToNum(bits);
+    }
+
+    @Test
+    public void testBinToNumDecimal() {
+        assertThat(OracleFunctions.binToNumDecimal(1, 0, 1, 0), equalTo(BigDecimal.TEN));
+        final int[] bits = new int[100];
+        Arrays.fill(bits, 1);
+        assertThat(OracleFunctions.binToNumDecimal(bits),
+                equalTo(new BigDecimal(BigInteger.ONE.shiftLeft(100).subtract(BigInteger.ONE))));
+        bits[0] = 0;
+        bits[99] = 0;
+        assertThat(OracleFunctions.binToNumDecimal(bits),
+                equalTo(new BigDecimal(BigInteger.ONE.shiftLeft(98).subtract(BigInteger.ONE).shiftLeft(1))));
     }
 
     @Test
@@ -108,9 +160,11 @@ public class OracleFunctionsTest {
         final Statement stmt = con.createStatement();
         try {
             stmt.execute("CREATE ALIAS BIN_TO_NUM FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.binToNum\"");
-            ResultSet rs = stmt.executeQuery("CALL BIN_TO_NUM(1, 0, 1, 0)");
+            ResultSet rs = stmt.executeQuery("SELECT BIN_TO_NUM(1, 0, 1, 0), BIN_TO_NUM(1), BIN_TO_NUM(1, 0, 0, 0, 0, 0, 0, 0, 1) FROM dual");
             if (rs.next()) {
                 assertThat(rs.getLong(1), equalTo(10L));
+                assertThat(rs.getLong(2), equalTo(1L));
+                assertThat(rs.getLong(3), equalTo(257L));
             } else {
                 fail("dual has no record.");
             }
@@ -122,6 +176,7 @@ public class OracleFunctionsTest {
     @Test
     public void testCompose() {
         assertThat(OracleFunctions.compose("o" + '\u0308'), equalTo("ö"));
+        assertNull(OracleFunctions.compose(null));
     }
 
     @Test
@@ -177,26 +232,322 @@ public class OracleFunctionsTest {
         }
     }
 
-//    @Test
-//    public void testDecompose() {
-//        assertThat(OracleFunctions.decompose("Châteaux"), equalTo("Cha^teaux"));
-//    }
+    @Test
+    public void testSessionTimeZone() throws Exception {
+        final TimeZone defTZ = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            assertThat(OracleFunctions.sessionTimeZone(), equalTo("+00:00"));
+            assertThat(TimeZoneContext.sessionTimeZone(con), equalTo("+00:00"));
+            TimeZoneContext.setSessionTimeZone(con, "-5:00");
+            assertThat(TimeZoneContext.sessionTimeZone(con), equalTo("-05:00"));
+            TimeZoneContext.setSessionTimeZone(con, "Europe/London");
+            assertThat(TimeZoneContext.sessionTimeZone(con), equalTo("Europe/London"));
+            TimeZoneContext.setSessionTimeZone(con, "LOCAL");
+            assertThat(TimeZoneContext.sessionTimeZone(con), equalTo("+00:00"));
+        } finally {
+            TimeZoneContext.setSessionTimeZone(con, null);
+            TimeZone.setDefault(defTZ);
+        }
+    }
 
-//    @Test
-//    public void testItDeompose() throws Exception {
-//        final Statement stmt = con.createStatement();
-//        try {
-//            stmt.execute("CREATE ALIAS DECOMPOSE FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.decompose\"");
-//            ResultSet rs = stmt.executeQuery("SELECT DECOMPOSE('Châteaux') FROM dual");
-//            if (rs.next()) {
-//                assertThat(rs.getString(1), equalTo("Cha^teaux"));
-//            } else {
-//                fail("dual has no record.");
-//            }
-//        } finally {
-//            stmt.close();
-//        }
-//    }
+    @Test(expected = IllegalArgumentException.class)
+    public void testSessionTimeZoneIllegal() throws Exception {
+        TimeZoneContext.setSessionTimeZone(con, "+25:00");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSessionTimeZoneBlank() throws Exception {
+        TimeZoneContext.setSessionTimeZone(con, " ");
+    }
+
+    @Test
+    public void testItSessionTimeZone() throws Exception {
+        final Connection con1 = DriverManager.getConnection("jdbc:h2:mem:session_tz");
+        final Connection con2 = DriverManager.getConnection("jdbc:h2:mem:session_tz");
+        try {
+            final Statement stmt1 = con1.createStatement();
+            final Statement stmt2 = con2.createStatement();
+            try {
+                stmt1.execute("CREATE ALIAS SESSIONTIMEZONE FOR \"org.guess880.h2_oracle_funcs.DateTimeFunctions.sessionTimeZone\"");
+                stmt1.execute("CREATE ALIAS SET_SESSION_TIME_ZONE FOR \"org.guess880.h2_oracle_funcs.TimeZoneContext.setSessionTimeZone\"");
+                stmt1.execute("CALL SET_SESSION_TIME_ZONE('+09:00')");
+                stmt2.execute("CALL SET_SESSION_TIME_ZONE('America/New_York')");
+                ResultSet rs = stmt1.executeQuery("CALL SESSIONTIMEZONE()");
+                if (rs.next()) {
+                    assertThat(rs.getString(1), equalTo("+09:00"));
+                } else {
+                    fail("dual has no record.");
+                }
+                rs = stmt2.executeQuery("CALL SESSIONTIMEZONE()");
+                if (rs.next()) {
+                    assertThat(rs.getString(1), equalTo("America/New_York"));
+                } else {
+                    fail("dual has no record.");
+                }
+                assertThat(TimeZoneContext.sessionTimeZone(con1), equalTo("+09:00"));
+            } finally {
+                stmt1.close();
+                stmt2.close();
+            }
+        } finally {
+            con1.close();
+            con2.close();
+        }
+    }
+
+    @Test
+    public void testSysGuid() {
+        final byte[] guid1 = OracleFunctions.sysGuid();
+        final byte[] guid2 = OracleFunctions.sysGuid();
+        assertThat(guid1.length, equalTo(16));
+        assertThat(Arrays.copyOf(guid2, 8), equalTo(Arrays.copyOf(guid1, 8)));
+        assertThat(new BigInteger(1, Arrays.copyOfRange(guid2, 8, 16)),
+                equalTo(new BigInteger(1, Arrays.copyOfRange(guid1, 8, 16)).add(BigInteger.ONE)));
+        final String hex = OracleFunctions.sysGuidHex();
+        assertThat(hex.matches("[0-9A-F]{32}"), equalTo(true));
+        assertThat(hex.substring(0, 16), equalTo(String.format("%016X", new BigInteger(1, Arrays.copyOf(guid1, 8)))));
+    }
+
+    @Test
+    public void testSysGuidThreads() throws Exception {
+        final int threads = 8;
+        final int count = SysGuid.BLOCK_SIZE + 1000;
+        final Set<String> guids = Collections.synchronizedSet(new HashSet<String>());
+        final Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread() {
+                @Override
+                public void run() {
+                    final Set<String> local = new HashSet<String>();
+                    for (int j = 0; j < count; j++) {
+                        local.add(OracleFunctions.sysGuidHex());
+                    }
+                    guids.addAll(local);
+                }
+            };
+            workers[i].start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertThat(guids.size(), equalTo(threads * count));
+    }
+
+    @Test
+    public void testItSysGuid() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS ORA_SYS_GUID FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.sysGuid\"");
+            stmt.execute("CREATE TABLE guids (id RAW(16) DEFAULT ORA_SYS_GUID() PRIMARY KEY, val INT)");
+            stmt.execute("INSERT INTO guids (val) VALUES (1)");
+            stmt.execute("INSERT INTO guids (val) VALUES (2)");
+            final ResultSet rs = stmt.executeQuery("SELECT COUNT(DISTINCT id), MAX(LENGTH(id)) FROM guids");
+            if (rs.next()) {
+                assertThat(rs.getInt(1), equalTo(2));
+                assertThat(rs.getInt(2), equalTo(16));
+            } else {
+                fail("guids has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testDecompose() {
+        assertThat(OracleFunctions.decompose("Ch\u00e2teaux"), equalTo("Cha\u0302teaux"));
+        assertThat(OracleFunctions.decompose("Ch\u00e2teaux", "canonical"), equalTo("Cha\u0302teaux"));
+        assertThat(OracleFunctions.decompose("\ufb01\u00b2", "CANONICAL"), equalTo("\ufb01\u00b2"));
+        assertThat(OracleFunctions.decompose("\ufb01\u00b2", "COMPATIBILITY"), equalTo("fi2"));
+        assertNull(OracleFunctions.decompose(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecomposeIllegalType() {
+        OracleFunctions.decompose("a", "NFC");
+    }
+
+    @Test
+    public void testNormalizedIsSameInstance() {
+        final String ascii = new String("Chateaux");
+        assertSame(ascii, OracleFunctions.compose(ascii));
+        assertSame(ascii, OracleFunctions.decompose(ascii, "COMPATIBILITY"));
+        final String composed = new String("Ch\u00e2teaux \u4e2d\u6587");
+        assertSame(composed, OracleFunctions.compose(composed));
+        final String decomposed = new String("Cha\u0302teaux");
+        assertSame(decomposed, OracleFunctions.decompose(decomposed));
+        assertThat(OracleFunctions.compose(decomposed), equalTo("Ch\u00e2teaux"));
+        // cached
+        assertSame(OracleFunctions.compose(decomposed), OracleFunctions.compose(decomposed));
+    }
+
+    @Test
+    public void testItDecompose() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS DECOMPOSE FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.decompose\"");
+            ResultSet rs = stmt.executeQuery("SELECT DECOMPOSE('Ch\u00e2teaux'), DECOMPOSE(STRINGDECODE('\\ufb01'), 'COMPATIBILITY') FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getString(1), equalTo("Cha\u0302teaux"));
+                assertThat(rs.getString(2), equalTo("fi"));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testInitcap() {
+        assertThat(OracleFunctions.initcap("the soap"), equalTo("The Soap"));
+        assertThat(OracleFunctions.initcap("hELLO wORLD-fOO_bar 1st"), equalTo("Hello World-Foo_Bar 1st"));
+        assertThat(OracleFunctions.initcap("\u00e9t\u00c9 \u00e0 paris"), equalTo("\u00c9t\u00e9 \u00c0 Paris"));
+        final String unchanged = new String("Already Capitalized");
+        assertSame(unchanged, OracleFunctions.initcap(unchanged));
+        assertNull(OracleFunctions.initcap(null));
+    }
+
+    @Test
+    public void testNlsInitcap() {
+        assertThat(OracleFunctions.nlsInitcap("ijsland"), equalTo("Ijsland"));
+        assertThat(OracleFunctions.nlsInitcap("ijsland", "NLS_SORT = XDutch"), equalTo("IJsland"));
+        assertThat(OracleFunctions.nlsInitcap("istanbul izmir", "NLS_SORT = XTURKISH"),
+                equalTo("\u0130stanbul \u0130zmir"));
+        assertNull(OracleFunctions.nlsInitcap(null, "NLS_SORT = XDutch"));
+    }
+
+    @Test
+    public void testNlsUpperLower() {
+        assertThat(OracleFunctions.nlsUpper("gro\u00dfe"), equalTo("GRO\u00dfE"));
+        assertThat(OracleFunctions.nlsUpper("gro\u00dfe", "NLS_SORT = XGerman"), equalTo("GROSSE"));
+        assertThat(OracleFunctions.nlsUpper("i\u0131", "NLS_SORT = XTurkish"), equalTo("\u0130I"));
+        assertThat(OracleFunctions.nlsUpper("abc\uD801\uDC28"), equalTo("ABC\uD801\uDC00"));
+        assertThat(OracleFunctions.nlsLower("NOKTASINDA", "NLS_SORT = XTurkish"), equalTo("noktas\u0131nda"));
+        assertThat(OracleFunctions.nlsLower("NOKTASINDA"), equalTo("noktasinda"));
+        final String lower = new String("lower");
+        assertSame(lower, OracleFunctions.nlsLower(lower));
+        assertNull(OracleFunctions.nlsUpper(null));
+        assertNull(OracleFunctions.nlsLower(null, "NLS_SORT = XTurkish"));
+    }
+
+    @Test
+    public void testNlssort() {
+        assertTrue(compare(OracleFunctions.nlssort("a"), OracleFunctions.nlssort("B")) > 0);
+        assertTrue(compare(OracleFunctions.nlssort("a", "NLS_SORT = GERMAN"),
+                OracleFunctions.nlssort("B", "NLS_SORT = GERMAN")) < 0);
+        assertTrue(compare(OracleFunctions.nlssort("\u00e4", "NLS_SORT = GERMAN"),
+                OracleFunctions.nlssort("b", "NLS_SORT = GERMAN")) < 0);
+        assertTrue(Arrays.equals(OracleFunctions.nlssort("Abc", "NLS_SORT = BINARY_CI"),
+                OracleFunctions.nlssort("aBC", "NLS_SORT = BINARY_CI")));
+        assertTrue(Arrays.equals(OracleFunctions.nlssort("\u00c4bc", "NLS_SORT = GERMAN_AI"),
+                OracleFunctions.nlssort("abc", "NLS_SORT = GERMAN_AI")));
+        assertFalse(Arrays.equals(OracleFunctions.nlssort("\u00c4bc", "NLS_SORT = GERMAN_CI"),
+                OracleFunctions.nlssort("abc", "NLS_SORT = GERMAN_CI")));
+        assertNull(OracleFunctions.nlssort(null, "NLS_SORT = GERMAN"));
+    }
+
+    /**
+     * Compares as H2 does, byte by byte as signed numbers.
+     */
+    private static int compare(final byte[] a, final byte[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNlssortUnknownSort() {
+        OracleFunctions.nlssort("a", "NLS_SORT = KLINGON");
+    }
+
+    @Test
+    public void testOraHash() {
+        final long hash = OracleFunctions.oraHash("ETL");
+        assertTrue(hash >= 0 && hash <= 4294967295L);
+        assertThat(OracleFunctions.oraHash("ETL", 4294967295L, 0), equalTo(hash));
+        assertTrue(OracleFunctions.oraHash("ETL", 4294967295L, 1) != hash);
+        for (int i = 0; i < 1000; i++) {
+            final long bucket = OracleFunctions.oraHash(String.valueOf(i), 15);
+            assertTrue(bucket >= 0 && bucket <= 15);
+        }
+        assertThat(OracleFunctions.oraHash("ETL", 0), equalTo(0L));
+        assertThat(OracleFunctions.oraHash(null, 15), equalTo(0L));
+        assertThat(OracleFunctions.oraHashNumber(new BigDecimal("2.50"), 1000, 7),
+                equalTo(OracleFunctions.oraHashNumber(new BigDecimal("2.5"), 1000, 7)));
+        assertThat(OracleFunctions.oraHashNumber(null, 1000, 7), equalTo(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOraHashIllegalMaxBucket() {
+        OracleFunctions.oraHash("a", 4294967296L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOraHashIllegalSeed() {
+        OracleFunctions.oraHash("a", 15, -1);
+    }
+
+    @Test
+    public void testItOraHash() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS ORA_HASH FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.oraHash\"");
+            stmt.execute("CREATE TABLE orders (id INT, amount DECIMAL(10, 2), note VARCHAR, day DATE, raw BINARY)");
+            stmt.execute("INSERT INTO orders SELECT X, X / 4, 'note' || X, DATEADD('DAY', X, DATE '2000-01-01'),"
+                    + " STRINGTOUTF8('raw' || X) FROM SYSTEM_RANGE(1, 1000)");
+            ResultSet rs = stmt.executeQuery("SELECT ORA_HASH(id, 15) slice, COUNT(*) FROM orders GROUP BY slice");
+            long total = 0;
+            while (rs.next()) {
+                assertTrue(rs.getLong(1) >= 0 && rs.getLong(1) <= 15);
+                total += rs.getLong(2);
+            }
+            assertThat(total, equalTo(1000L));
+            stmt.execute("CREATE ALIAS ORA_HASH_NUMBER FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.oraHashNumber\"");
+            stmt.execute("CREATE ALIAS ORA_HASH_BINARY FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.oraHashBinary\"");
+            stmt.execute("CREATE ALIAS ORA_HASH_DATE FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.oraHashDate\"");
+            rs = stmt.executeQuery("SELECT ORA_HASH(id), ORA_HASH(note, 99, 5), ORA_HASH_NUMBER(id, 99, 5),"
+                    + " ORA_HASH_NUMBER(amount, 99, 5), ORA_HASH_BINARY(raw, 7, 0), ORA_HASH_DATE(day, 7, 0)"
+                    + " FROM orders WHERE id = 4");
+            if (rs.next()) {
+                assertThat(rs.getLong(1), equalTo(OracleFunctions.oraHash("4")));
+                assertThat(rs.getLong(2), equalTo(OracleFunctions.oraHash("note4", 99, 5)));
+                assertThat(rs.getLong(3), equalTo(OracleFunctions.oraHashNumber(new BigDecimal(4), 99, 5)));
+                assertThat(rs.getLong(4), equalTo(OracleFunctions.oraHashNumber(BigDecimal.ONE, 99, 5)));
+                assertThat(rs.getLong(5), equalTo(OracleFunctions.oraHashBinary(new byte[] {'r', 'a', 'w', '4'}, 7, 0)));
+                assertThat(rs.getLong(6), equalTo(OracleFunctions.oraHashDate(
+                        new Timestamp(new DateTime(2000, 1, 5, 0, 0).getMillis()), 7, 0)));
+            } else {
+                fail("no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testItNlssort() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS NLSSORT FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.nlssort\"");
+            stmt.execute("CREATE ALIAS INITCAP FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.initcap\"");
+            stmt.execute("CREATE TABLE words (w VARCHAR)");
+            stmt.execute("INSERT INTO words VALUES ('zebra'), ('\u00c4pfel'), ('apfel'), ('Birne'), ('\u00e4rger')");
+            final ResultSet rs = stmt.executeQuery(
+                    "SELECT INITCAP(w) FROM words ORDER BY NLSSORT(w, 'NLS_SORT = GERMAN'), w");
+            final List<String> words = new ArrayList<String>();
+            while (rs.next()) {
+                words.add(rs.getString(1));
+            }
+            assertThat(words, equalTo(Arrays.asList("Apfel", "\u00c4pfel", "\u00c4rger", "Birne", "Zebra")));
+        } finally {
+            stmt.close();
+        }
+    }
 
     @Test
     public void testLastDay() {
@@ -246,7 +597,7 @@ public class OracleFunctionsTest {
         assertThat(OracleFunctions.monthsBetween(
                 new Date(new DateTime(1995, 2, 2, 0, 0).getMillis()),
                 new Date(new DateTime(1995, 1, 1, 0, 0).getMillis())),
-                equalTo(1.03225806));
+                equalTo(1 + 1 / 31d));
         assertThat(OracleFunctions.monthsBetween(
                 new Date(new DateTime(1995, 2, 28, 0, 0).getMillis()),
                 new Date(new DateTime(1995, 1, 31, 0, 0).getMillis())),
@@ -255,6 +606,29 @@ public class OracleFunctionsTest {
                 new Date(new DateTime(1994, 12, 31, 0, 0).getMillis()),
                 new Date(new DateTime(1995, 1, 31, 0, 0).getMillis())),
                 equalTo(-1.0));
+        assertThat(OracleFunctions.monthsBetween(
+                new Date(new DateTime(1995, 2, 2, 12, 0).getMillis()),
+                new Date(new DateTime(1995, 1, 1, 0, 0).getMillis())),
+                equalTo(1 + 1.5 / 31));
+        assertThat(OracleFunctions.monthsBetween(
+                new Date(new DateTime(1995, 2, 15, 6, 0).getMillis()),
+                new Date(new DateTime(1995, 1, 15, 18, 0).getMillis())),
+                equalTo(1.0));
+        assertNull(OracleFunctions.monthsBetween(null, new Date()));
+        assertNull(OracleFunctions.monthsBetween(new Date(), null));
+    }
+
+    @Test
+    public void testMonthsBetweenDecimal() {
+        assertThat(OracleFunctions.monthsBetweenDecimal(
+                new Date(new DateTime(1995, 2, 2, 0, 0).getMillis()),
+                new Date(new DateTime(1995, 1, 1, 0, 0).getMillis())),
+                equalTo(new BigDecimal("1.0322580645161290322580645161290322581")));
+        assertThat(OracleFunctions.monthsBetweenDecimal(
+                new Date(new DateTime(1995, 2, 28, 0, 0).getMillis()),
+                new Date(new DateTime(1995, 1, 31, 0, 0).getMillis())),
+                equalTo(BigDecimal.ONE));
+        assertNull(OracleFunctions.monthsBetweenDecimal(null, new Date()));
     }
 
     @Test
@@ -269,7 +643,7 @@ public class OracleFunctionsTest {
                     " MONTH_BETWEEN(PARSEDATETIME('19941231', 'yyyyMMdd'), PARSEDATETIME('19950131', 'yyyyMMdd'))" +
                     " FROM dual");
             if (rs.next()) {
-                assertThat(rs.getDouble(1), equalTo(1.03225806));
+                assertThat(rs.getDouble(1), equalTo(1 + 1 / 31d));
                 assertThat(rs.getDouble(2), equalTo(1.0));
                 assertThat(rs.getDouble(3), equalTo(-1.0));
             } else {
@@ -280,12 +654,96 @@ public class OracleFunctionsTest {
         }
     }
 
-//    @Test
-//    public void testNewTime() {
-//        System.out.println(OracleFunctions.newTime(
-//                new DateTime(2009, 11, 10, 1, 23, 45, DateTimeZone.forID("America/Halifax")).toDate(),
-//                "America/Los_Angeles", "America/Halifax"));
-//    }
+    @Test
+    public void testNewTime() {
+        assertThat(OracleFunctions.newTime(new LocalDateTime(2009, 11, 10, 1, 23, 45).toDate(), "AST", "PST"),
+                equalTo(new LocalDateTime(2009, 11, 9, 21, 23, 45).toDate()));
+        assertThat(OracleFunctions.newTime(new LocalDateTime(2009, 11, 10, 1, 23, 45).toDate(), "nst", "GMT"),
+                equalTo(new LocalDateTime(2009, 11, 10, 4, 53, 45).toDate()));
+        assertThat(OracleFunctions.newTime(new LocalDateTime(2009, 11, 10, 1, 23, 45).toDate(),
+                "America/Los_Angeles", "America/Halifax"),
+                equalTo(new LocalDateTime(2009, 11, 10, 5, 23, 45).toDate()));
+        assertThat(OracleFunctions.newTime(new LocalDateTime(2009, 7, 10, 1, 23, 45).toDate(),
+                "Europe/London", "+09:00"),
+                equalTo(new LocalDateTime(2009, 7, 10, 9, 23, 45).toDate()));
+        assertNull(OracleFunctions.newTime(null, "AST", "PST"));
+        assertNull(OracleFunctions.newTime(new Date(), null, "PST"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewTimeUnknownZone() {
+        OracleFunctions.newTime(new Date(), "XST", "PST");
+    }
+
+    @Test
+    public void testFromTz() {
+        final Timestamp ts = Timestamp.valueOf("2009-10-15 13:35:29.123456789");
+        final Timestamp tokyo = new Timestamp(
+                new DateTime(2009, 10, 15, 13, 35, 29, DateTimeZone.forID("Asia/Tokyo")).getMillis());
+        tokyo.setNanos(123456789);
+        assertThat(OracleFunctions.fromTz(ts, "Asia/Tokyo"), equalTo(tokyo));
+        assertThat(OracleFunctions.fromTz(ts, "+09:00"), equalTo(tokyo));
+        assertNull(OracleFunctions.fromTz(null, "+09:00"));
+        assertNull(OracleFunctions.fromTz(ts, null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromTzDaylightSavingGap() {
+        // clocks in London went from 01:00 to 02:00 on 2009-03-29
+        OracleFunctions.fromTz(Timestamp.valueOf("2009-03-29 01:30:00"), "Europe/London");
+    }
+
+    @Test
+    public void testSysExtractUtc() {
+        final Timestamp ts = Timestamp.valueOf("2009-10-15 13:35:29.123456789");
+        assertThat(OracleFunctions.sysExtractUtc(OracleFunctions.fromTz(ts, "-05:00")),
+                equalTo(Timestamp.valueOf("2009-10-15 18:35:29.123456789")));
+        assertThat(OracleFunctions.sysExtractUtc(OracleFunctions.fromTz(ts, "America/New_York")),
+                equalTo(Timestamp.valueOf("2009-10-15 17:35:29.123456789")));
+        assertThat(OracleFunctions.sysExtractUtc(OracleFunctions.fromTz(ts, "UTC")), equalTo(ts));
+        assertNull(OracleFunctions.sysExtractUtc(null));
+    }
+
+    @Test
+    public void testTzOffset() {
+        assertThat(OracleFunctions.tzOffset("Asia/Tokyo"), equalTo("+09:00"));
+        assertThat(OracleFunctions.tzOffset("-3:30"), equalTo("-03:30"));
+        assertThat(OracleFunctions.tzOffset("nst"), equalTo("-03:30"));
+        assertThat(OracleFunctions.tzOffset(" UTC "), equalTo("+00:00"));
+        assertThat(OracleFunctions.tzOffset(OracleFunctions.dbTimeZone()),
+                equalTo(OracleFunctions.dbTimeZone()));
+        assertNull(OracleFunctions.tzOffset(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTzOffsetUnknownZone() {
+        OracleFunctions.tzOffset("Mars/Olympus_Mons");
+    }
+
+    @Test
+    public void testItTimeZones() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS NEW_TIME FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.newTime\"");
+            stmt.execute("CREATE ALIAS FROM_TZ FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.fromTz\"");
+            stmt.execute("CREATE ALIAS SYS_EXTRACT_UTC FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.sysExtractUtc\"");
+            stmt.execute("CREATE ALIAS TZ_OFFSET FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.tzOffset\"");
+            ResultSet rs = stmt.executeQuery("SELECT"
+                    + " NEW_TIME(TIMESTAMP '2009-11-10 01:23:45', 'EST', 'PST'),"
+                    + " SYS_EXTRACT_UTC(FROM_TZ(TIMESTAMP '2009-10-15 13:35:29.5', '+01:00')),"
+                    + " TZ_OFFSET('EDT')"
+                    + " FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getTimestamp(1), equalTo(Timestamp.valueOf("2009-11-09 22:23:45")));
+                assertThat(rs.getTimestamp(2), equalTo(Timestamp.valueOf("2009-10-15 12:35:29.5")));
+                assertThat(rs.getString(3), equalTo("-04:00"));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
 
     @Test
     public void testNextDay() {
@@ -295,18 +753,328 @@ public class OracleFunctionsTest {
             assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
                     0, 0).toDate(), "TUESDAY"), equalTo(new LocalDateTime(2009, 10, 20,
                     0, 0, 0).toDate()));
+            assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 12,
+                    34, 56).toDate(), "tue"), equalTo(new LocalDateTime(2009, 10, 20,
+                    12, 34, 56).toDate()));
+            assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
+                    0, 0).toDate(), "Tuesdayz"), equalTo(new LocalDateTime(2009, 10, 20,
+                    0, 0, 0).toDate()));
+            assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
+                    0, 0).toDate(), "thursday"), equalTo(new LocalDateTime(2009, 10, 22,
+                    0, 0, 0).toDate()));
+            // 1 is Sunday in the US
+            assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
+                    0, 0).toDate(), "3"), equalTo(new LocalDateTime(2009, 10, 20,
+                    0, 0, 0).toDate()));
             Locale.setDefault(Locale.JAPANESE);
             assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
                     0, 0).toDate(), "火"), equalTo(new LocalDateTime(2009, 10, 20,
                     0, 0, 0).toDate()));
+            assertThat(OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0,
+                    0, 0).toDate(), "火曜日"), equalTo(new LocalDateTime(2009, 10, 20,
+                    0, 0, 0).toDate()));
         } finally {
             Locale.setDefault(def);
         }
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testNextDayIllegalDay() {
+        Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            OracleFunctions.nextDay(new LocalDateTime(2009, 10, 15, 0, 0, 0).toDate(), "TU");
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testItNextDay() throws Exception {
+        Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            final Statement stmt = con.createStatement();
+            try {
+                stmt.execute("CREATE ALIAS NEXT_DAY FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.nextDay\"");
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT NEXT_DAY(PARSEDATETIME('20091015', 'yyyyMMdd'), 'TUESDAY') FROM dual");
+                if (rs.next()) {
+                    assertThat(rs.getDate(1).getTime(), equalTo(new DateTime(2009,
+                            10, 20, 0, 0).getMillis()));
+                } else {
+                    fail("dual has no record.");
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testToChar() {
+        Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            final Date date = new LocalDateTime(2009, 10, 15, 13, 5, 9).toDate();
+            assertThat(OracleFunctions.toChar(date), equalTo("15-OCT-09"));
+            assertThat(OracleFunctions.toChar(date, "YYYY-MM-DD HH24:MI:SS"), equalTo("2009-10-15 13:05:09"));
+            assertThat(OracleFunctions.toChar(date, "FMDay", "NLS_DATE_LANGUAGE = French"), equalTo("Jeudi"));
+            assertNull(OracleFunctions.toChar(null, "YYYY"));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testItToChar() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS TO_CHAR FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.toChar\"");
+            ResultSet rs = stmt.executeQuery(
+                    "SELECT TO_CHAR(PARSEDATETIME('20091015130509', 'yyyyMMddHHmmss'), 'YYYY/MM/DD HH:MI:SS AM') FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getString(1), equalTo("2009/10/15 01:05:09 PM"));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testToDate() {
+        Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertThat(OracleFunctions.toDate("15-OCT-09"), equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+            assertThat(OracleFunctions.toDate("2009-10-15 13:05:09", "YYYY-MM-DD HH24:MI:SS"),
+                    equalTo(new LocalDateTime(2009, 10, 15, 13, 5, 9).toDate()));
+            assertThat(OracleFunctions.toDate("15 janvier 2010", "DD MONTH YYYY", "NLS_DATE_LANGUAGE = 'FRENCH'"),
+                    equalTo(new LocalDateTime(2010, 1, 15, 0, 0).toDate()));
+            assertNull(OracleFunctions.toDate(null, "YYYY"));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testItToDate() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS TO_DATE FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.toDate\"");
+            ResultSet rs = stmt.executeQuery("SELECT TO_DATE('2009-10-15 13:05:09', 'YYYY-MM-DD HH24:MI:SS') FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getTimestamp(1).getTime(),
+                        equalTo(new LocalDateTime(2009, 10, 15, 13, 5, 9).toDate().getTime()));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testToNumber() {
+        final Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertThat(OracleFunctions.toNumber("-12.50"), equalTo(new BigDecimal("-12.50")));
+            assertThat(OracleFunctions.toNumber("1.5E3"), equalTo(new BigDecimal("1500")));
+            assertThat(OracleFunctions.toNumber("12345678901234567890.5"),
+                    equalTo(new BigDecimal("12345678901234567890.5")));
+            assertThat(OracleFunctions.toNumber("$1,234.50", "L999G999D99"), equalTo(new BigDecimal("1234.50")));
+            assertThat(OracleFunctions.toNumber("-0042", "S0999"), equalTo(new BigDecimal("-42")));
+            assertThat(OracleFunctions.toNumber("7FFF", "XXXX"), equalTo(new BigDecimal(32767)));
+            assertThat(OracleFunctions.toNumber("1.234,5", "999G999D99", "NLS_NUMERIC_CHARACTERS = ',.'"),
+                    equalTo(new BigDecimal("1234.5")));
+            assertNull(OracleFunctions.toNumber(null));
+            assertNull(OracleFunctions.toNumber("1", null));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testToNumberInvalid() {
+        OracleFunctions.toNumber("1,000", "999");
+    }
+
+    @Test
+    public void testToBinaryDouble() {
+        final Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertThat(OracleFunctions.toBinaryDouble("0.1"), equalTo(0.1));
+            assertThat(OracleFunctions.toBinaryDouble("-1.5e-3"), equalTo(-0.0015));
+            assertThat(OracleFunctions.toBinaryDouble("1,234.5", "9G999D9"), equalTo(1234.5));
+            assertThat(OracleFunctions.toBinaryDouble("123456789012345678901234567890"),
+                    equalTo(123456789012345678901234567890.0));
+            assertThat(OracleFunctions.toBinaryDouble("INF"), equalTo(Double.POSITIVE_INFINITY));
+            assertThat(OracleFunctions.toBinaryDouble("-inf"), equalTo(Double.NEGATIVE_INFINITY));
+            assertTrue(OracleFunctions.toBinaryDouble("NaN").isNaN());
+            assertThat(OracleFunctions.toBinaryFloat("0.1"), equalTo(0.1f));
+            assertThat(OracleFunctions.toBinaryFloat("<2.5>", "9D9PR"), equalTo(-2.5f));
+            assertThat(OracleFunctions.toBinaryFloat("1,5", "9D9", "NLS_NUMERIC_CHARACTERS = ',.'"),
+                    equalTo(1.5f));
+            assertNull(OracleFunctions.toBinaryDouble(null));
+            assertNull(OracleFunctions.toBinaryFloat(null));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testItToNumber() throws Exception {
+        final Locale def = Locale.getDefault();
+        final Statement stmt = con.createStatement();
+        try {
+            Locale.setDefault(Locale.US);
+            stmt.execute("CREATE ALIAS TO_NUMBER FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.toNumber\"");
+            stmt.execute("CREATE ALIAS TO_BINARY_DOUBLE FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.toBinaryDouble\"");
+            stmt.execute("CREATE ALIAS TO_BINARY_FLOAT FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.toBinaryFloat\"");
+            ResultSet rs = stmt.executeQuery("SELECT"
+                    + " TO_NUMBER('1,234.50', '9G999D99'), TO_NUMBER(42), TO_NUMBER('FF', 'XX'),"
+                    + " TO_BINARY_DOUBLE('2.5E-1'), TO_BINARY_FLOAT('1,5', '9D9', 'NLS_NUMERIC_CHARACTERS = '',.''')"
+                    + " FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getBigDecimal(1), equalTo(new BigDecimal("1234.50")));
+                assertThat(rs.getBigDecimal(2), equalTo(new BigDecimal("42")));
+                assertThat(rs.getBigDecimal(3), equalTo(new BigDecimal("255")));
+                assertThat(rs.getDouble(4), equalTo(0.25));
+                assertThat(rs.getFloat(5), equalTo(1.5f));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testToTimestamp() {
+        Locale def = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            final Timestamp ts = OracleFunctions.toTimestamp("15-OCT-09 01.05.09.123456 PM");
+            assertThat(ts.getTime() / 1000, equalTo(new LocalDateTime(2009, 10, 15, 13, 5, 9).toDate().getTime() / 1000));
+            assertThat(ts.getNanos(), equalTo(123456000));
+            assertThat(OracleFunctions.toTimestamp("2009-10-15 13:05:09.123456789", "YYYY-MM-DD HH24:MI:SS.FF9").getNanos(),
+                    equalTo(123456789));
+        } finally {
+            Locale.setDefault(def);
+        }
+    }
+
+    @Test
+    public void testTrunc() {
+        assertThat(OracleFunctions.trunc(new LocalDateTime(2009, 10, 15, 13, 35, 29).toDate()),
+                equalTo(new LocalDateTime(2009, 10, 15, 0, 0).toDate()));
+        assertThat(OracleFunctions.trunc(new LocalDateTime(2009, 10, 15, 13, 35, 29).toDate(), "MM"),
+                equalTo(new LocalDateTime(2009, 10, 1, 0, 0).toDate()));
+        assertNull(OracleFunctions.trunc(null));
+    }
+
+    @Test
+    public void testItTrunc() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS TRUNC FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.trunc\"");
+            ResultSet rs = stmt.executeQuery("SELECT TRUNC(PARSEDATETIME('20091015133529', 'yyyyMMddHHmmss'), 'Q') FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getTimestamp(1).getTime(), equalTo(new LocalDateTime(2009, 10, 1, 0, 0).toDate().getTime()));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testRegexpCount() {
+        assertThat(OracleFunctions.regexpCount("123123123123123", "(12)3", 1, "i"), equalTo(5));
+        assertThat(OracleFunctions.regexpCount("ABC abc Abc", "abc", 1, "i"), equalTo(3));
+        assertThat(OracleFunctions.regexpCount("ABC abc Abc", "abc"), equalTo(1));
+        assertThat(OracleFunctions.regexpCount("abab", "^a", 2), equalTo(0));
+        assertThat(OracleFunctions.regexpCount("a\nb\na", "^a", 1, "m"), equalTo(2));
+        assertThat(OracleFunctions.regexpCount("abc", "b", 10), equalTo(0));
+        assertNull(OracleFunctions.regexpCount(null, "a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegexpCountIllegalPosition() {
+        OracleFunctions.regexpCount("abc", "a", 0);
+    }
+
+    @Test
+    public void testRegexpInstr() {
+        final String address = "500 Oracle Parkway, Redwood Shores, CA";
+        assertThat(OracleFunctions.regexpInstr(address, "[^ ]+", 1, 6), equalTo(37));
+        assertThat(OracleFunctions.regexpInstr(address, "[s|r|p][[:alpha:]]{6}", 3, 2, 1, "i"), equalTo(28));
+        assertThat(OracleFunctions.regexpInstr("1234567890", "(123)(4(56)(78))", 1, 1, 0, "i", 4), equalTo(7));
+        assertThat(OracleFunctions.regexpInstr("1234567890", "(123)", 1, 1, 0, "i", 2), equalTo(0));
+        assertThat(OracleFunctions.regexpInstr(address, "xyz"), equalTo(0));
+    }
+
+    @Test
+    public void testRegexpSubstr() {
+        assertThat(OracleFunctions.regexpSubstr("500 Oracle Parkway, Redwood Shores, CA", ",[^,]+,"),
+                equalTo(", Redwood Shores,"));
+        assertThat(OracleFunctions.regexpSubstr("http://www.example.com/products",
+                "http://([[:alnum:]]+\\.?){3,4}/?"), equalTo("http://www.example.com/"));
+        assertThat(OracleFunctions.regexpSubstr("1234567890", "(123)(4(56)(78))", 1, 1, "i", 4), equalTo("78"));
+        assertThat(OracleFunctions.regexpSubstr("a\nb", "a.b"), equalTo(null));
+        assertThat(OracleFunctions.regexpSubstr("a\nb", "a.b", 1, 1, "n"), equalTo("a\nb"));
+        assertThat(OracleFunctions.regexpSubstr("a b c", "[^ ]+", 1, 4), equalTo(null));
+    }
+
+    @Test
+    public void testItRegexpSubstr() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS REGEXP_SUBSTR FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.regexpSubstr\"");
+            stmt.execute("CREATE ALIAS REGEXP_COUNT FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.regexpCount\"");
+            ResultSet rs = stmt.executeQuery(
+                    "SELECT REGEXP_SUBSTR('a=1;b=22;c=333', '([a-z])=([0-9]+)', 1, 2, NULL, 2)," +
+                    " REGEXP_COUNT('a=1;b=22;c=333', '[0-9]+') FROM dual");
+            if (rs.next()) {
+                assertThat(rs.getString(1), equalTo("22"));
+                assertThat(rs.getInt(2), equalTo(3));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    @Test
+    public void testRound() {
+        assertThat(OracleFunctions.round(new LocalDateTime(2009, 10, 15, 13, 35, 29).toDate()),
+                equalTo(new LocalDateTime(2009, 10, 16, 0, 0).toDate()));
+        assertThat(OracleFunctions.round(new LocalDateTime(2009, 10, 15, 13, 35, 29).toDate(), "YEAR"),
+                equalTo(new LocalDateTime(2010, 1, 1, 0, 0).toDate()));
+        assertNull(OracleFunctions.round(null, "YEAR"));
+    }
+
     @Test
     public void testTranslate() {
         assertThat(OracleFunctions.tranlate("SQL*Plus User''s Guide", " */''", "___"), equalTo("SQL_Plus_Users_Guide"));
+        assertThat(OracleFunctions.translate("SQL*Plus User''s Guide", " */''", "___"), equalTo("SQL_Plus_Users_Guide"));
+        assertThat(OracleFunctions.translate("abcab", "ab", "ba"), equalTo("bacba"));
+        assertThat(OracleFunctions.translate("abc", "aa", "xy"), equalTo("xbc"));
+        assertThat(OracleFunctions.translate("2KRW229", "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ", "9999999999XXXXXXXXXXXXXXXXXXXXXXXXXX"), equalTo("9XXX999"));
+        assertThat(OracleFunctions.translate("a\uD840\uDC0Bb", "\uD840\uDC0Bb", "\u5409"), equalTo("a\u5409"));
+        assertThat(OracleFunctions.translate("ab", "b", "\uD840\uDC0B"), equalTo("a\uD840\uDC0B"));
+        final String unchanged = "nothing to do";
+        assertSame(unchanged, OracleFunctions.translate(unchanged, "xyz", "XYZ"));
+        assertNull(OracleFunctions.translate(null, "a", "b"));
     }
 
     @Test
@@ -330,40 +1098,67 @@ public class OracleFunctionsTest {
         }
     }
 
-//    @Test
-//    public void testItTruncDoubleInt() throws Exception {
-//        final Statement stmt = con.createStatement();
-//        try {
-//            stmt.execute("CREATE ALIAS TRUNC FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.trunc\"");
-//            ResultSet rs = stmt.executeQuery("CALL TRUNC(15.79, 1)");
-//            if (rs.next()) {
-//                assertThat(rs.getDouble(1), equalTo(15.7));
-//            } else {
-//                fail("dual has no record.");
-//            }
-//        } finally {
-//            stmt.close();
-//        }
-//    }
-//
-//    @Test
-//    public void testItTruncDouble() throws Exception {
-//        final Statement stmt = con.createStatement();
-//        try {
-//            ResultSet rs = stmt.executeQuery("CALL TRUNC(15.79)");
-//            if (rs.next()) {
-//                assertThat(rs.getDouble(1), equalTo(15.0));
-//            } else {
-//                fail("dual has no record.");
-//            }
-//        } finally {
-//            stmt.close();
-//        }
-//    }
+    @Test
+    public void testTruncNumber() {
+        assertThat(OracleFunctions.truncNumber(new BigDecimal("15.79"), 1), equalTo(new BigDecimal("15.7")));
+        assertThat(OracleFunctions.truncNumber(new BigDecimal("15.79")), equalTo(new BigDecimal("15")));
+        assertThat(OracleFunctions.truncNumber(new BigDecimal("-15.79")), equalTo(new BigDecimal("-15")));
+        assertThat(OracleFunctions.truncNumber(new BigDecimal("15.79"), -1), equalTo(new BigDecimal("10")));
+        assertThat(OracleFunctions.truncNumber(new BigDecimal("15.7"), 3), equalTo(new BigDecimal("15.7")));
+        assertNull(OracleFunctions.truncNumber(null, 1));
+    }
+
+    @Test
+    public void testItTruncDoubleInt() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS TRUNC_NUMBER FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.truncNumber\"");
+            ResultSet rs = stmt.executeQuery("CALL TRUNC_NUMBER(15.79, 1)");
+            if (rs.next()) {
+                assertThat(rs.getDouble(1), equalTo(15.7));
+            } else {
+                fail("dual has no record.");
+            }
+            rs = stmt.executeQuery("CALL TRUNC_NUMBER(15.79)");
+            if (rs.next()) {
+                assertThat(rs.getDouble(1), equalTo(15.0));
+            } else {
+                fail("dual has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
 
     @Test
     public void testUnistr() {
         assertThat(OracleFunctions.unistr("abc\\00e5\\00f1\\00f6"), equalTo("abcåñö"));
+        assertThat(OracleFunctions.unistr(OracleFunctions.asciistr("a\\b\u00e5")), equalTo("a\\b\u00e5"));
+        assertNull(OracleFunctions.unistr(null));
+    }
+
+    @Test
+    public void testItUnistrClob() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE ALIAS ASCIISTR_CLOB FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.asciistrClob\"");
+            stmt.execute("CREATE ALIAS UNISTR_CLOB FOR \"org.guess880.h2_oracle_funcs.OracleFunctions.unistrClob\"");
+            stmt.execute("CREATE TABLE tbl_unistr_clob (C CLOB)");
+            stmt.execute("INSERT INTO tbl_unistr_clob VALUES (REPEAT('abc\u00e5\u00f1\u00f6', 100000))");
+            ResultSet rs = stmt.executeQuery(
+                    "SELECT ASCIISTR_CLOB(c), UNISTR_CLOB(ASCIISTR_CLOB(c)), UNISTR_CLOB(NULL) FROM tbl_unistr_clob");
+            if (rs.next()) {
+                final String escaped = rs.getString(1);
+                assertThat(escaped.length(), equalTo(1800000));
+                assertThat(escaped.substring(0, 18), equalTo("abc\\00E5\\00F1\\00F6"));
+                assertThat(rs.getString(2).length(), equalTo(600000));
+                assertNull(rs.getString(3));
+            } else {
+                fail("tbl_unistr_clob has no record.");
+            }
+        } finally {
+            stmt.close();
+        }
     }
 
     @Test
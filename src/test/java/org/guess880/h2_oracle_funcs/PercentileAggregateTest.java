@@ -0,0 +1,140 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+import org.h2.api.AggregateFunction;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PercentileAggregateTest {
+
+    private static Connection con;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        Class.forName("org.h2.Driver");
+        con = DriverManager.getConnection("jdbc:h2:mem:");
+        final Statement stmt = con.createStatement();
+        try {
+            stmt.execute("CREATE TABLE emp (DEPT INT, SAL INT, COMM DOUBLE)");
+            stmt.execute("INSERT INTO emp VALUES (10, 1300, 0.5), (10, 2450, 1.5), (10, 5000, NULL),"
+                    + " (20, 800, 3), (20, 1100, 1), (20, 2975, 4), (20, 3000, 2), (30, NULL, NULL)");
+        } finally {
+            stmt.close();
+        }
+        FunctionRegistry.register(con, false);
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() throws Exception {
+        con.close();
+    }
+
+    private static Object aggregate(final AggregateFunction f, final Object... rows) throws SQLException {
+        for (final Object row : rows) {
+            f.add(row);
+        }
+        return f.getResult();
+    }
+
+    @Test
+    public void testMedian() throws Exception {
+        assertThat(aggregate(new Median(), 5L, 1L, 3L), equalTo((Object) BigDecimal.valueOf(3)));
+        assertThat(aggregate(new Median(), 4, 1, 3, 2), equalTo((Object) new BigDecimal("2.5")));
+        assertThat(aggregate(new Median(), 4.0, 1.0, null, 3.0, 2.0), equalTo((Object) 2.5));
+        assertThat(aggregate(new Median(), 1, 2, new BigDecimal("2.5")), equalTo((Object) new BigDecimal("2")));
+        assertThat(aggregate(new Median(), new BigDecimal("2.5"), 1.0, 2), equalTo((Object) 2.0));
+        assertNull(aggregate(new Median(), (Object) null));
+        assertNull(aggregate(new Median()));
+    }
+
+    @Test
+    public void testPercentileCont() throws Exception {
+        final BigDecimal p = new BigDecimal("0.25");
+        assertThat(aggregate(new PercentileCont(), new Object[] {p, 10L}, new Object[] {p, 20L},
+                new Object[] {p, 40L}), equalTo((Object) new BigDecimal("15.00")));
+        assertThat(aggregate(new PercentileCont(), new Object[] {BigDecimal.ONE, 1.5},
+                new Object[] {BigDecimal.ONE, 0.5}), equalTo((Object) 1.5));
+        assertThat(aggregate(new PercentileCont(), new Object[] {BigDecimal.ZERO, 1.5},
+                new Object[] {BigDecimal.ZERO, 0.5}), equalTo((Object) 0.5));
+    }
+
+    @Test
+    public void testPercentileDisc() throws Exception {
+        final BigDecimal p = new BigDecimal("0.3");
+        final Object[][] rows = new Object[10][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {p, (long) (10 - i)};
+        }
+        assertThat(aggregate(new PercentileDisc(), (Object[]) rows), equalTo((Object) 3L));
+        assertThat(aggregate(new PercentileDisc(), new Object[] {BigDecimal.ZERO, 2.5},
+                new Object[] {BigDecimal.ZERO, 0.5}), equalTo((Object) 0.5));
+    }
+
+    @Test
+    public void testDecimalPrecision() throws Exception {
+        // neither value survives a round trip through double
+        final BigDecimal a = new BigDecimal("12345678901234567.89");
+        final BigDecimal b = new BigDecimal("12345678901234567.91");
+        final BigDecimal p = new BigDecimal("0.5");
+        assertThat(aggregate(new Median(), a, b), equalTo((Object) new BigDecimal("12345678901234567.900")));
+        assertThat(aggregate(new PercentileCont(), new Object[] {p, a}, new Object[] {p, b}),
+                equalTo((Object) new BigDecimal("12345678901234567.900")));
+        assertThat(aggregate(new PercentileDisc(), new Object[] {p, b}, new Object[] {p, a}),
+                equalTo((Object) a));
+        assertThat(aggregate(new PercentileDisc(), new Object[] {BigDecimal.ONE, 1L},
+                new Object[] {BigDecimal.ONE, b}), equalTo((Object) b));
+        assertThat(new Median().getType(new int[] {Types.DECIMAL}), equalTo(Types.DECIMAL));
+    }
+
+    @Test(expected = SQLException.class)
+    public void testIllegalPercentile() throws Exception {
+        aggregate(new PercentileCont(), (Object) new Object[] {new BigDecimal("1.5"), 1L});
+    }
+
+    @Test
+    public void testIt() throws Exception {
+        final Statement stmt = con.createStatement();
+        try {
+            final ResultSet rs = stmt.executeQuery("SELECT dept, MEDIAN(sal), MEDIAN(comm),"
+                    + " PERCENTILE_CONT(0.5, sal), PERCENTILE_DISC(0.5, sal), PERCENTILE_DISC(0.5, comm)"
+                    + " FROM emp GROUP BY dept ORDER BY dept");
+            assertRow(rs, 10, "2450", 1.0, "2450", 2450L, 0.5);
+            assertRow(rs, 20, "2037.5", 2.5, "2037.5", 1100L, 2.0);
+            if (rs.next()) {
+                assertNull(rs.getObject(2));
+                assertNull(rs.getObject(5));
+            } else {
+                fail("no record.");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static void assertRow(final ResultSet rs, final int dept, final String median,
+            final double medianComm, final String cont, final long disc, final double discComm)
+            throws SQLException {
+        if (!rs.next()) {
+            fail("no record.");
+        }
+        assertThat(rs.getInt(1), equalTo(dept));
+        assertThat(rs.getBigDecimal(2).compareTo(new BigDecimal(median)), equalTo(0));
+        assertThat(rs.getDouble(3), equalTo(medianComm));
+        assertThat(rs.getBigDecimal(4).compareTo(new BigDecimal(cont)), equalTo(0));
+        assertThat(rs.getLong(5), equalTo(disc));
+        assertThat(rs.getDouble(6), equalTo(discComm));
+    }
+}
@@ -0,0 +1,42 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class RegexpPatternsTest {
+
+    @Test
+    public void testFlags() {
+        assertThat(RegexpPatterns.flags(null), equalTo(0));
+        assertThat(RegexpPatterns.flags("i"), equalTo(Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        assertThat(RegexpPatterns.flags("ic"), equalTo(0));
+        assertThat(RegexpPatterns.flags("ci"), equalTo(Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        assertThat(RegexpPatterns.flags("nmx"), equalTo(Pattern.DOTALL | Pattern.MULTILINE | Pattern.COMMENTS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalFlag() {
+        RegexpPatterns.flags("iz");
+    }
+
+    @Test
+    public void testToJava() {
+        assertThat(RegexpPatterns.toJava("[[:alpha:]]+"), equalTo("[\\p{Alpha}]+"));
+        assertThat(RegexpPatterns.toJava("[^[:digit:][:space:]]"), equalTo("[^\\p{Digit}\\s]"));
+        assertThat(RegexpPatterns.toJava("[:;]x:]"), equalTo("[:;]x:]"));
+        assertThat(RegexpPatterns.toJava("a+b"), equalTo("a+b"));
+    }
+
+    @Test
+    public void testCompileCached() {
+        final Pattern p = RegexpPatterns.compile("[[:alnum:]]+", "i");
+        RegexpPatterns.compile("x", null);
+        assertSame(p, RegexpPatterns.compile(new String("[[:alnum:]]+"), "i"));
+        assertThat(RegexpPatterns.compile("[[:alnum:]]+", "c") == p, equalTo(false));
+    }
+}
@@ -0,0 +1,61 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SelectionTest {
+
+    @Test
+    public void testSelectAgainstSort() {
+        final Random random = new Random(42);
+        for (int n = 1; n < 60; n++) {
+            final long[] longs = new long[n + 3];
+            final double[] doubles = new double[n + 3];
+            for (int i = 0; i < longs.length; i++) {
+                // few distinct values, so that duplicates are common
+                longs[i] = random.nextInt(n);
+                doubles[i] = random.nextInt(n) / 4d;
+            }
+            final long[] sortedLongs = Arrays.copyOf(longs, n);
+            Arrays.sort(sortedLongs);
+            final double[] sortedDoubles = Arrays.copyOf(doubles, n);
+            Arrays.sort(sortedDoubles);
+            for (int k = 0; k < n; k++) {
+                final long[] l = longs.clone();
+                final double[] d = doubles.clone();
+                assertThat(Selection.select(l, n, k), equalTo(sortedLongs[k]));
+                assertThat(Selection.select(d, n, k), equalTo(sortedDoubles[k]));
+                if (k + 1 < n) {
+                    assertThat(Selection.min(l, k + 1, n), equalTo(sortedLongs[k + 1]));
+                    assertThat(Selection.min(d, k + 1, n), equalTo(sortedDoubles[k + 1]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSelectDecimals() {
+        final Random random = new Random(42);
+        for (int n = 1; n < 60; n++) {
+            final BigDecimal[] decimals = new BigDecimal[n + 3];
+            for (int i = 0; i < decimals.length; i++) {
+                decimals[i] = BigDecimal.valueOf(random.nextInt(n), 2);
+            }
+            final BigDecimal[] sorted = Arrays.copyOf(decimals, n);
+            Arrays.sort(sorted);
+            for (int k = 0; k < n; k++) {
+                final BigDecimal[] d = decimals.clone();
+                assertThat(Selection.select(d, n, k), equalTo(sorted[k]));
+                if (k + 1 < n) {
+                    assertThat(Selection.min(d, k + 1, n), equalTo(sorted[k + 1]));
+                }
+            }
+        }
+    }
+}
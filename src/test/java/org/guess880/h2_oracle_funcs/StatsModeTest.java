@@ -0,0 +1,69 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.Test;
+
+public class StatsModeTest {
+
+    private static Object mode(final Object... values) throws SQLException {
+        final StatsMode f = new StatsMode();
+        for (final Object value : values) {
+            f.add(value);
+        }
+        return f.getResult();
+    }
+
+    @Test
+    public void testMode() throws Exception {
+        assertThat(mode(3, 1, 3, null, 2, null, null), equalTo((Object) 3L));
+        assertThat(mode(1.5, -0.0, 0.0, 1.5, 0.0), equalTo((Object) 0.0));
+        assertThat(mode("b", "a", "a", "b"), equalTo((Object) "a"));
+        assertNull(mode((Object) null));
+        assertNull(mode());
+    }
+
+    @Test
+    public void testManyKeys() throws Exception {
+        final StatsMode f = new StatsMode();
+        for (long i = 0; i < 100000; i++) {
+            f.add(i * 7919);
+        }
+        f.add(4242L * 7919);
+        assertThat(f.getResult(), equalTo((Object) (4242L * 7919)));
+        final LongCountMap map = new LongCountMap();
+        for (long i = -1000; i < 1000; i++) {
+            map.increment(i << 32);
+            map.increment(i << 32);
+        }
+        assertThat(map.size(), equalTo(2000));
+        assertThat(map.get(-5L << 32), equalTo(2));
+        assertThat(map.get(1), equalTo(0));
+    }
+
+    @Test
+    public void testIt() throws Exception {
+        Class.forName("org.h2.Driver");
+        final Connection con = DriverManager.getConnection("jdbc:h2:mem:");
+        try {
+            FunctionRegistry.register(con, false);
+            final Statement stmt = con.createStatement();
+            final ResultSet rs = stmt.executeQuery(
+                    "SELECT STATS_MODE(MOD(X, 7)), STATS_MODE('v' || MOD(X, 3)) FROM SYSTEM_RANGE(1, 99)");
+            rs.next();
+            assertThat(rs.getInt(1), equalTo(1));
+            assertThat(rs.getString(2), equalTo("v1"));
+            stmt.close();
+        } finally {
+            con.close();
+        }
+    }
+}
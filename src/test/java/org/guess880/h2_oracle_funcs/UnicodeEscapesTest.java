@@ -0,0 +1,85 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class UnicodeEscapesTest {
+
+    @Test
+    public void testEscape() {
+        final String ascii = "SQL*Plus User's Guide";
+        assertSame(ascii, UnicodeEscapes.escape(ascii));
+        assertThat(UnicodeEscapes.escape("a\\b"), equalTo("a\\005Cb"));
+        assertThat(UnicodeEscapes.escape("😀!"), equalTo("\\D83D\\DE00!"));
+    }
+
+    @Test
+    public void testUnescape() {
+        final String plain = "abc";
+        assertSame(plain, UnicodeEscapes.unescape(plain));
+        assertThat(UnicodeEscapes.unescape("a\\\\b\\005C"), equalTo("a\\b\\"));
+        assertThat(UnicodeEscapes.unescape("\\D83D\\de00!"), equalTo("😀!"));
+    }
+
+    @Test
+    public void testUnescapeMalformed() {
+        assertMalformed("abc\\");
+        assertMalformed("abc\\00e");
+        assertMalformed("abc\\00eg");
+        assertMalformed("\\００４１");
+    }
+
+    private static void assertMalformed(final String str) {
+        try {
+            UnicodeEscapes.unescape(str);
+            fail(str);
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            readFully(UnicodeEscapes.unescaping(new StringReader(str)));
+            fail(str);
+        } catch (final IllegalArgumentException e) {
+            // expected
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void testReaders() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("abcå\\😀");
+        }
+        final String str = sb.toString();
+        final String escaped = readFully(UnicodeEscapes.escaping(new StringReader(str)));
+        assertThat(escaped, equalTo(UnicodeEscapes.escape(str)));
+        assertThat(readFully(UnicodeEscapes.unescaping(new StringReader(escaped))), equalTo(str));
+        assertThat(readFully(UnicodeEscapes.unescaping(new StringReader(escaped.replace("\\005C", "\\\\")))),
+                equalTo(str));
+    }
+
+    private static String readFully(final Reader reader) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        // odd sizes, so that escapes cross the reads
+        final char[] buf = new char[7];
+        int n;
+        while ((n = reader.read(buf, 0, buf.length)) >= 0) {
+            sb.append(buf, 0, n);
+        }
+        final int c = reader.read();
+        if (c >= 0) {
+            throw new AssertionError("read after end of stream");
+        }
+        return sb.toString();
+    }
+}
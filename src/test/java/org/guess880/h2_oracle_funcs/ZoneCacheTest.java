@@ -0,0 +1,57 @@
+package org.guess880.h2_oracle_funcs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+public class ZoneCacheTest {
+
+    @Test
+    public void testAbbreviations() {
+        assertThat(ZoneCache.forName("PST"), equalTo(DateTimeZone.forOffsetHours(-8)));
+        assertThat(ZoneCache.forName("pdt"), equalTo(DateTimeZone.forOffsetHours(-7)));
+        assertThat(ZoneCache.forName(" Ydt "), equalTo(DateTimeZone.forOffsetHours(-8)));
+        assertThat(ZoneCache.forName("NST"), equalTo(DateTimeZone.forOffsetHoursMinutes(-3, 30)));
+        assertThat(ZoneCache.forName("BST"), equalTo(DateTimeZone.forOffsetHours(-11)));
+        assertThat(ZoneCache.forName("GMT"), equalTo(DateTimeZone.UTC));
+        assertSame(ZoneCache.forName("EST"), ZoneCache.forName("est"));
+    }
+
+    @Test
+    public void testOffsets() {
+        assertThat(ZoneCache.forName("+05:30"), equalTo(DateTimeZone.forOffsetHoursMinutes(5, 30)));
+        assertThat(ZoneCache.forName("-5"), equalTo(DateTimeZone.forOffsetHours(-5)));
+        assertThat(ZoneCache.forName("+14:00"), equalTo(DateTimeZone.forOffsetHours(14)));
+        assertThat(ZoneCache.offsetMillis("-03:30"), equalTo(-(3 * 60 + 30) * 60000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOffsetOutOfRange() {
+        ZoneCache.forName("+15:00");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidOffset() {
+        ZoneCache.forName("+ab:00");
+    }
+
+    @Test
+    public void testRegions() {
+        assertThat(ZoneCache.forName("Europe/London"), equalTo(DateTimeZone.forID("Europe/London")));
+        assertSame(ZoneCache.forName("America/New_York"), ZoneCache.forName("America/New_York"));
+        assertSame(ZoneCache.forName(DateTimeZone.getDefault().getID()), DateTimeZone.getDefault());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknown() {
+        ZoneCache.forName("Mars/Olympus_Mons");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmpty() {
+        ZoneCache.forName(" ");
+    }
+}